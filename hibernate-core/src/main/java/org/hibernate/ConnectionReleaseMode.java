@@ -53,7 +53,23 @@ public enum ConnectionReleaseMode{
 	 * Indicates that connections should only be released when the Session is explicitly closed 
 	 * or disconnected; this is the legacy (Hibernate2 and pre-3.1) behavior.
 	 */
-	ON_CLOSE("on_close");
+	ON_CLOSE("on_close"),
+
+	/**
+	 * Indicates that JDBC connections should only be held while they carry transaction-scoped state.  The
+	 * connection is obtained when a statement first needs it, even within a transaction, and released after each
+	 * statement once no cursor remains open and the connection is in auto-commit mode.  Within a transaction, the
+	 * statements of read-only work run in auto-commit mode; a transaction which writes, or requests a lock stronger
+	 * than {@link LockMode#READ}, holds its connection from that statement until it ends.
+	 * <p/>
+	 * Note that each statement of read-only work is then its own database transaction: the configured isolation
+	 * level only applies within a single statement, so successive reads of a read-only transaction do not see a
+	 * consistent snapshot.  Work relying on repeatable reads across statements should not be marked read-only, or
+	 * should use another release mode.
+	 * <p/>
+	 * This mode is intended for JDBC transactions with a pooling connection provider.
+	 */
+	ON_DEMAND("on_demand");
 
 	private final String name;
 	ConnectionReleaseMode(String name){
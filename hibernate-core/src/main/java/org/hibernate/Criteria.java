@@ -402,6 +402,18 @@ public interface Criteria extends CriteriaSpecification {
 	 */
 	public Criteria setFirstResult(int firstResult);
 
+	/**
+	 * Paginate by keyset: retrieve the page of results following the last
+	 * result seen, rather than skipping the results of the previous pages.
+	 * The criteria must be ordered by its key, and the maximum number of
+	 * results is set to the page size.
+	 *
+	 * @param cursor the position of the page
+	 * @return this (for method chaining)
+	 * @see KeysetCursor
+	 */
+	public Criteria setKeyset(KeysetCursor cursor);
+
 	/**
 	 * Was the read-only/modifiable mode explicitly initialized?
 	 *
@@ -557,6 +569,38 @@ public interface Criteria extends CriteriaSpecification {
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException;
 
+	/**
+	 * Get the results as forward-only {@link ScrollableResults} streamed from the database,
+	 * detaching the returned entities from the session once the consumer has moved 100 rows
+	 * past them.
+	 *
+	 * @return The {@link ScrollableResults} representing the matched
+	 * query results.
+	 *
+	 * @throws HibernateException Indicates a problem either translating the criteria to SQL,
+	 * exeucting the SQL or processing the SQL results.
+	 *
+	 * @see #stream(int)
+	 */
+	public ScrollableResults stream() throws HibernateException;
+
+	/**
+	 * Get the results as forward-only {@link ScrollableResults} streamed from the database.
+	 * Unless a fetch size was set, the JDBC fetch size is the
+	 * {@link org.hibernate.dialect.Dialect#getStreamingFetchSize() streaming fetch size} of the
+	 * dialect.  The entities returned in a row are detached from the session, as by
+	 * {@link Session#evict}, once the consumer has moved the given number of rows past it.
+	 *
+	 * @param window The number of most recent rows whose entities stay attached
+	 *
+	 * @return The {@link ScrollableResults} representing the matched
+	 * query results.
+	 *
+	 * @throws HibernateException Indicates a problem either translating the criteria to SQL,
+	 * exeucting the SQL or processing the SQL results.
+	 */
+	public ScrollableResults stream(int window) throws HibernateException;
+
 	/**
 	 * Convenience method to return a single instance that matches
 	 * the query, or null if the query returns no results.
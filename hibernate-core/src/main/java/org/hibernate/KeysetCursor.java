@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hibernate.type.Type;
+
+/**
+ * The position of a page in a keyset (or "seek") paginated query.  Rather than skipping the rows of the
+ * previous pages with an offset, the next page is restricted to the rows which sort after the last row
+ * seen, which the database can find through an index whatever the page number.
+ * <p/>
+ * The key of the query is made up of its leading <tt>order by</tt> items, which must identify a row
+ * uniquely (typically ending with the identifier).  The cursor is given the type of each key item, used
+ * to bind the key values as the mapped properties would be.  A key item may only be null if its
+ * <tt>order by</tt> item specifies <tt>nulls first</tt> or <tt>nulls last</tt>.  For example:
+ * <pre>
+ * KeysetCursor cursor = KeysetCursor.first( 20, StandardBasicTypes.STRING, StandardBasicTypes.LONG );
+ * List page = session.createQuery( "from Item i order by i.name, i.id" ).setKeyset( cursor ).list();
+ * Item last = (Item) page.get( page.size() - 1 );
+ * cursor = cursor.next( last.getName(), last.getId() );
+ * </pre>
+ * Cursors are immutable and serializable, so they can be handed to the client and carried across requests.
+ *
+ * @see Query#setKeyset
+ * @see Criteria#setKeyset
+ */
+public final class KeysetCursor implements Serializable {
+	private final int pageSize;
+	private final Type[] keyTypes;
+	private final Object[] lastSeenValues;
+
+	private KeysetCursor(int pageSize, Type[] keyTypes, Object[] lastSeenValues) {
+		if ( pageSize < 1 ) {
+			throw new IllegalArgumentException( "Page size must be strictly positive: " + pageSize );
+		}
+		this.pageSize = pageSize;
+		this.keyTypes = keyTypes;
+		this.lastSeenValues = lastSeenValues;
+	}
+
+	/**
+	 * Position a cursor on the first page.
+	 *
+	 * @param pageSize The number of rows per page
+	 * @param keyTypes The types of the key items, in the order of the <tt>order by</tt> items
+	 *
+	 * @return The cursor
+	 */
+	public static KeysetCursor first(int pageSize, Type... keyTypes) {
+		if ( keyTypes == null || keyTypes.length == 0 ) {
+			throw new IllegalArgumentException( "At least one key type must be specified" );
+		}
+		for ( Type keyType : keyTypes ) {
+			if ( keyType == null ) {
+				throw new IllegalArgumentException( "Key types may not be null" );
+			}
+		}
+		return new KeysetCursor( pageSize, keyTypes.clone(), null );
+	}
+
+	/**
+	 * Position a cursor on the page following the row with the given key.
+	 *
+	 * @param lastSeenValues The key values of the last row seen, one per key type
+	 *
+	 * @return The cursor for the next page
+	 */
+	public KeysetCursor next(Object... lastSeenValues) {
+		if ( lastSeenValues == null || lastSeenValues.length != keyTypes.length ) {
+			throw new IllegalArgumentException( "Exactly " + keyTypes.length + " key values must be specified" );
+		}
+		return new KeysetCursor( pageSize, keyTypes, lastSeenValues.clone() );
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * The types of the key items.
+	 *
+	 * @return The key types
+	 */
+	public Type[] getKeyTypes() {
+		return keyTypes.clone();
+	}
+
+	/**
+	 * The key values of the last row of the previous page.
+	 *
+	 * @return The key values, or {@code null} for the first page
+	 */
+	public Object[] getLastSeenValues() {
+		return lastSeenValues == null ? null : lastSeenValues.clone();
+	}
+
+	public boolean isFirstPage() {
+		return lastSeenValues == null;
+	}
+
+	@Override
+	public String toString() {
+		return "KeysetCursor(" + pageSize + ( lastSeenValues == null ? "" : " after " + Arrays.toString( lastSeenValues ) ) + ')';
+	}
+}
@@ -131,6 +131,29 @@ public interface Query {
 	 * @throws HibernateException
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException;
+	/**
+	 * Return the query results as forward-only <tt>ScrollableResults</tt> streamed from the
+	 * database, detaching the returned entities from the session once the consumer has moved
+	 * 100 rows past them.<br>
+	 *
+	 * @see #stream(int)
+	 * @return the result iterator
+	 * @throws HibernateException
+	 */
+	public ScrollableResults stream() throws HibernateException;
+	/**
+	 * Return the query results as forward-only <tt>ScrollableResults</tt> streamed from the
+	 * database. Unless a fetch size was set, the JDBC fetch size is the streaming fetch size of
+	 * the dialect. The entities returned in a row are detached from the session, as by
+	 * <tt>Session.evict()</tt>, once the consumer has moved the given number of rows past
+	 * it, so the persistence context does not grow with the size of the result.<br>
+	 *
+	 * @see org.hibernate.dialect.Dialect#getStreamingFetchSize()
+	 * @param window the number of most recent rows whose entities stay attached
+	 * @return the result iterator
+	 * @throws HibernateException
+	 */
+	public ScrollableResults stream(int window) throws HibernateException;
 	/**
 	 * Return the query results as a <tt>List</tt>. If the query contains
 	 * multiple results pre row, the results are returned in an instance
@@ -172,6 +195,14 @@ public interface Query {
 	 * @param firstResult a row number, numbered from <tt>0</tt>
 	 */
 	public Query setFirstResult(int firstResult);
+	/**
+	 * Paginate by keyset: retrieve a page of rows following the last row seen,
+	 * rather than skipping the rows of the previous pages. The query must be
+	 * ordered by its key, and the maximum number of rows is set to the page size.
+	 * @param cursor the position of the page
+	 * @see KeysetCursor
+	 */
+	public Query setKeyset(KeysetCursor cursor);
 	
 	/**
 	 * Should entities and proxies loaded by this Query be put in read-only mode? If the
@@ -25,6 +25,7 @@ package org.hibernate;
 
 import java.io.Serializable;
 import java.sql.Connection;
+import java.util.List;
 
 import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.jdbc.Work;
@@ -762,6 +763,26 @@ public interface Session extends SharedSessionContract {
 	 */
 	public Object get(String entityName, Serializable id, LockOptions lockOptions) throws HibernateException;
 
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} to load several instances of the given entity class by
+	 * identifier in one call.
+	 *
+	 * @param entityClass a persistent class
+	 * @return the load access, to be configured and then used through one of its <tt>multiLoad</tt> methods
+	 * @throws HibernateException if the class is not an entity
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) throws HibernateException;
+
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} to load several instances of the given named entity by
+	 * identifier in one call.
+	 *
+	 * @param entityName the entity name
+	 * @return the load access, to be configured and then used through one of its <tt>multiLoad</tt> methods
+	 * @throws HibernateException if there is no entity with that name
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) throws HibernateException;
+
 	/**
 	 * Return the entity name for a persistent entity
 	 *   
@@ -931,6 +952,86 @@ public interface Session extends SharedSessionContract {
 	 */
 	public LobHelper getLobHelper();
 
+	/**
+	 * Loads several instances of an entity by identifier.  Each identifier is resolved against the persistence
+	 * context first, then against the second-level cache; the remaining ones are loaded from the database with one
+	 * query per chunk of {@link #withBatchSize batch size} identifiers.  As with {@link Session#get}, the returned
+	 * instances are never uninitialized.
+	 */
+	public interface MultiIdentifierLoadAccess {
+		/**
+		 * Specify the lock options to use; the default is {@link LockOptions#NONE}.
+		 *
+		 * @param lockOptions the lock options
+		 *
+		 * @return {@code this}, for method chaining
+		 */
+		MultiIdentifierLoadAccess with(LockOptions lockOptions);
+
+		/**
+		 * Specify the number of identifiers loaded by each database query.  The default is the batch size of the
+		 * entity (which falls back to the default batch fetch size) if greater than 1, 64 otherwise.
+		 *
+		 * @param batchSize the strictly positive number of identifiers per query
+		 *
+		 * @return {@code this}, for method chaining
+		 */
+		MultiIdentifierLoadAccess withBatchSize(int batchSize);
+
+		/**
+		 * Should the returned list be ordered like the given identifiers, one element per identifier?  Enabled by
+		 * default.  When disabled, each instance is returned once, in no particular order, and there is no element
+		 * for the missing ones.
+		 *
+		 * @param enabled {@code true} to keep the order of the identifiers
+		 *
+		 * @return {@code this}, for method chaining
+		 */
+		MultiIdentifierLoadAccess enableOrderedReturn(boolean enabled);
+
+		/**
+		 * Should an ordered return contain {@code null} for the identifiers without a persistent instance?  Enabled
+		 * by default; when disabled the missing instances are simply skipped.
+		 *
+		 * @param enabled {@code true} to return {@code null} for the missing instances
+		 *
+		 * @return {@code this}, for method chaining
+		 */
+		MultiIdentifierLoadAccess enableReturnOfMissingAsNull(boolean enabled);
+
+		/**
+		 * Should the instances deleted in this session (but not yet flushed) be returned?  Disabled by default, in
+		 * which case they are treated as missing, like {@link Session#get} does.
+		 *
+		 * @param enabled {@code true} to return the deleted instances
+		 *
+		 * @return {@code this}, for method chaining
+		 */
+		MultiIdentifierLoadAccess enableReturnOfDeletedEntities(boolean enabled);
+
+		/**
+		 * Load the instances with the given identifiers.
+		 *
+		 * @param ids the identifiers
+		 *
+		 * @return the persistent instances
+		 *
+		 * @throws HibernateException
+		 */
+		List multiLoad(Serializable... ids) throws HibernateException;
+
+		/**
+		 * Load the instances with the given identifiers.
+		 *
+		 * @param ids the identifiers
+		 *
+		 * @return the persistent instances
+		 *
+		 * @throws HibernateException
+		 */
+		List multiLoad(List<? extends Serializable> ids) throws HibernateException;
+	}
+
 	/**
 	 * Contains locking details (LockMode, Timeout and Scope).
 	 */
@@ -113,4 +113,16 @@ public interface SessionBuilder {
 	 * @return {@code this}, for method chaining
 	 */
 	public SessionBuilder tenantIdentifier(String tenantIdentifier);
+
+	/**
+	 * Should the opened session be {@link Session#setDefaultReadOnly read-only by default}?  When the connection
+	 * provider supports it, a read-only session also reads from a replica of the database.
+	 *
+	 * @param readOnly Should the session be read-only by default
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.service.jdbc.connections.spi.ReadOnlyRoutingConnectionProvider
+	 */
+	public SessionBuilder readOnly(boolean readOnly);
 }
@@ -24,6 +24,8 @@
 package org.hibernate.action.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -36,6 +38,7 @@ import org.hibernate.event.spi.PostInsertEvent;
 import org.hibernate.event.spi.PostInsertEventListener;
 import org.hibernate.event.spi.PreInsertEvent;
 import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.id.BatchedIdentityInsertPersister;
 import org.hibernate.persister.entity.EntityPersister;
 
 public final class EntityIdentityInsertAction extends EntityAction  {
@@ -76,13 +79,7 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 
 		if ( !veto ) {
 			generatedId = persister.insert( state, instance, session );
-			if ( persister.hasInsertGeneratedProperties() ) {
-				persister.processInsertGeneratedProperties( generatedId, instance, state, session );
-			}
-			//need to do that here rather than in the save event listener to let
-			//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
-			persister.setIdentifier( instance, generatedId, session );
-			getSession().getPersistenceContext().registerInsertedKey( getPersister(), generatedId );
+			afterInsert();
 		}
 
 
@@ -102,6 +99,75 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 
 	}
 
+	/**
+	 * Can this insert be executed together with other inserts of the same entity, through
+	 * {@link #executeBatch}?  Only delayed inserts, whose generated id is not needed right away, can.
+	 *
+	 * @return True if this insert can be batched
+	 */
+	public boolean isBatchable() {
+		return isDelayed
+				&& getPersister() instanceof BatchedIdentityInsertPersister
+				&& ( (BatchedIdentityInsertPersister) getPersister() ).isIdentityInsertBatchable();
+	}
+
+	/**
+	 * Execute the given {@link #isBatchable() batchable} inserts, all of the same entity, as a single JDBC batch.
+	 *
+	 * @param actions The inserts to execute
+	 *
+	 * @throws HibernateException Indicates a problem executing the inserts
+	 */
+	public static void executeBatch(List<EntityIdentityInsertAction> actions) throws HibernateException {
+		final int size = actions.size();
+		final boolean[] vetoes = new boolean[size];
+		final List<EntityIdentityInsertAction> inserts = new ArrayList<EntityIdentityInsertAction>( size );
+		for ( int i = 0; i < size; i++ ) {
+			vetoes[i] = actions.get( i ).preInsert();
+			if ( !vetoes[i] ) {
+				inserts.add( actions.get( i ) );
+			}
+		}
+
+		if ( !inserts.isEmpty() ) {
+			final Object[][] states = new Object[inserts.size()][];
+			final Object[] instances = new Object[inserts.size()];
+			for ( int i = 0; i < instances.length; i++ ) {
+				states[i] = inserts.get( i ).state;
+				instances[i] = inserts.get( i ).getInstance();
+			}
+			final EntityIdentityInsertAction first = inserts.get( 0 );
+			final Serializable[] generatedIds = ( (BatchedIdentityInsertPersister) first.getPersister() )
+					.insert( states, instances, first.getSession() );
+			for ( int i = 0; i < generatedIds.length; i++ ) {
+				inserts.get( i ).generatedId = generatedIds[i];
+				inserts.get( i ).afterInsert();
+			}
+		}
+
+		for ( int i = 0; i < size; i++ ) {
+			final EntityIdentityInsertAction action = actions.get( i );
+			action.postInsert();
+			final SessionImplementor session = action.getSession();
+			if ( session.getFactory().getStatistics().isStatisticsEnabled() && !vetoes[i] ) {
+				session.getFactory().getStatisticsImplementor().insertEntity( action.getPersister().getEntityName() );
+			}
+		}
+	}
+
+	private void afterInsert() {
+		final EntityPersister persister = getPersister();
+		final SessionImplementor session = getSession();
+		final Object instance = getInstance();
+		if ( persister.hasInsertGeneratedProperties() ) {
+			persister.processInsertGeneratedProperties( generatedId, instance, state, session );
+		}
+		//need to do that here rather than in the save event listener to let
+		//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
+		persister.setIdentifier( instance, generatedId, session );
+		session.getPersistenceContext().registerInsertedKey( persister, generatedId );
+	}
+
 	@Override
     public boolean needsAfterTransactionCompletion() {
 		//TODO: simply remove this override if we fix the above todos
@@ -124,7 +190,8 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 	}
 
 	private void postInsert() {
-		if ( isDelayed ) {
+		// a vetoed insert has no generated id, so the entity stays under its delayed key
+		if ( isDelayed && generatedId != null ) {
 			getSession().getPersistenceContext().replaceDelayedEntityIdentityInsertKeys( delayedEntityKey, generatedId );
 		}
 
@@ -178,6 +245,10 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 		return generatedId;
 	}
 
+	public Object[] getState() {
+		return state;
+	}
+
 	public EntityKey getDelayedEntityKey() {
 		return delayedEntityKey;
 	}
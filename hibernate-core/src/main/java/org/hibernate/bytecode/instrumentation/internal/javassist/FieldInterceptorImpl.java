@@ -106,59 +106,81 @@ public final class FieldInterceptorImpl extends AbstractFieldInterceptor impleme
 	}
 
 	public boolean writeBoolean(Object target, String name, boolean oldValue, boolean newValue) {
-		dirty();
-		intercept( target, name, oldValue );
+		if ( ( ( Boolean ) intercept( target, name, oldValue ) ).booleanValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public byte writeByte(Object target, String name, byte oldValue, byte newValue) {
-		dirty();
-		intercept( target, name, Byte.valueOf( oldValue ) );
+		if ( ( ( Byte ) intercept( target, name, Byte.valueOf( oldValue ) ) ).byteValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public char writeChar(Object target, String name, char oldValue, char newValue) {
-		dirty();
-		intercept( target, name, Character.valueOf( oldValue ) );
+		if ( ( ( Character ) intercept( target, name, Character.valueOf( oldValue ) ) ).charValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public double writeDouble(Object target, String name, double oldValue, double newValue) {
-		dirty();
-		intercept( target, name, Double.valueOf( oldValue ) );
+		if ( ( ( Double ) intercept( target, name, Double.valueOf( oldValue ) ) ).doubleValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public float writeFloat(Object target, String name, float oldValue, float newValue) {
-		dirty();
-		intercept( target, name, Float.valueOf( oldValue ) );
+		if ( ( ( Float ) intercept( target, name, Float.valueOf( oldValue ) ) ).floatValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public int writeInt(Object target, String name, int oldValue, int newValue) {
-		dirty();
-		intercept( target, name, Integer.valueOf( oldValue ) );
+		if ( ( ( Integer ) intercept( target, name, Integer.valueOf( oldValue ) ) ).intValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public long writeLong(Object target, String name, long oldValue, long newValue) {
-		dirty();
-		intercept( target, name, Long.valueOf( oldValue ) );
+		if ( ( ( Long ) intercept( target, name, Long.valueOf( oldValue ) ) ).longValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public short writeShort(Object target, String name, short oldValue, short newValue) {
-		dirty();
-		intercept( target, name, Short.valueOf( oldValue ) );
+		if ( ( ( Short ) intercept( target, name, Short.valueOf( oldValue ) ) ).shortValue() != newValue ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
 	public Object writeObject(Object target, String name, Object oldValue, Object newValue) {
-		dirty();
-		intercept( target, name, oldValue );
+		if ( !isSameValue( intercept( target, name, oldValue ), newValue ) ) {
+			dirty( name );
+		}
 		return newValue;
 	}
 
+	private static boolean isSameValue(Object oldValue, Object newValue) {
+		if ( oldValue == newValue ) {
+			return true;
+		}
+		if ( oldValue == null || newValue == null ) {
+			return false;
+		}
+		// only trust equals() for the immutable JDK value types; anything else counts as written
+		return ( oldValue instanceof String || oldValue instanceof Number
+				|| oldValue instanceof Boolean || oldValue instanceof Character )
+				&& oldValue.equals( newValue );
+	}
+
 	public String toString() {
 		return "FieldInterceptorImpl(" +
 		       "entityName=" + getEntityName() +
@@ -23,6 +23,8 @@
  */
 package org.hibernate.bytecode.instrumentation.spi;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.hibernate.LazyInitializationException;
@@ -39,6 +41,8 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 
 	private transient boolean initializing;
 	private boolean dirty;
+	// the fields written since the dirty flag was last cleared; null when forcefully marked dirty
+	private Set<String> dirtyFields;
 
 	protected AbstractFieldInterceptor(SessionImplementor session, Set uninitializedFields, String entityName) {
 		this.session = session;
@@ -63,6 +67,7 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 
 	public final void dirty() {
 		dirty = true;
+		dirtyFields = null;
 	}
 
 	public final boolean isDirty() {
@@ -71,11 +76,37 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 
 	public final void clearDirty() {
 		dirty = false;
+		dirtyFields = null;
+	}
+
+	public final Set<String> getDirtyFields() {
+		if ( !dirty ) {
+			return Collections.emptySet();
+		}
+		return dirtyFields == null ? null : Collections.unmodifiableSet( dirtyFields );
 	}
 
 
 	// subclass accesses ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	/**
+	 * Mark the given field as dirty.  Writes performed while initializing lazy properties are ignored.
+	 *
+	 * @param fieldName The name of the written field
+	 */
+	protected final void dirty(String fieldName) {
+		if ( initializing ) {
+			return;
+		}
+		if ( !dirty ) {
+			dirty = true;
+			dirtyFields = new HashSet<String>();
+		}
+		if ( dirtyFields != null ) {
+			dirtyFields.add( fieldName );
+		}
+	}
+
 	protected final Object intercept(Object target, String fieldName, Object value) {
 		if ( initializing ) {
 			return value;
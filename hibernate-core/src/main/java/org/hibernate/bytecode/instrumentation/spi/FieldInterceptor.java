@@ -23,6 +23,8 @@
  */
 package org.hibernate.bytecode.instrumentation.spi;
 
+import java.util.Set;
+
 import org.hibernate.engine.spi.SessionImplementor;
 
 /**
@@ -70,4 +72,12 @@ public interface FieldInterceptor {
 	 * Clear the internal dirty flag.
 	 */
 	public void clearDirty();
+
+	/**
+	 * The names of the fields written with a different value since the dirty flag was last cleared.
+	 *
+	 * @return The dirty fields (empty if the entity is not dirty), or {@code null} if the entity was
+	 * {@link #dirty() forcefully} marked dirty and every field must be considered dirty.
+	 */
+	public Set<String> getDirtyFields();
 }
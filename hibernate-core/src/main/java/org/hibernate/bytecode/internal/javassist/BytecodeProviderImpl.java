@@ -23,6 +23,7 @@
  */
 package org.hibernate.bytecode.internal.javassist;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 
 import org.jboss.logging.Logger;
@@ -31,6 +32,7 @@ import org.hibernate.bytecode.buildtime.spi.ClassFilter;
 import org.hibernate.bytecode.buildtime.spi.FieldFilter;
 import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ClassTransformer;
+import org.hibernate.bytecode.spi.ConstructorOptimizer;
 import org.hibernate.bytecode.spi.ProxyFactoryFactory;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.internal.CoreMessageLogger;
@@ -97,6 +99,28 @@ public class BytecodeProviderImpl implements BytecodeProvider {
         return null;
 	}
 
+	public ConstructorOptimizer getConstructorOptimizer(Constructor constructor) {
+		final Class clazz = constructor.getDeclaringClass();
+		if ( !Modifier.isPublic( constructor.getModifiers() )
+				|| !Modifier.isPublic( clazz.getModifiers() )
+				|| Modifier.isAbstract( clazz.getModifiers() ) ) {
+			LOG.debugf( "Constructor optimizer disabled for: %s [not a public constructor of a public class]", clazz.getName() );
+			return null;
+		}
+		try {
+			return ConstructorAccessor.create( constructor );
+		}
+		catch ( Throwable t ) {
+			LOG.debugf(
+					"Constructor optimizer disabled for: %s [%s: %s",
+					clazz.getName(),
+					StringHelper.unqualify( t.getClass().getName() ),
+					t.getMessage()
+			);
+			return null;
+		}
+	}
+
 	public ClassTransformer getTransformer(ClassFilter classFilter, FieldFilter fieldFilter) {
 		return new JavassistClassTransformer( classFilter, fieldFilter );
 	}
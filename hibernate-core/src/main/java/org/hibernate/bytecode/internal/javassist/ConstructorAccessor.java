@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+
+import org.hibernate.bytecode.spi.ConstructorOptimizer;
+
+/**
+ * A {@link ConstructorOptimizer} invoking one particular constructor through generated bytecode, rather
+ * than through {@link Constructor#newInstance}.
+ */
+public abstract class ConstructorAccessor implements ConstructorOptimizer, Serializable {
+	protected Class target;
+
+	protected ConstructorAccessor() {
+	}
+
+	/**
+	 * Creates a new instance of <code>ConstructorAccessor</code> for the given constructor, which
+	 * must be public and declared by a public class.
+	 *
+	 * @param constructor The constructor to invoke
+	 *
+	 * @return The generated accessor
+	 */
+	public static ConstructorAccessor create(Constructor constructor) {
+		return new ConstructorAccessorFactory( constructor ).create();
+	}
+}
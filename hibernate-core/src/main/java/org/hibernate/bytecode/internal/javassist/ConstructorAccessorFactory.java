@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.CannotCompileException;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.util.proxy.FactoryHelper;
+import javassist.util.proxy.RuntimeSupport;
+
+/**
+ * A factory of constructor accessors.
+ */
+class ConstructorAccessorFactory {
+	private static final String ACCESSOR_CLASS_NAME = ConstructorAccessor.class.getName();
+	private static final String GENERATED_METHOD_NAME = "newInstance";
+	private static final String GENERATED_METHOD_DESC = "([Ljava/lang/Object;)Ljava/lang/Object;";
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private final Constructor constructor;
+	private final Class targetClass;
+
+	ConstructorAccessorFactory(Constructor constructor) {
+		this.constructor = constructor;
+		this.targetClass = constructor.getDeclaringClass();
+	}
+
+	ConstructorAccessor create() {
+		try {
+			final ClassFile classfile = make();
+			// define the accessor next to the class it instantiates, so that it can see that class
+			final ClassLoader loader = targetClass.getClassLoader() == null ?
+					getClass().getClassLoader() :
+					targetClass.getClassLoader();
+			final Class accessorClass = FactoryHelper.toClass( classfile, loader, targetClass.getProtectionDomain() );
+			final ConstructorAccessor accessor = (ConstructorAccessor) accessorClass.newInstance();
+			accessor.target = targetClass;
+			return accessor;
+		}
+		catch ( Exception e ) {
+			throw new BulkAccessorException( e.getMessage(), e );
+		}
+	}
+
+	private ClassFile make() throws CannotCompileException {
+		String className = targetClass.getName() + "_$$_construct_" + COUNTER.getAndIncrement();
+		if ( className.startsWith( "java." ) ) {
+			className = "org.javassist.tmp." + className;
+		}
+
+		final ClassFile classfile = new ClassFile( false, className, ACCESSOR_CLASS_NAME );
+		classfile.setAccessFlags( AccessFlag.PUBLIC );
+		addDefaultConstructor( classfile );
+		addNewInstance( classfile );
+		return classfile;
+	}
+
+	private void addDefaultConstructor(ClassFile classfile) throws CannotCompileException {
+		final ConstPool cp = classfile.getConstPool();
+		final String consDesc = "()V";
+		final MethodInfo mi = new MethodInfo( cp, MethodInfo.nameInit, consDesc );
+
+		final Bytecode code = new Bytecode( cp, 1, 1 );
+		// aload_0
+		code.addAload( 0 );
+		// invokespecial
+		code.addInvokespecial( ACCESSOR_CLASS_NAME, MethodInfo.nameInit, consDesc );
+		// return
+		code.addOpcode( Opcode.RETURN );
+
+		mi.setCodeAttribute( code.toCodeAttribute() );
+		mi.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( mi );
+	}
+
+	private void addNewInstance(ClassFile classfile) throws CannotCompileException {
+		final ConstPool cp = classfile.getConstPool();
+		final MethodInfo mi = new MethodInfo( cp, GENERATED_METHOD_NAME, GENERATED_METHOD_DESC );
+		final Class[] parameterTypes = constructor.getParameterTypes();
+
+		// new + dup, the arguments pushed so far, then the args array and index being loaded
+		int maxStack = 4;
+		for ( Class parameterType : parameterTypes ) {
+			maxStack += parameterType == Long.TYPE || parameterType == Double.TYPE ? 2 : 1;
+		}
+
+		/* | this | args | */
+		final Bytecode code = new Bytecode( cp, maxStack, 2 );
+		// new
+		code.addNew( targetClass.getName() );
+		// dup
+		code.addOpcode( Opcode.DUP );
+		for ( int i = 0; i < parameterTypes.length; i++ ) {
+			// aload_1 // load the args
+			code.addAload( 1 );
+			// iconst_i
+			code.addIconst( i );
+			// aaload
+			code.addOpcode( Opcode.AALOAD );
+			if ( parameterTypes[i].isPrimitive() ) {
+				// checkcast + invokevirtual (unwrap the primitive value)
+				final int index = FactoryHelper.typeIndex( parameterTypes[i] );
+				final String wrapperType = FactoryHelper.wrapperTypes[index];
+				code.addCheckcast( wrapperType );
+				code.addInvokevirtual( wrapperType, FactoryHelper.unwarpMethods[index], FactoryHelper.unwrapDesc[index] );
+			}
+			else {
+				// checkcast
+				code.addCheckcast( parameterTypes[i].getName() );
+			}
+		}
+		// invokespecial
+		code.addInvokespecial(
+				targetClass.getName(),
+				MethodInfo.nameInit,
+				RuntimeSupport.makeDescriptor( parameterTypes, Void.TYPE )
+		);
+		// areturn
+		code.addOpcode( Opcode.ARETURN );
+
+		mi.setCodeAttribute( code.toCodeAttribute() );
+		mi.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( mi );
+	}
+}
@@ -23,6 +23,8 @@
  */
 package org.hibernate.bytecode.spi;
 
+import java.lang.reflect.Constructor;
+
 import org.hibernate.bytecode.buildtime.spi.ClassFilter;
 import org.hibernate.bytecode.buildtime.spi.FieldFilter;
 
@@ -58,6 +60,14 @@ public interface BytecodeProvider {
 	 */
 	public ReflectionOptimizer getReflectionOptimizer(Class clazz, String[] getterNames, String[] setterNames, Class[] types);
 
+	/**
+	 * Retrieve an optimized delegate for instantiating a class through the given constructor.
+	 *
+	 * @param constructor The constructor to be invoked.
+	 * @return The instantiation delegate, or {@code null} if the constructor cannot be optimized.
+	 */
+	public ConstructorOptimizer getConstructorOptimizer(Constructor constructor);
+
 	/**
 	 * Generate a ClassTransformer capable of performing bytecode manipulation.
 	 *
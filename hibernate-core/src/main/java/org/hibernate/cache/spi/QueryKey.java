@@ -25,6 +25,7 @@ package org.hibernate.cache.spi;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
@@ -51,6 +52,7 @@ public class QueryKey implements Serializable {
 	private final Map namedParameters;
 	private final Integer firstRow;
 	private final Integer maxRows;
+	private final Object[] keysetValues;
 	private final String tenantIdentifier;
 	private final Set filterKeys;
 
@@ -117,13 +119,16 @@ public class QueryKey implements Serializable {
 		final RowSelection selection = queryParameters.getRowSelection();
 		final Integer firstRow;
 		final Integer maxRows;
+		final Object[] keysetValues;
 		if ( selection != null ) {
 			firstRow = selection.getFirstRow();
 			maxRows = selection.getMaxRows();
+			keysetValues = selection.getKeysetValues();
 		}
 		else {
 			firstRow = null;
 			maxRows = null;
+			keysetValues = null;
 		}
 
 		return new QueryKey(
@@ -133,6 +138,7 @@ public class QueryKey implements Serializable {
 				namedParameters,
 				firstRow,
 				maxRows,
+				keysetValues,
 				filterKeys,
 				session.getTenantIdentifier(),
 				customTransformer
@@ -162,12 +168,52 @@ public class QueryKey implements Serializable {
 			Set filterKeys,
 			String tenantIdentifier,
 			CacheableResultTransformer customTransformer) {
+		this(
+				sqlQueryString,
+				positionalParameterTypes,
+				positionalParameterValues,
+				namedParameters,
+				firstRow,
+				maxRows,
+				null,
+				filterKeys,
+				tenantIdentifier,
+				customTransformer
+		);
+	}
+
+	/**
+	 * Package-protected constructor.
+	 *
+	 * @param sqlQueryString The sql query string.
+	 * @param positionalParameterTypes Positional parameter types.
+	 * @param positionalParameterValues Positional parameter values.
+	 * @param namedParameters Named parameters.
+	 * @param firstRow First row selection, if any.
+	 * @param maxRows Max-rows selection, if any.
+	 * @param keysetValues Last key seen by keyset pagination, if any.
+	 * @param filterKeys Enabled filter keys, if any.
+	 * @param customTransformer Custom result transformer, if one.
+	 * @param tenantIdentifier The tenant identifier in effect for this query, or {@code null}
+	 */
+	QueryKey(
+			String sqlQueryString,
+			Type[] positionalParameterTypes,
+			Object[] positionalParameterValues,
+			Map namedParameters,
+			Integer firstRow,
+			Integer maxRows,
+			Object[] keysetValues,
+			Set filterKeys,
+			String tenantIdentifier,
+			CacheableResultTransformer customTransformer) {
 		this.sqlQueryString = sqlQueryString;
 		this.positionalParameterTypes = positionalParameterTypes;
 		this.positionalParameterValues = positionalParameterValues;
 		this.namedParameters = namedParameters;
 		this.firstRow = firstRow;
 		this.maxRows = maxRows;
+		this.keysetValues = keysetValues;
 		this.tenantIdentifier = tenantIdentifier;
 		this.filterKeys = filterKeys;
 		this.customTransformer = customTransformer;
@@ -195,6 +241,7 @@ public class QueryKey implements Serializable {
 		int result = 13;
 		result = 37 * result + ( firstRow==null ? 0 : firstRow.hashCode() );
 		result = 37 * result + ( maxRows==null ? 0 : maxRows.hashCode() );
+		result = 37 * result + Arrays.hashCode( keysetValues );
 		for ( int i=0; i< positionalParameterValues.length; i++ ) {
 			result = 37 * result + ( positionalParameterValues[i]==null ? 0 : positionalParameterTypes[i].getHashCode( positionalParameterValues[i] ) );
 		}
@@ -221,6 +268,9 @@ public class QueryKey implements Serializable {
 		if ( !EqualsHelper.equals( firstRow, that.firstRow ) || !EqualsHelper.equals( maxRows, that.maxRows ) ) {
 			return false;
 		}
+		if ( !Arrays.equals( keysetValues, that.keysetValues ) ) {
+			return false;
+		}
 		if ( !EqualsHelper.equals( customTransformer, that.customTransformer ) ) {
 			return false;
 		}
@@ -283,6 +333,9 @@ public class QueryKey implements Serializable {
 		if ( maxRows != null ) {
 			buffer.append( "; max rows: " ).append( maxRows );
 		}
+		if ( keysetValues != null ) {
+			buffer.append( "; after key: " ).append( Arrays.toString( keysetValues ) );
+		}
 		if ( customTransformer != null ) {
 			buffer.append( "; transformer: " ).append( customTransformer );
 		}
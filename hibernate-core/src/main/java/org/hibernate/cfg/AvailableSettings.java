@@ -80,12 +80,59 @@ public interface AvailableSettings {
 	 */
 	public static final String POOL_SIZE ="hibernate.connection.pool_size";
 
+	/**
+	 * Maximum time, in milliseconds, to wait for a connection of the
+	 * {@link org.hibernate.service.jdbc.connections.internal.PooledConnectionProviderImpl pooled connection provider}
+	 * when all {@link #POOL_SIZE} connections are in use.  Default is 30000.
+	 */
+	public static final String POOL_ACQUIRE_TIMEOUT = "hibernate.connection.pool_acquire_timeout";
+
+	/**
+	 * Should the pooled connection provider validate every connection it hands out?  Default is <tt>false</tt>.
+	 */
+	public static final String POOL_VALIDATE_ON_BORROW = "hibernate.connection.pool_validate_on_borrow";
+
+	/**
+	 * Time, in milliseconds, a connection of the pooled connection provider may stay idle before being validated
+	 * when next handed out.  Default is 0, which disables idle validation.
+	 */
+	public static final String POOL_IDLE_VALIDATION_INTERVAL = "hibernate.connection.pool_idle_validation_interval";
+
+	/**
+	 * Time, in milliseconds, after which a connection of the pooled connection provider which has not been returned
+	 * is reported as a possible leak, along with the stack trace of the code which obtained it.  Default is 0, which
+	 * disables leak detection.
+	 */
+	public static final String POOL_LEAK_DETECTION_THRESHOLD = "hibernate.connection.pool_leak_detection_threshold";
+
 	/**
 	 * Names a {@link javax.sql.DataSource}.  Can either reference a {@link javax.sql.DataSource} instance or
 	 * a {@literal JNDI} name under which to locate the {@link javax.sql.DataSource}.
 	 */
 	public static final String DATASOURCE ="hibernate.connection.datasource";
 
+	/**
+	 * Names the read-only replicas of the {@link #DATASOURCE} to which sessions and queries marked read-only are
+	 * routed.  Can either reference a {@link javax.sql.DataSource} instance, a collection or array of
+	 * {@link javax.sql.DataSource} instances, or a comma-separated list of {@literal JNDI} names.
+	 *
+	 * @see org.hibernate.service.jdbc.connections.internal.ReadWriteSplittingConnectionProviderImpl
+	 */
+	public static final String REPLICA_DATASOURCES = "hibernate.connection.replica_datasources";
+
+	/**
+	 * How long, in milliseconds, a replica which failed to hand out a connection is left out of the rotation.
+	 * Default is 30000.
+	 */
+	public static final String REPLICA_RETRY_INTERVAL = "hibernate.connection.replica_retry_interval";
+
+	/**
+	 * The replication lag, in milliseconds, tolerated by a session after it wrote to the primary: for that long,
+	 * its read-only work keeps being routed to the primary so that it reads its own writes.  By default a session
+	 * which wrote stays on the primary until it is closed.
+	 */
+	public static final String REPLICA_MAX_STALENESS = "hibernate.connection.replica_max_staleness";
+
 	/**
 	 * Names a prefix used to define arbitrary JDBC connection properties.  These properties are passed along to
 	 * the {@literal JDBC} provider when creating a connection.
@@ -141,6 +188,11 @@ public interface AvailableSettings {
 	 * Enable formatting of SQL logged to the console
 	 */
 	public static final String FORMAT_SQL ="hibernate.format_sql";
+	/**
+	 * Log, at WARN level, SQL statements whose execution takes at least this many milliseconds, together with
+	 * the types of their bound parameters.  Disabled by default.
+	 */
+	public static final String SLOW_SQL_THRESHOLD = "hibernate.slow_sql_threshold";
 	/**
 	 * Add comments to the generated SQL
 	 */
@@ -153,6 +205,14 @@ public interface AvailableSettings {
 	 * The default batch size for batch fetching
 	 */
 	public static final String DEFAULT_BATCH_FETCH_SIZE = "hibernate.default_batch_fetch_size";
+	/**
+	 * The style of the loaders used for batch fetching, either <tt>legacy</tt> (the default) or <tt>padded</tt>.
+	 * Can be overridden per entity or collection, by the <tt>batch-fetch-style</tt> mapping attribute or the
+	 * {@link org.hibernate.annotations.BatchFetch} annotation.
+	 *
+	 * @see org.hibernate.loader.BatchFetchStyle
+	 */
+	public static final String BATCH_FETCH_STYLE = "hibernate.batch_fetch_style";
 	/**
 	 * Use <tt>java.io</tt> streams to read / write binary data from / to JDBC
 	 */
@@ -185,6 +245,17 @@ public interface AvailableSettings {
 	 * Should versioned data be included in batching?
 	 */
 	public static final String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
+	/**
+	 * Should inserts of entities with IDENTITY generated ids, which do not need their id immediately (i.e. were
+	 * passed to <tt>persist()</tt>), be deferred to flush time and executed as a JDBC batch?  Only applies when
+	 * JDBC batching and <tt>getGeneratedKeys()</tt> are enabled and the dialect reports that the driver returns
+	 * generated keys for a batch.  Default is <tt>false</tt>.
+	 * <p/>
+	 * Note that the rows of persisted entities then do not exist in the database until the session is flushed.
+	 * Auto-flush takes care of HQL and criteria queries, but native SQL queries which do not declare their
+	 * synchronized spaces, and JDBC work passed to <tt>Session.doWork()</tt>, will not see those rows.
+	 */
+	public static final String BATCH_IDENTITY_INSERTS = "hibernate.jdbc.batch_identity_inserts";
 	/**
 	 * An XSLT resource used to generate "custom" XML
 	 */
@@ -338,6 +409,14 @@ public interface AvailableSettings {
 	 */
 	public static final String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
+	/**
+	 * Enable dirty-tracking for bytecode instrumented entities: non-versioned instrumented entities then
+	 * do not retain a snapshot of their loaded state, and are dirty-checked against the fields written
+	 * since they were loaded.  Note that such entities are passed a {@code null} previous state in
+	 * {@link org.hibernate.Interceptor#onFlushDirty}.  Default is false.
+	 */
+	public static final String ENHANCED_DIRTY_TRACKING = "hibernate.bytecode.enhanced_dirty_tracking";
+
 	/**
 	 * The classname of the HQL query parser factory
 	 */
@@ -406,6 +485,26 @@ public interface AvailableSettings {
 	 */
 	public static final String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * The minimum number of managed entities a flush must visit before their dirty-checking is spread
+	 * across {@link #FLUSH_PARALLEL_DIRTY_CHECK_THREADS} worker threads.  Default is 0, which disables
+	 * parallel dirty-checking.
+	 */
+	public static final String FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD = "hibernate.flush.parallel_dirty_check_threshold";
+
+	/**
+	 * The number of worker threads used for parallel flush-time dirty-checking.  Defaults to the number
+	 * of available processors.
+	 */
+	public static final String FLUSH_PARALLEL_DIRTY_CHECK_THREADS = "hibernate.flush.parallel_dirty_check_threads";
+
+	/**
+	 * Enable a cheaper auto-flush: before a query is executed, only the entities and collections which may
+	 * affect the tables of the query are dirty-checked, and the full flush is skipped when none of them is
+	 * dirty.  Default is false.
+	 */
+	public static final String FLUSH_SCOPED_AUTO_FLUSH = "hibernate.flush.scoped_auto_flush";
+
 	/**
 	 * The EntityMode in which set the Session opened from the SessionFactory.
 	 */
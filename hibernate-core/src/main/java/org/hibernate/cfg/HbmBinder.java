@@ -671,6 +671,7 @@ public final class HbmBinder {
 		// BATCH SIZE
 		Attribute batchNode = node.attribute( "batch-size" );
 		if ( batchNode != null ) entity.setBatchSize( Integer.parseInt( batchNode.getValue() ) );
+		entity.setBatchFetchStyle( node.attributeValue( "batch-fetch-style" ) );
 
 		// SELECT BEFORE UPDATE
 		Attribute sbuNode = node.attribute( "select-before-update" );
@@ -1371,6 +1372,7 @@ public final class HbmBinder {
 		if ( batchNode != null ) {
 			collection.setBatchSize( Integer.parseInt( batchNode.getValue() ) );
 		}
+		collection.setBatchFetchStyle( node.attributeValue( "batch-fetch-style" ) );
 
 		String nodeName = node.attributeValue( "node" );
 		if ( nodeName == null ) nodeName = node.attributeValue( "name" );
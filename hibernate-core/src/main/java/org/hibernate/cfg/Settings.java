@@ -31,6 +31,7 @@ import org.hibernate.MultiTenancyStrategy;
 import org.hibernate.cache.spi.QueryCacheFactory;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.service.jta.platform.spi.JtaPlatform;
 import org.hibernate.tuple.entity.EntityTuplizerFactory;
 
@@ -45,8 +46,10 @@ public final class Settings {
 	private Map querySubstitutions;
 	private int jdbcBatchSize;
 	private int defaultBatchFetchSize;
+	private BatchFetchStyle batchFetchStyle;
 	private boolean scrollableResultSetsEnabled;
 	private boolean getGeneratedKeysEnabled;
+	private boolean identityInsertBatchingEnabled;
 	private String defaultSchemaName;
 	private String defaultCatalogName;
 	private Integer jdbcFetchSize;
@@ -67,12 +70,17 @@ public final class Settings {
 	private boolean flushBeforeCompletionEnabled;
 	private boolean autoCloseSessionEnabled;
 	private ConnectionReleaseMode connectionReleaseMode;
+	private long replicaMaxStaleness;
 	private RegionFactory regionFactory;
 	private QueryCacheFactory queryCacheFactory;
 	private QueryTranslatorFactory queryTranslatorFactory;
 	private boolean wrapResultSetsEnabled;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
+	private int parallelDirtyCheckThreshold;
+	private int parallelDirtyCheckThreads;
+	private boolean scopedAutoFlushEnabled;
+	private boolean enhancedDirtyTrackingEnabled;
 	private EntityMode defaultEntityMode;
 	private boolean dataDefinitionImplicitCommit;
 	private boolean dataDefinitionInTransactionSupported;
@@ -119,6 +127,10 @@ public final class Settings {
 		return defaultBatchFetchSize;
 	}
 
+	public BatchFetchStyle getBatchFetchStyle() {
+		return batchFetchStyle;
+	}
+
 	public Map getQuerySubstitutions() {
 		return querySubstitutions;
 	}
@@ -135,6 +147,10 @@ public final class Settings {
 		return getGeneratedKeysEnabled;
 	}
 
+	public boolean isIdentityInsertBatchingEnabled() {
+		return identityInsertBatchingEnabled;
+	}
+
 	public boolean isMinimalPutsEnabled() {
 		return minimalPutsEnabled;
 	}
@@ -207,6 +223,10 @@ public final class Settings {
 		return connectionReleaseMode;
 	}
 
+	public long getReplicaMaxStaleness() {
+		return replicaMaxStaleness;
+	}
+
 	public QueryTranslatorFactory getQueryTranslatorFactory() {
 		return queryTranslatorFactory;
 	}
@@ -219,6 +239,22 @@ public final class Settings {
 		return orderUpdatesEnabled;
 	}
 
+	public int getParallelDirtyCheckThreshold() {
+		return parallelDirtyCheckThreshold;
+	}
+
+	public int getParallelDirtyCheckThreads() {
+		return parallelDirtyCheckThreads;
+	}
+
+	public boolean isScopedAutoFlushEnabled() {
+		return scopedAutoFlushEnabled;
+	}
+
+	public boolean isEnhancedDirtyTrackingEnabled() {
+		return enhancedDirtyTrackingEnabled;
+	}
+
 	public boolean isOrderInsertsEnabled() {
 		return orderInsertsEnabled;
 	}
@@ -277,6 +313,10 @@ public final class Settings {
 		defaultBatchFetchSize = i;
 	}
 
+	void setBatchFetchStyle(BatchFetchStyle batchFetchStyle) {
+		this.batchFetchStyle = batchFetchStyle;
+	}
+
 	void setQuerySubstitutions(Map map) {
 		querySubstitutions = map;
 	}
@@ -297,6 +337,10 @@ public final class Settings {
 		getGeneratedKeysEnabled = b;
 	}
 
+	void setIdentityInsertBatchingEnabled(boolean identityInsertBatchingEnabled) {
+		this.identityInsertBatchingEnabled = identityInsertBatchingEnabled;
+	}
+
 	void setJdbcFetchSize(Integer integer) {
 		jdbcFetchSize = integer;
 	}
@@ -365,6 +409,10 @@ public final class Settings {
 		this.connectionReleaseMode = connectionReleaseMode;
 	}
 
+	void setReplicaMaxStaleness(long replicaMaxStaleness) {
+		this.replicaMaxStaleness = replicaMaxStaleness;
+	}
+
 	void setQueryTranslatorFactory(QueryTranslatorFactory queryTranslatorFactory) {
 		this.queryTranslatorFactory = queryTranslatorFactory;
 	}
@@ -377,6 +425,22 @@ public final class Settings {
 		this.orderUpdatesEnabled = orderUpdatesEnabled;
 	}
 
+	void setParallelDirtyCheckThreshold(int parallelDirtyCheckThreshold) {
+		this.parallelDirtyCheckThreshold = parallelDirtyCheckThreshold;
+	}
+
+	void setParallelDirtyCheckThreads(int parallelDirtyCheckThreads) {
+		this.parallelDirtyCheckThreads = parallelDirtyCheckThreads;
+	}
+
+	void setScopedAutoFlushEnabled(boolean scopedAutoFlushEnabled) {
+		this.scopedAutoFlushEnabled = scopedAutoFlushEnabled;
+	}
+
+	void setEnhancedDirtyTrackingEnabled(boolean enhancedDirtyTrackingEnabled) {
+		this.enhancedDirtyTrackingEnabled = enhancedDirtyTrackingEnabled;
+	}
+
 	void setOrderInsertsEnabled(boolean orderInsertsEnabled) {
 		this.orderInsertsEnabled = orderInsertsEnabled;
 	}
@@ -45,6 +45,7 @@ import org.hibernate.hql.spi.QueryTranslatorFactory;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.service.classloading.spi.ClassLoaderService;
 import org.hibernate.service.jta.platform.spi.JtaPlatform;
@@ -143,6 +144,17 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setGetGeneratedKeysEnabled(useGetGeneratedKeys);
 
+		boolean batchIdentityInserts = ConfigurationHelper.getBoolean(Environment.BATCH_IDENTITY_INSERTS, properties, false);
+		if ( batchIdentityInserts
+				&& ( batchSize <= 0 || !useGetGeneratedKeys || !jdbcServices.getDialect().supportsBatchedGeneratedKeys() ) ) {
+			LOG.identityInsertBatchingNotSupported( Environment.BATCH_IDENTITY_INSERTS );
+			batchIdentityInserts = false;
+		}
+		if ( debugEnabled ) {
+			LOG.debugf( "JDBC batch inserts for identity generated ids: %s", enabledDisabled(batchIdentityInserts) );
+		}
+		settings.setIdentityInsertBatchingEnabled(batchIdentityInserts);
+
 		Integer statementFetchSize = ConfigurationHelper.getInteger(Environment.STATEMENT_FETCH_SIZE, properties);
 		if ( statementFetchSize != null && debugEnabled ) {
 			LOG.debugf( "JDBC result set fetch size: %s", statementFetchSize );
@@ -167,6 +179,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setConnectionReleaseMode( releaseMode );
 
+		int replicaMaxStaleness = ConfigurationHelper.getInt( Environment.REPLICA_MAX_STALENESS, properties, -1 );
+		if ( replicaMaxStaleness >= 0 && debugEnabled ) {
+			LOG.debugf( "Replica max staleness: %s ms", replicaMaxStaleness );
+		}
+		settings.setReplicaMaxStaleness( replicaMaxStaleness );
+
 		//SQL Generation settings:
 
 		String defaultSchema = properties.getProperty( Environment.DEFAULT_SCHEMA );
@@ -192,6 +210,15 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setDefaultBatchFetchSize( batchFetchSize );
 
+		BatchFetchStyle batchFetchStyle = BatchFetchStyle.interpret( properties.get( Environment.BATCH_FETCH_STYLE ) );
+		if ( batchFetchStyle == null ) {
+			batchFetchStyle = BatchFetchStyle.LEGACY;
+		}
+		if ( debugEnabled ) {
+			LOG.debugf( "Batch fetch style: %s", batchFetchStyle );
+		}
+		settings.setBatchFetchStyle( batchFetchStyle );
+
 		boolean comments = ConfigurationHelper.getBoolean( Environment.USE_SQL_COMMENTS, properties );
 		if ( debugEnabled ) {
 			LOG.debugf( "Generate SQL with comments: %s", enabledDisabled(comments) );
@@ -210,6 +237,39 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setOrderInsertsEnabled( orderInserts );
 
+		int parallelDirtyCheckThreshold = ConfigurationHelper.getInt( Environment.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, properties, 0 );
+		int parallelDirtyCheckThreads = ConfigurationHelper.getInt(
+				Environment.FLUSH_PARALLEL_DIRTY_CHECK_THREADS,
+				properties,
+				Runtime.getRuntime().availableProcessors()
+		);
+		if ( debugEnabled ) {
+			if ( parallelDirtyCheckThreshold > 0 ) {
+				LOG.debugf(
+						"Parallel flush dirty-checking: enabled above %s entities, using %s threads",
+						parallelDirtyCheckThreshold,
+						parallelDirtyCheckThreads
+				);
+			}
+			else {
+				LOG.debugf( "Parallel flush dirty-checking: %s", enabledDisabled( false ) );
+			}
+		}
+		settings.setParallelDirtyCheckThreshold( parallelDirtyCheckThreshold );
+		settings.setParallelDirtyCheckThreads( parallelDirtyCheckThreads );
+
+		boolean scopedAutoFlush = ConfigurationHelper.getBoolean( Environment.FLUSH_SCOPED_AUTO_FLUSH, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Auto-flush scoped to query spaces: %s", enabledDisabled( scopedAutoFlush ) );
+		}
+		settings.setScopedAutoFlushEnabled( scopedAutoFlush );
+
+		boolean enhancedDirtyTracking = ConfigurationHelper.getBoolean( Environment.ENHANCED_DIRTY_TRACKING, properties );
+		if ( debugEnabled ) {
+			LOG.debugf( "Dirty-tracking of instrumented entities: %s", enabledDisabled( enhancedDirtyTracking ) );
+		}
+		settings.setEnhancedDirtyTrackingEnabled( enhancedDirtyTracking );
+
 		//Query parser settings:
 
 		settings.setQueryTranslatorFactory( createQueryTranslatorFactory( properties, serviceRegistry ) );
@@ -48,6 +48,7 @@ import org.jboss.logging.Logger;
 import org.hibernate.AnnotationException;
 import org.hibernate.FetchMode;
 import org.hibernate.MappingException;
+import org.hibernate.annotations.BatchFetch;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CollectionId;
@@ -126,6 +127,7 @@ public abstract class CollectionBinder {
 	protected String propertyName;
 	PropertyHolder propertyHolder;
 	int batchSize;
+	private String batchFetchStyle;
 	private String mappedBy;
 	private XClass collectionType;
 	private XClass targetEntity;
@@ -215,6 +217,10 @@ public abstract class CollectionBinder {
 		this.batchSize = batchSize == null ? -1 : batchSize.size();
 	}
 
+	public void setBatchFetch(BatchFetch batchFetch) {
+		this.batchFetchStyle = batchFetch == null ? null : batchFetch.style().getExternalName();
+	}
+
 	public void setEjb3OrderBy(javax.persistence.OrderBy orderByAnn) {
 		if ( orderByAnn != null ) {
 			hqlOrderBy = orderByAnn.value();
@@ -389,6 +395,7 @@ public abstract class CollectionBinder {
 		//set laziness
 		defineFetchingStrategy();
 		collection.setBatchSize( batchSize );
+		collection.setBatchFetchStyle( batchFetchStyle );
 		if ( orderBy != null && hqlOrderBy != null ) {
 			throw new AnnotationException(
 					"Cannot use sql order by clause in conjunction of EJB3 order by clause: " + safeCollectionRole()
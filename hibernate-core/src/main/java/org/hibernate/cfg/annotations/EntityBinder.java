@@ -41,6 +41,7 @@ import org.hibernate.AnnotationException;
 import org.hibernate.AssertionFailure;
 import org.hibernate.EntityMode;
 import org.hibernate.MappingException;
+import org.hibernate.annotations.BatchFetch;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -112,6 +113,7 @@ public class EntityBinder {
 	private PolymorphismType polymorphismType;
 	private boolean selectBeforeUpdate;
 	private int batchSize;
+	private String batchFetchStyle;
 	private boolean lazy;
 	private XClass proxyClass;
 	private String where;
@@ -270,6 +272,7 @@ public class EntityBinder {
 		}
 
 		persistentClass.setBatchSize( batchSize );
+		persistentClass.setBatchFetchStyle( batchFetchStyle );
 
 		//SQL overriding
 		SQLInsert sqlInsert = annotatedClass.getAnnotation( SQLInsert.class );
@@ -423,6 +426,10 @@ public class EntityBinder {
 		}
 	}
 
+	public void setBatchFetch(BatchFetch batchFetchAnn) {
+		batchFetchStyle = batchFetchAnn == null ? null : batchFetchAnn.style().getExternalName();
+	}
+
 	@SuppressWarnings({ "unchecked" })
 	public void setProxy(Proxy proxy) {
 		if ( proxy != null ) {
@@ -36,6 +36,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.LazyInitializationException;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.ForeignKeys;
+import org.hibernate.engine.internal.ParallelDirtyChecking;
 import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -376,6 +377,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 				throw new LazyInitializationException("illegal access to loading collection");
 			}
 			throwLazyInitializationExceptionIfNotConnected();
+			ParallelDirtyChecking.checkNotWorkerThread();
 			session.initializeCollection(this, writing);
 		}
 	}
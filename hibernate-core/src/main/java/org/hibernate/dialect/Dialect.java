@@ -668,6 +668,17 @@ public abstract class Dialect {
 		return false;
 	}
 
+	/**
+	 * Does the JDBC driver return the generated IDENTITY values of all the
+	 * rows inserted by a batch through {@link java.sql.Statement#getGeneratedKeys()},
+	 * in the order the statements were added to the batch?
+	 *
+	 * @return True if generated keys can be retrieved for a batch of inserts.
+	 */
+	public boolean supportsBatchedGeneratedKeys() {
+		return false;
+	}
+
 	/**
 	 * Whether this dialect have an Identity clause added to the data type or a
 	 * completely separate identity data type
@@ -803,6 +814,30 @@ public abstract class Dialect {
 		throw new MappingException( getClass().getName() + " does not support sequences" );
 	}
 
+	/**
+	 * Can this dialect retrieve several values of a sequence in a single statement?
+	 *
+	 * @return True if {@link #getSequenceNextValuesString} is supported; false otherwise.
+	 */
+	public boolean supportsSequenceNextValues() {
+		return false;
+	}
+
+	/**
+	 * Generate the select statement to retrieve the next values of a sequence
+	 * in a single round trip, one row per value.
+	 * <p/>
+	 * This should be a "stand alone" select statement.
+	 *
+	 * @param sequenceName the name of the sequence
+	 * @param count the number of values to retrieve
+	 * @return String The "nextval" select string.
+	 * @throws MappingException If retrieving several values at once is not supported.
+	 */
+	public String getSequenceNextValuesString(String sequenceName, int count) throws MappingException {
+		throw new MappingException( getClass().getName() + " does not support retrieving several sequence values at once" );
+	}
+
 	/**
 	 * The multiline script used to create a sequence.
 	 *
@@ -1436,6 +1471,49 @@ public abstract class Dialect {
 			);
 	}
 
+	// result set streaming support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * The JDBC fetch size to use on a forward-only result set for the driver to
+	 * stream its rows, rather than reading all of them when the query is executed.
+	 *
+	 * @return The streaming fetch size.
+	 * @see org.hibernate.Query#stream
+	 */
+	public int getStreamingFetchSize() {
+		return 1000;
+	}
+
+	/**
+	 * Does the driver only stream a result set if the connection is not in
+	 * auto-commit mode, that is within a transaction?
+	 *
+	 * @return True if streaming requires a transaction; false otherwise.
+	 */
+	public boolean doesStreamingRequireTransaction() {
+		return false;
+	}
+
+
+	// keyset pagination support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Should keyset pagination restrict the rows to those following the last
+	 * key seen using {@link #supportsRowValueConstructorSyntax() row values},
+	 * as in "(name, id) > (?, ?)", rather than the expanded equivalent
+	 * "name > ? or (name = ? and id > ?)"?
+	 * <p/>
+	 * Row values are only ever used when all the key columns are sorted in
+	 * the same direction.
+	 *
+	 * @return True if row values should be used; false otherwise.
+	 * @see org.hibernate.KeysetCursor
+	 */
+	public boolean useRowValueConstructorSyntaxForKeyset() {
+		return supportsRowValueConstructorSyntax();
+	}
+
+
 	// current timestamp support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
 	/**
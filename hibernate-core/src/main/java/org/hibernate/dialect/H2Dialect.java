@@ -263,6 +263,14 @@ public class H2Dialect extends Dialect {
 		return "call next value for " + sequenceName;
 	}
 
+	public boolean supportsSequenceNextValues() {
+		return true;
+	}
+
+	public String getSequenceNextValuesString(String sequenceName, int count) {
+		return "select " + getSelectSequenceNextValString( sequenceName ) + " from system_range(1, " + count + ")";
+	}
+
 	public String getQuerySequencesString() {
 		return querySequenceString;
 	}
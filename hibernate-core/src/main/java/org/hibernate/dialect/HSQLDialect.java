@@ -74,6 +74,7 @@ public class HSQLDialect extends Dialect {
 	 * version is 18 for 1.8 or 20 for 2.0
 	 */
 	private int hsqldbVersion = 18;
+	private boolean batchedGeneratedKeys;
 
 
 	public HSQLDialect() {
@@ -85,6 +86,9 @@ public class HSQLDialect extends Dialect {
 
 			hsqldbVersion = Integer.parseInt( versionString.substring( 0, 1 ) ) * 10;
 			hsqldbVersion += Integer.parseInt( versionString.substring( 2, 3 ) );
+			// the generated keys of a whole batch are only reliably returned as of 2.2.8
+			batchedGeneratedKeys = hsqldbVersion > 22
+					|| ( hsqldbVersion == 22 && Integer.parseInt( versionString.substring( 4, 5 ) ) >= 8 );
 		}
 		catch ( Throwable e ) {
 			// must be a very old version
@@ -238,6 +242,10 @@ public class HSQLDialect extends Dialect {
 		return hsqldbVersion < 20 ? "null" : "default";
 	}
 
+	public boolean supportsBatchedGeneratedKeys() {
+		return batchedGeneratedKeys;
+	}
+
 	public boolean supportsLockTimeouts() {
 		return false;
 	}
@@ -308,6 +316,18 @@ public class HSQLDialect extends Dialect {
 		return "call next value for " + sequenceName;
 	}
 
+	public boolean supportsSequenceNextValues() {
+		// sequence_array() was added in 2.2
+		return hsqldbVersion >= 22;
+	}
+
+	public String getSequenceNextValuesString(String sequenceName, int count) {
+		if ( !supportsSequenceNextValues() ) {
+			return super.getSequenceNextValuesString( sequenceName, count );
+		}
+		return "select " + getSelectSequenceNextValString( sequenceName ) + " from unnest(sequence_array(1, " + count + ", 1))";
+	}
+
 	public String getQuerySequencesString() {
 		// this assumes schema support, which is present in 1.8.0 and later...
 		return "select sequence_name from information_schema.system_sequences";
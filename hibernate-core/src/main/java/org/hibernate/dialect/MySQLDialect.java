@@ -195,6 +195,10 @@ public class MySQLDialect extends Dialect {
 	public boolean supportsIdentityColumns() {
 		return true;
 	}
+
+	public boolean supportsBatchedGeneratedKeys() {
+		return true;
+	}
 	
 	public String getIdentitySelectString() {
 		return "select last_insert_id()";
@@ -358,6 +362,18 @@ public class MySQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public boolean useRowValueConstructorSyntaxForKeyset() {
+		// before 5.7 the optimizer does not use an index range scan for row value comparisons
+		return false;
+	}
+
+	@Override
+	public int getStreamingFetchSize() {
+		// Connector/J only streams (row by row) with this magic value
+		return Integer.MIN_VALUE;
+	}
+
 	public boolean supportsLobValueChangePropogation() {
 		// note: at least my local MySQL 5.1 install shows this not working...
 		return false;
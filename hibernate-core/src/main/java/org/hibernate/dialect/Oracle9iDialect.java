@@ -98,6 +98,14 @@ public class Oracle9iDialect extends Oracle8iDialect {
 		return "select systimestamp from dual";
 	}
 
+	public boolean supportsSequenceNextValues() {
+		return true;
+	}
+
+	public String getSequenceNextValuesString(String sequenceName, int count) {
+		return "select " + getSelectSequenceNextValString( sequenceName ) + " from dual connect by level <= " + count;
+	}
+
 	public String getCurrentTimestampSQLFunctionName() {
 		// the standard SQL function name is current_timestamp...
 		return "current_timestamp";
@@ -186,6 +186,14 @@ public class PostgreSQLDialect extends Dialect {
 		return "nextval ('" + sequenceName + "')";
 	}
 
+	public boolean supportsSequenceNextValues() {
+		return true;
+	}
+
+	public String getSequenceNextValuesString(String sequenceName, int count) {
+		return "select " + getSelectSequenceNextValString( sequenceName ) + " from generate_series(1, " + count + ")";
+	}
+
 	public String getCreateSequenceString(String sequenceName) {
 		return "create sequence " + sequenceName; //starts with 1, implicitly
 	}
@@ -228,6 +236,11 @@ public class PostgreSQLDialect extends Dialect {
 		return true;
 	}
 
+	public boolean supportsBatchedGeneratedKeys() {
+		// the driver appends a RETURNING clause to each statement of the batch
+		return true;
+	}
+
 	public String getForUpdateString(String aliases) {
 		return getForUpdateString() + " of " + aliases;
 	}
@@ -410,6 +423,12 @@ public class PostgreSQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public boolean doesStreamingRequireTransaction() {
+		// the driver ignores the fetch size (and reads the whole result) in auto-commit mode
+		return true;
+	}
+
 	@Override
 	public boolean supportsLobValueChangePropogation() {
 		return false;
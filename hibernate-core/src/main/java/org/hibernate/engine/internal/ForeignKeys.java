@@ -245,6 +245,7 @@ public final class ForeignKeys {
 				// context-entity-identifier returns null explicitly if the entity
 				// is not associated with the persistence context; so make some
 				// deeper checks...
+				ParallelDirtyChecking.checkNotWorkerThread();
 				if ( isTransient(entityName, object, Boolean.FALSE, session) ) {
 					throw new TransientObjectException(
 							"object references an unsaved transient instance - save the transient instance before flushing: " +
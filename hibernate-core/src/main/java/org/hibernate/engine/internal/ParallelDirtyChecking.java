@@ -0,0 +1,298 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cfg.Settings;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Computes the current state and the dirty properties of managed entities on a pool of worker threads
+ * ahead of the (sequential) flush-time processing of {@link FlushEntityEvent}s.
+ * <p/>
+ * Only the read-only part of dirty-checking happens on the workers: reading the current property values
+ * and comparing them against the loaded state through {@link EntityPersister#findDirty}.  Interceptor
+ * callbacks, id and natural-id checks, collection wrapping and action scheduling all still happen on the
+ * thread owning the session, in the original entity order, so the resulting SQL is unchanged.
+ * <p/>
+ * Any operation a worker cannot perform without touching the session state (initializing a proxy or
+ * collection, resolving an association to an entity which is not associated with the persistence context)
+ * abandons the precomputation for that entity, which is then dirty-checked sequentially as usual.
+ * Note that the entity state is captured before any {@link org.hibernate.Interceptor} callback of this
+ * flush runs.
+ */
+public final class ParallelDirtyChecking {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ParallelDirtyChecking.class.getName()
+	);
+
+	private static final int PARTITIONS_PER_THREAD = 4;
+
+	private static final ThreadLocal<Boolean> WORKER = new ThreadLocal<Boolean>();
+
+	private ParallelDirtyChecking() {
+	}
+
+	/**
+	 * Builds the executor used for parallel dirty-checking.
+	 *
+	 * @param settings The session factory settings
+	 *
+	 * @return The executor, or {@code null} if parallel dirty-checking is disabled
+	 */
+	public static ExecutorService buildExecutor(Settings settings) {
+		final int threads = settings.getParallelDirtyCheckThreads();
+		if ( settings.getParallelDirtyCheckThreshold() <= 0 || threads < 2 ) {
+			return null;
+		}
+		return Executors.newFixedThreadPool( threads, new WorkerThreadFactory() );
+	}
+
+	/**
+	 * Guard for operations which need exclusive access to the session.  Called from a dirty-checking
+	 * worker, it abandons the precomputation of the entity being checked.
+	 */
+	public static void checkNotWorkerThread() {
+		if ( WORKER.get() != null ) {
+			throw AbandonedDirtyCheck.INSTANCE;
+		}
+	}
+
+	/**
+	 * Precompute the state of the entities in the given entity entries.
+	 *
+	 * @param entries The entity entries, as obtained from
+	 * {@link org.hibernate.internal.util.collections.IdentityMap#concurrentEntries}
+	 * @param session The session being flushed
+	 *
+	 * @return The precomputed state, or {@code null} if parallel dirty-checking does not apply
+	 */
+	public static PrecomputedDirtyChecks precompute(Map.Entry[] entries, SessionImplementor session) {
+		final ExecutorService executor = session.getFactory().getFlushExecutor();
+		if ( executor == null || entries.length < session.getFactory().getSettings().getParallelDirtyCheckThreshold() ) {
+			return null;
+		}
+
+		final int[] candidates = new int[entries.length];
+		int candidateCount = 0;
+		for ( int i = 0; i < entries.length; i++ ) {
+			if ( isCandidate( entries[i].getKey(), (EntityEntry) entries[i].getValue() ) ) {
+				candidates[candidateCount++] = i;
+			}
+		}
+		if ( candidateCount < session.getFactory().getSettings().getParallelDirtyCheckThreshold() ) {
+			return null;
+		}
+
+		final PrecomputedDirtyChecks results = new PrecomputedDirtyChecks( entries.length );
+		final int partitions = session.getFactory().getSettings().getParallelDirtyCheckThreads() * PARTITIONS_PER_THREAD;
+		final int partitionSize = ( candidateCount + partitions - 1 ) / partitions;
+		final List<Callable<Object>> tasks = new ArrayList<Callable<Object>>( partitions );
+		for ( int start = 0; start < candidateCount; start += partitionSize ) {
+			tasks.add(
+					new Partition(
+							entries,
+							candidates,
+							start,
+							Math.min( start + partitionSize, candidateCount ),
+							results,
+							session
+					)
+			);
+		}
+
+		try {
+			for ( Future<Object> future : executor.invokeAll( tasks ) ) {
+				future.get();
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			LOG.debug( "Interrupted during parallel dirty-checking; falling back to sequential dirty-checking" );
+			return null;
+		}
+		catch ( ExecutionException e ) {
+			LOG.debugf( e.getCause(), "Parallel dirty-checking failed; falling back to sequential dirty-checking" );
+			return null;
+		}
+
+		if ( LOG.isTraceEnabled() ) {
+			LOG.tracev(
+					"Dirty-checked {0} of {1} entities in parallel",
+					results.getPrecomputedCount(),
+					entries.length
+			);
+		}
+		return results;
+	}
+
+	private static boolean isCandidate(Object entity, EntityEntry entry) {
+		if ( entry.getStatus() != Status.MANAGED || entry.getLoadedState() == null ) {
+			return false;
+		}
+		final EntityPersister persister = entry.getPersister();
+		// for versioned entities, dirty-checking a collection property depends on it having been wrapped first
+		if ( persister.isVersioned() && persister.hasCollections() ) {
+			return false;
+		}
+		return entry.requiresDirtyCheck( entity );
+	}
+
+	private static class Partition implements Callable<Object> {
+		private final Map.Entry[] entries;
+		private final int[] candidates;
+		private final int start;
+		private final int end;
+		private final PrecomputedDirtyChecks results;
+		private final SessionImplementor session;
+
+		private Partition(
+				Map.Entry[] entries,
+				int[] candidates,
+				int start,
+				int end,
+				PrecomputedDirtyChecks results,
+				SessionImplementor session) {
+			this.entries = entries;
+			this.candidates = candidates;
+			this.start = start;
+			this.end = end;
+			this.results = results;
+			this.session = session;
+		}
+
+		@Override
+		public Object call() {
+			WORKER.set( Boolean.TRUE );
+			try {
+				for ( int i = start; i < end; i++ ) {
+					final int index = candidates[i];
+					final Object entity = entries[index].getKey();
+					final EntityEntry entry = (EntityEntry) entries[index].getValue();
+					final EntityPersister persister = entry.getPersister();
+					try {
+						final Object[] values = persister.getPropertyValues( entity );
+						final int[] dirtyProperties = persister.findDirty( values, entry.getLoadedState(), entity, session );
+						results.record( index, values, dirtyProperties );
+					}
+					catch ( RuntimeException e ) {
+						// leave it to the sequential dirty-check, which reports any real problem
+						LOG.tracev( "Abandoned parallel dirty-check of {0}", entry );
+					}
+				}
+			}
+			finally {
+				WORKER.remove();
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * The state computed by the workers, indexed by the position of the entity entry.
+	 */
+	public static final class PrecomputedDirtyChecks {
+		private final Object[][] propertyValues;
+		private final int[][] dirtyProperties;
+		private final boolean[] precomputed;
+
+		private PrecomputedDirtyChecks(int size) {
+			this.propertyValues = new Object[size][];
+			this.dirtyProperties = new int[size][];
+			this.precomputed = new boolean[size];
+		}
+
+		private void record(int index, Object[] values, int[] dirty) {
+			// partitions never share an index, and invokeAll() publishes the writes to the flushing thread
+			propertyValues[index] = values;
+			dirtyProperties[index] = dirty;
+			precomputed[index] = true;
+		}
+
+		private int getPrecomputedCount() {
+			int count = 0;
+			for ( boolean aPrecomputed : precomputed ) {
+				if ( aPrecomputed ) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Attach the precomputed state of the entity at the given position to its flush event.
+		 *
+		 * @param index The position of the entity entry
+		 * @param event The flush event for that entity
+		 */
+		public void applyTo(int index, FlushEntityEvent event) {
+			if ( precomputed[index] ) {
+				event.setPrecomputedDirtyCheck( propertyValues[index], dirtyProperties[index] );
+				propertyValues[index] = null;
+			}
+		}
+	}
+
+	private static class AbandonedDirtyCheck extends RuntimeException {
+		private static final AbandonedDirtyCheck INSTANCE = new AbandonedDirtyCheck();
+
+		private AbandonedDirtyCheck() {
+			super( "Operation not allowed during parallel dirty-checking" );
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+
+	private static class WorkerThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-flush-dirty-check-" + counter.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
@@ -52,6 +52,7 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.property.BackrefPropertyAccessor;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.tuple.entity.EntityMetamodel;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -168,7 +169,8 @@ public final class TwoPhaseLoad {
 		persister.setPropertyValues( entity, hydratedState );
 
 		final SessionFactoryImplementor factory = session.getFactory();
-		if ( persister.hasCache() && session.getCacheMode().isPutEnabled() ) {
+		// state read from a replica may be stale, so it is never cached
+		if ( persister.hasCache() && session.getCacheMode().isPutEnabled() && !session.isReadingFromReplica() ) {
 
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debugf(
@@ -236,6 +238,12 @@ public final class TwoPhaseLoad {
 			//mutable property values
 			persistenceContext.setEntryStatus(entityEntry, Status.READ_ONLY);
 		}
+		else if ( isEnhancedDirtyTrackingEnabled( persister ) ) {
+			//no need to take a snapshot - the instrumented
+			//entity records which of its fields are written
+			persistenceContext.setEntryStatus(entityEntry, Status.MANAGED);
+			entityEntry.trackDirtyFields();
+		}
 		else {
 			//take a snapshot
 			TypeHelper.deepCopy(
@@ -280,6 +288,11 @@ public final class TwoPhaseLoad {
 
 	}
 
+	private static boolean isEnhancedDirtyTrackingEnabled(EntityPersister persister) {
+		final EntityMetamodel entityMetamodel = persister.getEntityMetamodel();
+		return entityMetamodel != null && entityMetamodel.isEnhancedDirtyTrackingEnabled();
+	}
+
 	private static boolean useMinimalPuts(SessionImplementor session, EntityEntry entityEntry) {
 		return ( session.getFactory().getSettings().isMinimalPutsEnabled() &&
 						session.getCacheMode()!=CacheMode.REFRESH ) ||
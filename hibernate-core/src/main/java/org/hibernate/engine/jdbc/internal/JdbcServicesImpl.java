@@ -185,6 +185,9 @@ public class JdbcServicesImpl implements JdbcServices, ServiceRegistryAwareServi
 		);
 
 		this.sqlStatementLogger =  new SqlStatementLogger( showSQL, formatSQL );
+		this.sqlStatementLogger.setSlowStatementThreshold(
+				ConfigurationHelper.getInt( Environment.SLOW_SQL_THRESHOLD, configValues, -1 )
+		);
 		this.sqlExceptionHelper = new SqlExceptionHelper( dialect.buildSQLExceptionConverter() );
 		this.extractedMetaDataSupport = new ExtractedDatabaseMetaDataImpl(
 				metaSupportsScrollable,
@@ -243,12 +243,23 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 			}
 			releaseConnection();
 		}
+		else if ( connectionReleaseMode == ConnectionReleaseMode.ON_DEMAND ) {
+			if ( physicalConnection == null || ! releasesEnabled || jdbcResourceRegistry.hasRegisteredResources() ) {
+				return;
+			}
+			if ( ! isAutoCommit() ) {
+				LOG.trace( "Skipping on-demand release due to transaction in progress on the connection" );
+				return;
+			}
+			releaseConnection();
+		}
 	}
 
 	@Override
 	public void afterTransaction() {
 		if ( connectionReleaseMode == ConnectionReleaseMode.AFTER_STATEMENT ||
-				connectionReleaseMode == ConnectionReleaseMode.AFTER_TRANSACTION ) {
+				connectionReleaseMode == ConnectionReleaseMode.AFTER_TRANSACTION ||
+				connectionReleaseMode == ConnectionReleaseMode.ON_DEMAND ) {
 			if ( jdbcResourceRegistry.hasRegisteredResources() ) {
 				LOG.forcingContainerResourceCleanup();
 				jdbcResourceRegistry.releaseResources();
@@ -403,6 +414,20 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		}
 	}
 
+	@Override
+	public void notifyObserversStatementExecuted(String sql, long executionTime) {
+		for ( ConnectionObserver observer : observers ) {
+			observer.statementExecuted( sql, executionTime );
+		}
+	}
+
+	@Override
+	public void notifyObserversResultSetFetched(String sql, long fetchTime) {
+		for ( ConnectionObserver observer : observers ) {
+			observer.resultSetFetched( sql, fetchTime );
+		}
+	}
+
 	@Override
 	public boolean isReadyForSerialization() {
 		return isUserSuppliedConnection
@@ -45,6 +45,7 @@ public abstract class AbstractResultSetProxyHandler extends AbstractProxyHandler
                                                                        AbstractResultSetProxyHandler.class.getName());
 
 	private ResultSet resultSet;
+	private long fetchTime;
 
 	public AbstractResultSetProxyHandler(ResultSet resultSet) {
 		super( resultSet.hashCode() );
@@ -66,6 +67,15 @@ public abstract class AbstractResultSetProxyHandler extends AbstractProxyHandler
 		return resultSet;
 	}
 
+	/**
+	 * How long, in nanoseconds, moving through the result set took so far.
+	 *
+	 * @return The fetch time
+	 */
+	protected final long getFetchTime() {
+		return fetchTime;
+	}
+
 	@Override
 	protected Object continueInvocation(Object proxy, Method method, Object[] args) throws Throwable {
 		final String methodName = method.getName();
@@ -100,6 +110,8 @@ public abstract class AbstractResultSetProxyHandler extends AbstractProxyHandler
 			return getExposableStatement();
 		}
 
+		final boolean fetch = "next".equals( methodName );
+		final long start = fetch ? System.nanoTime() : 0;
 		try {
 			return method.invoke( resultSet, args );
 		}
@@ -109,6 +121,11 @@ public abstract class AbstractResultSetProxyHandler extends AbstractProxyHandler
                                                                                                                       realException.getMessage());
             throw realException;
 		}
+		finally {
+			if ( fetch ) {
+				fetchTime += System.nanoTime() - start;
+			}
+		}
 	}
 
 	private void explicitClose(ResultSet proxy) {
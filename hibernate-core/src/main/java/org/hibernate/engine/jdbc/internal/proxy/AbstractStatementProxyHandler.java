@@ -28,6 +28,8 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
 
 import org.jboss.logging.Logger;
 
@@ -49,6 +51,7 @@ public abstract class AbstractStatementProxyHandler extends AbstractProxyHandler
 	private ConnectionProxyHandler connectionProxyHandler;
 	private Connection connectionProxy;
 	private Statement statement;
+	private String executedSql;
 
 	protected AbstractStatementProxyHandler(
 			Statement statement,
@@ -118,8 +121,13 @@ public abstract class AbstractStatementProxyHandler extends AbstractProxyHandler
 
 		beginningInvocationHandling( method, args );
 
+		final boolean execution = methodName.startsWith( "execute" );
+		final long start = execution ? System.nanoTime() : 0;
 		try {
 			Object result = method.invoke( statement, args );
+			if ( execution ) {
+				statementExecuted( args, System.nanoTime() - start );
+			}
 			result = wrapIfNecessary( result, proxy, method );
 			return result;
 		}
@@ -154,6 +162,42 @@ public abstract class AbstractStatementProxyHandler extends AbstractProxyHandler
 	protected void beginningInvocationHandling(Method method, Object[] args) {
 	}
 
+	/**
+	 * Determine the SQL run by an execution of the statement.
+	 *
+	 * @param args The arguments of the execute method
+	 *
+	 * @return The SQL, or {@code null} if it is not known
+	 */
+	protected String getExecutedSql(Object[] args) {
+		return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+	}
+
+	/**
+	 * The types of the parameters currently bound to the statement, in order.
+	 *
+	 * @return The parameter types
+	 */
+	protected List<String> getBoundParameterTypes() {
+		return Collections.emptyList();
+	}
+
+	private void statementExecuted(Object[] args, long executionTime) {
+		final String sql = getExecutedSql( args );
+		if ( sql == null ) {
+			return;
+		}
+		executedSql = sql;
+		getJdbcServices().getSqlStatementLogger().logSlowStatement( sql, executionTime, getBoundParameterTypes() );
+		getConnectionProxy().getLogicalConnection().notifyObserversStatementExecuted( sql, executionTime );
+	}
+
+	void resultSetFetched(long fetchTime) {
+		if ( executedSql != null && isValid() ) {
+			getConnectionProxy().getLogicalConnection().notifyObserversResultSetFetched( executedSql, fetchTime );
+		}
+	}
+
 	private void explicitClose(Statement proxy) {
 		if ( isValid() ) {
 			LogicalConnectionImplementor lc = getConnectionProxy().getLogicalConnection();
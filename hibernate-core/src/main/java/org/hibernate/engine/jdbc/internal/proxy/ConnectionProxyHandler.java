@@ -229,4 +229,14 @@ public class ConnectionProxyHandler
 	public void statementPrepared() {
 		// N/A
 	}
+
+	@Override
+	public void statementExecuted(String sql, long executionTime) {
+		// N/A
+	}
+
+	@Override
+	public void resultSetFetched(String sql, long fetchTime) {
+		// N/A
+	}
 }
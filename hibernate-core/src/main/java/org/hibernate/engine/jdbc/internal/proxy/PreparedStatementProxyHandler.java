@@ -25,11 +25,14 @@ package org.hibernate.engine.jdbc.internal.proxy;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.jboss.logging.Logger;
 
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.type.descriptor.JdbcTypeNameMapper;
 
 /**
  * Invocation handler for {@link java.sql.PreparedStatement} proxies
@@ -41,6 +44,7 @@ public class PreparedStatementProxyHandler extends AbstractStatementProxyHandler
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, PreparedStatementProxyHandler.class.getName() );
 
 	private final String sql;
+	private final List<String> parameterTypes = new ArrayList<String>();
 
 	protected PreparedStatementProxyHandler(
 			String sql,
@@ -67,6 +71,29 @@ public class PreparedStatementProxyHandler extends AbstractStatementProxyHandler
 		// todo : is this enough???
 		if ( methodName.startsWith( "set" ) && args != null && args.length >= 2 ) {
 			journalParameterBind( method, args );
+			if ( args[0] instanceof Integer ) {
+				journalParameterType( (Integer) args[0], parameterType( methodName, args ) );
+			}
+		}
+		else if ( "clearParameters".equals( methodName ) ) {
+			parameterTypes.clear();
+		}
+	}
+
+	private static String parameterType(String methodName, Object[] args) {
+		if ( "setNull".equals( methodName ) && args[1] instanceof Integer ) {
+			// the JDBC type the null is bound as
+			return JdbcTypeNameMapper.getTypeName( (Integer) args[1] );
+		}
+		return methodName.substring( 3 );
+	}
+
+	private void journalParameterType(int position, String type) {
+		while ( parameterTypes.size() < position ) {
+			parameterTypes.add( null );
+		}
+		if ( position > 0 ) {
+			parameterTypes.set( position - 1, type );
 		}
 	}
 
@@ -76,6 +103,16 @@ public class PreparedStatementProxyHandler extends AbstractStatementProxyHandler
 		}
 	}
 
+	@Override
+	protected String getExecutedSql(Object[] args) {
+		return sql;
+	}
+
+	@Override
+	protected List<String> getBoundParameterTypes() {
+		return parameterTypes;
+	}
+
 	private boolean isExecution(Method method) {
 		return false;
 	}
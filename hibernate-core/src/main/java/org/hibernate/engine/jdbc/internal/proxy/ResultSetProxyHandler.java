@@ -63,6 +63,9 @@ public class ResultSetProxyHandler extends AbstractResultSetProxyHandler {
 	}
 
 	protected void invalidateHandle() {
+		if ( statementProxyHandler != null ) {
+			statementProxyHandler.resultSetFetched( getFetchTime() );
+		}
 		statementProxyHandler = null;
 		super.invalidateHandle();
 	}
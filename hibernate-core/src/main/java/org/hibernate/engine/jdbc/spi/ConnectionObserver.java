@@ -51,4 +51,20 @@ public interface ConnectionObserver {
 	 * Notification of a statement being prepared
 	 */
 	public void statementPrepared();
+
+	/**
+	 * Notification of a statement being executed.
+	 *
+	 * @param sql The SQL of the statement
+	 * @param executionTime How long, in nanoseconds, the execution took
+	 */
+	public void statementExecuted(String sql, long executionTime);
+
+	/**
+	 * Notification of the results of a statement having been read, signaled when the result set is closed.
+	 *
+	 * @param sql The SQL of the statement which produced the result set
+	 * @param fetchTime How long, in nanoseconds, moving through the result set took
+	 */
+	public void resultSetFetched(String sql, long fetchTime);
 }
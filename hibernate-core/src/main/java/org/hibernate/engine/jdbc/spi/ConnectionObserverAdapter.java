@@ -44,4 +44,12 @@ public class ConnectionObserverAdapter implements ConnectionObserver {
 	@Override
 	public void statementPrepared() {
 	}
+
+	@Override
+	public void statementExecuted(String sql, long executionTime) {
+	}
+
+	@Override
+	public void resultSetFetched(String sql, long fetchTime) {
+	}
 }
@@ -113,4 +113,8 @@ public interface LogicalConnectionImplementor extends LogicalConnection {
 	public boolean isReadyForSerialization();
 
 	public void notifyObserversStatementPrepared();
+
+	public void notifyObserversStatementExecuted(String sql, long executionTime);
+
+	public void notifyObserversResultSetFetched(String sql, long fetchTime);
 }
@@ -23,6 +23,9 @@
  */
 package org.hibernate.engine.jdbc.spi;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.logging.Logger;
 
 import org.hibernate.engine.jdbc.internal.FormatStyle;
@@ -40,6 +43,7 @@ public class SqlStatementLogger {
 
 	private boolean logToStdout;
 	private boolean format;
+	private long slowStatementThreshold = -1;
 
 	/**
 	 * Constructs a new SqlStatementLogger instance.
@@ -85,6 +89,19 @@ public class SqlStatementLogger {
 		this.format = format;
 	}
 
+	/**
+	 * The execution time, in milliseconds, from which statements are logged as slow.
+	 *
+	 * @return The threshold; a negative value means slow statements are not logged.
+	 */
+	public long getSlowStatementThreshold() {
+		return slowStatementThreshold;
+	}
+
+	public void setSlowStatementThreshold(long slowStatementThreshold) {
+		this.slowStatementThreshold = slowStatementThreshold;
+	}
+
 	/**
 	 * Log a SQL statement string.
 	 *
@@ -106,5 +123,33 @@ public class SqlStatementLogger {
 			System.out.println( "Hibernate: " + statement );
 		}
 	}
+
+	/**
+	 * Log a SQL statement execution if it took longer than the slow statement threshold.
+	 *
+	 * @param statement The SQL statement.
+	 * @param executionTime The execution time, in nanoseconds.
+	 * @param parameterTypes The types of the parameters bound to the statement, in order.
+	 */
+	public void logSlowStatement(String statement, long executionTime, List<String> parameterTypes) {
+		if ( slowStatementThreshold < 0 ) {
+			return;
+		}
+		final long millis = TimeUnit.NANOSECONDS.toMillis( executionTime );
+		if ( millis >= slowStatementThreshold ) {
+			logSlowStatement( millis, parameterTypes, statement );
+		}
+	}
+
+	/**
+	 * Log a SQL statement execution which reached the slow statement threshold, as a warning.
+	 *
+	 * @param executionTime The execution time, in milliseconds.
+	 * @param parameterTypes The types of the parameters bound to the statement, in order.
+	 * @param statement The SQL statement.
+	 */
+	protected void logSlowStatement(long executionTime, List<String> parameterTypes, String statement) {
+		LOG.slowStatement( executionTime, parameterTypes, statement );
+	}
 }
 
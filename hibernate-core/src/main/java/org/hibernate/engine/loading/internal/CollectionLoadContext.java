@@ -252,11 +252,15 @@ public class CollectionLoadContext {
 		}
 		else {
 			ce.postInitialize( lce.getCollection() );
+			if ( persister.isBatchLoadable() ) {
+				getLoadContext().getPersistenceContext().getBatchFetchQueue().removeBatchLoadableCollection( ce );
+			}
 		}
 
 		boolean addToCache = hasNoQueuedAdds && // there were no queued additions
 				persister.hasCache() &&             // and the role has a cache
 				session.getCacheMode().isPutEnabled() &&
+				!session.isReadingFromReplica() &&  // and the state was not read from a possibly stale replica
 				!ce.isDoremove();                   // and this is not a forced initialization during flush
 		if ( addToCache ) {
 			addCollectionToCache( lce, persister );
@@ -183,6 +183,8 @@ public class HQLQueryPlan implements Serializable {
 			RowSelection selection = new RowSelection();
 			selection.setFetchSize( queryParameters.getRowSelection().getFetchSize() );
 			selection.setTimeout( queryParameters.getRowSelection().getTimeout() );
+			selection.setKeysetValues( queryParameters.getRowSelection().getKeysetValues() );
+			selection.setKeysetTypes( queryParameters.getRowSelection().getKeysetTypes() );
 			queryParametersToUse = queryParameters.createCopyUsing( selection );
 		}
 		else {
@@ -261,14 +261,66 @@ public class ActionQueue {
 
 	private void executeActions(List list) throws HibernateException {
 		int size = list.size();
-		for ( int i = 0; i < size; i++ ) {
-			execute( (Executable) list.get( i ) );
+		int i = 0;
+		while ( i < size ) {
+			final Executable executable = (Executable) list.get( i );
+			if ( isBatchableIdentityInsert( executable ) ) {
+				i = executeIdentityInsertBatch( list, i, size );
+			}
+			else {
+				execute( executable );
+				i++;
+			}
 		}
 		list.clear();
 		session.getTransactionCoordinator().getJdbcCoordinator().executeBatch();
 	}
 
+	private static boolean isBatchableIdentityInsert(Executable executable) {
+		return executable instanceof EntityIdentityInsertAction
+				&& ( (EntityIdentityInsertAction) executable ).isBatchable();
+	}
+
+	/**
+	 * Execute the consecutive batchable identity inserts of the same entity found from the given position,
+	 * up to the JDBC batch size, as a single batch.
+	 *
+	 * @return The position following the last insert executed
+	 */
+	private int executeIdentityInsertBatch(List list, int start, int size) {
+		session.beforeWriteOperation();
+		final EntityIdentityInsertAction first = (EntityIdentityInsertAction) list.get( start );
+		final int batchSize = session.getFactory().getSettings().getJdbcBatchSize();
+		final List<EntityIdentityInsertAction> batch = new ArrayList<EntityIdentityInsertAction>();
+		batch.add( first );
+		int end = start + 1;
+		while ( end < size && batch.size() < batchSize ) {
+			final Executable next = (Executable) list.get( end );
+			if ( !isBatchableIdentityInsert( next )
+					|| ( (EntityIdentityInsertAction) next ).getPersister() != first.getPersister() ) {
+				break;
+			}
+			batch.add( (EntityIdentityInsertAction) next );
+			end++;
+		}
+
+		if ( batch.size() == 1 ) {
+			execute( first );
+			return end;
+		}
+		try {
+			EntityIdentityInsertAction.executeBatch( batch );
+		}
+		finally {
+			for ( EntityIdentityInsertAction action : batch ) {
+				registerCleanupActions( action );
+			}
+		}
+		return end;
+	}
+
 	public void execute(Executable executable) {
+		session.beforeWriteOperation();
 		try {
 			executable.execute();
 		}
@@ -629,8 +681,8 @@ public class ActionQueue {
 		private HashMap<String,Integer> latestBatches = new HashMap<String,Integer>();
 		private HashMap<Object,Integer> entityBatchNumber;
 
-		// the map of batch numbers to EntityInsertAction lists
-		private HashMap<Integer,List<EntityInsertAction>> actionBatches = new HashMap<Integer,List<EntityInsertAction>>();
+		// the map of batch numbers to EntityInsertAction and EntityIdentityInsertAction lists
+		private HashMap<Integer,List<EntityAction>> actionBatches = new HashMap<Integer,List<EntityAction>>();
 
 		public InsertActionSorter() {
 			//optimize the hash size to eliminate a rehash.
@@ -643,7 +695,7 @@ public class ActionQueue {
 		@SuppressWarnings({ "unchecked", "UnnecessaryBoxing" })
 		public void sort() {
 			// the list of entity names that indicate the batch number
-			for ( EntityInsertAction action : (List<EntityInsertAction>) insertions ) {
+			for ( EntityAction action : (List<EntityAction>) insertions ) {
 				// remove the current element from insertions. It will be added back later.
 				String entityName = action.getEntityName();
 
@@ -674,8 +726,8 @@ public class ActionQueue {
 
 			// now rebuild the insertions list. There is a batch for each entry in the name list.
 			for ( int i = 0; i < actionBatches.size(); i++ ) {
-				List<EntityInsertAction> batch = actionBatches.get( i );
-				for ( EntityInsertAction action : batch ) {
+				List<EntityAction> batch = actionBatches.get( i );
+				for ( EntityAction action : batch ) {
 					insertions.add( action );
 				}
 			}
@@ -691,7 +743,7 @@ public class ActionQueue {
 		 */
 		@SuppressWarnings({ "UnnecessaryBoxing", "unchecked" })
 		private Integer findBatchNumber(
-				EntityInsertAction action,
+				EntityAction action,
 				String entityName) {
 			// loop through all the associated entities and make sure they have been
 			// processed before the latest
@@ -702,7 +754,9 @@ public class ActionQueue {
 
 			// loop through all the associations of the current entity and make sure that they are processed
 			// before the current batch number
-			Object[] propertyValues = action.getState();
+			Object[] propertyValues = action instanceof EntityIdentityInsertAction
+					? ( (EntityIdentityInsertAction) action ).getState()
+					: ( (EntityInsertAction) action ).getState();
 			Type[] propertyTypes = action.getPersister().getClassMetadata()
 					.getPropertyTypes();
 
@@ -727,11 +781,11 @@ public class ActionQueue {
 		}
 
 		@SuppressWarnings({ "unchecked" })
-		private void addToBatch(Integer batchNumber, EntityInsertAction action) {
-			List<EntityInsertAction> actions = actionBatches.get( batchNumber );
+		private void addToBatch(Integer batchNumber, EntityAction action) {
+			List<EntityAction> actions = actionBatches.get( batchNumber );
 
 			if ( actions == null ) {
-				actions = new LinkedList<EntityInsertAction>();
+				actions = new LinkedList<EntityAction>();
 				actionBatches.put( batchNumber, actions );
 			}
 			actions.add( action );
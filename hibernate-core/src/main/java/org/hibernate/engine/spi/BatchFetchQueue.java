@@ -25,8 +25,6 @@ package org.hibernate.engine.spi;
 
 import java.io.Serializable;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.hibernate.EntityMode;
@@ -48,16 +46,21 @@ public class BatchFetchQueue {
 	public static final Object MARKER = new MarkerObject( "MARKER" );
 
 	/**
-	 * Defines a sequence of {@link EntityKey} elements that are currently
-	 * elegible for batch-fetching.
+	 * The sequences of {@link EntityKey} elements that are currently
+	 * elegible for batch-fetching, keyed by entity name.
 	 * <p/>
-	 * Even though this is a map, we only use the keys.  A map was chosen in
-	 * order to utilize a {@link LinkedHashMap} to maintain sequencing
-	 * as well as uniqueness.
-	 * <p/>
-	 * TODO : this would be better as a SequencedReferenceSet, but no such beast exists!
+	 * Even though the sequences map keys to values, we only use the keys.
 	 */
-	private final Map batchLoadableEntityKeys = new LinkedHashMap(8);
+	private final Map<String,KeySequence<EntityKey,Object>> batchLoadableEntityKeys =
+			new HashMap<String,KeySequence<EntityKey,Object>>(8);
+
+	/**
+	 * The sequences of uninitialized collections of batch-loadable roles, keyed
+	 * by role.  Entries are only removed eagerly when the collection is loaded or
+	 * evicted; any other stale entry is pruned when a batch is built.
+	 */
+	private final Map<String,KeySequence<CollectionKey,PersistentCollection>> batchLoadableCollections =
+			new HashMap<String,KeySequence<CollectionKey,PersistentCollection>>(8);
 
 	/**
 	 * A map of {@link SubselectFetch subselect-fetch descriptors} keyed by the
@@ -84,6 +87,7 @@ public class BatchFetchQueue {
 	 */
 	public void clear() {
 		batchLoadableEntityKeys.clear();
+		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
 	}
 
@@ -139,7 +143,12 @@ public class BatchFetchQueue {
 	 */
 	public void addBatchLoadableEntityKey(EntityKey key) {
 		if ( key.isBatchLoadable() ) {
-			batchLoadableEntityKeys.put( key, MARKER );
+			KeySequence<EntityKey,Object> keys = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( keys == null ) {
+				keys = new KeySequence<EntityKey,Object>();
+				batchLoadableEntityKeys.put( key.getEntityName(), keys );
+			}
+			keys.add( key, MARKER );
 		}
 	}
 
@@ -149,11 +158,59 @@ public class BatchFetchQueue {
 	 * if necessary
 	 */
 	public void removeBatchLoadableEntityKey(EntityKey key) {
-		if ( key.isBatchLoadable() ) batchLoadableEntityKeys.remove(key);
+		if ( key.isBatchLoadable() ) {
+			KeySequence<EntityKey,Object> keys = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( keys != null ) {
+				keys.remove( key );
+				if ( keys.isEmpty() ) {
+					batchLoadableEntityKeys.remove( key.getEntityName() );
+				}
+			}
+		}
+	}
+
+	/**
+	 * If the given uninitialized collection has a batch loadable role, add it
+	 * to the queue.
+	 *
+	 * @param collection The uninitialized collection
+	 * @param ce Its collection entry
+	 */
+	public void addBatchLoadableCollection(PersistentCollection collection, CollectionEntry ce) {
+		final CollectionPersister persister = ce.getLoadedPersister();
+		if ( persister.isBatchLoadable() ) {
+			KeySequence<CollectionKey,PersistentCollection> collections = batchLoadableCollections.get( persister.getRole() );
+			if ( collections == null ) {
+				collections = new KeySequence<CollectionKey,PersistentCollection>();
+				batchLoadableCollections.put( persister.getRole(), collections );
+			}
+			collections.add( new CollectionKey( persister, ce.getLoadedKey() ), collection );
+		}
+	}
+
+	/**
+	 * After initializing or evicting a collection, we don't need to batch
+	 * fetch it anymore, remove it from the queue if necessary
+	 *
+	 * @param ce The collection entry of the collection
+	 */
+	public void removeBatchLoadableCollection(CollectionEntry ce) {
+		final CollectionPersister persister = ce.getLoadedPersister();
+		if ( persister != null && persister.isBatchLoadable() && ce.getLoadedKey() != null ) {
+			KeySequence<CollectionKey,PersistentCollection> collections = batchLoadableCollections.get( persister.getRole() );
+			if ( collections != null ) {
+				collections.remove( new CollectionKey( persister, ce.getLoadedKey() ) );
+				if ( collections.isEmpty() ) {
+					batchLoadableCollections.remove( persister.getRole() );
+				}
+			}
+		}
 	}
 
 	/**
-	 * Get a batch of uninitialized collection keys for a given role
+	 * Get a batch of uninitialized collection keys for a given role: the keys
+	 * of the collections registered right after the given one, then of those
+	 * registered right before it.
 	 *
 	 * @param collectionPersister The persister for the collection role.
 	 * @param id A key that must be included in the batch fetch
@@ -166,58 +223,52 @@ public class BatchFetchQueue {
 			final int batchSize) {
 		Serializable[] keys = new Serializable[batchSize];
 		keys[0] = id;
+		KeySequence<CollectionKey,PersistentCollection> collections =
+				batchLoadableCollections.get( collectionPersister.getRole() );
+		if ( collections == null ) {
+			return keys;
+		}
 		int i = 1;
-		//int count = 0;
-		int end = -1;
-		boolean checkForEnd = false;
-		// this only works because collection entries are kept in a sequenced
-		// map by persistence context (maybe we should do like entities and
-		// keep a separate sequences set...)
-		Iterator iter = context.getCollectionEntries().entrySet().iterator(); //TODO: calling entrySet on an IdentityMap is SLOW!!
-		while ( iter.hasNext() ) {
-			Map.Entry me = (Map.Entry) iter.next();
-
-			CollectionEntry ce = (CollectionEntry) me.getValue();
-			PersistentCollection collection = (PersistentCollection) me.getKey();
-			if ( !collection.wasInitialized() && ce.getLoadedPersister() == collectionPersister ) {
-
-				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
-				}
-
-				//if ( end == -1 && count > batchSize*10 ) return keys; //try out ten batches, max
-
-				final boolean isEqual = collectionPersister.getKeyType().isEqual(
-						id,
-						ce.getLoadedKey(),
-						collectionPersister.getFactory()
-				);
-
-				if ( isEqual ) {
-					end = i;
-					//checkForEnd = false;
-				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
-					keys[i++] = ce.getLoadedKey();
-					//count++;
-				}
-
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
-				}
-			}
+		final KeyNode<CollectionKey,PersistentCollection> start =
+				collections.getNode( new CollectionKey( collectionPersister, id ) );
+		KeyNode<CollectionKey,PersistentCollection> node = start == null ? null : start.next;
+		while ( node != null && i < batchSize ) {
+			final KeyNode<CollectionKey,PersistentCollection> next = node.next;
+			i = addCollectionKey( keys, i, node, collections, collectionPersister );
+			node = next;
+		}
+		node = start == null ? collections.tail : start.previous;
+		while ( node != null && i < batchSize ) {
+			final KeyNode<CollectionKey,PersistentCollection> previous = node.previous;
+			i = addCollectionKey( keys, i, node, collections, collectionPersister );
+			node = previous;
+		}
+		return keys;
+	}
 
+	private int addCollectionKey(
+			Serializable[] keys,
+			int i,
+			KeyNode<CollectionKey,PersistentCollection> node,
+			KeySequence<CollectionKey,PersistentCollection> collections,
+			CollectionPersister collectionPersister) {
+		final PersistentCollection collection = node.value;
+		final CollectionEntry ce = context.getCollectionEntry( collection );
+		if ( collection.wasInitialized() || ce == null || ce.getLoadedPersister() != collectionPersister ) {
+			// initialized or no longer associated with the persistence context
+			collections.remove( node.key );
+			return i;
 		}
-		return keys; //we ran out of keys to try
+		if ( !isCached( node.key.getKey(), collectionPersister ) ) {
+			keys[i++] = node.key.getKey();
+		}
+		return i;
 	}
 
 	/**
-	 * Get a batch of unloaded identifiers for this class, using a slightly
-	 * complex algorithm that tries to grab keys registered immediately after
-	 * the given key.
+	 * Get a batch of unloaded identifiers for this class: the identifiers
+	 * registered right after the given one, then those registered right
+	 * before it.
 	 *
 	 * @param persister The persister for the entities being loaded.
 	 * @param id The identifier of the entity currently demanding load.
@@ -231,33 +282,28 @@ public class BatchFetchQueue {
 			final EntityMode entityMode) {
 		Serializable[] ids = new Serializable[batchSize];
 		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
+		//TODO: this needn't exclude subclasses...
+		KeySequence<EntityKey,Object> keys = batchLoadableEntityKeys.get( persister.getEntityName() );
+		if ( keys == null ) {
+			return ids;
+		}
 		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
-
-		Iterator iter = batchLoadableEntityKeys.keySet().iterator();
-		while ( iter.hasNext() ) {
-			EntityKey key = (EntityKey) iter.next();
-			if ( key.getEntityName().equals( persister.getEntityName() ) ) { //TODO: this needn't exclude subclasses...
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
-				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
-				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
-					}
-				}
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if (end!=-1) checkForEnd = true;
-				}
+		final KeyNode<EntityKey,Object> start = keys.getNode( context.getSession().generateEntityKey( id, persister ) );
+		KeyNode<EntityKey,Object> node = start == null ? null : start.next;
+		while ( node != null && i < batchSize ) {
+			if ( !isCached( node.key, persister ) ) {
+				ids[i++] = node.key.getIdentifier();
+			}
+			node = node.next;
+		}
+		node = start == null ? keys.tail : start.previous;
+		while ( node != null && i < batchSize ) {
+			if ( !isCached( node.key, persister ) ) {
+				ids[i++] = node.key.getIdentifier();
 			}
+			node = node.previous;
 		}
-		return ids; //we ran out of ids to try
+		return ids;
 	}
 
 	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
@@ -283,4 +329,72 @@ public class BatchFetchQueue {
 		}
 		return false;
 	}
+
+	/**
+	 * An insertion-ordered set of keys, each with a value, which can be walked in
+	 * both directions from any of its keys.
+	 */
+	private static final class KeySequence<K,V> {
+		private final Map<K,KeyNode<K,V>> nodes = new HashMap<K,KeyNode<K,V>>();
+		private KeyNode<K,V> head;
+		private KeyNode<K,V> tail;
+
+		void add(K key, V value) {
+			KeyNode<K,V> node = nodes.get( key );
+			if ( node != null ) {
+				// keeps its position, as with a LinkedHashMap
+				node.value = value;
+				return;
+			}
+			node = new KeyNode<K,V>( key, value );
+			nodes.put( key, node );
+			if ( tail == null ) {
+				head = node;
+			}
+			else {
+				tail.next = node;
+				node.previous = tail;
+			}
+			tail = node;
+		}
+
+		void remove(K key) {
+			final KeyNode<K,V> node = nodes.remove( key );
+			if ( node == null ) {
+				return;
+			}
+			if ( node.previous == null ) {
+				head = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				tail = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+		}
+
+		KeyNode<K,V> getNode(K key) {
+			return nodes.get( key );
+		}
+
+		boolean isEmpty() {
+			return head == null;
+		}
+	}
+
+	private static final class KeyNode<K,V> {
+		private final K key;
+		private V value;
+		private KeyNode<K,V> previous;
+		private KeyNode<K,V> next;
+
+		private KeyNode(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
 }
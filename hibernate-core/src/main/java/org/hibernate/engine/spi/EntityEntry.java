@@ -28,7 +28,6 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
-import org.hibernate.EntityMode;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
@@ -36,6 +35,8 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.service.instrumentation.spi.InstrumentationService;
+import org.hibernate.type.Type;
+import org.hibernate.type.TypeHelper;
 
 /**
  * We need an entry to tell us all about the current state of an object with respect to its persistent state
@@ -43,21 +44,31 @@ import org.hibernate.service.instrumentation.spi.InstrumentationService;
  * @author Gavin King
  */
 public final class EntityEntry implements Serializable {
-	private LockMode lockMode;
-	private Status status;
-	private Status previousStatus;
+	// the status, previous status and lock mode are stored as (ordinal + 1), 0 standing for null
+	private static final Status[] STATUSES = Status.values();
+	private static final LockMode[] LOCK_MODES = LockMode.values();
+
+	private static final int STATUS_SHIFT = 0;
+	private static final int PREVIOUS_STATUS_SHIFT = 3;
+	private static final int STATUS_MASK = 0x7;
+	private static final int LOCK_MODE_SHIFT = 6;
+	private static final int LOCK_MODE_MASK = 0xF;
+
+	private static final int EXISTS_IN_DATABASE = 1 << 10;
+	private static final int BEING_REPLICATED = 1 << 11;
+	private static final int LOADED_WITH_LAZY_PROPERTIES_UNFETCHED = 1 << 12;
+	private static final int TRACKING_DIRTY_FIELDS = 1 << 13;
+
+	// status, previous status, lock mode and flags; see the constants above
+	private int compressedState;
 	private final Serializable id;
 	private Object[] loadedState;
 	private Object[] deletedState;
-	private boolean existsInDatabase;
 	private Object version;
 	private transient EntityPersister persister; // for convenience to save some lookups
-	private final EntityMode entityMode;
 	private final String tenantId;
 	private final String entityName;
 	private transient EntityKey cachedEntityKey; // cached EntityKey (lazy-initialized)
-	private boolean isBeingReplicated;
-	private boolean loadedWithLazyPropertiesUnfetched; //NOTE: this is not updated when properties are fetched lazily!
 	private final transient Object rowId;
 
 	public EntityEntry(
@@ -69,23 +80,20 @@ public final class EntityEntry implements Serializable {
 			final LockMode lockMode,
 			final boolean existsInDatabase,
 			final EntityPersister persister,
-			final EntityMode entityMode,
 			final String tenantId,
 			final boolean disableVersionIncrement,
 			final boolean lazyPropertiesAreUnfetched) {
-		this.status=status;
-		this.previousStatus = null;
+		setCompressedValue( STATUS_SHIFT, STATUS_MASK, status );
 		// only retain loaded state if the status is not Status.READ_ONLY
 		if ( status != Status.READ_ONLY ) { this.loadedState = loadedState; }
 		this.id=id;
 		this.rowId=rowId;
-		this.existsInDatabase=existsInDatabase;
+		setFlag( EXISTS_IN_DATABASE, existsInDatabase );
 		this.version=version;
-		this.lockMode=lockMode;
-		this.isBeingReplicated=disableVersionIncrement;
-		this.loadedWithLazyPropertiesUnfetched = lazyPropertiesAreUnfetched;
+		setCompressedValue( LOCK_MODE_SHIFT, LOCK_MODE_MASK, lockMode );
+		setFlag( BEING_REPLICATED, disableVersionIncrement );
+		setFlag( LOADED_WITH_LAZY_PROPERTIES_UNFETCHED, lazyPropertiesAreUnfetched );
 		this.persister=persister;
-		this.entityMode = entityMode;
 		this.tenantId = tenantId;
 		this.entityName = persister == null ? null : persister.getEntityName();
 	}
@@ -94,7 +102,6 @@ public final class EntityEntry implements Serializable {
 			final SessionFactoryImplementor factory,
 			final String entityName,
 			final Serializable id,
-			final EntityMode entityMode,
 			final String tenantId,
 			final Status status,
 			final Status previousStatus,
@@ -104,44 +111,75 @@ public final class EntityEntry implements Serializable {
 			final LockMode lockMode,
 			final boolean existsInDatabase,
 			final boolean isBeingReplicated,
-			final boolean loadedWithLazyPropertiesUnfetched) {
+			final boolean loadedWithLazyPropertiesUnfetched,
+			final boolean trackingDirtyFields) {
 		// Used during custom deserialization
 		this.entityName = entityName;
 		this.persister = ( factory == null ? null : factory.getEntityPersister( entityName ) );
 		this.id = id;
-		this.entityMode = entityMode;
 		this.tenantId = tenantId;
-		this.status = status;
-		this.previousStatus = previousStatus;
+		setCompressedValue( STATUS_SHIFT, STATUS_MASK, status );
+		setCompressedValue( PREVIOUS_STATUS_SHIFT, STATUS_MASK, previousStatus );
 		this.loadedState = loadedState;
 		this.deletedState = deletedState;
 		this.version = version;
-		this.lockMode = lockMode;
-		this.existsInDatabase = existsInDatabase;
-		this.isBeingReplicated = isBeingReplicated;
-		this.loadedWithLazyPropertiesUnfetched = loadedWithLazyPropertiesUnfetched;
+		setCompressedValue( LOCK_MODE_SHIFT, LOCK_MODE_MASK, lockMode );
+		setFlag( EXISTS_IN_DATABASE, existsInDatabase );
+		setFlag( BEING_REPLICATED, isBeingReplicated );
+		setFlag( LOADED_WITH_LAZY_PROPERTIES_UNFETCHED, loadedWithLazyPropertiesUnfetched );
+		setFlag( TRACKING_DIRTY_FIELDS, trackingDirtyFields );
 		this.rowId = null; // this is equivalent to the old behavior...
 	}
 
+	private void setCompressedValue(int shift, int mask, Enum<?> value) {
+		final int encoded = value == null ? 0 : value.ordinal() + 1;
+		compressedState = ( compressedState & ~( mask << shift ) ) | ( encoded << shift );
+	}
+
+	private int getCompressedValue(int shift, int mask) {
+		return ( ( compressedState >>> shift ) & mask ) - 1;
+	}
+
+	private boolean getFlag(int flag) {
+		return ( compressedState & flag ) != 0;
+	}
+
+	private void setFlag(int flag, boolean value) {
+		if ( value ) {
+			compressedState |= flag;
+		}
+		else {
+			compressedState &= ~flag;
+		}
+	}
+
+	private Status getPreviousStatus() {
+		final int ordinal = getCompressedValue( PREVIOUS_STATUS_SHIFT, STATUS_MASK );
+		return ordinal < 0 ? null : STATUSES[ordinal];
+	}
+
 	public LockMode getLockMode() {
-		return lockMode;
+		final int ordinal = getCompressedValue( LOCK_MODE_SHIFT, LOCK_MODE_MASK );
+		return ordinal < 0 ? null : LOCK_MODES[ordinal];
 	}
 
 	public void setLockMode(LockMode lockMode) {
-		this.lockMode = lockMode;
+		setCompressedValue( LOCK_MODE_SHIFT, LOCK_MODE_MASK, lockMode );
 	}
 
 	public Status getStatus() {
-		return status;
+		final int ordinal = getCompressedValue( STATUS_SHIFT, STATUS_MASK );
+		return ordinal < 0 ? null : STATUSES[ordinal];
 	}
 
 	public void setStatus(Status status) {
 		if (status==Status.READ_ONLY) {
 			loadedState = null; //memory optimization
 		}
-		if ( this.status != status ) {
-			this.previousStatus = this.status;
-			this.status = status;
+		final Status currentStatus = getStatus();
+		if ( currentStatus != status ) {
+			setCompressedValue( PREVIOUS_STATUS_SHIFT, STATUS_MASK, currentStatus );
+			setCompressedValue( STATUS_SHIFT, STATUS_MASK, status );
 		}
 	}
 
@@ -153,6 +191,26 @@ public final class EntityEntry implements Serializable {
 		return loadedState;
 	}
 
+	/**
+	 * Drop the snapshot of the loaded state: the entity is an instrumented entity which is dirty-checked against
+	 * the fields its {@link org.hibernate.bytecode.instrumentation.spi.FieldInterceptor} recorded as written.
+	 *
+	 * @see org.hibernate.tuple.entity.EntityMetamodel#isEnhancedDirtyTrackingEnabled()
+	 */
+	public void trackDirtyFields() {
+		loadedState = null;
+		setFlag( TRACKING_DIRTY_FIELDS, true );
+	}
+
+	/**
+	 * Is the entity dirty-checked against its written fields, rather than against a loaded state snapshot?
+	 *
+	 * @return true if {@link #trackDirtyFields()} was called for this entry
+	 */
+	public boolean isTrackingDirtyFields() {
+		return getFlag( TRACKING_DIRTY_FIELDS );
+	}
+
 	public Object[] getDeletedState() {
 		return deletedState;
 	}
@@ -162,7 +220,7 @@ public final class EntityEntry implements Serializable {
 	}
 
 	public boolean isExistsInDatabase() {
-		return existsInDatabase;
+		return getFlag( EXISTS_IN_DATABASE );
 	}
 
 	public Object getVersion() {
@@ -193,7 +251,7 @@ public final class EntityEntry implements Serializable {
 	}
 
 	public boolean isBeingReplicated() {
-		return isBeingReplicated;
+		return getFlag( BEING_REPLICATED );
 	}
 	
 	public Object getRowId() {
@@ -211,7 +269,9 @@ public final class EntityEntry implements Serializable {
 	 * @param nextVersion The new version.
 	 */
 	public void postUpdate(Object entity, Object[] updatedState, Object nextVersion) {
-		this.loadedState = updatedState;
+		if ( !isTrackingDirtyFields() ) {
+			this.loadedState = updatedState;
+		}
 		setLockMode(LockMode.WRITE);
 
 		if ( getPersister().isVersioned() ) {
@@ -228,9 +288,9 @@ public final class EntityEntry implements Serializable {
 	 * exists in the database
 	 */
 	public void postDelete() {
-		previousStatus = status;
-		status = Status.GONE;
-		existsInDatabase = false;
+		setCompressedValue( PREVIOUS_STATUS_SHIFT, STATUS_MASK, getStatus() );
+		setCompressedValue( STATUS_SHIFT, STATUS_MASK, Status.GONE );
+		setFlag( EXISTS_IN_DATABASE, false );
 	}
 	
 	/**
@@ -238,7 +298,7 @@ public final class EntityEntry implements Serializable {
 	 * database (needed for identity-column key generation)
 	 */
 	public void postInsert() {
-		existsInDatabase = true;
+		setFlag( EXISTS_IN_DATABASE, true );
 	}
 	
 	public boolean isNullifiable(boolean earlyInsert, SessionImplementor session) {
@@ -252,7 +312,7 @@ public final class EntityEntry implements Serializable {
 	
 	public Object getLoadedValue(String propertyName) {
 		int propertyIndex = ( (UniqueKeyLoadable) persister ).getPropertyIndex(propertyName);
-		return loadedState[propertyIndex];
+		return loadedState == null ? null : loadedState[propertyIndex];
 	}
 
 	public boolean requiresDirtyCheck(Object entity) {		
@@ -275,8 +335,9 @@ public final class EntityEntry implements Serializable {
 	 * @return true, if the entity is modifiable; false, otherwise,
 	 */
 	public boolean isModifiableEntity() {
+		final Status status = getStatus();
 		return ( status != Status.READ_ONLY ) &&
-				! ( status == Status.DELETED && previousStatus == Status.READ_ONLY ) &&
+				! ( status == Status.DELETED && getPreviousStatus() == Status.READ_ONLY ) &&
 				getPersister().isMutable();
 	}
 
@@ -289,13 +350,24 @@ public final class EntityEntry implements Serializable {
 	}
 
 	public boolean isReadOnly() {
+		final Status status = getStatus();
 		if (status != Status.MANAGED && status != Status.READ_ONLY) {
 			throw new HibernateException("instance was not in a valid state");
 		}
 		return status == Status.READ_ONLY;
 	}
 
-	public void setReadOnly(boolean readOnly, Object entity) {
+	/**
+	 * Make the entity read-only, dropping the snapshot of its loaded state, or modifiable again.  A modifiable
+	 * entity gets its snapshot back from the database state, so that the changes made while it was read-only
+	 * are flushed, and the loaded values of its associations (the targets of orphan removal, the owner key of
+	 * its collections) are known again.
+	 *
+	 * @param readOnly Whether the entity should be read-only
+	 * @param entity The entity
+	 * @param session The session, used to read the database state of an entity made modifiable
+	 */
+	public void setReadOnly(boolean readOnly, Object entity, SessionImplementor session) {
 		if ( readOnly == isReadOnly() ) {
 			// simply return since the status is not being changed
 			return;
@@ -309,23 +381,49 @@ public final class EntityEntry implements Serializable {
 				throw new IllegalStateException( "Cannot make an immutable entity modifiable." );
 			}
 			setStatus( Status.MANAGED );
-			loadedState = getPersister().getPropertyValues( entity );
+			if ( !isTrackingDirtyFields() ) {
+				// instrumented entities tracking their dirty fields still know about the changes made while
+				// they were read-only
+				loadedState = getDatabaseState( entity, session );
+			}
 		}
 	}
+
+	/**
+	 * The state of the entity in the database, in the form of a loaded state: the hydrated database snapshot
+	 * resolved and deep-copied.  Properties without columns in the snapshot (collections, one-to-ones) keep
+	 * their current value.
+	 */
+	private Object[] getDatabaseState(Object entity, SessionImplementor session) {
+		final Type[] types = persister.getPropertyTypes();
+		final boolean[] snapshotProperties = persister.getPropertyUpdateability();
+		final Object[] state = persister.getPropertyValues( entity );
+		final Object[] snapshot = session.getPersistenceContext().getDatabaseSnapshot( id, persister );
+		if ( snapshot != null ) {
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( snapshotProperties[i] && !types[i].isCollectionType() ) {
+					state[i] = types[i].resolve( snapshot[i], session, entity );
+				}
+			}
+		}
+		TypeHelper.deepCopy( state, types, snapshotProperties, state, session );
+		return state;
+	}
 	
 	public String toString() {
 		return "EntityEntry" + 
 				MessageHelper.infoString(entityName, id) + 
-				'(' + status + ')';
+				'(' + getStatus() + ')';
 	}
 
 	public boolean isLoadedWithLazyPropertiesUnfetched() {
-		return loadedWithLazyPropertiesUnfetched;
+		return getFlag( LOADED_WITH_LAZY_PROPERTIES_UNFETCHED );
 	}
 
 	/**
 	 * Custom serialization routine used during serialization of a
-	 * Session/PersistenceContext for increased performance.
+	 * Session/PersistenceContext for increased performance.  The state is written
+	 * value by value, independently of how it is laid out in memory.
 	 *
 	 * @param oos The stream to which we should write the serial data.
 	 *
@@ -334,18 +432,19 @@ public final class EntityEntry implements Serializable {
 	public void serialize(ObjectOutputStream oos) throws IOException {
 		oos.writeObject( entityName );
 		oos.writeObject( id );
-		oos.writeObject( entityMode.toString() );
 		oos.writeObject( tenantId );
-		oos.writeObject( status.name() );
+		oos.writeObject( getStatus().name() );
+		final Status previousStatus = getPreviousStatus();
 		oos.writeObject( (previousStatus == null ? "" : previousStatus.name()) );
 		// todo : potentially look at optimizing these two arrays
 		oos.writeObject( loadedState );
 		oos.writeObject( deletedState );
 		oos.writeObject( version );
-		oos.writeObject( lockMode.toString() );
-		oos.writeBoolean( existsInDatabase );
-		oos.writeBoolean( isBeingReplicated );
-		oos.writeBoolean( loadedWithLazyPropertiesUnfetched );
+		oos.writeObject( getLockMode().toString() );
+		oos.writeBoolean( isExistsInDatabase() );
+		oos.writeBoolean( isBeingReplicated() );
+		oos.writeBoolean( isLoadedWithLazyPropertiesUnfetched() );
+		oos.writeBoolean( isTrackingDirtyFields() );
 	}
 
 	/**
@@ -369,7 +468,6 @@ public final class EntityEntry implements Serializable {
 				( session == null ? null : session.getFactory() ),
 		        (String) ois.readObject(),
 				( Serializable ) ois.readObject(),
-	            EntityMode.parse( (String) ois.readObject() ),
 				(String) ois.readObject(),
 				Status.valueOf( (String) ois.readObject() ),
 				( ( previousStatusString = ( String ) ois.readObject() ).length() == 0 ?
@@ -382,6 +480,7 @@ public final class EntityEntry implements Serializable {
 	            LockMode.valueOf( (String) ois.readObject() ),
 	            ois.readBoolean(),
 	            ois.readBoolean(),
+	            ois.readBoolean(),
 	            ois.readBoolean()
 		);
 	}
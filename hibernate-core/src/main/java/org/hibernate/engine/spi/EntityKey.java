@@ -50,8 +50,10 @@ public final class EntityKey implements Serializable {
 	private final int hashCode;
 
 	private final Type identifierType;
-	private final boolean isBatchLoadable;
-	private final SessionFactoryImplementor factory;
+
+	// batch-loadability and the factory are read from the persister rather than copied into each key;
+	// null if the key was deserialized without a session factory
+	private transient EntityPersister persister;
 
 	/**
 	 * Construct a unique identifier for an entity class instance.
@@ -72,10 +74,8 @@ public final class EntityKey implements Serializable {
 		this.rootEntityName = persister.getRootEntityName();
 		this.entityName = persister.getEntityName();
 		this.tenantId = tenantId;
-
 		this.identifierType = persister.getIdentifierType();
-		this.isBatchLoadable = persister.isBatchLoadable();
-		this.factory = persister.getFactory();
+		this.persister = persister;
 		this.hashCode = generateHashCode();
 	}
 
@@ -86,8 +86,7 @@ public final class EntityKey implements Serializable {
 	 * @param rootEntityName The root entity name
 	 * @param entityName The specific entity name
 	 * @param identifierType The type of the identifier value
-	 * @param batchLoadable Whether represented entity is eligible for batch loading
-	 * @param factory The session factory
+	 * @param factory The session factory, or null if not known
 	 * @param tenantId The entity's tenant id (from the session that loaded it).
 	 */
 	private EntityKey(
@@ -95,15 +94,13 @@ public final class EntityKey implements Serializable {
 	        String rootEntityName,
 	        String entityName,
 	        Type identifierType,
-	        boolean batchLoadable,
 	        SessionFactoryImplementor factory,
 			String tenantId) {
 		this.identifier = identifier;
 		this.rootEntityName = rootEntityName;
 		this.entityName = entityName;
 		this.identifierType = identifierType;
-		this.isBatchLoadable = batchLoadable;
-		this.factory = factory;
+		this.persister = factory == null ? null : factory.getEntityPersister( entityName );
 		this.tenantId = tenantId;
 		this.hashCode = generateHashCode();
 	}
@@ -111,12 +108,16 @@ public final class EntityKey implements Serializable {
 	private int generateHashCode() {
 		int result = 17;
 		result = 37 * result + rootEntityName.hashCode();
-		result = 37 * result + identifierType.getHashCode( identifier, factory );
+		result = 37 * result + identifierType.getHashCode( identifier, getFactory() );
 		return result;
 	}
 
+	private SessionFactoryImplementor getFactory() {
+		return persister == null ? null : persister.getFactory();
+	}
+
 	public boolean isBatchLoadable() {
-		return isBatchLoadable;
+		return persister != null && persister.isBatchLoadable();
 	}
 
 	public Serializable getIdentifier() {
@@ -130,8 +131,8 @@ public final class EntityKey implements Serializable {
 	@Override
 	public boolean equals(Object other) {
 		EntityKey otherKey = (EntityKey) other;
-		return otherKey.rootEntityName.equals(this.rootEntityName) &&
-				identifierType.isEqual(otherKey.identifier, this.identifier, factory) &&
+		return otherKey.rootEntityName.equals( this.rootEntityName ) &&
+				identifierType.isEqual( otherKey.identifier, this.identifier, getFactory() ) &&
 				EqualsHelper.equals( tenantId, otherKey.tenantId );
 	}
 
@@ -142,13 +143,28 @@ public final class EntityKey implements Serializable {
 
 	@Override
 	public String toString() {
+		if ( persister == null ) {
+			return "EntityKey" + MessageHelper.infoString( entityName, identifier );
+		}
 		return "EntityKey" + 
-			MessageHelper.infoString( factory.getEntityPersister( entityName ), identifier, factory );
+			MessageHelper.infoString( persister, identifier, persister.getFactory() );
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		oos.writeObject( persister == null ? null : persister.getFactory() );
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		final SessionFactoryImplementor factory = (SessionFactoryImplementor) ois.readObject();
+		persister = factory == null ? null : factory.getEntityPersister( entityName );
 	}
 
 	/**
 	 * Custom serialization routine used during serialization of a
-	 * Session/PersistenceContext for increased performance.
+	 * Session/PersistenceContext for increased performance.  The persister itself is
+	 * not written: it is resolved again from the session factory.
 	 *
 	 * @param oos The stream to which we should write the serial data.
 	 *
@@ -159,7 +175,6 @@ public final class EntityKey implements Serializable {
 		oos.writeObject( rootEntityName );
 		oos.writeObject( entityName );
 		oos.writeObject( identifierType );
-		oos.writeBoolean( isBatchLoadable );
 		oos.writeObject( tenantId );
 	}
 
@@ -183,7 +198,6 @@ public final class EntityKey implements Serializable {
 		        (String) ois.readObject(),
 				(String) ois.readObject(),
 		        ( Type ) ois.readObject(),
-		        ois.readBoolean(),
 		        ( session == null ? null : session.getFactory() ),
 				(String) ois.readObject()
 		);
@@ -23,6 +23,8 @@
  */
 package org.hibernate.engine.spi;
 
+import org.hibernate.type.Type;
+
 /**
  * Represents a selection criteria for rows in a JDBC {@link java.sql.ResultSet}
  *
@@ -33,6 +35,8 @@ public final class RowSelection {
 	private Integer maxRows;
 	private Integer timeout;
 	private Integer fetchSize;
+	private Object[] keysetValues;
+	private Type[] keysetTypes;
 
 	public void setFirstRow(Integer firstRow) {
 		this.firstRow = firstRow;
@@ -66,6 +70,38 @@ public final class RowSelection {
 		this.fetchSize = fetchSize;
 	}
 
+	/**
+	 * The key values of the last row seen, when paginating by keyset.
+	 *
+	 * @return The key values, or {@code null} if the rows are not restricted by keyset
+	 *
+	 * @see org.hibernate.KeysetCursor
+	 */
+	public Object[] getKeysetValues() {
+		return keysetValues;
+	}
+
+	public void setKeysetValues(Object[] keysetValues) {
+		this.keysetValues = keysetValues;
+	}
+
+	/**
+	 * The types of the key values, when paginating by keyset.
+	 *
+	 * @return The key types, or {@code null} if the rows are not restricted by keyset
+	 */
+	public Type[] getKeysetTypes() {
+		return keysetTypes;
+	}
+
+	public void setKeysetTypes(Type[] keysetTypes) {
+		this.keysetTypes = keysetTypes;
+	}
+
+	public boolean definesKeyset() {
+		return keysetValues != null && keysetValues.length > 0;
+	}
+
 	public boolean definesLimits() {
 		return maxRows != null ||
 	           ( firstRow != null && firstRow.intValue() <= 0 );
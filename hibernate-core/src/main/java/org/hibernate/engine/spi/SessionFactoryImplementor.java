@@ -26,6 +26,7 @@ package org.hibernate.engine.spi;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.hibernate.HibernateException;
 import org.hibernate.Interceptor;
@@ -209,6 +210,24 @@ public interface SessionFactoryImplementor extends Mapping, SessionFactory {
 
 	public Settings getSettings();
 
+	/**
+	 * Retrieve the executor used to spread flush-time dirty-checking over several threads.
+	 *
+	 * @return The executor, or {@code null} if parallel dirty-checking is disabled.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+	 */
+	public ExecutorService getFlushExecutor();
+
+	/**
+	 * Retrieve the executor used to obtain identifier blocks in the background, created on first use.
+	 *
+	 * @return The executor.
+	 *
+	 * @see org.hibernate.id.enhanced.OptimizerFactory.BlockOptimizerSupport#enablePrefetch
+	 */
+	public ExecutorService getIdentifierPrefetchExecutor();
+
 	/**
 	 * Get a nontransactional "current" session for Hibernate EntityManager
 	 */
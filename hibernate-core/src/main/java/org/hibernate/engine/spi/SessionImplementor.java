@@ -70,6 +70,26 @@ public interface SessionImplementor extends Serializable, LobCreationContext {
 	 */
 	public JdbcConnectionAccess getJdbcConnectionAccess();
 
+	/**
+	 * Is this session reading through a connection to a read-only replica?  State read from a replica may
+	 * lag behind the primary, so it must not be put into the second-level or query cache.
+	 *
+	 * @return {@code true} if the last JDBC connection obtained by this session was routed to a replica
+	 *
+	 * @see org.hibernate.service.jdbc.connections.spi.ReadOnlyRoutingConnectionProvider
+	 */
+	public boolean isReadingFromReplica();
+
+	/**
+	 * Notify the session that it is about to write to the database, or to lock rows more strongly than
+	 * {@link org.hibernate.LockMode#READ}.  Until the replication lag tolerated by
+	 * {@link org.hibernate.cfg.AvailableSettings#REPLICA_MAX_STALENESS} has passed, the session then routes its
+	 * read-only work to the primary, so that it reads its own writes.
+	 *
+	 * @throws HibernateException If the session currently holds a connection to a read-only replica
+	 */
+	public void beforeWriteOperation() throws HibernateException;
+
 	/**
 	 * Hide the changing requirements of entity key creation
 	 *
@@ -93,7 +93,8 @@ public class TransactionCoordinatorImpl implements TransactionCoordinator {
 
 		final boolean registerSynchronization = transactionContext.isAutoCloseSessionEnabled()
 		        || transactionContext.isFlushBeforeCompletionEnabled()
-		        || transactionContext.getConnectionReleaseMode() == ConnectionReleaseMode.AFTER_TRANSACTION;
+		        || transactionContext.getConnectionReleaseMode() == ConnectionReleaseMode.AFTER_TRANSACTION
+		        || transactionContext.getConnectionReleaseMode() == ConnectionReleaseMode.ON_DEMAND;
 		if ( registerSynchronization ) {
 			pulse();
 		}
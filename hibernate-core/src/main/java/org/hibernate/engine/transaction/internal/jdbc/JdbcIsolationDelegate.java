@@ -29,6 +29,7 @@ import java.sql.SQLException;
 import org.jboss.logging.Logger;
 
 import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.engine.transaction.spi.TransactionCoordinator;
@@ -47,17 +48,35 @@ public class JdbcIsolationDelegate implements IsolationDelegate {
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, JdbcIsolationDelegate.class.getName());
 
 	private final TransactionCoordinator transactionCoordinator;
+	private final JdbcServices jdbcServices;
 
 	public JdbcIsolationDelegate(TransactionCoordinator transactionCoordinator) {
 		this.transactionCoordinator = transactionCoordinator;
+		this.jdbcServices = null;
+	}
+
+	/**
+	 * Constructs a delegate performing work outside of any session, for example from a background thread.
+	 *
+	 * @param jdbcServices The JDBC services of the session factory
+	 */
+	public JdbcIsolationDelegate(JdbcServices jdbcServices) {
+		this.transactionCoordinator = null;
+		this.jdbcServices = jdbcServices;
+	}
+
+	protected JdbcServices jdbcServices() {
+		return jdbcServices != null
+				? jdbcServices
+				: transactionCoordinator.getJdbcCoordinator().getLogicalConnection().getJdbcServices();
 	}
 
 	protected ConnectionProvider connectionProvider() {
-		return transactionCoordinator.getJdbcCoordinator().getLogicalConnection().getJdbcServices().getConnectionProvider();
+		return jdbcServices().getConnectionProvider();
 	}
 
 	protected SqlExceptionHelper sqlExceptionHelper() {
-		return transactionCoordinator.getJdbcCoordinator().getLogicalConnection().getJdbcServices().getSqlExceptionHelper();
+		return jdbcServices().getSqlExceptionHelper();
 	}
 
 	@Override
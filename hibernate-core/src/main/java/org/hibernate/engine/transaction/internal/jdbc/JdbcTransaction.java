@@ -28,8 +28,11 @@ import java.sql.SQLException;
 
 import org.jboss.logging.Logger;
 
+import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.HibernateException;
 import org.hibernate.TransactionException;
+import org.hibernate.engine.jdbc.spi.ConnectionObserverAdapter;
+import org.hibernate.engine.jdbc.spi.LogicalConnectionImplementor;
 import org.hibernate.engine.transaction.spi.AbstractTransactionImpl;
 import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.engine.transaction.spi.JoinStatus;
@@ -41,6 +44,10 @@ import org.hibernate.internal.CoreMessageLogger;
  * {@link org.hibernate.Transaction} implementation based on transaction management through a JDBC {@link java.sql.Connection}.
  * <p/>
  * This the default transaction strategy.
+ * <p/>
+ * Under {@link ConnectionReleaseMode#ON_DEMAND}, the physical transaction is only started on the connection
+ * obtained for the first statement which needs it; read-only work runs its statements in auto-commit mode.  Once
+ * the work writes or requests a pessimistic lock, the transaction is started before its next statement.
  *
  * @author Anton van Straaten
  * @author Gavin King
@@ -53,6 +60,7 @@ public class JdbcTransaction extends AbstractTransactionImpl {
 	private Connection managedConnection;
 	private boolean wasInitiallyAutoCommit;
 	private boolean isDriver;
+	private DeferredBegin deferredBegin;
 
 	protected JdbcTransaction(TransactionCoordinator transactionCoordinator) {
 		super( transactionCoordinator );
@@ -64,12 +72,16 @@ public class JdbcTransaction extends AbstractTransactionImpl {
 			if ( managedConnection != null ) {
 				throw new TransactionException( "Already have an associated managed connection" );
 			}
-			managedConnection = transactionCoordinator().getJdbcCoordinator().getLogicalConnection().getConnection();
-			wasInitiallyAutoCommit = managedConnection.getAutoCommit();
-			LOG.debugv( "initial autocommit status: {0}", wasInitiallyAutoCommit );
-			if ( wasInitiallyAutoCommit ) {
-				LOG.debug( "disabling autocommit" );
-				managedConnection.setAutoCommit( false );
+			final LogicalConnectionImplementor logicalConnection = transactionCoordinator().getJdbcCoordinator()
+					.getLogicalConnection();
+			if ( logicalConnection.getConnectionReleaseMode() == ConnectionReleaseMode.ON_DEMAND
+					&& ! logicalConnection.isPhysicallyConnected() ) {
+				LOG.debug( "deferring JDBC transaction begin until a connection is needed" );
+				deferredBegin = new DeferredBegin();
+				logicalConnection.addObserver( deferredBegin );
+			}
+			else {
+				begin( logicalConnection.getConnection() );
 			}
 		}
 		catch( SQLException e ) {
@@ -79,6 +91,16 @@ public class JdbcTransaction extends AbstractTransactionImpl {
 		isDriver = transactionCoordinator().takeOwnership();
 	}
 
+	private void begin(Connection connection) throws SQLException {
+		managedConnection = connection;
+		wasInitiallyAutoCommit = managedConnection.getAutoCommit();
+		LOG.debugv( "initial autocommit status: {0}", wasInitiallyAutoCommit );
+		if ( wasInitiallyAutoCommit ) {
+			LOG.debug( "disabling autocommit" );
+			managedConnection.setAutoCommit( false );
+		}
+	}
+
 	@Override
 	protected void afterTransactionBegin() {
 		if ( getTimeout() > 0 ) {
@@ -108,6 +130,11 @@ public class JdbcTransaction extends AbstractTransactionImpl {
 
 	@Override
 	protected void doCommit() throws TransactionException {
+		if ( managedConnection == null ) {
+			LOG.debug( "no JDBC transaction was started; nothing to commit" );
+			releaseManagedConnection();
+			return;
+		}
 		try {
 			managedConnection.commit();
 			LOG.debug( "committed JDBC Connection" );
@@ -121,6 +148,13 @@ public class JdbcTransaction extends AbstractTransactionImpl {
 	}
 
 	private void releaseManagedConnection() {
+		if ( deferredBegin != null ) {
+			transactionCoordinator().getJdbcCoordinator().getLogicalConnection().removeObserver( deferredBegin );
+			deferredBegin = null;
+		}
+		if ( managedConnection == null ) {
+			return;
+		}
 		try {
 			if ( wasInitiallyAutoCommit ) {
 				LOG.debug( "re-enabling autocommit" );
@@ -159,6 +193,11 @@ public class JdbcTransaction extends AbstractTransactionImpl {
 
 	@Override
 	protected void doRollback() throws TransactionException {
+		if ( managedConnection == null ) {
+			LOG.debug( "no JDBC transaction was started; nothing to roll back" );
+			releaseManagedConnection();
+			return;
+		}
 		try {
 			managedConnection.rollback();
 			LOG.debug( "rolled JDBC Connection" );
@@ -205,4 +244,46 @@ public class JdbcTransaction extends AbstractTransactionImpl {
 	public boolean isActive() throws HibernateException {
 		return getLocalStatus() == LocalStatus.ACTIVE;
 	}
+
+	/**
+	 * Starts the deferred physical transaction on the connection of the first statement which is not part of
+	 * read-only work.  Until then, statements run in auto-commit mode.
+	 */
+	private class DeferredBegin extends ConnectionObserverAdapter {
+		private Connection connection;
+
+		@Override
+		public void physicalConnectionObtained(Connection connection) {
+			this.connection = connection;
+			beginIfRequired();
+		}
+
+		@Override
+		public void physicalConnectionReleased() {
+			connection = null;
+		}
+
+		@Override
+		public void statementPrepared() {
+			beginIfRequired();
+		}
+
+		private void beginIfRequired() {
+			if ( managedConnection != null || connection == null ) {
+				return;
+			}
+			try {
+				if ( !transactionCoordinator().getTransactionContext().isReadOnlyWork() ) {
+					begin( connection );
+				}
+				else if ( !connection.getAutoCommit() ) {
+					// so that the connection can be released between the statements
+					connection.setAutoCommit( true );
+				}
+			}
+			catch( SQLException e ) {
+				throw new TransactionException( "JDBC begin transaction failed: ", e );
+			}
+		}
+	}
 }
\ No newline at end of file
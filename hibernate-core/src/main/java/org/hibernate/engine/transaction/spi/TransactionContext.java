@@ -106,6 +106,15 @@ public interface TransactionContext extends Serializable {
 	 */
 	public void managedClose();
 
+	/**
+	 * Is the work of this context read-only?  Under {@link ConnectionReleaseMode#ON_DEMAND}, the statements of a
+	 * transaction doing read-only work run in auto-commit mode, so that its connection can be released between them.
+	 *
+	 * @return {@literal true} if this context only reads, and has neither written anything nor requested a lock
+	 * stronger than {@link org.hibernate.LockMode#READ} so far
+	 */
+	public boolean isReadOnlyWork();
+
 	public void afterTransactionBegin(TransactionImplementor hibernateTransaction);
 
 	public void beforeTransactionCompletion(TransactionImplementor hibernateTransaction);
@@ -37,6 +37,7 @@ import org.hibernate.action.internal.CollectionUpdateAction;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.Cascade;
 import org.hibernate.engine.internal.Collections;
+import org.hibernate.engine.internal.ParallelDirtyChecking;
 import org.hibernate.engine.spi.ActionQueue;
 import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.engine.spi.CollectionEntry;
@@ -146,7 +147,7 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		LOG.debug( "Processing flush-time cascades" );
 
 		final Map.Entry[] list = IdentityMap.concurrentEntries( session.getPersistenceContext().getEntityEntries() );
-		//safe from concurrent modification because of how entryList() is implemented on IdentityMap
+		//safe from concurrent modification because of how concurrentEntries() is implemented on IdentityMap
 		final int size = list.length;
 		final Object anything = getAnything();
 		for ( int i=0; i<size; i++ ) {
@@ -216,6 +217,11 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		final Map.Entry[] list = IdentityMap.concurrentEntries( source.getPersistenceContext().getEntityEntries() );
 		final int size = list.length;
+
+		// if enabled, read the entity state and find the dirty properties up front on several threads;
+		// everything else below still happens on this thread, in order
+		final ParallelDirtyChecking.PrecomputedDirtyChecks precomputed = ParallelDirtyChecking.precompute( list, source );
+
 		for ( int i = 0; i < size; i++ ) {
 
 			// Update the status of the object and if necessary, schedule an update
@@ -224,8 +230,16 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 			EntityEntry entry = (EntityEntry) me.getValue();
 			Status status = entry.getStatus();
 
+			if ( status == Status.READ_ONLY && !entry.getPersister().hasCollections() ) {
+				// a read-only entity is never dirty, and has no collections to be reached
+				continue;
+			}
+
 			if ( status != Status.LOADING && status != Status.GONE ) {
 				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
+				if ( precomputed != null ) {
+					precomputed.applyTo( i, entityEvent );
+				}
 				final EventListenerGroup<FlushEntityEventListener> listenerGroup = source
 						.getFactory()
 						.getServiceRegistry()
@@ -45,6 +45,7 @@ import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.spi.EventSource;
+import org.hibernate.id.BatchedIdentityInsertPersister;
 import org.hibernate.id.IdentifierGenerationException;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.internal.CoreMessageLogger;
@@ -117,6 +118,8 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 			EventSource source,
 			boolean requiresImmediateIdAccess) {
 		EntityPersister persister = source.getEntityPersister( entityName, entity );
+		// sequence and table based generators write: keep them on the primary
+		source.beforeWriteOperation();
 		Serializable generatedId = persister.getIdentifierGenerator().generate( source, entity );
 		if ( generatedId == null ) {
 			throw new IdentifierGenerationException( "null id generated for:" + entity.getClass() );
@@ -244,7 +247,10 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 		Serializable id = key == null ? null : key.getIdentifier();
 
 		boolean inTxn = source.getTransactionCoordinator().isTransactionInProgress();
-		boolean shouldDelayIdentityInserts = !inTxn && !requiresImmediateIdAccess;
+		boolean batchIdentityInserts = useIdentityColumn
+				&& persister instanceof BatchedIdentityInsertPersister
+				&& ( (BatchedIdentityInsertPersister) persister ).isIdentityInsertBatchable();
+		boolean shouldDelayIdentityInserts = ( !inTxn || batchIdentityInserts ) && !requiresImmediateIdAccess;
 
 		// Put a placeholder in entries, so we don't recurse back and try to save() the
 		// same object again. QUESTION: should this be done before onSave() is called?
@@ -307,7 +313,12 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 				source.getPersistenceContext().checkUniqueness( key, entity );
 			}
 			else {
-				LOG.debug( "Delaying identity-insert due to no transaction in progress" );
+				if ( inTxn ) {
+					LOG.debug( "Delaying identity-insert until flush, to batch it" );
+				}
+				else {
+					LOG.debug( "Delaying identity-insert due to no transaction in progress" );
+				}
 				source.getActionQueue().addAction( insert );
 				key = insert.getDelayedEntityKey();
 			}
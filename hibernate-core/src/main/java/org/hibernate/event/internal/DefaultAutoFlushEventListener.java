@@ -42,6 +42,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, DefaultAutoFlushEventListener.class.getName() );
 
+	private transient volatile ScopedAutoFlushCheck scopedAutoFlushCheck;
+
 	/**
 	 * Handle the given auto-flush event.
 	 * 
@@ -52,6 +54,13 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 	public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
 		final EventSource source = event.getSession();
 		if ( flushMightBeNeeded(source) ) {
+			if ( source.getFactory().getSettings().isScopedAutoFlushEnabled()
+					&& source.getFlushMode() != FlushMode.ALWAYS
+					&& !getScopedAutoFlushCheck().isFlushNeeded( event.getQuerySpaces(), source ) ) {
+				LOG.trace( "Don't need to flush: nothing affecting the query spaces is dirty" );
+				event.setFlushRequired( false );
+				return;
+			}
 			final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
 			flushEverythingToExecutions(event);
 			if ( flushIsReallyNeeded(event, source) ) {
@@ -81,6 +90,16 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 						source.getFlushMode()==FlushMode.ALWAYS;
 	}
 
+	private ScopedAutoFlushCheck getScopedAutoFlushCheck() {
+		// the check only caches persister metadata, so racing threads may safely each build one
+		ScopedAutoFlushCheck check = scopedAutoFlushCheck;
+		if ( check == null ) {
+			check = new ScopedAutoFlushCheck();
+			scopedAutoFlushCheck = check;
+		}
+		return check;
+	}
+
 	private boolean flushMightBeNeeded(final EventSource source) {
 		return !source.getFlushMode().lessThan(FlushMode.AUTO) &&
 				source.getDontFlushFromFind() == 0 &&
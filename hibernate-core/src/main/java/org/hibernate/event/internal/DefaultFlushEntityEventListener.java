@@ -24,6 +24,7 @@
 package org.hibernate.event.internal;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.jboss.logging.Logger;
 
@@ -33,6 +34,7 @@ import org.hibernate.StaleObjectStateException;
 import org.hibernate.action.internal.DelayedPostInsertIdentifier;
 import org.hibernate.action.internal.EntityUpdateAction;
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
+import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.engine.internal.Nullability;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
@@ -67,7 +69,8 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		if ( id != null && id instanceof DelayedPostInsertIdentifier ) {
 			// this is a situation where the entity id is assigned by a post-insert generator
-			// and was saved outside the transaction forcing it to be delayed
+			// and was saved outside the transaction, or persisted with identity insert batching enabled,
+			// forcing it to be delayed
 			return;
 		}
 
@@ -138,7 +141,7 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		final boolean mightBeDirty = entry.requiresDirtyCheck(entity);
 
-		final Object[] values = getValues( entity, entry, mightBeDirty, session );
+		final Object[] values = getValues( entity, entry, mightBeDirty, event );
 
 		event.setPropertyValues(values);
 
@@ -162,7 +165,8 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
-	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
+	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, FlushEntityEvent event) {
+		final SessionImplementor session = event.getSession();
 		final Object[] loadedState = entry.getLoadedState();
 		final Status status = entry.getStatus();
 		final EntityPersister persister = entry.getPersister();
@@ -178,8 +182,10 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		else {
 			checkId( entity, persister, entry.getId(), session );
 
-			// grab its current state
-			values = persister.getPropertyValues( entity );
+			// grab its current state, unless it was already read by parallel dirty-checking
+			values = event.isDirtyCheckPrecomputed()
+					? event.getPrecomputedPropertyValues()
+					: persister.getPropertyValues( entity );
 
 			checkNaturalId( persister, entry, values, loadedState, session );
 		}
@@ -320,6 +326,11 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			if ( event.hasDatabaseSnapshot() ) {
 				dirtyProperties = persister.findModified( event.getDatabaseSnapshot(), values, entity, session );
 			}
+			else if ( entry.getLoadedState() == null ) {
+				// an entity tracking its dirty fields has no snapshot telling which values the Interceptor changed
+				dirtyProperties = null;
+				event.setDirtyCheckPossible( false );
+			}
 			else {
 				dirtyProperties = persister.findDirty( values, entry.getLoadedState(), entity, session );
 			}
@@ -483,12 +494,27 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			cannotDirtyCheck = loadedState==null; // object loaded by update()
 			if ( !cannotDirtyCheck ) {
 				// dirty check against the usual snapshot of the entity
-				dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+				if ( isPrecomputedDirtyCheckUsable( event ) ) {
+					dirtyProperties = event.getPrecomputedDirtyProperties();
+				}
+				else {
+					// for an instrumented entity, only the properties written since the snapshot was taken
+					// can be dirty (unless collections can dirty it)
+					final int[] writtenProperties = entry.getStatus() != Status.MANAGED
+							|| ( persister.isVersioned() && persister.hasCollections() )
+							? null
+							: getWrittenProperties( entity, persister );
+					dirtyProperties = writtenProperties == null
+							? persister.findDirty( values, loadedState, entity, session )
+							: persister.findDirty( writtenProperties, values, loadedState, entity, session );
+				}
 			}
-			else if ( entry.getStatus() == Status.DELETED && ! event.getEntityEntry().isModifiableEntity() ) {
+			else if ( entry.getStatus() == Status.DELETED
+					&& ( !event.getEntityEntry().isModifiableEntity() || entry.isTrackingDirtyFields() ) ) {
 				// A non-modifiable (e.g., read-only or immutable) entity needs to be have
 				// references to transient entities set to null before being deleted. No other
-				// fields should be updated.
+				// fields should be updated.  The same goes for an entity without a snapshot
+				// which tracks its dirty fields, since it is about to be deleted anyway.
 				if ( values != entry.getDeletedState() ) {
 					throw new IllegalStateException(
 							"Entity has status Status.DELETED but values != entry.getDeletedState"
@@ -505,6 +531,11 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 				dirtyProperties = persister.findDirty( entry.getDeletedState(), currentState, entity, session );
 				cannotDirtyCheck = false;
 			}
+			else if ( entry.isTrackingDirtyFields() && ( dirtyProperties = getWrittenProperties( entity, persister ) ) != null ) {
+				// no snapshot, but the instrumented entity knows which fields were written since it was loaded
+				dirtyProperties = getUpdateableProperties( dirtyProperties, persister );
+				cannotDirtyCheck = false;
+			}
 			else {
 				// dirty check against the database snapshot, if possible/necessary
 				final Object[] databaseSnapshot = getDatabaseSnapshot(session, persister, id);
@@ -529,6 +560,50 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
+	/**
+	 * The properties written since the dirty flag of the (instrumented) entity was last cleared.
+	 *
+	 * @return The written properties, or null if they are not known.
+	 */
+	private int[] getWrittenProperties(Object entity, EntityPersister persister) {
+		if ( !persister.isInstrumented() || persister.hasMutableProperties() ) {
+			// mutable values can be modified without writing the field holding them
+			return null;
+		}
+		final FieldInterceptor interceptor = FieldInterceptionHelper.extractFieldInterceptor( entity );
+		if ( interceptor == null ) {
+			return null;
+		}
+		final Set<String> dirtyFields = interceptor.getDirtyFields();
+		return dirtyFields == null ? null : persister.getEntityMetamodel().getPropertyIndexes( dirtyFields );
+	}
+
+	private int[] getUpdateableProperties(int[] properties, EntityPersister persister) {
+		final boolean[] updateability = persister.getPropertyUpdateability();
+		final Type[] types = persister.getPropertyTypes();
+		final int[] result = new int[properties.length];
+		int count = 0;
+		for ( int property : properties ) {
+			// collections don't dirty an unversioned parent entity
+			if ( updateability[property] && !types[property].isCollectionType() ) {
+				result[count++] = property;
+			}
+		}
+		if ( count == 0 ) {
+			return null;
+		}
+		final int[] trimmed = new int[count];
+		System.arraycopy( result, 0, trimmed, 0, count );
+		return trimmed;
+	}
+
+	private boolean isPrecomputedDirtyCheckUsable(FlushEntityEvent event) {
+		// only valid if the values being checked are the ones the precomputed check was based on
+		return event.isDirtyCheckPrecomputed()
+				&& event.getPropertyValues() == event.getPrecomputedPropertyValues()
+				&& event.getEntityEntry().getStatus() == Status.MANAGED;
+	}
+
 	private void logDirtyProperties(Serializable id, int[] dirtyProperties, EntityPersister persister) {
 		if ( LOG.isTraceEnabled() && dirtyProperties != null && dirtyProperties.length > 0 ) {
 			final String[] allPropertyNames = persister.getPropertyNames();
@@ -87,6 +87,9 @@ public class EvictVisitor extends AbstractVisitor {
 			getSession().getPersistenceContext().getCollectionsByKey().remove(
 					new CollectionKey( ce.getLoadedPersister(), ce.getLoadedKey() )
 			);
+			if ( ce.getLoadedPersister().isBatchLoadable() ) {
+				getSession().getPersistenceContext().getBatchFetchQueue().removeBatchLoadableCollection( ce );
+			}
 		}
 	}
 }
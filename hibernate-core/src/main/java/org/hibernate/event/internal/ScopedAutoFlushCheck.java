@@ -0,0 +1,283 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.event.internal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.CascadeStyle;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+/**
+ * Decides, without any side effect on the session, whether an auto-flush can affect the query spaces of the
+ * query about to be executed.
+ * <p/>
+ * Each entity persister is associated with the query spaces a flush of one of its instances may write to: its own
+ * tables, the tables of its collections and, following the cascading associations, the spaces of the entities it
+ * may cascade to.  Only the entities and collections whose spaces intersect the query spaces are looked at, and those
+ * are dirty-checked the same way the flush would.  Whenever that is not conclusive (new or deleted entities, no
+ * loaded state, cascades from read-only entities, a custom interceptor) the check answers that the flush is needed,
+ * and the usual full flush decides.
+ */
+final class ScopedAutoFlushCheck {
+	// marks persisters which may cascade to any entity
+	private static final Set<Serializable> ALL_SPACES = Collections.unmodifiableSet( new HashSet<Serializable>() );
+
+	private final Map<EntityPersister,Set<Serializable>> affectedSpacesByPersister =
+			new ConcurrentHashMap<EntityPersister,Set<Serializable>>();
+
+	/**
+	 * Can flushing the given session change the content of any of the given query spaces?
+	 *
+	 * @param querySpaces The spaces of the query to execute
+	 * @param session The session being auto-flushed
+	 *
+	 * @return false if the flush can safely be skipped; true if a full flush must decide
+	 */
+	boolean isFlushNeeded(Set querySpaces, EventSource session) {
+		if ( session.getActionQueue().areTablesToBeUpdated( querySpaces ) ) {
+			return true;
+		}
+		if ( querySpaces.isEmpty() ) {
+			return false;
+		}
+		final boolean defaultInterceptor = session.getInterceptor() == EmptyInterceptor.INSTANCE;
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+
+		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getEntityEntries() ) ) {
+			final EntityEntry entry = (EntityEntry) me.getValue();
+			if ( !intersects( getAffectedSpaces( entry.getPersister() ), querySpaces ) ) {
+				continue;
+			}
+			if ( !defaultInterceptor || isPossiblyDirty( me.getKey(), entry, session ) ) {
+				return true;
+			}
+		}
+
+		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getCollectionEntries() ) ) {
+			final PersistentCollection collection = (PersistentCollection) me.getKey();
+			final CollectionEntry entry = (CollectionEntry) me.getValue();
+			final CollectionPersister persister = entry.getLoadedPersister();
+			if ( persister == null ) {
+				// not flushed yet
+				return true;
+			}
+			if ( intersects( getAffectedSpaces( persister.getOwnerEntityPersister() ), querySpaces )
+					&& isPossiblyDirty( collection, persister ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isPossiblyDirty(Object entity, EntityEntry entry, EventSource session) {
+		final EntityPersister persister = entry.getPersister();
+		final Status status = entry.getStatus();
+		if ( status == Status.GONE ) {
+			return false;
+		}
+		if ( status == Status.READ_ONLY ) {
+			// not dirty-checked, but the flush still cascades from it
+			return persister.hasCascades();
+		}
+		if ( status != Status.MANAGED ) {
+			return true;
+		}
+		if ( !entry.requiresDirtyCheck( entity ) ) {
+			return false;
+		}
+		final Object[] loadedState = entry.getLoadedState();
+		if ( loadedState == null ) {
+			return true;
+		}
+		final Object[] values = persister.getPropertyValues( entity );
+		return isCollectionReplaced( entity, values, loadedState, persister, session )
+				|| persister.findDirty( values, loadedState, entity, session ) != null;
+	}
+
+	/**
+	 * Collection-typed properties are not dirty for an unversioned owner, and a collection which was replaced or
+	 * removed is still registered and unchanged; so check that each value is the collection registered for it.
+	 */
+	private boolean isCollectionReplaced(
+			Object entity,
+			Object[] values,
+			Object[] loadedState,
+			EntityPersister persister,
+			EventSource session) {
+		final Type[] types = persister.getPropertyTypes();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !types[i].isCollectionType() ) {
+				continue;
+			}
+			final Object value = values[i];
+			if ( value == null ) {
+				if ( loadedState[i] != null ) {
+					return true;
+				}
+			}
+			else if ( !( value instanceof PersistentCollection ) ) {
+				return true;
+			}
+			else {
+				final PersistentCollection collection = (PersistentCollection) value;
+				final CollectionEntry collectionEntry = session.getPersistenceContext().getCollectionEntry( collection );
+				if ( collectionEntry == null
+						|| collection.getOwner() != entity
+						|| !( (CollectionType) types[i] ).getRole().equals( collectionEntry.getRole() ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isPossiblyDirty(PersistentCollection collection, CollectionPersister persister) {
+		if ( collection.isDirty() ) {
+			return true;
+		}
+		// same as the flush-time check of CollectionEntry
+		return collection.wasInitialized()
+				&& persister.isMutable()
+				&& ( collection.isDirectlyAccessible() || persister.getElementType().isMutable() )
+				&& !collection.equalsSnapshot( persister );
+	}
+
+	private static boolean intersects(Set<Serializable> affectedSpaces, Set querySpaces) {
+		if ( affectedSpaces == ALL_SPACES ) {
+			return true;
+		}
+		for ( Object querySpace : querySpaces ) {
+			if ( affectedSpaces.contains( querySpace ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Set<Serializable> getAffectedSpaces(EntityPersister persister) {
+		Set<Serializable> spaces = affectedSpacesByPersister.get( persister );
+		if ( spaces == null ) {
+			spaces = new HashSet<Serializable>();
+			if ( !collectAffectedSpaces( persister, spaces, new HashSet<EntityPersister>() ) ) {
+				spaces = ALL_SPACES;
+			}
+			affectedSpacesByPersister.put( persister, spaces );
+		}
+		return spaces;
+	}
+
+	/**
+	 * @return false if the persister may cascade to any entity
+	 */
+	private static boolean collectAffectedSpaces(
+			EntityPersister persister,
+			Set<Serializable> spaces,
+			Set<EntityPersister> visited) {
+		if ( !visited.add( persister ) ) {
+			return true;
+		}
+		Collections.addAll( spaces, persister.getPropertySpaces() );
+		final Type[] types = persister.getPropertyTypes();
+		final CascadeStyle[] cascadeStyles = persister.getPropertyCascadeStyles();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !collectAffectedSpaces( types[i], cascadeStyles[i], persister.getFactory(), spaces, visited ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean collectAffectedSpaces(
+			Type type,
+			CascadeStyle cascadeStyle,
+			SessionFactoryImplementor factory,
+			Set<Serializable> spaces,
+			Set<EntityPersister> visited) {
+		final boolean cascades = cascadeStyle != CascadeStyle.NONE;
+		if ( type.isAnyType() ) {
+			return !cascades;
+		}
+		if ( type.isComponentType() ) {
+			final CompositeType componentType = (CompositeType) type;
+			final Type[] subtypes = componentType.getSubtypes();
+			for ( int i = 0; i < subtypes.length; i++ ) {
+				if ( !collectAffectedSpaces( subtypes[i], componentType.getCascadeStyle( i ), factory, spaces, visited ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if ( type.isCollectionType() ) {
+			final CollectionPersister collectionPersister =
+					factory.getCollectionPersister( ( (CollectionType) type ).getRole() );
+			Collections.addAll( spaces, collectionPersister.getCollectionSpaces() );
+			final Type elementType = collectionPersister.getElementType();
+			if ( elementType.isEntityType() ) {
+				return !cascades || collectAssociatedSpaces( (EntityType) elementType, factory, spaces, visited );
+			}
+			if ( elementType.isComponentType() || elementType.isAnyType() ) {
+				// the cascade style of the collection applies to the associations of its composite elements
+				return !cascades;
+			}
+			return true;
+		}
+		if ( type.isEntityType() && cascades ) {
+			return collectAssociatedSpaces( (EntityType) type, factory, spaces, visited );
+		}
+		return true;
+	}
+
+	private static boolean collectAssociatedSpaces(
+			EntityType type,
+			SessionFactoryImplementor factory,
+			Set<Serializable> spaces,
+			Set<EntityPersister> visited) {
+		final EntityPersister associatedPersister = factory.getEntityPersister( type.getAssociatedEntityName( factory ) );
+		for ( Object subclassEntityName : associatedPersister.getEntityMetamodel().getSubclassEntityNames() ) {
+			if ( !collectAffectedSpaces( factory.getEntityPersister( (String) subclassEntityName ), spaces, visited ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -37,6 +37,9 @@ public class FlushEntityEvent extends AbstractEvent {
 	private boolean dirtyCheckPossible;
 	private boolean dirtyCheckHandledByInterceptor;
 	private EntityEntry entityEntry;
+	private Object[] precomputedPropertyValues;
+	private int[] precomputedDirtyProperties;
+	private boolean dirtyCheckPrecomputed;
 	
 	public FlushEntityEvent(EventSource source, Object entity, EntityEntry entry) {
 		super(source);
@@ -89,4 +92,25 @@ public class FlushEntityEvent extends AbstractEvent {
 	public Object getEntity() {
 		return entity;
 	}
+
+	/**
+	 * Attach the entity state and dirty properties computed ahead of time by parallel dirty-checking.
+	 *
+	 * @param propertyValues The current property values of the entity
+	 * @param dirtyProperties The indexes of the properties dirty with respect to the loaded state, or null
+	 */
+	public void setPrecomputedDirtyCheck(Object[] propertyValues, int[] dirtyProperties) {
+		this.precomputedPropertyValues = propertyValues;
+		this.precomputedDirtyProperties = dirtyProperties;
+		this.dirtyCheckPrecomputed = true;
+	}
+	public boolean isDirtyCheckPrecomputed() {
+		return dirtyCheckPrecomputed;
+	}
+	public Object[] getPrecomputedPropertyValues() {
+		return precomputedPropertyValues;
+	}
+	public int[] getPrecomputedDirtyProperties() {
+		return precomputedDirtyProperties;
+	}
 }
@@ -346,6 +346,8 @@ public class QueryTranslatorImpl implements FilterTranslator {
 			RowSelection selection = new RowSelection();
 			selection.setFetchSize( queryParameters.getRowSelection().getFetchSize() );
 			selection.setTimeout( queryParameters.getRowSelection().getTimeout() );
+			selection.setKeysetValues( queryParameters.getRowSelection().getKeysetValues() );
+			selection.setKeysetTypes( queryParameters.getRowSelection().getKeysetTypes() );
 			queryParametersToUse = queryParameters.createCopyUsing( selection );
 		}
 		else {
@@ -52,10 +52,16 @@ public class ConstructorNode extends SelectExpressionList implements AggregatedS
 	private Type[] constructorArgumentTypes;
 	private boolean isMap;
 	private boolean isList;
+	private ResultTransformer constructorTransformer;
 
 	public ResultTransformer getResultTransformer() {
 		if ( constructor != null ) {
-			return new AliasToBeanConstructorResultTransformer( constructor );
+			// reused by every execution of the query (and every row), so that it generates its constructor
+			// accessor only once
+			if ( constructorTransformer == null ) {
+				constructorTransformer = new AliasToBeanConstructorResultTransformer( constructor );
+			}
+			return constructorTransformer;
 		}
 		else if ( isMap ) {
 			return Transformers.ALIAS_TO_ENTITY_MAP;
@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id;
+
+import java.io.Serializable;
+
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * A {@link PostInsertIdentityPersister} able to insert several entities as a single JDBC batch,
+ * retrieving all their generated identifiers at once.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+ */
+public interface BatchedIdentityInsertPersister extends PostInsertIdentityPersister {
+	/**
+	 * Can inserts of this entity be batched?
+	 *
+	 * @return True if {@link #insert(Object[][], Object[], SessionImplementor)} may be used.
+	 */
+	public boolean isIdentityInsertBatchable();
+
+	/**
+	 * Insert the given entities as a single JDBC batch, and retrieve the identifiers generated for them.
+	 *
+	 * @param fields The state of each entity to insert
+	 * @param objects The entities to insert
+	 * @param session The session in which we are operating
+	 *
+	 * @return The generated identifiers, in the order of the given entities.
+	 */
+	public Serializable[] insert(Object[][] fields, Object[] objects, SessionImplementor session);
+}
@@ -29,9 +29,11 @@ import java.util.Properties;
 import org.hibernate.MappingException;
 import org.hibernate.Session;
 import org.hibernate.TransientObjectException;
+import org.hibernate.action.internal.DelayedPostInsertIdentifier;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.internal.ForeignKeys;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -125,6 +127,15 @@ public class ForeignGenerator implements IdentifierGenerator, Configurable {
 		catch (TransientObjectException toe) {
 			id = session.save( foreignValueSourceType.getAssociatedEntityName(), associatedObject );
 		}
+		if ( id instanceof DelayedPostInsertIdentifier ) {
+			// the insert of the associated entity was delayed, but we need its generated id right now
+			( (EventSource) sessionImplementor ).getActionQueue().executeInserts();
+			id = ForeignKeys.getEntityIdentifierIfNotUnsaved(
+					foreignValueSourceType.getAssociatedEntityName(),
+					associatedObject,
+					sessionImplementor
+			);
+		}
 
 		if ( session.contains(object) ) {
 			//abort the save (the object is already saved by a circular cascade)
@@ -34,9 +34,12 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.id.insert.AbstractReturningDelegate;
 import org.hibernate.id.insert.AbstractSelectingDelegate;
+import org.hibernate.id.insert.BatchedInsertGeneratedIdentifierDelegate;
+import org.hibernate.id.insert.Binder;
 import org.hibernate.id.insert.IdentifierGeneratingInsert;
 import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
 import org.hibernate.id.insert.InsertSelectIdentityInsert;
+import org.hibernate.pretty.MessageHelper;
 
 /**
  * A generator for use with ANSI-SQL IDENTITY columns used as the primary key.
@@ -69,7 +72,7 @@ public class IdentityGenerator extends AbstractPostInsertGenerator {
 	 */
 	public static class GetGeneratedKeysDelegate
 			extends AbstractReturningDelegate
-			implements InsertGeneratedIdentifierDelegate {
+			implements BatchedInsertGeneratedIdentifierDelegate {
 		private final PostInsertIdentityPersister persister;
 		private final Dialect dialect;
 
@@ -108,6 +111,40 @@ public class IdentityGenerator extends AbstractPostInsertGenerator {
 				}
 			}
 		}
+
+		public Serializable[] performBatchInsert(String insertSQL, SessionImplementor session, Binder[] binders) {
+			try {
+				PreparedStatement insert = prepare( insertSQL, session );
+				try {
+					for ( Binder binder : binders ) {
+						binder.bindValues( insert );
+						insert.addBatch();
+					}
+					insert.executeBatch();
+					ResultSet rs = insert.getGeneratedKeys();
+					try {
+						final Serializable[] ids = new Serializable[binders.length];
+						for ( int i = 0; i < ids.length; i++ ) {
+							ids[i] = IdentifierGeneratorHelper.getGeneratedIdentity( rs, persister.getIdentifierType() );
+						}
+						return ids;
+					}
+					finally {
+						rs.close();
+					}
+				}
+				finally {
+					releaseStatement( insert, session );
+				}
+			}
+			catch ( SQLException sqle ) {
+				throw session.getFactory().getSQLExceptionHelper().convert(
+						sqle,
+						"could not insert: " + MessageHelper.infoString( persister ),
+						insertSQL
+				);
+			}
+		}
 	}
 
 	/**
@@ -46,7 +46,7 @@ import org.hibernate.type.Type;
  * Generates <tt>long</tt> values using an oracle-style sequence. A higher
  * performance algorithm is <tt>SequenceHiLoGenerator</tt>.<br>
  * <br>
- * Mapping parameters supported: sequence, parameters.
+ * Mapping parameters supported: sequence, parameters, values_per_fetch.
  *
  * @see SequenceHiLoGenerator
  * @see TableHiLoGenerator
@@ -67,10 +67,18 @@ public class SequenceGenerator implements PersistentIdentifierGenerator, Configu
 	 */
 	public static final String PARAMETERS = "parameters";
 
+	/**
+	 * The number of sequence values to retrieve per round trip, buffering the extra values in memory.
+	 * Only applied if the dialect {@link Dialect#supportsSequenceNextValues() supports} it.
+	 */
+	public static final String VALUES_PER_FETCH = "values_per_fetch";
+
 	private String sequenceName;
 	private String parameters;
 	private Type identifierType;
 	private String sql;
+	private String multipleValuesSql;
+	private final SequenceValueBuffer valueBuffer = new SequenceValueBuffer();
 
 	protected Type getIdentifierType() {
 		return identifierType;
@@ -99,6 +107,16 @@ public class SequenceGenerator implements PersistentIdentifierGenerator, Configu
 
 		this.identifierType = type;
 		sql = dialect.getSequenceNextValString( sequenceName );
+
+		final int valuesPerFetch = ConfigurationHelper.getInt( VALUES_PER_FETCH, params, 1 );
+		if ( valuesPerFetch > 1 ) {
+			if ( dialect.supportsSequenceNextValues() ) {
+				multipleValuesSql = dialect.getSequenceNextValuesString( sequenceName, valuesPerFetch );
+			}
+			else {
+				LOG.sequenceNextValuesNotSupported( dialect.getClass().getName(), sequenceName );
+			}
+		}
 	}
 
 	public Serializable generate(SessionImplementor session, Object obj) {
@@ -106,14 +124,28 @@ public class SequenceGenerator implements PersistentIdentifierGenerator, Configu
 	}
 
 	protected IntegralDataTypeHolder generateHolder(SessionImplementor session) {
+		if ( multipleValuesSql != null ) {
+			final IntegralDataTypeHolder buffered = valueBuffer.poll();
+			if ( buffered != null ) {
+				LOG.debugf( "Sequence identifier generated: %s", buffered );
+				return buffered;
+			}
+		}
+		final String sql = multipleValuesSql == null ? this.sql : multipleValuesSql;
 		try {
 			PreparedStatement st = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
 			try {
 				ResultSet rs = st.executeQuery();
 				try {
-					rs.next();
-					IntegralDataTypeHolder result = buildHolder();
-					result.initialize( rs, 1 );
+					final IntegralDataTypeHolder result;
+					if ( multipleValuesSql == null ) {
+						rs.next();
+						result = buildHolder();
+						result.initialize( rs, 1 );
+					}
+					else {
+						result = valueBuffer.fill( rs, buildHolder() );
+					}
 					LOG.debugf( "Sequence identifier generated: %s", result );
 					return result;
 				}
@@ -0,0 +1,87 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Holds sequence values retrieved several at a time (see
+ * {@link org.hibernate.dialect.Dialect#getSequenceNextValuesString}) until they are handed out, so that
+ * only every n-th value costs a database round trip, whatever the increment of the sequence.
+ * <p/>
+ * Sequences are not transactional, so values kept here are never handed out twice.  Values still
+ * buffered when the session factory is closed are simply lost, leaving a gap.
+ */
+public class SequenceValueBuffer {
+	private static final Comparator<IntegralDataTypeHolder> ASCENDING = new Comparator<IntegralDataTypeHolder>() {
+		@Override
+		public int compare(IntegralDataTypeHolder value, IntegralDataTypeHolder other) {
+			return value.lt( other ) ? -1 : value.eq( other ) ? 0 : 1;
+		}
+	};
+
+	private final Queue<IntegralDataTypeHolder> values = new ConcurrentLinkedQueue<IntegralDataTypeHolder>();
+
+	/**
+	 * Take the next buffered value.
+	 *
+	 * @return The value, or {@code null} if the buffer is empty
+	 */
+	public IntegralDataTypeHolder poll() {
+		return values.poll();
+	}
+
+	/**
+	 * Read the sequence values returned by a multi-value statement, keeping all but the lowest one.
+	 *
+	 * @param rs The result of the statement, one value per row
+	 * @param prototype An uninitialized holder of the identifier type, copied for each value
+	 *
+	 * @return The lowest of the values read
+	 *
+	 * @throws SQLException Indicates a problem reading the values
+	 */
+	public IntegralDataTypeHolder fill(ResultSet rs, IntegralDataTypeHolder prototype) throws SQLException {
+		final List<IntegralDataTypeHolder> fetched = new ArrayList<IntegralDataTypeHolder>();
+		while ( rs.next() ) {
+			final IntegralDataTypeHolder value = prototype.copy();
+			value.initialize( rs, 1 );
+			fetched.add( value );
+		}
+		if ( fetched.isEmpty() ) {
+			throw new IdentifierGenerationException( "sequence returned no values" );
+		}
+		// the order of the rows is not guaranteed; hand the values out in sequence order, as far as possible
+		Collections.sort( fetched, ASCENDING );
+		values.addAll( fetched.subList( 1, fetched.size() ) );
+		return fetched.get( 0 );
+	}
+}
@@ -49,9 +49,10 @@ import org.hibernate.type.descriptor.java.UUIDTypeDescriptor;
  * <li>{@link #UUID_GEN_STRATEGY_CLASS} - names the {@link UUIDGenerationStrategy} class to use</li>
  * </ul>
  * <p/>
- * Currently there are 2 standard implementations of {@link UUIDGenerationStrategy}:<ul>
+ * Currently there are 3 standard implementations of {@link UUIDGenerationStrategy}:<ul>
  * <li>{@link StandardRandomStrategy} (the default, if none specified)</li>
  * <li>{@link org.hibernate.id.uuid.CustomVersionOneStrategy}</li>
+ * <li>{@link org.hibernate.id.uuid.TimeOrderedStrategy}, generating values in index order</li>
  * </ul>
  *
  * @author Steve Ebersole
@@ -24,6 +24,7 @@
  */
 package org.hibernate.id.enhanced;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 
 /**
@@ -66,6 +67,16 @@ public interface DatabaseStructure {
 	 */
 	public AccessCallback buildCallback(SessionImplementor session);
 
+	/**
+	 * A callback to be able to get the next value from the underlying
+	 * structure outside of any session, on a connection of its own.  Used
+	 * to obtain values ahead of need from a background thread.
+	 *
+	 * @param factory The session factory.
+	 * @return The next value.
+	 */
+	public AccessCallback buildIsolatedCallback(SessionFactoryImplementor factory);
+
 	/**
 	 * Prepare this structure for use.  Called sometime after instantiation,
 	 * but before first use.
@@ -25,6 +25,18 @@ package org.hibernate.id.enhanced;
 
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.logging.Logger;
 
@@ -214,6 +226,349 @@ public class OptimizerFactory {
 		}
 	}
 
+	/**
+	 * Common support for optimizers handing out, in memory, the values of blocks (buckets) obtained from
+	 * the database.
+	 * <p/>
+	 * Values are handed out from the current block without locking.  Once it is exhausted, a single thread
+	 * obtains the next block from the database through its {@link AccessCallback} while the other threads
+	 * wait for that block, rather than queueing up to each hit the database in turn.
+	 * <p/>
+	 * With {@link #enablePrefetch prefetch} enabled, the next block is obtained in the background, outside
+	 * of any session, as soon as the number of values left in the current block drops to the low-water mark;
+	 * the thread exhausting the current block then usually finds the next one ready.
+	 */
+	public static abstract class BlockOptimizerSupport extends OptimizerSupport {
+		private final AtomicReference<ValueBlock> currentBlock = new AtomicReference<ValueBlock>();
+		private final AtomicReference<CountDownLatch> pendingRefill = new AtomicReference<CountDownLatch>();
+
+		private volatile Prefetcher prefetcher;
+		private final AtomicReference<Prefetch> pendingPrefetch = new AtomicReference<Prefetch>();
+		private final AtomicLong prefetchHitCount = new AtomicLong();
+		private final AtomicLong prefetchStallCount = new AtomicLong();
+
+		protected BlockOptimizerSupport(Class returnClass, int incrementSize) {
+			super( returnClass, incrementSize );
+			if ( incrementSize < 1 ) {
+				throw new HibernateException( "increment size cannot be less than 1" );
+			}
+		}
+
+		/**
+		 * Obtain the block following the given one.
+		 *
+		 * @param previous The exhausted block, or {@code null} on first use
+		 * @param callback Access to the database
+		 *
+		 * @return The next block
+		 */
+		protected abstract ValueBlock nextBlock(ValueBlock previous, AccessCallback callback);
+
+		/**
+		 * Obtain the next block in the background once the current one runs low.
+		 *
+		 * @param lowWaterMark The number of values left in the current block at which to start the prefetch
+		 * @param executor The executor running the prefetch
+		 * @param callback Access to the database outside of any session, used by the prefetch
+		 */
+		public void enablePrefetch(int lowWaterMark, Executor executor, AccessCallback callback) {
+			if ( lowWaterMark < 1 ) {
+				throw new HibernateException( "prefetch low-water mark cannot be less than 1" );
+			}
+			this.prefetcher = new Prefetcher( lowWaterMark, executor, callback );
+		}
+
+		public boolean isPrefetchEnabled() {
+			return prefetcher != null;
+		}
+
+		/**
+		 * The number of times an exhausted block was replaced by a block prefetched in the background
+		 * without waiting.
+		 *
+		 * @return The prefetch hit count
+		 */
+		public long getPrefetchHitCount() {
+			return prefetchHitCount.get();
+		}
+
+		/**
+		 * The number of times, with prefetch enabled, an exhausted block could only be replaced after waiting
+		 * for the database, either for a prefetch still in progress or for a synchronous fetch.
+		 *
+		 * @return The prefetch stall count
+		 */
+		public long getPrefetchStallCount() {
+			return prefetchStallCount.get();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Serializable generate(AccessCallback callback) {
+			while ( true ) {
+				final ValueBlock block = currentBlock.get();
+				if ( block != null ) {
+					final Number value = block.next();
+					if ( value != null ) {
+						final Prefetcher prefetcher = this.prefetcher;
+						if ( prefetcher != null
+								&& block.getRemaining() <= prefetcher.lowWaterMark
+								&& pendingPrefetch.get() == null ) {
+							schedulePrefetch( block, prefetcher );
+						}
+						return value;
+					}
+				}
+				refill( block, callback );
+			}
+		}
+
+		private void schedulePrefetch(final ValueBlock block, final Prefetcher prefetcher) {
+			final Prefetch prefetch = new Prefetch(
+					block,
+					new Callable<ValueBlock>() {
+						@Override
+						public ValueBlock call() {
+							return nextBlock( block, prefetcher.callback );
+						}
+					}
+			);
+			if ( pendingPrefetch.compareAndSet( null, prefetch ) ) {
+				try {
+					prefetcher.executor.execute( prefetch );
+				}
+				catch ( RejectedExecutionException e ) {
+					// the session factory is closing; fetch synchronously instead
+					pendingPrefetch.compareAndSet( prefetch, null );
+				}
+			}
+		}
+
+		private void refill(ValueBlock exhausted, AccessCallback callback) {
+			final CountDownLatch refill = new CountDownLatch( 1 );
+			if ( pendingRefill.compareAndSet( null, refill ) ) {
+				try {
+					// another thread may have installed a new block since we found this one exhausted
+					if ( currentBlock.get() == exhausted ) {
+						currentBlock.set( obtainNextBlock( exhausted, callback ) );
+					}
+				}
+				finally {
+					pendingRefill.set( null );
+					refill.countDown();
+				}
+			}
+			else {
+				final CountDownLatch pending = pendingRefill.get();
+				if ( pending != null ) {
+					// if that refill fails, we simply try again with our own callback
+					awaitUninterruptibly( pending );
+				}
+			}
+		}
+
+		private ValueBlock obtainNextBlock(ValueBlock exhausted, AccessCallback callback) {
+			final Prefetch prefetch = pendingPrefetch.getAndSet( null );
+			if ( prefetch != null ) {
+				if ( prefetch.previous == exhausted ) {
+					final boolean ready = prefetch.isDone();
+					try {
+						final ValueBlock block = getUninterruptibly( prefetch );
+						if ( ready ) {
+							prefetchHitCount.incrementAndGet();
+						}
+						else {
+							prefetchStallCount.incrementAndGet();
+						}
+						return block;
+					}
+					catch ( ExecutionException e ) {
+						LOG.debugf( e.getCause(), "Identifier prefetch failed; obtaining the next block synchronously" );
+					}
+				}
+				else {
+					// scheduled for a block which has been replaced meanwhile
+					prefetch.cancel( false );
+				}
+			}
+			if ( exhausted != null && prefetcher != null ) {
+				prefetchStallCount.incrementAndGet();
+			}
+			return nextBlock( exhausted, callback );
+		}
+
+		private static ValueBlock getUninterruptibly(Prefetch prefetch) throws ExecutionException {
+			boolean interrupted = false;
+			try {
+				while ( true ) {
+					try {
+						return prefetch.get();
+					}
+					catch ( InterruptedException e ) {
+						interrupted = true;
+					}
+				}
+			}
+			finally {
+				if ( interrupted ) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		private static void awaitUninterruptibly(CountDownLatch latch) {
+			boolean interrupted = false;
+			while ( true ) {
+				try {
+					latch.await();
+					break;
+				}
+				catch ( InterruptedException e ) {
+					interrupted = true;
+				}
+			}
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * The block values are currently being handed out from.
+		 *
+		 * @return The current block, or {@code null} before first use
+		 */
+		protected final ValueBlock getCurrentBlock() {
+			return currentBlock.get();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public IntegralDataTypeHolder getLastSourceValue() {
+			final ValueBlock block = currentBlock.get();
+			return block == null ? null : block.getSourceValue();
+		}
+
+		/**
+		 * Getter for property 'lastValue'.
+		 * <p/>
+		 * Exposure intended for testing purposes.
+		 *
+		 * @return Value for property 'lastValue'.
+		 */
+		public IntegralDataTypeHolder getLastValue() {
+			final ValueBlock block = currentBlock.get();
+			return block == null ? null : block.getLastValue();
+		}
+	}
+
+	private static final class Prefetcher {
+		private final int lowWaterMark;
+		private final Executor executor;
+		private final AccessCallback callback;
+
+		private Prefetcher(int lowWaterMark, Executor executor, AccessCallback callback) {
+			this.lowWaterMark = lowWaterMark;
+			this.executor = executor;
+			this.callback = callback;
+		}
+	}
+
+	private static final class Prefetch extends FutureTask<ValueBlock> {
+		private final ValueBlock previous;
+
+		private Prefetch(ValueBlock previous, Callable<ValueBlock> fetch) {
+			super( fetch );
+			this.previous = previous;
+		}
+	}
+
+	/**
+	 * Builds the executor running identifier block prefetches.  Its threads are daemon threads, which
+	 * terminate when idle.
+	 *
+	 * @return The executor
+	 */
+	public static ExecutorService buildPrefetchExecutor() {
+		return Executors.newCachedThreadPool(
+				new ThreadFactory() {
+					private final AtomicInteger counter = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						final Thread thread = new Thread( runnable, "hibernate-id-prefetch-" + counter.incrementAndGet() );
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+	}
+
+	/**
+	 * A block of contiguous values, handed out through an atomic counter.
+	 */
+	public static final class ValueBlock {
+		private final IntegralDataTypeHolder sourceValue;
+		private final IntegralDataTypeHolder firstValue;
+		private final long size;
+		private final AtomicLong handedOut = new AtomicLong();
+
+		/**
+		 * Constructs a block.
+		 *
+		 * @param sourceValue The database value the block was derived from
+		 * @param firstValue The first value of the block
+		 * @param size The number of values in the block
+		 */
+		public ValueBlock(IntegralDataTypeHolder sourceValue, IntegralDataTypeHolder firstValue, long size) {
+			this.sourceValue = sourceValue;
+			this.firstValue = firstValue.copy();
+			this.size = size;
+		}
+
+		/**
+		 * Hand out the next value of the block.
+		 *
+		 * @return The value, or {@code null} if the block is exhausted
+		 */
+		public Number next() {
+			final long offset = handedOut.getAndIncrement();
+			return offset < size ? firstValue.copy().add( offset ).makeValue() : null;
+		}
+
+		public IntegralDataTypeHolder getSourceValue() {
+			return sourceValue;
+		}
+
+		/**
+		 * The number of values not handed out yet.
+		 *
+		 * @return The remaining value count
+		 */
+		public long getRemaining() {
+			return Math.max( size - handedOut.get(), 0 );
+		}
+
+		/**
+		 * The value following the block.
+		 *
+		 * @return The upper limit (exclusive) of the block.
+		 */
+		public IntegralDataTypeHolder getUpperLimit() {
+			return firstValue.copy().add( size );
+		}
+
+		/**
+		 * The value handed out last.
+		 *
+		 * @return The last value.
+		 */
+		public IntegralDataTypeHolder getLastValue() {
+			return firstValue.copy().add( Math.min( handedOut.get(), size ) - 1 );
+		}
+	}
+
 	/**
 	 * Optimizer which applies a 'hilo' algorithm in memory to achieve
 	 * optimization.
@@ -244,52 +599,27 @@ public class OptimizerFactory {
 	 * <li>{@code lowerLimit = 41 - 20 = 21}</li>
 	 * </ol>
 	 * And so on...
-	 * <p/>
-	 * Note, 'value' always (after init) holds the next value to return
 	 */
-	public static class HiLoOptimizer extends OptimizerSupport {
-		private IntegralDataTypeHolder lastSourceValue;
-		private IntegralDataTypeHolder upperLimit;
-		private IntegralDataTypeHolder value;
-
+	public static class HiLoOptimizer extends BlockOptimizerSupport {
 		public HiLoOptimizer(Class returnClass, int incrementSize) {
 			super( returnClass, incrementSize );
-			if ( incrementSize < 1 )
-				throw new HibernateException( "increment size cannot be less than 1" );
 			if ( LOG.isTraceEnabled() ) {
 				LOG.tracev( "Creating hilo optimizer with [incrementSize={0}; returnClass={1}]", incrementSize, returnClass.getName() );
 			}
 		}
 
-		/**
-		 * {@inheritDoc}
-		 */
-		public synchronized Serializable generate(AccessCallback callback) {
-			if ( lastSourceValue == null ) {
-				// first call, so initialize ourselves.  we need to read the database
-				// value and set up the 'bucket' boundaries
-				lastSourceValue = callback.getNextValue();
-				while ( lastSourceValue.lt( 1 ) ) {
-					lastSourceValue = callback.getNextValue();
+		@Override
+		protected ValueBlock nextBlock(ValueBlock previous, AccessCallback callback) {
+			IntegralDataTypeHolder sourceValue = callback.getNextValue();
+			if ( previous == null ) {
+				// first call, so make sure the bucket boundaries start from 1
+				while ( sourceValue.lt( 1 ) ) {
+					sourceValue = callback.getNextValue();
 				}
-				// upperLimit defines the upper end of the bucket values
-				upperLimit = lastSourceValue.copy().multiplyBy( incrementSize ).increment();
-				// initialize value to the low end of the bucket
-				value = upperLimit.copy().subtract( incrementSize );
-			}
-			else if ( ! upperLimit.gt( value ) ) {
-				lastSourceValue = callback.getNextValue();
-				upperLimit = lastSourceValue.copy().multiplyBy( incrementSize ).increment();
 			}
-			return value.makeValueThenIncrement();
-		}
-
-
-		/**
-		 * {@inheritDoc}
-		 */
-		public IntegralDataTypeHolder getLastSourceValue() {
-			return lastSourceValue;
+			// upperLimit defines the upper end of the bucket values
+			final IntegralDataTypeHolder upperLimit = sourceValue.copy().multiplyBy( incrementSize ).increment();
+			return new ValueBlock( sourceValue, upperLimit.copy().subtract( incrementSize ), incrementSize );
 		}
 
 		/**
@@ -299,17 +629,6 @@ public class OptimizerFactory {
 			return false;
 		}
 
-		/**
-		 * Getter for property 'lastValue'.
-		 * <p/>
-		 * Exposure intended for testing purposes.
-		 *
-		 * @return Value for property 'lastValue'.
-		 */
-		public IntegralDataTypeHolder getLastValue() {
-			return value.copy().decrement();
-		}
-
 		/**
 		 * Getter for property 'upperLimit'.
 		 * <p/>
@@ -318,48 +637,36 @@ public class OptimizerFactory {
 		 * @return Value for property 'upperLimit'.
 		 */
 		public IntegralDataTypeHolder getHiValue() {
-			return upperLimit;
+			final ValueBlock block = getCurrentBlock();
+			return block == null ? null : block.getUpperLimit();
 		}
 	}
 
-	public static class LegacyHiLoAlgorithmOptimizer extends OptimizerSupport {
-		private long maxLo;
-		private long lo;
-		private IntegralDataTypeHolder hi;
-
-		private IntegralDataTypeHolder lastSourceValue;
-		private IntegralDataTypeHolder value;
-
+	public static class LegacyHiLoAlgorithmOptimizer extends BlockOptimizerSupport {
+		private final long maxLo;
 
 		public LegacyHiLoAlgorithmOptimizer(Class returnClass, int incrementSize) {
 			super( returnClass, incrementSize );
-			if ( incrementSize < 1 )
-				throw new HibernateException( "increment size cannot be less than 1" );
 			if ( LOG.isTraceEnabled() ) {
 				LOG.tracev( "Creating hilo optimizer (legacy) with [incrementSize={0}; returnClass={1}]", incrementSize, returnClass.getName() );
 			}
 			maxLo = incrementSize;
-			lo = maxLo+1;
 		}
 
-		/**
-		 * {@inheritDoc}
-		 */
-		public synchronized Serializable generate(AccessCallback callback) {
-			if ( lo > maxLo ) {
-				lastSourceValue = callback.getNextValue();
-				lo = lastSourceValue.eq( 0 ) ? 1 : 0;
-				hi = lastSourceValue.copy().multiplyBy( maxLo+1 );
-			}
-			value = hi.copy().add( lo++ );
-			return value.makeValue();
+		@Override
+		protected ValueBlock nextBlock(ValueBlock previous, AccessCallback callback) {
+			final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+			final long lo = sourceValue.eq( 0 ) ? 1 : 0;
+			final IntegralDataTypeHolder hi = sourceValue.copy().multiplyBy( maxLo + 1 );
+			return new ValueBlock( sourceValue, hi.add( lo ), maxLo + 1 - lo );
 		}
 
 		/**
 		 * {@inheritDoc}
 		 */
 		public IntegralDataTypeHolder getLastSourceValue() {
-			return lastSourceValue.copy();
+			final IntegralDataTypeHolder lastSourceValue = super.getLastSourceValue();
+			return lastSourceValue == null ? null : lastSourceValue.copy();
 		}
 
 		/**
@@ -368,17 +675,6 @@ public class OptimizerFactory {
 		public boolean applyIncrementSizeToSourceValues() {
 			return false;
 		}
-
-		/**
-		 * Getter for property 'lastValue'.
-		 * <p/>
-		 * Exposure intended for testing purposes.
-		 *
-		 * @return Value for property 'lastValue'.
-		 */
-		public IntegralDataTypeHolder getLastValue() {
-			return value;
-		}
 	}
 
 	/**
@@ -392,51 +688,35 @@ public class OptimizerFactory {
 	 * Note if you prefer that the database value be interpreted as the bottom end of our current range,
 	 * then use the {@link PooledLoOptimizer} strategy
 	 */
-	public static class PooledOptimizer extends OptimizerSupport implements InitialValueAwareOptimizer {
-		private IntegralDataTypeHolder hiValue;
-		private IntegralDataTypeHolder value;
+	public static class PooledOptimizer extends BlockOptimizerSupport implements InitialValueAwareOptimizer {
 		private long initialValue = -1;
 
 		public PooledOptimizer(Class returnClass, int incrementSize) {
 			super( returnClass, incrementSize );
-			if ( incrementSize < 1 ) {
-				throw new HibernateException( "increment size cannot be less than 1" );
-			}
 			if ( LOG.isTraceEnabled() ) {
 				LOG.tracev( "Creating pooled optimizer with [incrementSize={0}; returnClass={1}]", incrementSize, returnClass.getName() );
 			}
 		}
 
-		/**
-		 * {@inheritDoc}
-		 */
-		public synchronized Serializable generate(AccessCallback callback) {
-			if ( hiValue == null ) {
-				value = callback.getNextValue();
-                // unfortunately not really safe to normalize this
-                // to 1 as an initial value like we do the others
-                // because we would not be able to control this if
-                // we are using a sequence...
-                if (value.lt(1)) LOG.pooledOptimizerReportedInitialValue(value);
-                // the call to obtain next-value just gave us the initialValue
-                if ((initialValue == -1 && value.lt(incrementSize)) || value.eq(initialValue)) hiValue = callback.getNextValue();
-				else {
-					hiValue = value;
-					value = hiValue.copy().subtract( incrementSize );
+		@Override
+		protected ValueBlock nextBlock(ValueBlock previous, AccessCallback callback) {
+			if ( previous == null ) {
+				final IntegralDataTypeHolder value = callback.getNextValue();
+				// unfortunately not really safe to normalize this
+				// to 1 as an initial value like we do the others
+				// because we would not be able to control this if
+				// we are using a sequence...
+				if ( value.lt( 1 ) ) {
+					LOG.pooledOptimizerReportedInitialValue( value );
 				}
+				// the call to obtain next-value just gave us the initialValue
+				if ( ( initialValue == -1 && value.lt( incrementSize ) ) || value.eq( initialValue ) ) {
+					return new ValueBlock( callback.getNextValue(), value, incrementSize );
+				}
+				return new ValueBlock( value, value.copy().subtract( incrementSize ), incrementSize );
 			}
-			else if ( ! hiValue.gt( value ) ) {
-				hiValue = callback.getNextValue();
-				value = hiValue.copy().subtract( incrementSize );
-			}
-			return value.makeValueThenIncrement();
-		}
-
-		/**
-		 * {@inheritDoc}
-		 */
-		public IntegralDataTypeHolder getLastSourceValue() {
-			return hiValue;
+			final IntegralDataTypeHolder hiValue = callback.getNextValue();
+			return new ValueBlock( hiValue, hiValue.copy().subtract( incrementSize ), incrementSize );
 		}
 
 		/**
@@ -446,17 +726,6 @@ public class OptimizerFactory {
 			return true;
 		}
 
-		/**
-		 * Getter for property 'lastValue'.
-		 * <p/>
-		 * Exposure intended for testing purposes.
-		 *
-		 * @return Value for property 'lastValue'.
-		 */
-		public IntegralDataTypeHolder getLastValue() {
-			return value.copy().decrement();
-		}
-
 		/**
 		 * {@inheritDoc}
 		 */
@@ -465,34 +734,26 @@ public class OptimizerFactory {
 		}
 	}
 
-	public static class PooledLoOptimizer extends OptimizerSupport {
-		private IntegralDataTypeHolder lastSourceValue; // last value read from db source
-		private IntegralDataTypeHolder value; // the current generator value
-
+	public static class PooledLoOptimizer extends BlockOptimizerSupport {
 		public PooledLoOptimizer(Class returnClass, int incrementSize) {
 			super( returnClass, incrementSize );
-			if ( incrementSize < 1 ) {
-				throw new HibernateException( "increment size cannot be less than 1" );
-			}
 			if ( LOG.isTraceEnabled() ) {
-				LOG.tracev( "Creating pooled optimizer (lo) with [incrementSize={0}; returnClass=]", incrementSize, returnClass.getName() );
+				LOG.tracev( "Creating pooled optimizer (lo) with [incrementSize={0}; returnClass={1}]", incrementSize, returnClass.getName() );
 			}
 		}
 
-		public Serializable generate(AccessCallback callback) {
-			if ( lastSourceValue == null || ! value.lt( lastSourceValue.copy().add( incrementSize ) ) ) {
-				lastSourceValue = callback.getNextValue();
-				value = lastSourceValue.copy();
-				// handle cases where initial-value is less that one (hsqldb for instance).
-				while ( value.lt( 1 ) ) {
-					value.increment();
-				}
+		@Override
+		protected ValueBlock nextBlock(ValueBlock previous, AccessCallback callback) {
+			final IntegralDataTypeHolder lastSourceValue = callback.getNextValue();
+			final IntegralDataTypeHolder value = lastSourceValue.copy();
+			long size = incrementSize;
+			// handle cases where initial-value is less that one (hsqldb for instance).
+			while ( value.lt( 1 ) ) {
+				value.increment();
+				size--;
 			}
-			return value.makeValueThenIncrement();
-		}
-
-		public IntegralDataTypeHolder getLastSourceValue() {
-			return lastSourceValue;
+			// the first value is handed out even if it is already beyond the block
+			return new ValueBlock( lastSourceValue, value, Math.max( size, 1 ) );
 		}
 
 		public boolean applyIncrementSizeToSourceValues() {
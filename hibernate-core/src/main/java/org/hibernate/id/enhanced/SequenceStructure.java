@@ -23,6 +23,7 @@
  *
  */
 package org.hibernate.id.enhanced;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -31,10 +32,17 @@ import org.jboss.logging.Logger;
 
 import org.hibernate.HibernateException;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.internal.jdbc.JdbcIsolationDelegate;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.SequenceValueBuffer;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.jdbc.AbstractReturningWork;
 
 /**
  * Describes a sequence.
@@ -50,6 +58,7 @@ public class SequenceStructure implements DatabaseStructure {
 	private final int incrementSize;
 	private final Class numberType;
 	private final String sql;
+	private final SequenceValueBuffer valueBuffer;
 	private boolean applyIncrementSizeToSourceValues;
 	private int accessCounter;
 
@@ -59,11 +68,34 @@ public class SequenceStructure implements DatabaseStructure {
 			int initialValue,
 			int incrementSize,
 			Class numberType) {
+		this( dialect, sequenceName, initialValue, incrementSize, 1, numberType );
+	}
+
+	/**
+	 * Constructs a sequence structure retrieving several values per round trip, if {@code valuesPerFetch}
+	 * is greater than one.
+	 *
+	 * @see Dialect#getSequenceNextValuesString
+	 */
+	public SequenceStructure(
+			Dialect dialect,
+			String sequenceName,
+			int initialValue,
+			int incrementSize,
+			int valuesPerFetch,
+			Class numberType) {
 		this.sequenceName = sequenceName;
 		this.initialValue = initialValue;
 		this.incrementSize = incrementSize;
 		this.numberType = numberType;
-		sql = dialect.getSequenceNextValString( sequenceName );
+		if ( valuesPerFetch > 1 ) {
+			sql = dialect.getSequenceNextValuesString( sequenceName, valuesPerFetch );
+			valueBuffer = new SequenceValueBuffer();
+		}
+		else {
+			sql = dialect.getSequenceNextValString( sequenceName );
+			valueBuffer = null;
+		}
 	}
 
 	/**
@@ -100,28 +132,15 @@ public class SequenceStructure implements DatabaseStructure {
 	public AccessCallback buildCallback(final SessionImplementor session) {
 		return new AccessCallback() {
 			public IntegralDataTypeHolder getNextValue() {
+				final IntegralDataTypeHolder buffered = pollBuffer();
+				if ( buffered != null ) {
+					return buffered;
+				}
 				accessCounter++;
 				try {
 					PreparedStatement st = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
 					try {
-						ResultSet rs = st.executeQuery();
-						try {
-							rs.next();
-							IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
-							value.initialize( rs, 1 );
-							if ( LOG.isDebugEnabled() ) {
-								LOG.debugf( "Sequence value obtained: %s", value.makeValue() );
-							}
-							return value;
-						}
-						finally {
-							try {
-								rs.close();
-							}
-							catch( Throwable ignore ) {
-								// intentionally empty
-							}
-						}
+						return extractValue( st );
 					}
 					finally {
 						st.close();
@@ -139,6 +158,77 @@ public class SequenceStructure implements DatabaseStructure {
 		};
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public AccessCallback buildIsolatedCallback(SessionFactoryImplementor factory) {
+		final JdbcServices jdbcServices = factory.getServiceRegistry().getService( JdbcServices.class );
+		final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate( jdbcServices );
+		return new AccessCallback() {
+			public IntegralDataTypeHolder getNextValue() {
+				final IntegralDataTypeHolder buffered = pollBuffer();
+				if ( buffered != null ) {
+					return buffered;
+				}
+				return isolationDelegate.delegateWork(
+						new AbstractReturningWork<IntegralDataTypeHolder>() {
+							@Override
+							public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+								accessCounter++;
+								jdbcServices.getSqlStatementLogger().logStatement( sql, FormatStyle.BASIC.getFormatter() );
+								PreparedStatement st = connection.prepareStatement( sql );
+								try {
+									return extractValue( st );
+								}
+								finally {
+									st.close();
+								}
+							}
+						},
+						false
+				);
+			}
+		};
+	}
+
+	private IntegralDataTypeHolder pollBuffer() {
+		if ( valueBuffer == null ) {
+			return null;
+		}
+		final IntegralDataTypeHolder value = valueBuffer.poll();
+		if ( value != null && LOG.isDebugEnabled() ) {
+			LOG.debugf( "Buffered sequence value obtained: %s", value.makeValue() );
+		}
+		return value;
+	}
+
+	private IntegralDataTypeHolder extractValue(PreparedStatement st) throws SQLException {
+		ResultSet rs = st.executeQuery();
+		try {
+			final IntegralDataTypeHolder value;
+			if ( valueBuffer == null ) {
+				rs.next();
+				value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
+				value.initialize( rs, 1 );
+			}
+			else {
+				value = valueBuffer.fill( rs, IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType ) );
+			}
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf( "Sequence value obtained: %s", value.makeValue() );
+			}
+			return value;
+		}
+		finally {
+			try {
+				rs.close();
+			}
+			catch( Throwable ignore ) {
+				// intentionally empty
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
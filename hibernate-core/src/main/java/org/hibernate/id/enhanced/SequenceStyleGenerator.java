@@ -32,6 +32,7 @@ import org.hibernate.MappingException;
 import org.hibernate.cfg.Environment;
 import org.hibernate.cfg.ObjectNameNormalizer;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.id.Configurable;
 import org.hibernate.id.PersistentIdentifierGenerator;
@@ -77,6 +78,11 @@ import org.hibernate.type.Type;
  *     <td><b><i>false<i/></b></td>
  *     <td>Allows explicit definition of which optimization strategy to use</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@link #PREFETCH_PARAM}</td>
+ *     <td><b><i>0<i/></b></td>
+ *     <td>The number of values left in the current block at which the optimizer obtains the next block in the background; 0 disables prefetching</td>
+ *   </tr>
  * </table>
  * <p/>
  * Configuration parameters used specifically when the underlying structure is a table:
@@ -92,6 +98,20 @@ import org.hibernate.type.Type;
  *     <td>The name of column which holds the sequence value for the given segment</td>
  *   </tr>
  * </table>
+ * <p/>
+ * Configuration parameters used specifically when the underlying structure is a sequence:
+ * <table>
+ * 	 <tr>
+ *     <td><b>NAME</b></td>
+ *     <td><b>DEFAULT</b></td>
+ *     <td><b>DESCRIPTION</b></td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@link #VALUES_PER_FETCH_PARAM}</td>
+ *     <td><b><i>1<i/></b></td>
+ *     <td>The number of sequence values retrieved per round trip, the others being buffered in memory; only applied if the dialect supports it</td>
+ *   </tr>
+ * </table>
  *
  * @author Steve Ebersole
  */
@@ -114,6 +134,11 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 
 	public static final String FORCE_TBL_PARAM = "force_table_use";
 
+	public static final String PREFETCH_PARAM = "prefetch_threshold";
+
+	// sequence-specific parameters ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	public static final String VALUES_PER_FETCH_PARAM = "values_per_fetch";
+
 
 	// table-specific parameters ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	public static final String VALUE_COLUMN_PARAM = "value_column";
@@ -124,6 +149,8 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 	private DatabaseStructure databaseStructure;
 	private Optimizer optimizer;
 	private Type identifierType;
+	private int prefetchThreshold;
+	private volatile boolean prefetchEnabled;
 
 	/**
 	 * Getter for property 'databaseStructure'.
@@ -193,6 +220,12 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
 		);
 		this.databaseStructure.prepare( optimizer );
+
+		this.prefetchThreshold = ConfigurationHelper.getInt( PREFETCH_PARAM, params, 0 );
+		if ( prefetchThreshold > 0 && !OptimizerFactory.BlockOptimizerSupport.class.isInstance( optimizer ) ) {
+			LOG.identifierPrefetchNotSupported( optimizationStrategy, PREFETCH_PARAM );
+			prefetchThreshold = 0;
+		}
 	}
 
 	/**
@@ -304,6 +337,25 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 		return incrementSize;
 	}
 
+	/**
+	 * Determine the number of sequence values to retrieve per round trip.
+	 * <p/>
+	 * Called during {@link #configure configuration}, if the structure is a sequence.
+	 *
+	 * @param params The params supplied in the generator config (plus some standard useful extras).
+	 * @param dialect The dialect in effect
+	 * @param sequenceName The name of the sequence
+	 * @return The number of values per round trip
+	 */
+	protected int determineValuesPerFetch(Properties params, Dialect dialect, String sequenceName) {
+		final int valuesPerFetch = ConfigurationHelper.getInt( VALUES_PER_FETCH_PARAM, params, 1 );
+		if ( valuesPerFetch > 1 && !dialect.supportsSequenceNextValues() ) {
+			LOG.sequenceNextValuesNotSupported( dialect.getClass().getName(), sequenceName );
+			return 1;
+		}
+		return valuesPerFetch;
+	}
+
 	/**
 	 * Build the database structure.
 	 *
@@ -327,7 +379,14 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 			int incrementSize) {
 		boolean useSequence = dialect.supportsSequences() && !forceTableUse;
 		if ( useSequence ) {
-			return new SequenceStructure( dialect, sequenceName, initialValue, incrementSize, type.getReturnedClass() );
+			return new SequenceStructure(
+					dialect,
+					sequenceName,
+					initialValue,
+					incrementSize,
+					determineValuesPerFetch( params, dialect, sequenceName ),
+					type.getReturnedClass()
+			);
 		}
 		else {
 			String valueColumnName = determineValueColumnName( params, dialect );
@@ -342,9 +401,23 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 	 * {@inheritDoc}
 	 */
 	public Serializable generate(SessionImplementor session, Object object) throws HibernateException {
+		if ( prefetchThreshold > 0 && !prefetchEnabled ) {
+			enablePrefetch( session.getFactory() );
+		}
 		return optimizer.generate( databaseStructure.buildCallback( session ) );
 	}
 
+	private synchronized void enablePrefetch(SessionFactoryImplementor factory) {
+		if ( !prefetchEnabled ) {
+			( (OptimizerFactory.BlockOptimizerSupport) optimizer ).enablePrefetch(
+					prefetchThreshold,
+					factory.getIdentifierPrefetchExecutor(),
+					databaseStructure.buildIsolatedCallback( factory )
+			);
+			prefetchEnabled = true;
+		}
+	}
+
 
 	// PersistentIdentifierGenerator implementation ~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
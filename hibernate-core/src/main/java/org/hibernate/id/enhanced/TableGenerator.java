@@ -32,6 +32,8 @@ import java.sql.Types;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.logging.Logger;
 
@@ -45,7 +47,10 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.internal.jdbc.JdbcIsolationDelegate;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.Configurable;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
@@ -79,6 +84,12 @@ import org.hibernate.type.Type;
  * {@link #CONFIG_PREFER_SEGMENT_PER_ENTITY} can be used to change that to
  * instead default to using a row for each entity name.
  * <p/>
+ * To spread the row locks taken when allocating values, a segment can be
+ * striped over several rows (see {@link #STRIPE_COUNT_PARAM}).  Each row then
+ * hands out its own interleaved share of the values, and each thread allocates
+ * from one of the rows.  The stripe count of a segment must not be changed once
+ * values have been allocated from it.
+ * <p/>
  * Configuration parameters:
  * <table>
  * 	 <tr>
@@ -126,6 +137,16 @@ import org.hibernate.type.Type;
  *     <td><i>depends on defined increment size</i></td>
  *     <td>Allows explicit definition of which optimization strategy to use</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@link #PREFETCH_PARAM}</td>
+ *     <td><b><i>0<i/></b></td>
+ *     <td>The number of values left in the current block at which the optimizer obtains the next block in the background; 0 disables prefetching</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@link #STRIPE_COUNT_PARAM}</td>
+ *     <td>{@link #DEFAULT_STRIPE_COUNT}</td>
+ *     <td>The number of rows the segment is striped over</td>
+ *   </tr>
  * </table>
  *
  * @author Steve Ebersole
@@ -159,6 +180,11 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 
 	public static final String OPT_PARAM = "optimizer";
 
+	public static final String PREFETCH_PARAM = "prefetch_threshold";
+
+	public static final String STRIPE_COUNT_PARAM = "stripe_count";
+	public static final int DEFAULT_STRIPE_COUNT = 1;
+
 
 	private Type identifierType;
 
@@ -172,12 +198,21 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	private int initialValue;
 	private int incrementSize;
 
+	private int stripeCount;
+	private String[] stripeSegmentValues;
+	private long[] stripeInitialValues;
+	private long stripeIncrement;
+	private final int stripeOffset = new Random().nextInt( Integer.MAX_VALUE );
+
 	private String selectQuery;
 	private String insertQuery;
 	private String updateQuery;
 
 	private Optimizer optimizer;
-	private long accessCount = 0;
+	private final AtomicLong accessCount = new AtomicLong();
+
+	private int prefetchThreshold;
+	private volatile boolean prefetchEnabled;
 
 	@Override
 	public Object generatorKey() {
@@ -274,6 +309,15 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 		return optimizer;
 	}
 
+	/**
+	 * The number of rows the segment is striped over.
+	 *
+	 * @return The stripe count.
+	 */
+	public final int getStripeCount() {
+		return stripeCount;
+	}
+
 	/**
 	 * Getter for property 'tableAccessCount'.  Only really useful for unit test
 	 * assertions.
@@ -281,7 +325,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	 * @return Value for property 'tableAccessCount'.
 	 */
 	public final long getTableAccessCount() {
-		return accessCount;
+		return accessCount.get();
 	}
 
 	@Override
@@ -315,6 +359,15 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 				incrementSize,
 				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
 		);
+
+		stripeCount = determineStripeCount( params );
+		initializeStripes();
+
+		prefetchThreshold = ConfigurationHelper.getInt( PREFETCH_PARAM, params, 0 );
+		if ( prefetchThreshold > 0 && !OptimizerFactory.BlockOptimizerSupport.class.isInstance( optimizer ) ) {
+			LOG.identifierPrefetchNotSupported( optimizationStrategy, PREFETCH_PARAM );
+			prefetchThreshold = 0;
+		}
 	}
 
 	/**
@@ -434,6 +487,47 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 		return ConfigurationHelper.getInt( INCREMENT_PARAM, params, DEFAULT_INCREMENT_SIZE );
 	}
 
+	protected int determineStripeCount(Properties params) {
+		final int count = ConfigurationHelper.getInt( STRIPE_COUNT_PARAM, params, DEFAULT_STRIPE_COUNT );
+		if ( count < 1 ) {
+			throw new MappingException( "stripe count cannot be less than 1 [" + segmentValue + "]" );
+		}
+		return count;
+	}
+
+	private void initializeStripes() {
+		// each allocation advances a row by the source increment of all the stripes together, so that
+		// stripe n only ever hands out the n-th source value of each round
+		final long sourceIncrement = optimizer.applyIncrementSizeToSourceValues() ? incrementSize : 1;
+		stripeIncrement = sourceIncrement * stripeCount;
+		stripeSegmentValues = new String[stripeCount];
+		stripeInitialValues = new long[stripeCount];
+		if ( stripeCount == 1 ) {
+			stripeSegmentValues[0] = segmentValue;
+			stripeInitialValues[0] = initialValue;
+			return;
+		}
+		// the pooled optimizer uses a source value as the upper limit of its block (and the very first one
+		// specially), so start each stripe one increment up for its blocks to partition the values
+		final long offset = OptimizerFactory.PooledOptimizer.class.isInstance( optimizer ) ? sourceIncrement : 0;
+		for ( int i = 0; i < stripeCount; i++ ) {
+			stripeSegmentValues[i] = segmentValue + '#' + i;
+			stripeInitialValues[i] = initialValue + offset + ( i * sourceIncrement );
+		}
+	}
+
+	/**
+	 * Select the stripe to allocate values from; by default based on the current thread.
+	 *
+	 * @return The stripe, between 0 and {@link #getStripeCount()} - 1
+	 */
+	protected int selectStripe() {
+		if ( stripeCount == 1 ) {
+			return 0;
+		}
+		return (int) ( ( stripeOffset + Thread.currentThread().getId() ) % stripeCount );
+	}
+
 	protected String buildSelectQuery(Dialect dialect) {
 		final String alias = "tbl";
 		String query = "select " + StringHelper.qualify( alias, valueColumnName ) +
@@ -456,7 +550,10 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	}
 
 	@Override
-	public synchronized Serializable generate(final SessionImplementor session, Object obj) {
+	public Serializable generate(final SessionImplementor session, Object obj) {
+		if ( prefetchThreshold > 0 && !prefetchEnabled ) {
+			enablePrefetch( session.getFactory() );
+		}
 		final SqlStatementLogger statementLogger = session
 				.getFactory()
 				.getServiceRegistry()
@@ -467,76 +564,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 					@Override
 					public IntegralDataTypeHolder getNextValue() {
 						return session.getTransactionCoordinator().getTransaction().createIsolationDelegate().delegateWork(
-								new AbstractReturningWork<IntegralDataTypeHolder>() {
-									@Override
-									public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
-										IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( identifierType.getReturnedClass() );
-										int rows;
-										do {
-											statementLogger.logStatement( selectQuery, FormatStyle.BASIC.getFormatter() );
-											PreparedStatement selectPS = connection.prepareStatement( selectQuery );
-											try {
-												selectPS.setString( 1, segmentValue );
-												ResultSet selectRS = selectPS.executeQuery();
-												if ( !selectRS.next() ) {
-													value.initialize( initialValue );
-													PreparedStatement insertPS = null;
-													try {
-														statementLogger.logStatement( insertQuery, FormatStyle.BASIC.getFormatter() );
-														insertPS = connection.prepareStatement( insertQuery );
-														insertPS.setString( 1, segmentValue );
-														value.bind( insertPS, 2 );
-														insertPS.execute();
-													}
-													finally {
-														if ( insertPS != null ) {
-															insertPS.close();
-														}
-													}
-												}
-												else {
-													value.initialize( selectRS, 1 );
-												}
-												selectRS.close();
-											}
-											catch ( SQLException e ) {
-											    LOG.unableToReadOrInitHiValue(e);
-												throw e;
-											}
-											finally {
-												selectPS.close();
-											}
-
-											statementLogger.logStatement( updateQuery, FormatStyle.BASIC.getFormatter() );
-											PreparedStatement updatePS = connection.prepareStatement( updateQuery );
-											try {
-												final IntegralDataTypeHolder updateValue = value.copy();
-												if ( optimizer.applyIncrementSizeToSourceValues() ) {
-													updateValue.add( incrementSize );
-												}
-												else {
-													updateValue.increment();
-												}
-												updateValue.bind( updatePS, 1 );
-												value.bind( updatePS, 2 );
-												updatePS.setString( 3, segmentValue );
-												rows = updatePS.executeUpdate();
-											}
-											catch ( SQLException e ) {
-												LOG.unableToUpdateQueryHiValue(tableName, e);
-												throw e;
-											}
-											finally {
-												updatePS.close();
-											}
-										}
-										while ( rows == 0 );
-
-										accessCount++;
-
-										return value;
-									}
-								},
+								new NextValueWork( statementLogger ),
 								true
 						);
 					}
@@ -544,27 +572,132 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 		);
 	}
 
+	private synchronized void enablePrefetch(SessionFactoryImplementor factory) {
+		if ( !prefetchEnabled ) {
+			final JdbcServices jdbcServices = factory.getServiceRegistry().getService( JdbcServices.class );
+			final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate( jdbcServices );
+			( (OptimizerFactory.BlockOptimizerSupport) optimizer ).enablePrefetch(
+					prefetchThreshold,
+					factory.getIdentifierPrefetchExecutor(),
+					new AccessCallback() {
+						@Override
+						public IntegralDataTypeHolder getNextValue() {
+							return isolationDelegate.delegateWork(
+									new NextValueWork( jdbcServices.getSqlStatementLogger() ),
+									true
+							);
+						}
+					}
+			);
+			prefetchEnabled = true;
+		}
+	}
+
+	private class NextValueWork extends AbstractReturningWork<IntegralDataTypeHolder> {
+		private final SqlStatementLogger statementLogger;
+
+		private NextValueWork(SqlStatementLogger statementLogger) {
+			this.statementLogger = statementLogger;
+		}
+
+		@Override
+		public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+			final int stripe = selectStripe();
+			final String segmentValue = stripeSegmentValues[stripe];
+			IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( identifierType.getReturnedClass() );
+			int rows;
+			do {
+				statementLogger.logStatement( selectQuery, FormatStyle.BASIC.getFormatter() );
+				PreparedStatement selectPS = connection.prepareStatement( selectQuery );
+				try {
+					selectPS.setString( 1, segmentValue );
+					ResultSet selectRS = selectPS.executeQuery();
+					if ( !selectRS.next() ) {
+						value.initialize( stripeInitialValues[stripe] );
+						PreparedStatement insertPS = null;
+						try {
+							statementLogger.logStatement( insertQuery, FormatStyle.BASIC.getFormatter() );
+							insertPS = connection.prepareStatement( insertQuery );
+							insertPS.setString( 1, segmentValue );
+							value.bind( insertPS, 2 );
+							insertPS.execute();
+						}
+						finally {
+							if ( insertPS != null ) {
+								insertPS.close();
+							}
+						}
+					}
+					else {
+						value.initialize( selectRS, 1 );
+					}
+					selectRS.close();
+				}
+				catch ( SQLException e ) {
+				    LOG.unableToReadOrInitHiValue(e);
+					throw e;
+				}
+				finally {
+					selectPS.close();
+				}
+
+				statementLogger.logStatement( updateQuery, FormatStyle.BASIC.getFormatter() );
+				PreparedStatement updatePS = connection.prepareStatement( updateQuery );
+				try {
+					final IntegralDataTypeHolder updateValue = value.copy().add( stripeIncrement );
+					updateValue.bind( updatePS, 1 );
+					value.bind( updatePS, 2 );
+					updatePS.setString( 3, segmentValue );
+					rows = updatePS.executeUpdate();
+				}
+				catch ( SQLException e ) {
+					LOG.unableToUpdateQueryHiValue(tableName, e);
+					throw e;
+				}
+				finally {
+					updatePS.close();
+				}
+			}
+			while ( rows == 0 );
+
+			accessCount.incrementAndGet();
+
+			return value;
+		}
+	}
+
 	@Override
 	public String[] sqlCreateStrings(Dialect dialect) throws HibernateException {
-		return new String[] {
-				new StringBuffer()
-						.append( dialect.getCreateTableString() )
-						.append( ' ' )
-						.append( tableName )
-						.append( " ( " )
-						.append( segmentColumnName )
-						.append( ' ' )
-						.append( dialect.getTypeName( Types.VARCHAR, segmentValueLength, 0, 0 ) )
-						.append( " not null " )
-						.append( ",  " )
-						.append( valueColumnName )
-						.append( ' ' )
-						.append( dialect.getTypeName( Types.BIGINT ) )
-						.append( ", primary key ( " )
-						.append( segmentColumnName )
-						.append( " ) ) " )
-						.toString()
-		};
+		final String createTable = new StringBuffer()
+				.append( dialect.getCreateTableString() )
+				.append( ' ' )
+				.append( tableName )
+				.append( " ( " )
+				.append( segmentColumnName )
+				.append( ' ' )
+				.append( dialect.getTypeName( Types.VARCHAR, segmentValueLength, 0, 0 ) )
+				.append( " not null " )
+				.append( ",  " )
+				.append( valueColumnName )
+				.append( ' ' )
+				.append( dialect.getTypeName( Types.BIGINT ) )
+				.append( ", primary key ( " )
+				.append( segmentColumnName )
+				.append( " ) ) " )
+				.toString();
+		if ( stripeCount == 1 ) {
+			// the row is inserted on first use
+			return new String[] { createTable };
+		}
+		// create the rows of all the stripes up-front, so that nodes starting concurrently do not race to insert
+		// them; the rows of segments sharing the table with this one are still inserted on first use
+		final String[] sql = new String[stripeCount + 1];
+		sql[0] = createTable;
+		for ( int i = 0; i < stripeCount; i++ ) {
+			sql[i + 1] = "insert into " + tableName + " (" + segmentColumnName + ", " + valueColumnName + ") values ('"
+					+ StringHelper.replace( stripeSegmentValues[i], "'", "''" ) + "', " + stripeInitialValues[i] + ")";
+		}
+		return sql;
 	}
 
 	@Override
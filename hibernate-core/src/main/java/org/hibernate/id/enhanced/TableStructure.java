@@ -37,7 +37,10 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.internal.jdbc.JdbcIsolationDelegate;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.id.IdentifierGenerationException;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
@@ -113,70 +116,90 @@ public class TableStructure implements DatabaseStructure {
 
 	@Override
 	public AccessCallback buildCallback(final SessionImplementor session) {
+		final SqlStatementLogger statementLogger = session
+				.getFactory()
+				.getServiceRegistry()
+				.getService( JdbcServices.class )
+				.getSqlStatementLogger();
 		return new AccessCallback() {
 			@Override
 			public IntegralDataTypeHolder getNextValue() {
 				return session.getTransactionCoordinator().getTransaction().createIsolationDelegate().delegateWork(
-						new AbstractReturningWork<IntegralDataTypeHolder>() {
-							@Override
-							public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
-								final SqlStatementLogger statementLogger = session
-										.getFactory()
-										.getServiceRegistry()
-										.getService( JdbcServices.class )
-										.getSqlStatementLogger();
-								IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
-								int rows;
-								do {
-									statementLogger.logStatement( selectQuery, FormatStyle.BASIC.getFormatter() );
-									PreparedStatement selectStatement = connection.prepareStatement( selectQuery );
-									try {
-										ResultSet selectRS = selectStatement.executeQuery();
-										if ( !selectRS.next() ) {
-											String err = "could not read a hi value - you need to populate the table: " + tableName;
-											LOG.error( err );
-											throw new IdentifierGenerationException( err );
-										}
-										value.initialize( selectRS, 1 );
-										selectRS.close();
-									}
-									catch ( SQLException sqle ) {
-										LOG.error( "could not read a hi value", sqle );
-										throw sqle;
-									}
-									finally {
-										selectStatement.close();
-									}
-
-									statementLogger.logStatement( updateQuery, FormatStyle.BASIC.getFormatter() );
-									PreparedStatement updatePS = connection.prepareStatement( updateQuery );
-									try {
-										final int increment = applyIncrementSizeToSourceValues ? incrementSize : 1;
-										final IntegralDataTypeHolder updateValue = value.copy().add( increment );
-										updateValue.bind( updatePS, 1 );
-										value.bind( updatePS, 2 );
-										rows = updatePS.executeUpdate();
-									}
-									catch ( SQLException e ) {
-									    LOG.unableToUpdateQueryHiValue(tableName, e);
-										throw e;
-									}
-									finally {
-										updatePS.close();
-									}
-								} while ( rows == 0 );
-
-								accessCounter++;
-
-								return value;
-							}
-						},
+						new NextValueWork( statementLogger ),
 						true
 				);
 			}
 		};
 	}
 
+	@Override
+	public AccessCallback buildIsolatedCallback(SessionFactoryImplementor factory) {
+		final JdbcServices jdbcServices = factory.getServiceRegistry().getService( JdbcServices.class );
+		final IsolationDelegate isolationDelegate = new JdbcIsolationDelegate( jdbcServices );
+		return new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				return isolationDelegate.delegateWork( new NextValueWork( jdbcServices.getSqlStatementLogger() ), true );
+			}
+		};
+	}
+
+	private class NextValueWork extends AbstractReturningWork<IntegralDataTypeHolder> {
+		private final SqlStatementLogger statementLogger;
+
+		private NextValueWork(SqlStatementLogger statementLogger) {
+			this.statementLogger = statementLogger;
+		}
+
+		@Override
+		public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+			IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
+			int rows;
+			do {
+				statementLogger.logStatement( selectQuery, FormatStyle.BASIC.getFormatter() );
+				PreparedStatement selectStatement = connection.prepareStatement( selectQuery );
+				try {
+					ResultSet selectRS = selectStatement.executeQuery();
+					if ( !selectRS.next() ) {
+						String err = "could not read a hi value - you need to populate the table: " + tableName;
+						LOG.error( err );
+						throw new IdentifierGenerationException( err );
+					}
+					value.initialize( selectRS, 1 );
+					selectRS.close();
+				}
+				catch ( SQLException sqle ) {
+					LOG.error( "could not read a hi value", sqle );
+					throw sqle;
+				}
+				finally {
+					selectStatement.close();
+				}
+
+				statementLogger.logStatement( updateQuery, FormatStyle.BASIC.getFormatter() );
+				PreparedStatement updatePS = connection.prepareStatement( updateQuery );
+				try {
+					final int increment = applyIncrementSizeToSourceValues ? incrementSize : 1;
+					final IntegralDataTypeHolder updateValue = value.copy().add( increment );
+					updateValue.bind( updatePS, 1 );
+					value.bind( updatePS, 2 );
+					rows = updatePS.executeUpdate();
+				}
+				catch ( SQLException e ) {
+				    LOG.unableToUpdateQueryHiValue(tableName, e);
+					throw e;
+				}
+				finally {
+					updatePS.close();
+				}
+			} while ( rows == 0 );
+
+			accessCounter++;
+
+			return value;
+		}
+	}
+
 	@Override
 	public String[] sqlCreateStrings(Dialect dialect) throws HibernateException {
 		return new String[] {
@@ -0,0 +1,94 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.uuid;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.UUIDGenerationStrategy;
+
+/**
+ * Generates time-ordered UUIDs, so that values generated later also sort later whether they are compared
+ * as 16 bytes (binary and native uuid columns) or as their 36 character representation (char columns).
+ * Inserting such values appends to the end of an index on the identifier column rather than touching a
+ * random page of it, as happens with {@link StandardRandomStrategy}.
+ * <p/>
+ * The layout is that of the time-based version 7 UUIDs of RFC 9562 (variant 2):<ul>
+ * <li>the first 48 bits hold the milliseconds since the epoch</li>
+ * <li>4 bits hold the version</li>
+ * <li>the next 12 bits hold a counter, ordering the values generated within the same millisecond</li>
+ * <li>the last 64 bits hold the variant and a random node identifier, chosen once per JVM</li>
+ * </ul>
+ * Values are strictly increasing within a JVM, even across instances of this strategy and when the system clock
+ * is set back.  More than 4096 values per millisecond borrow from the following milliseconds rather than
+ * repeating a value.  Generation does not lock: the timestamp and counter share a single atomic long.
+ */
+public class TimeOrderedStrategy implements UUIDGenerationStrategy {
+	public static final TimeOrderedStrategy INSTANCE = new TimeOrderedStrategy();
+
+	private static final int COUNTER_BITS = 12;
+	private static final long COUNTER_MASK = ( 1L << COUNTER_BITS ) - 1;
+	private static final long VERSION_BITS = 7L << COUNTER_BITS;
+
+	/**
+	 * The last timestamp (shifted left by {@link #COUNTER_BITS}) and counter handed out in this JVM.
+	 */
+	private static final AtomicLong LAST_TICK = new AtomicLong();
+
+	private static final long LEAST_SIGNIFICANT_BITS = ( new SecureRandom().nextLong() & 0x3fffffffffffffffL )
+			| 0x8000000000000000L;
+
+	/**
+	 * A variant 7 (Unix epoch time-based) strategy
+	 */
+	public int getGeneratedVersion() {
+		return 7;
+	}
+
+	public UUID generateUUID(SessionImplementor session) {
+		return new UUID( generateMostSignificantBits( System.currentTimeMillis() ), LEAST_SIGNIFICANT_BITS );
+	}
+
+	/**
+	 * Generate the "most significant bits" of the next value, given the current time.
+	 *
+	 * @param currentTimeMillis The current time, in milliseconds since the epoch
+	 *
+	 * @return The "most significant bits"
+	 */
+	public static long generateMostSignificantBits(long currentTimeMillis) {
+		final long now = currentTimeMillis << COUNTER_BITS;
+		long last;
+		long next;
+		do {
+			last = LAST_TICK.get();
+			next = now > last ? now : last + 1;
+		}
+		while ( !LAST_TICK.compareAndSet( last, next ) );
+
+		return ( ( next & ~COUNTER_MASK ) << 4 ) | VERSION_BITS | ( next & COUNTER_MASK );
+	}
+}
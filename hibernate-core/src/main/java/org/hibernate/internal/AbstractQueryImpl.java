@@ -42,12 +42,15 @@ import java.util.Set;
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
+import org.hibernate.KeysetCursor;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
 import org.hibernate.NonUniqueResultException;
 import org.hibernate.PropertyNotFoundException;
 import org.hibernate.Query;
 import org.hibernate.QueryException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.engine.query.spi.ParameterMetadata;
 import org.hibernate.engine.spi.QueryParameters;
@@ -179,6 +182,13 @@ public abstract class AbstractQueryImpl implements Query {
 		return this;
 	}
 
+	public Query setKeyset(KeysetCursor cursor) {
+		selection.setKeysetValues( cursor.getLastSeenValues() );
+		selection.setKeysetTypes( cursor.getKeyTypes() );
+		selection.setMaxRows( cursor.getPageSize() );
+		return this;
+	}
+
 	public Query setTimeout(int timeout) {
 		selection.setTimeout( timeout);
 		return this;
@@ -890,6 +900,26 @@ public abstract class AbstractQueryImpl implements Query {
 		return uniqueElement( list() );
 	}
 
+	public ScrollableResults stream() throws HibernateException {
+		return stream( StreamingScrollableResults.DEFAULT_WINDOW );
+	}
+
+	public ScrollableResults stream(int window) throws HibernateException {
+		if ( window < 1 ) {
+			throw new IllegalArgumentException( "Streaming window must be strictly positive: " + window );
+		}
+		final Integer explicitFetchSize = selection.getFetchSize();
+		if ( explicitFetchSize == null ) {
+			selection.setFetchSize( StreamingScrollableResults.getStreamingFetchSize( session ) );
+		}
+		try {
+			return new StreamingScrollableResults( scroll( ScrollMode.FORWARD_ONLY ), session, window );
+		}
+		finally {
+			selection.setFetchSize( explicitFetchSize );
+		}
+	}
+
 	static Object uniqueElement(List list) throws NonUniqueResultException {
 		int size = list.size();
 		if (size==0) return null;
@@ -55,6 +55,7 @@ import org.hibernate.jdbc.WorkExecutorVisitable;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.service.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.service.jdbc.connections.spi.ReadOnlyRoutingConnectionProvider;
 import org.hibernate.type.Type;
 
 /**
@@ -246,6 +247,8 @@ public abstract class AbstractSessionImpl implements Serializable, SharedSession
 	}
 
 	private transient JdbcConnectionAccess jdbcConnectionAccess;
+	private transient boolean readingFromReplica;
+	private transient long lastWriteTimestamp = -1;
 
 	@Override
 	public JdbcConnectionAccess getJdbcConnectionAccess() {
@@ -264,7 +267,53 @@ public abstract class AbstractSessionImpl implements Serializable, SharedSession
 		return jdbcConnectionAccess;
 	}
 
-	private static class NonContextualJdbcConnectionAccess implements JdbcConnectionAccess, Serializable {
+	@Override
+	public boolean isReadingFromReplica() {
+		return readingFromReplica;
+	}
+
+	@Override
+	public void beforeWriteOperation() throws HibernateException {
+		if ( readingFromReplica && getTransactionCoordinator().getJdbcCoordinator().getLogicalConnection().isPhysicallyConnected() ) {
+			throw new HibernateException( "Cannot write through a connection to a read-only replica; the session or transaction is marked read-only" );
+		}
+		lastWriteTimestamp = System.currentTimeMillis();
+	}
+
+	@Override
+	public boolean isReadOnlyWork() {
+		return false;
+	}
+
+	/**
+	 * @return {@code true} if this session wrote to the database
+	 */
+	protected boolean hasWritten() {
+		return lastWriteTimestamp >= 0;
+	}
+
+	/**
+	 * Does the work about to obtain a JDBC connection ask for it to be routed to a read-only replica?
+	 *
+	 * @return {@code true} if the connection can be obtained from a replica
+	 */
+	protected boolean isReadOnlyRoutingRequested() {
+		return false;
+	}
+
+	private boolean routeToReplica() {
+		if ( !isReadOnlyRoutingRequested() ) {
+			return false;
+		}
+		if ( !hasWritten() ) {
+			return true;
+		}
+		// this session wrote: stay on the primary until the replicas are expected to have caught up
+		final long maxStaleness = factory.getSettings().getReplicaMaxStaleness();
+		return maxStaleness >= 0 && System.currentTimeMillis() - lastWriteTimestamp >= maxStaleness;
+	}
+
+	private class NonContextualJdbcConnectionAccess implements JdbcConnectionAccess, Serializable {
 		private final ConnectionProvider connectionProvider;
 
 		private NonContextualJdbcConnectionAccess(ConnectionProvider connectionProvider) {
@@ -273,6 +322,15 @@ public abstract class AbstractSessionImpl implements Serializable, SharedSession
 
 		@Override
 		public Connection obtainConnection() throws SQLException {
+			if ( connectionProvider instanceof ReadOnlyRoutingConnectionProvider && routeToReplica() ) {
+				final Connection connection = ( (ReadOnlyRoutingConnectionProvider) connectionProvider ).getReadOnlyConnection();
+				if ( connection != null ) {
+					readingFromReplica = true;
+					return connection;
+				}
+				// no replica available: the work runs on the primary, with nothing to guard against
+			}
+			readingFromReplica = false;
 			return connectionProvider.getConnection();
 		}
 
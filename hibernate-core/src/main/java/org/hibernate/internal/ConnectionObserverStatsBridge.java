@@ -30,10 +30,16 @@ import org.hibernate.engine.jdbc.spi.ConnectionObserver;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 /**
+ * Reports the connection usage of a session to the {@link org.hibernate.stat.spi.StatisticsImplementor}, including
+ * how long the session holds its connections.
+ *
  * @author Steve Ebersole
  */
 public class ConnectionObserverStatsBridge implements ConnectionObserver, Serializable {
 	private final SessionFactoryImplementor sessionFactory;
+	private boolean timingHold;
+	private long obtainedAt;
+	private long holdTime;
 
 	public ConnectionObserverStatsBridge(SessionFactoryImplementor sessionFactory) {
 		this.sessionFactory = sessionFactory;
@@ -42,18 +48,45 @@ public class ConnectionObserverStatsBridge implements ConnectionObserver, Serial
 	@Override
 	public void physicalConnectionObtained(Connection connection) {
 		sessionFactory.getStatisticsImplementor().connect();
+		timingHold = sessionFactory.getStatistics().isStatisticsEnabled();
+		if ( timingHold ) {
+			obtainedAt = System.nanoTime();
+		}
 	}
 
 	@Override
 	public void physicalConnectionReleased() {
+		if ( timingHold ) {
+			final long held = System.nanoTime() - obtainedAt;
+			holdTime += held;
+			timingHold = false;
+			sessionFactory.getStatisticsImplementor().releaseConnection( held );
+		}
 	}
 
 	@Override
 	public void logicalConnectionClosed() {
+		if ( holdTime > 0 ) {
+			sessionFactory.getStatisticsImplementor().closeLogicalConnection( holdTime );
+		}
 	}
 
 	@Override
 	public void statementPrepared() {
 		sessionFactory.getStatisticsImplementor().prepareStatement();
 	}
+
+	@Override
+	public void statementExecuted(String sql, long executionTime) {
+		if ( sessionFactory.getStatistics().isStatisticsEnabled() ) {
+			sessionFactory.getStatisticsImplementor().sqlStatementExecuted( sql, executionTime );
+		}
+	}
+
+	@Override
+	public void resultSetFetched(String sql, long fetchTime) {
+		if ( sessionFactory.getStatistics().isStatisticsEnabled() ) {
+			sessionFactory.getStatisticsImplementor().sqlResultSetFetched( sql, fetchTime );
+		}
+	}
 }
@@ -31,6 +31,7 @@ import java.net.URL;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import javax.naming.NameNotFoundException;
@@ -1547,4 +1548,47 @@ public interface CoreMessageLogger extends BasicLogger {
 	@Message(value = "update timestamps cache misses: %s", id = 435)
 	void timestampCacheMisses(long updateTimestampsCachePutCount);
 
+	@LogMessage(level = WARN)
+	@Message(value = "Streaming query results outside of a transaction: the JDBC driver may read the whole result up-front",
+			id = 436)
+	void streamingOutsideTransaction();
+
+	@LogMessage(level = WARN)
+	@Message(value = "Identifier prefetch is not supported by the %s optimizer; ignoring %s", id = 437)
+	void identifierPrefetchNotSupported(String optimizer, String parameter);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Dialect %s cannot retrieve several sequence values at once; values of sequence %s are retrieved one at a time",
+			id = 438)
+	void sequenceNextValuesNotSupported(String dialect, String sequenceName);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Identity inserts cannot be batched: %s requires JDBC batching, getGeneratedKeys() and a dialect returning generated keys for a batch; ignoring",
+			id = 439)
+	void identityInsertBatchingNotSupported(String setting);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Using Hibernate pooled connection provider: maximum size %s, acquire timeout %s ms", id = 440)
+	void usingPooledConnectionProvider(int maxSize, long acquireTimeout);
+
+	@LogMessage(level = WARN)
+	@Message(value = "JDBC connection to [%s] not returned to the pool after %s ms; possible connection leak", id = 441)
+	void connectionLeakSuspected(String url, long threshold, @Cause Throwable borrowSite);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Routing read-only work to %s replica data source(s)", id = 442)
+	void usingReplicaDataSources(int replicaCount);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Unable to obtain a connection from replica data source [%s]; leaving it out for %s ms", id = 443)
+	void replicaDataSourceUnavailable(String replica, long retryInterval, @Cause SQLException e);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Slow SQL statement (%s ms, parameter types %s): %s", id = 444)
+	void slowStatement(long executionTime, List<String> parameterTypes, String statement);
+
+	@LogMessage(level = WARN)
+	@Message(value = "JDBC connection to [%s] returned to the pool more than once; ignoring", id = 445)
+	void connectionReturnedTwice(String url);
+
 }
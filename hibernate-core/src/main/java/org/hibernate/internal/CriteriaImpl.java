@@ -35,6 +35,7 @@ import org.hibernate.Criteria;
 import org.hibernate.FetchMode;
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
+import org.hibernate.KeysetCursor;
 import org.hibernate.LockMode;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
@@ -46,6 +47,7 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.sql.JoinType;
 import org.hibernate.transform.ResultTransformer;
+import org.hibernate.type.Type;
 
 /**
  * Implementation of the <tt>Criteria</tt> interface
@@ -71,6 +73,8 @@ public class CriteriaImpl implements Criteria, Serializable {
 	private Integer firstResult;
 	private Integer timeout;
 	private Integer fetchSize;
+	private Object[] keysetValues;
+	private Type[] keysetTypes;
 
 	private boolean cacheable;
 	private String cacheRegion;
@@ -283,6 +287,21 @@ public class CriteriaImpl implements Criteria, Serializable {
 		return this;
 	}
 
+	public Object[] getKeysetValues() {
+		return keysetValues;
+	}
+
+	public Type[] getKeysetTypes() {
+		return keysetTypes;
+	}
+
+	public Criteria setKeyset(KeysetCursor cursor) {
+		this.keysetValues = cursor.getLastSeenValues();
+		this.keysetTypes = cursor.getKeyTypes();
+		this.maxResults = cursor.getPageSize();
+		return this;
+	}
+
 	public Integer getFetchSize() {
 		return fetchSize;
 	}
@@ -392,6 +411,26 @@ public class CriteriaImpl implements Criteria, Serializable {
 		}
 	}
 
+	public ScrollableResults stream() {
+		return stream( StreamingScrollableResults.DEFAULT_WINDOW );
+	}
+
+	public ScrollableResults stream(int window) {
+		if ( window < 1 ) {
+			throw new IllegalArgumentException( "Streaming window must be strictly positive: " + window );
+		}
+		final Integer explicitFetchSize = fetchSize;
+		if ( explicitFetchSize == null ) {
+			fetchSize = StreamingScrollableResults.getStreamingFetchSize( session );
+		}
+		try {
+			return new StreamingScrollableResults( scroll( ScrollMode.FORWARD_ONLY ), session, window );
+		}
+		finally {
+			fetchSize = explicitFetchSize;
+		}
+	}
+
 	public Object uniqueResult() throws HibernateException {
 		return AbstractQueryImpl.uniqueElement( list() );
 	}
@@ -621,6 +660,14 @@ public class CriteriaImpl implements Criteria, Serializable {
 			return CriteriaImpl.this.scroll(scrollMode);
 		}
 
+		public ScrollableResults stream() throws HibernateException {
+			return CriteriaImpl.this.stream();
+		}
+
+		public ScrollableResults stream(int window) throws HibernateException {
+			return CriteriaImpl.this.stream( window );
+		}
+
 		public Object uniqueResult() throws HibernateException {
 			return CriteriaImpl.this.uniqueResult();
 		}
@@ -650,6 +697,11 @@ public class CriteriaImpl implements Criteria, Serializable {
 			return this;
 		}
 
+		public Criteria setKeyset(KeysetCursor cursor) {
+			CriteriaImpl.this.setKeyset(cursor);
+			return this;
+		}
+
 		public Criteria setTimeout(int timeout) {
 			CriteriaImpl.this.setTimeout(timeout);
 			return this;
@@ -40,6 +40,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
 
@@ -84,6 +85,7 @@ import org.hibernate.context.spi.CurrentSessionContext;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.function.SQLFunction;
 import org.hibernate.dialect.function.SQLFunctionRegistry;
+import org.hibernate.engine.internal.ParallelDirtyChecking;
 import org.hibernate.engine.ResultSetMappingDefinition;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
@@ -102,6 +104,7 @@ import org.hibernate.engine.transaction.spi.TransactionEnvironment;
 import org.hibernate.exception.spi.SQLExceptionConverter;
 import org.hibernate.id.IdentifierGenerator;
 import org.hibernate.id.UUIDGenerator;
+import org.hibernate.id.enhanced.OptimizerFactory;
 import org.hibernate.id.factory.IdentifierGeneratorFactory;
 import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.integrator.spi.IntegratorService;
@@ -116,6 +119,7 @@ import org.hibernate.metamodel.binding.EntityBinding;
 import org.hibernate.metamodel.binding.PluralAttributeBinding;
 import org.hibernate.metamodel.source.MetadataImplementor;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.Queryable;
@@ -201,6 +205,8 @@ public final class SessionFactoryImpl
 	private final transient SessionFactoryObserverChain observer = new SessionFactoryObserverChain();
 	private final transient ConcurrentHashMap<EntityNameResolver,Object> entityNameResolvers = new ConcurrentHashMap<EntityNameResolver, Object>();
 	private final transient QueryPlanCache queryPlanCache;
+	private final transient ExecutorService flushExecutor;
+	private transient ExecutorService identifierPrefetchExecutor;
 	private final transient Cache cacheAccess = new CacheImpl();
 	private transient boolean isClosed = false;
 	private final transient TypeResolver typeResolver;
@@ -271,6 +277,7 @@ public final class SessionFactoryImpl
 		// Caches
 		settings.getRegionFactory().start( settings, properties );
 		this.queryPlanCache = new QueryPlanCache( this );
+		this.flushExecutor = ParallelDirtyChecking.buildExecutor( settings );
 
 		// todo : everything above here consider implementing as standard SF service.  specifically: stats, caches, types, function-reg
 
@@ -415,18 +422,7 @@ public final class SessionFactoryImpl
 		imports = new HashMap<String,String>( cfg.getImports() );
 
 		// after *all* persisters and named queries are registered
-		Iterator iter = entityPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
-			persister.postInstantiate();
-			registerEntityNameResolvers( persister );
-
-		}
-		iter = collectionPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
-			persister.postInstantiate();
-		}
+		postInstantiatePersisters();
 
 		//JNDI + Serialization:
 
@@ -582,6 +578,7 @@ public final class SessionFactoryImpl
 		// TODO: get RegionFactory from service registry
 		settings.getRegionFactory().start( settings, properties );
 		this.queryPlanCache = new QueryPlanCache( this );
+		this.flushExecutor = ParallelDirtyChecking.buildExecutor( settings );
 
 		class IntegratorObserver implements SessionFactoryObserver {
 			private ArrayList<Integrator> integrators = new ArrayList<Integrator>();
@@ -743,18 +740,7 @@ public final class SessionFactoryImpl
 		}
 
 		// after *all* persisters and named queries are registered
-		Iterator iter = entityPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
-			persister.postInstantiate();
-			registerEntityNameResolvers( persister );
-
-		}
-		iter = collectionPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
-			persister.postInstantiate();
-		}
+		postInstantiatePersisters();
 
 		//JNDI + Serialization:
 
@@ -1042,6 +1028,17 @@ public final class SessionFactoryImpl
 		return settings;
 	}
 
+	public ExecutorService getFlushExecutor() {
+		return flushExecutor;
+	}
+
+	public synchronized ExecutorService getIdentifierPrefetchExecutor() {
+		if ( identifierPrefetchExecutor == null ) {
+			identifierPrefetchExecutor = OptimizerFactory.buildPrefetchExecutor();
+		}
+		return identifierPrefetchExecutor;
+	}
+
 	@Override
 	public SessionFactoryOptions getSessionFactoryOptions() {
 		return sessionFactoryOptions;
@@ -1246,6 +1243,47 @@ public final class SessionFactoryImpl
 		return jdbcServices.getConnectionProvider();
 	}
 
+	private void postInstantiatePersisters() {
+		final long start = System.currentTimeMillis();
+		Iterator iter = entityPersisters.values().iterator();
+		while ( iter.hasNext() ) {
+			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
+			persister.postInstantiate();
+			registerEntityNameResolvers( persister );
+
+		}
+		final long entitiesDone = System.currentTimeMillis();
+		iter = collectionPersisters.values().iterator();
+		while ( iter.hasNext() ) {
+			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
+			persister.postInstantiate();
+		}
+		if ( LOG.isDebugEnabled() ) {
+			LOG.debugf(
+					"Post-instantiated %s entity persisters in %s ms (%s entity loaders built up-front) and %s collection persisters in %s ms",
+					entityPersisters.size(),
+					entitiesDone - start,
+					countEntityLoaders(),
+					collectionPersisters.size(),
+					System.currentTimeMillis() - entitiesDone
+			);
+		}
+	}
+
+	/**
+	 * The lock mode and internal fetch profile loaders of the entity persisters are built on first use,
+	 * this counts those built so far.
+	 */
+	private int countEntityLoaders() {
+		int count = 0;
+		for ( Object persister : entityPersisters.values() ) {
+			if ( persister instanceof AbstractEntityPersister ) {
+				count += ( (AbstractEntityPersister) persister ).getBuiltLoaderCount();
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Closes the session factory, releasing all held resources.
 	 *
@@ -1272,6 +1310,10 @@ public final class SessionFactoryImpl
 
 		isClosed = true;
 
+		if ( LOG.isDebugEnabled() ) {
+			LOG.debugf( "%s entity loaders were built over the life of the session factory", countEntityLoaders() );
+		}
+
 		Iterator iter = entityPersisters.values().iterator();
 		while ( iter.hasNext() ) {
 			EntityPersister p = (EntityPersister) iter.next();
@@ -1301,6 +1343,15 @@ public final class SessionFactoryImpl
 
 		settings.getRegionFactory().stop();
 
+		if ( flushExecutor != null ) {
+			flushExecutor.shutdown();
+		}
+		synchronized ( this ) {
+			if ( identifierPrefetchExecutor != null ) {
+				identifierPrefetchExecutor.shutdown();
+			}
+		}
+
 		if ( settings.isAutoDropSchema() ) {
 			schemaExport.drop( false, true );
 		}
@@ -1678,6 +1729,7 @@ public final class SessionFactoryImpl
 		private boolean autoJoinTransactions = true;
 		private boolean flushBeforeCompletion;
 		private String tenantIdentifier;
+		private boolean readOnly;
 
 		SessionBuilderImpl(SessionFactoryImpl sessionFactory) {
 			this.sessionFactory = sessionFactory;
@@ -1696,7 +1748,7 @@ public final class SessionFactoryImpl
 
 		@Override
 		public Session openSession() {
-			return new SessionImpl(
+			final Session session = new SessionImpl(
 					connection,
 					sessionFactory,
 					getTransactionCoordinator(),
@@ -1708,6 +1760,10 @@ public final class SessionFactoryImpl
 					connectionReleaseMode,
 					tenantIdentifier
 			);
+			if ( readOnly ) {
+				session.setDefaultReadOnly( true );
+			}
+			return session;
 		}
 
 		@Override
@@ -1757,6 +1813,12 @@ public final class SessionFactoryImpl
 			this.tenantIdentifier = tenantIdentifier;
 			return this;
 		}
+
+		@Override
+		public SessionBuilder readOnly(boolean readOnly) {
+			this.readOnly = readOnly;
+			return this;
+		}
 	}
 
 	public static class StatelessSessionBuilderImpl implements StatelessSessionBuilder {
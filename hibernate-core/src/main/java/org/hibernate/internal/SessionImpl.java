@@ -36,9 +36,12 @@ import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.NClob;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -75,6 +78,7 @@ import org.hibernate.TransientObjectException;
 import org.hibernate.TypeHelper;
 import org.hibernate.UnknownProfileException;
 import org.hibernate.UnresolvableObjectException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.jdbc.LobCreationContext;
@@ -128,7 +132,9 @@ import org.hibernate.event.spi.ReplicateEvent;
 import org.hibernate.event.spi.ReplicateEventListener;
 import org.hibernate.event.spi.SaveOrUpdateEvent;
 import org.hibernate.event.spi.SaveOrUpdateEventListener;
+import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.internal.util.collections.IdentitySet;
 import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.jdbc.Work;
 import org.hibernate.jdbc.WorkExecutor;
@@ -137,6 +143,7 @@ import org.hibernate.loader.criteria.CriteriaLoader;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
@@ -185,6 +192,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	private transient boolean autoCloseSessionEnabled;
 
 	private transient int dontFlushFromFind = 0;
+	private transient Boolean readOnlyQueryInProgress;
 
 	private transient LoadQueryInfluencers loadQueryInfluencers;
 
@@ -691,6 +699,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	private void fireLock(LockEvent event) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
+		beforeLockOperation( event.getLockOptions() );
 		for ( LockEventListener listener : listeners( EventType.LOCK ) ) {
 			listener.onLock( event );
 		}
@@ -949,9 +958,21 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return event.getResult();
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) throws HibernateException {
+		return byMultipleIds( entityClass.getName() );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) throws HibernateException {
+		errorIfClosed();
+		return new MultiIdentifierLoadAccessImpl( factory.getEntityPersister( entityName ) );
+	}
+
 	private void fireLoad(LoadEvent event, LoadType loadType) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
+		beforeLockOperation( event.getLockOptions() );
 		for ( LoadEventListener listener : listeners( EventType.LOAD ) ) {
 			listener.onLoad( event, loadType );
 		}
@@ -988,6 +1009,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	private void fireRefresh(RefreshEvent event) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
+		beforeLockOperation( event.getLockOptions() );
 		for ( RefreshEventListener listener : listeners( EventType.REFRESH ) ) {
 			listener.onRefresh( event );
 		}
@@ -996,6 +1018,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	private void fireRefresh(Map refreshedAlready, RefreshEvent event) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
+		beforeLockOperation( event.getLockOptions() );
 		for ( RefreshEventListener listener : listeners( EventType.REFRESH ) ) {
 			listener.onRefresh( event, refreshedAlready );
 		}
@@ -1107,10 +1130,13 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		queryParameters.validateParameters();
 		HQLQueryPlan plan = getHQLQueryPlan( query, false );
 		autoFlushIfRequired( plan.getQuerySpaces() );
+		beforeLockOperation( queryParameters.getLockOptions() );
 
 		List results = CollectionHelper.EMPTY_LIST;
 		boolean success = false;
 
+		final Boolean outerQueryReadOnly = readOnlyQueryInProgress;
+		readOnlyQueryInProgress = queryParameters.isReadOnly( this );
 		dontFlushFromFind++;   //stops flush being called multiple times if this method is recursively called
 		try {
 			results = plan.performList( queryParameters, this );
@@ -1119,6 +1145,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		finally {
 			dontFlushFromFind--;
 			afterOperation(success);
+			readOnlyQueryInProgress = outerQueryReadOnly;
 		}
 		return results;
 	}
@@ -1132,6 +1159,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 		boolean success = false;
 		int result = 0;
+		beforeWriteOperation();
 		try {
 			result = plan.performExecuteUpdate( queryParameters, this );
 			success = true;
@@ -1154,6 +1182,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
         boolean success = false;
         int result = 0;
+        beforeWriteOperation();
         try {
             result = plan.performExecuteUpdate(queryParameters, this);
             success = true;
@@ -1169,6 +1198,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		queryParameters.validateParameters();
 		HQLQueryPlan plan = getHQLQueryPlan( query, true );
 		autoFlushIfRequired( plan.getQuerySpaces() );
+		beforeLockOperation( queryParameters.getLockOptions() );
 
 		dontFlushFromFind++; //stops flush being called multiple times if this method is recursively called
 		try {
@@ -1184,6 +1214,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		checkTransactionSynchStatus();
 		HQLQueryPlan plan = getHQLQueryPlan( query, false );
 		autoFlushIfRequired( plan.getQuerySpaces() );
+		beforeLockOperation( queryParameters.getLockOptions() );
 		dontFlushFromFind++;
 		try {
 			return plan.performScroll( queryParameters, this );
@@ -1443,6 +1474,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 				getLoadQueryInfluencers()
 		);
 		autoFlushIfRequired( loader.getQuerySpaces() );
+		beforeLockOperation( criteria );
 		dontFlushFromFind++;
 		try {
 			return loader.scroll(this, scrollMode);
@@ -1475,8 +1507,11 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 
 		autoFlushIfRequired(spaces);
+		beforeLockOperation( criteria );
 
 		List results = Collections.EMPTY_LIST;
+		final Boolean outerQueryReadOnly = readOnlyQueryInProgress;
+		readOnlyQueryInProgress = criteria.isReadOnly();
 		dontFlushFromFind++;
 		boolean success = false;
 		try {
@@ -1490,6 +1525,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		finally {
 			dontFlushFromFind--;
 			afterOperation(success);
+			readOnlyQueryInProgress = outerQueryReadOnly;
 		}
 
 		return results;
@@ -1556,6 +1592,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		CustomLoader loader = new CustomLoader( customQuery, getFactory() );
 
 		autoFlushIfRequired( loader.getQuerySpaces() );
+		beforeLockOperation( queryParameters.getLockOptions() );
 
 		dontFlushFromFind++; //stops flush being called multiple times if this method is recursively called
 		try {
@@ -1579,7 +1616,10 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		CustomLoader loader = new CustomLoader( customQuery, getFactory() );
 
 		autoFlushIfRequired( loader.getQuerySpaces() );
+		beforeLockOperation( queryParameters.getLockOptions() );
 
+		final Boolean outerQueryReadOnly = readOnlyQueryInProgress;
+		readOnlyQueryInProgress = queryParameters.isReadOnly( this );
 		dontFlushFromFind++;
 		boolean success = false;
 		try {
@@ -1590,6 +1630,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		finally {
 			dontFlushFromFind--;
 			afterOperation(success);
+			readOnlyQueryInProgress = outerQueryReadOnly;
 		}
 	}
 
@@ -1720,6 +1761,62 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		persistenceContext.setDefaultReadOnly( defaultReadOnly );
 	}
 
+	@Override
+	public boolean isReadOnlyWork() {
+		return persistenceContext.isDefaultReadOnly() && !hasWritten();
+	}
+
+	/**
+	 * Locks stronger than {@link LockMode#READ} are only held by a transaction on the primary, so requesting one
+	 * is handled like a write.
+	 */
+	private void beforeLockOperation(LockOptions lockOptions) {
+		if ( lockOptions == null ) {
+			return;
+		}
+		if ( isLocking( lockOptions.getLockMode() ) ) {
+			beforeWriteOperation();
+			return;
+		}
+		Iterator itr = lockOptions.getAliasLockIterator();
+		while ( itr.hasNext() ) {
+			final Map.Entry entry = (Map.Entry) itr.next();
+			if ( isLocking( (LockMode) entry.getValue() ) ) {
+				beforeWriteOperation();
+				return;
+			}
+		}
+	}
+
+	private void beforeLockOperation(CriteriaImpl criteria) {
+		for ( Object lockMode : criteria.getLockModes().values() ) {
+			if ( isLocking( (LockMode) lockMode ) ) {
+				beforeWriteOperation();
+				return;
+			}
+		}
+		Iterator itr = criteria.iterateSubcriteria();
+		while ( itr.hasNext() ) {
+			if ( isLocking( ( (CriteriaImpl.Subcriteria) itr.next() ).getLockMode() ) ) {
+				beforeWriteOperation();
+				return;
+			}
+		}
+	}
+
+	private static boolean isLocking(LockMode lockMode) {
+		return lockMode != null && lockMode.greaterThan( LockMode.READ );
+	}
+
+	@Override
+	protected boolean isReadOnlyRoutingRequested() {
+		// a connection obtained by a query is only held for the rest of the session when released on close
+		if ( readOnlyQueryInProgress != null && connectionReleaseMode != ConnectionReleaseMode.ON_CLOSE ) {
+			return readOnlyQueryInProgress;
+		}
+		return persistenceContext.isDefaultReadOnly();
+	}
+
 	public boolean isReadOnly(Object entityOrProxy) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
@@ -2099,6 +2196,11 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		public SharedSessionBuilder flushBeforeCompletion(boolean flushBeforeCompletion) {
 			return (SharedSessionBuilder) super.flushBeforeCompletion( flushBeforeCompletion );
 		}
+
+		@Override
+		public SharedSessionBuilder readOnly(boolean readOnly) {
+			return (SharedSessionBuilder) super.readOnly( readOnly );
+		}
 	}
 
 	private class CoordinatingEntityNameResolver implements EntityNameResolver {
@@ -2124,6 +2226,171 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private class MultiIdentifierLoadAccessImpl implements MultiIdentifierLoadAccess {
+		private static final int DEFAULT_BATCH_SIZE = 64;
+
+		private final EntityPersister persister;
+		private LockOptions lockOptions = LockOptions.NONE;
+		private int batchSize;
+		private boolean orderedReturn = true;
+		private boolean returnOfMissingAsNull = true;
+		private boolean returnOfDeletedEntities;
+
+		private MultiIdentifierLoadAccessImpl(EntityPersister persister) {
+			this.persister = persister;
+		}
+
+		public MultiIdentifierLoadAccess with(LockOptions lockOptions) {
+			this.lockOptions = lockOptions;
+			return this;
+		}
+
+		public MultiIdentifierLoadAccess withBatchSize(int batchSize) {
+			if ( batchSize < 1 ) {
+				throw new IllegalArgumentException( "Batch size must be strictly positive: " + batchSize );
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		public MultiIdentifierLoadAccess enableOrderedReturn(boolean enabled) {
+			this.orderedReturn = enabled;
+			return this;
+		}
+
+		public MultiIdentifierLoadAccess enableReturnOfMissingAsNull(boolean enabled) {
+			this.returnOfMissingAsNull = enabled;
+			return this;
+		}
+
+		public MultiIdentifierLoadAccess enableReturnOfDeletedEntities(boolean enabled) {
+			this.returnOfDeletedEntities = enabled;
+			return this;
+		}
+
+		public List multiLoad(Serializable... ids) throws HibernateException {
+			return multiLoad( Arrays.asList( ids ) );
+		}
+
+		public List multiLoad(List<? extends Serializable> ids) throws HibernateException {
+			errorIfClosed();
+			checkTransactionSynchStatus();
+			boolean success = false;
+			try {
+				final List results = doMultiLoad( ids );
+				success = true;
+				return results;
+			}
+			finally {
+				afterOperation( success );
+			}
+		}
+
+		private List doMultiLoad(List<? extends Serializable> ids) {
+			final String entityName = persister.getEntityName();
+			final Object[] resolved = new Object[ids.size()];
+			final EntityKey[] keys = new EntityKey[ids.size()];
+			final Set<Serializable> pendingIds = new LinkedHashSet<Serializable>();
+
+			// first the persistence context and the second-level cache, through the regular get()
+			for ( int i = 0; i < ids.size(); i++ ) {
+				final Serializable id = ids.get( i );
+				keys[i] = generateEntityKey( id, persister );
+				final Object managed = persistenceContext.getEntity( keys[i] );
+				if ( managed != null ) {
+					final Status status = persistenceContext.getEntry( managed ).getStatus();
+					if ( status == Status.DELETED || status == Status.GONE ) {
+						resolved[i] = returnOfDeletedEntities ? managed : null;
+					}
+					else {
+						resolved[i] = get( entityName, id, lockOptions );
+					}
+				}
+				else if ( isCached( id ) ) {
+					resolved[i] = get( entityName, id, lockOptions );
+				}
+				else {
+					pendingIds.add( id );
+				}
+			}
+
+			// then the database, a chunk at a time
+			if ( !pendingIds.isEmpty() ) {
+				loadFromDatasource( pendingIds );
+				for ( int i = 0; i < ids.size(); i++ ) {
+					if ( pendingIds.contains( ids.get( i ) ) ) {
+						final Object loaded = persistenceContext.getEntity( keys[i] );
+						resolved[i] = loaded == null ? null : persistenceContext.proxyFor( persister, keys[i], loaded );
+					}
+				}
+			}
+
+			final List results = new ArrayList( resolved.length );
+			if ( orderedReturn ) {
+				for ( Object entity : resolved ) {
+					if ( entity != null || returnOfMissingAsNull ) {
+						results.add( entity );
+					}
+				}
+			}
+			else {
+				final Set<Object> seen = new IdentitySet();
+				for ( Object entity : resolved ) {
+					if ( entity != null && seen.add( entity ) ) {
+						results.add( entity );
+					}
+				}
+			}
+			return results;
+		}
+
+		private boolean isCached(Serializable id) {
+			if ( !persister.hasCache()
+					|| !getCacheMode().isGetEnabled()
+					|| !lockOptions.getLockMode().lessThan( LockMode.READ ) ) {
+				return false;
+			}
+			final CacheKey ck = generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() );
+			return persister.getCacheAccessStrategy().get( ck, getTimestamp() ) != null;
+		}
+
+		private void loadFromDatasource(Set<Serializable> pendingIds) {
+			if ( !( persister instanceof AbstractEntityPersister ) ) {
+				for ( Serializable id : pendingIds ) {
+					get( persister.getEntityName(), id, lockOptions );
+				}
+				return;
+			}
+			final AbstractEntityPersister loadable = (AbstractEntityPersister) persister;
+			final int chunkSize = batchSize > 0
+					? batchSize
+					: loadable.getBatchSize() > 1 ? loadable.getBatchSize() : DEFAULT_BATCH_SIZE;
+			final int[] loaderSizes = ArrayHelper.getBatchSizes( chunkSize );
+			final Serializable[] chunk = new Serializable[chunkSize];
+			final Iterator<Serializable> iter = pendingIds.iterator();
+			while ( iter.hasNext() ) {
+				int count = 0;
+				while ( count < chunkSize && iter.hasNext() ) {
+					chunk[count++] = iter.next();
+				}
+				// pad a smaller chunk to the nearest batch size, which keeps the number of loaders
+				// built for the persister as low as for batch fetching
+				int size = chunkSize;
+				for ( int loaderSize : loaderSizes ) {
+					if ( loaderSize >= count ) {
+						size = loaderSize;
+					}
+				}
+				final Serializable[] ids = new Serializable[size];
+				System.arraycopy( chunk, 0, ids, 0, count );
+				for ( int i = count; i < size; i++ ) {
+					ids[i] = chunk[0];
+				}
+				loadable.loadEntityBatch( ids, lockOptions, SessionImpl.this );
+			}
+		}
+	}
+
 	private class LockRequestImpl implements LockRequest {
 		private final LockOptions lockOptions;
 		private LockRequestImpl(LockOptions lo) {
@@ -0,0 +1,285 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.type.Type;
+
+/**
+ * Forward-only results which detach the entities of a row from the session once the consumer has moved
+ * a given number of rows past it, keeping the persistence context bounded however large the result is.
+ * <p/>
+ * Only the entities returned in the rows are detached, using {@link Session#evict}, so that associations
+ * mapped with <tt>cascade="evict"</tt> are detached with them; changes made to a detached entity and not
+ * yet flushed are lost.  An entity appearing in several rows stays attached while any of them is within
+ * the window.
+ *
+ * @see org.hibernate.Query#stream
+ * @see org.hibernate.Criteria#stream
+ */
+public class StreamingScrollableResults implements ScrollableResults {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			StreamingScrollableResults.class.getName()
+	);
+
+	/**
+	 * The number of rows kept attached when none is specified.
+	 */
+	public static final int DEFAULT_WINDOW = 100;
+
+	private final ScrollableResults delegate;
+	private final SessionImplementor session;
+	private final Object[][] window;
+	private final Map<Object,int[]> occurrences = new IdentityHashMap<Object,int[]>();
+	private int position;
+
+	public StreamingScrollableResults(ScrollableResults delegate, SessionImplementor session, int windowSize) {
+		if ( windowSize < 1 ) {
+			throw new IllegalArgumentException( "Streaming window must be strictly positive: " + windowSize );
+		}
+		this.delegate = delegate;
+		this.session = session;
+		this.window = new Object[windowSize][];
+	}
+
+	/**
+	 * Determine the fetch size to use for streaming the results of a query on the given session.
+	 *
+	 * @param session The session executing the query
+	 *
+	 * @return The fetch size
+	 */
+	public static int getStreamingFetchSize(SessionImplementor session) {
+		if ( session.getFactory().getDialect().doesStreamingRequireTransaction() && !session.isTransactionInProgress() ) {
+			LOG.streamingOutsideTransaction();
+		}
+		return session.getFactory().getDialect().getStreamingFetchSize();
+	}
+
+	public boolean next() throws HibernateException {
+		final boolean result = delegate.next();
+		if ( result && session instanceof Session ) {
+			advanceWindow();
+		}
+		return result;
+	}
+
+	private void advanceWindow() {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		final Object[] row = delegate.get();
+		final Object[] entities = new Object[row == null ? 0 : row.length];
+		int count = 0;
+		for ( int i = 0; i < entities.length; i++ ) {
+			if ( row[i] != null && persistenceContext.isEntryFor( row[i] ) ) {
+				entities[count++] = row[i];
+				final int[] occurrence = occurrences.get( row[i] );
+				if ( occurrence == null ) {
+					occurrences.put( row[i], new int[] { 1 } );
+				}
+				else {
+					occurrence[0]++;
+				}
+			}
+		}
+
+		final Object[] retired = window[position];
+		window[position] = count == entities.length ? entities : copyOf( entities, count );
+		position = ( position + 1 ) % window.length;
+		if ( retired != null ) {
+			for ( Object entity : retired ) {
+				final int[] occurrence = occurrences.get( entity );
+				if ( --occurrence[0] == 0 ) {
+					occurrences.remove( entity );
+					detach( entity, persistenceContext );
+				}
+			}
+		}
+	}
+
+	private void detach(Object entity, PersistenceContext persistenceContext) {
+		final EntityEntry entry = persistenceContext.getEntry( entity );
+		// leave alone what the consumer deleted or otherwise acted upon
+		if ( entry != null && ( entry.getStatus() == Status.MANAGED || entry.getStatus() == Status.READ_ONLY ) ) {
+			( (Session) session ).evict( entity );
+		}
+	}
+
+	private static Object[] copyOf(Object[] entities, int count) {
+		final Object[] copy = new Object[count];
+		System.arraycopy( entities, 0, copy, 0, count );
+		return copy;
+	}
+
+	public boolean previous() throws HibernateException {
+		return delegate.previous();
+	}
+
+	public boolean scroll(int i) throws HibernateException {
+		return delegate.scroll( i );
+	}
+
+	public boolean last() throws HibernateException {
+		return delegate.last();
+	}
+
+	public boolean first() throws HibernateException {
+		return delegate.first();
+	}
+
+	public void beforeFirst() throws HibernateException {
+		delegate.beforeFirst();
+	}
+
+	public void afterLast() throws HibernateException {
+		delegate.afterLast();
+	}
+
+	public boolean isFirst() throws HibernateException {
+		return delegate.isFirst();
+	}
+
+	public boolean isLast() throws HibernateException {
+		return delegate.isLast();
+	}
+
+	public void close() throws HibernateException {
+		delegate.close();
+	}
+
+	public Object[] get() throws HibernateException {
+		return delegate.get();
+	}
+
+	public Object get(int i) throws HibernateException {
+		return delegate.get( i );
+	}
+
+	public Type getType(int i) {
+		return delegate.getType( i );
+	}
+
+	public Integer getInteger(int col) throws HibernateException {
+		return delegate.getInteger( col );
+	}
+
+	public Long getLong(int col) throws HibernateException {
+		return delegate.getLong( col );
+	}
+
+	public Float getFloat(int col) throws HibernateException {
+		return delegate.getFloat( col );
+	}
+
+	public Boolean getBoolean(int col) throws HibernateException {
+		return delegate.getBoolean( col );
+	}
+
+	public Double getDouble(int col) throws HibernateException {
+		return delegate.getDouble( col );
+	}
+
+	public Short getShort(int col) throws HibernateException {
+		return delegate.getShort( col );
+	}
+
+	public Byte getByte(int col) throws HibernateException {
+		return delegate.getByte( col );
+	}
+
+	public Character getCharacter(int col) throws HibernateException {
+		return delegate.getCharacter( col );
+	}
+
+	public byte[] getBinary(int col) throws HibernateException {
+		return delegate.getBinary( col );
+	}
+
+	public String getText(int col) throws HibernateException {
+		return delegate.getText( col );
+	}
+
+	public Blob getBlob(int col) throws HibernateException {
+		return delegate.getBlob( col );
+	}
+
+	public Clob getClob(int col) throws HibernateException {
+		return delegate.getClob( col );
+	}
+
+	public String getString(int col) throws HibernateException {
+		return delegate.getString( col );
+	}
+
+	public BigDecimal getBigDecimal(int col) throws HibernateException {
+		return delegate.getBigDecimal( col );
+	}
+
+	public BigInteger getBigInteger(int col) throws HibernateException {
+		return delegate.getBigInteger( col );
+	}
+
+	public Date getDate(int col) throws HibernateException {
+		return delegate.getDate( col );
+	}
+
+	public Locale getLocale(int col) throws HibernateException {
+		return delegate.getLocale( col );
+	}
+
+	public Calendar getCalendar(int col) throws HibernateException {
+		return delegate.getCalendar( col );
+	}
+
+	public TimeZone getTimeZone(int col) throws HibernateException {
+		return delegate.getTimeZone( col );
+	}
+
+	public int getRowNumber() throws HibernateException {
+		return delegate.getRowNumber();
+	}
+
+	public boolean setRowNumber(int rowNumber) throws HibernateException {
+		return delegate.setRowNumber( rowNumber );
+	}
+}
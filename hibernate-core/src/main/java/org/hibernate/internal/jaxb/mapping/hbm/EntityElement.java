@@ -36,6 +36,7 @@ public interface EntityElement extends MetaAttributeContainer {
     public Boolean isLazy();
     public String getProxy();
     public String getBatchSize();
+    public String getBatchFetchStyle();
     public boolean isDynamicInsert();
     public boolean isDynamicUpdate();
     public boolean isSelectBeforeUpdate();
@@ -147,6 +147,12 @@ public final class ArrayHelper {
 		return result;
 	}
 
+	public static int[] slice(int[] ints, int begin, int length) {
+		int[] result = new int[length];
+		System.arraycopy( ints, begin, result, 0, length );
+		return result;
+	}
+
 	public static Object[] slice(Object[] objects, int begin, int length) {
 		Object[] result = new Object[length];
 		System.arraycopy( objects, begin, result, 0, length );
@@ -24,27 +24,44 @@
  */
 package org.hibernate.internal.util.collections;
 
-import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * A <tt>Map</tt> where keys are compared by object identity,
  * rather than <tt>equals()</tt>.
+ * <p/>
+ * The entries are kept in an array, in insertion order, and are located through an open-addressing
+ * (linear probing) table of indexes into that array.  So the only per-entry object is the entry itself,
+ * iteration follows insertion order, and {@link #concurrentEntries} can hand out a shared snapshot of the
+ * entries which is only rebuilt after the map was modified.
+ * <p/>
+ * Iterators are weakly consistent: they never throw {@link java.util.ConcurrentModificationException},
+ * do not return entries removed before being reached, and may or may not return entries added after
+ * their creation.
  */
 public final class IdentityMap<K,V> implements Map<K,V> {
+	private static final int MINIMUM_CAPACITY = 8;
 
-	private final Map<IdentityKey<K>,V> map;
-	@SuppressWarnings( {"unchecked"})
-	private transient Entry<IdentityKey<K>,V>[] entryArray = new Entry[0];
-	private transient boolean dirty = false;
+	// the entries in insertion order; removed entries leave a null slot until the array is compacted
+	private IdentityMapEntry<K,V>[] entries;
+	// the number of used slots in entries, including removed ones
+	private int used;
+	private int size;
+	// open-addressing table: 0 for a free slot, otherwise the position in entries + 1
+	private int[] table;
+	private int shift;
+
+	private transient Map.Entry[] entryArray;
 
 	/**
 	 * Return a new instance of this class, with an undefined
@@ -65,23 +82,19 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 	 * @return The map
 	 */
 	public static <K,V> IdentityMap<K,V> instantiateSequenced(int size) {
-		return new IdentityMap<K,V>( new LinkedHashMap<IdentityKey<K>,V>( size ) );
+		return new IdentityMap<K,V>( size );
 	}
 
-	/**
-	 * Private ctor used in serialization.
-	 *
-	 * @param underlyingMap The delegate map.
-	 */
-	private IdentityMap(Map<IdentityKey<K>,V> underlyingMap) {
-		map = underlyingMap;
-		dirty = true;
+	private IdentityMap(int expectedSize) {
+		allocate( Math.max( MINIMUM_CAPACITY, expectedSize ) );
 	}
 
 	/**
 	 * Return the map entries (as instances of <tt>Map.Entry</tt> in a collection that
 	 * is safe from concurrent modification). ie. we may safely add new instances to
 	 * the underlying <tt>Map</tt> during iteration of the <tt>entries()</tt>.
+	 * <p/>
+	 * The returned array is shared until the map is next modified, and must not be modified.
 	 *
 	 * @param map The map of entries
 	 * @return Collection
@@ -98,12 +111,12 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 		return ( (IdentityMap) map ).keyIterator();
 	}
 
-	public Iterator keyIterator() {
-		return new KeyIterator( map.keySet().iterator() );
+	public Iterator<K> keyIterator() {
+		return new KeyIterator<K,V>( this );
 	}
 
 	public static final class IdentityMapEntry<K,V> implements java.util.Map.Entry<K,V> {
-		private K key;
+		private final K key;
 		private V value;
 
 		IdentityMapEntry(K key, V value) {
@@ -124,73 +137,74 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 			this.value = value;
 			return result;
 		}
-	}
-
-	public static final class IdentityKey<K> implements Serializable {
-		private K key;
-
-		IdentityKey(K key) {
-			this.key=key;
-		}
-
-		@SuppressWarnings( {"EqualsWhichDoesntCheckParameterClass"})
-		@Override
-        public boolean equals(Object other) {
-			return key == ( (IdentityKey) other ).key;
-		}
 
 		@Override
-        public int hashCode() {
-			return System.identityHashCode(key);
-		}
-
-		@Override
-        public String toString() {
-			return key.toString();
-		}
-
-		public K getRealKey() {
-			return key;
+		public String toString() {
+			return key + "=" + value;
 		}
 	}
 
 	public int size() {
-		return map.size();
+		return size;
 	}
 
 	public boolean isEmpty() {
-		return map.isEmpty();
+		return size == 0;
 	}
 
 	@Override
-	@SuppressWarnings( {"unchecked"})
 	public boolean containsKey(Object key) {
-		IdentityKey k = new IdentityKey(key);
-		return map.containsKey(k);
+		return table[ locate( key ) ] != 0;
 	}
 
 	@Override
 	public boolean containsValue(Object val) {
-		return map.containsValue(val);
+		for ( int i = 0; i < used; i++ ) {
+			final IdentityMapEntry<K,V> entry = entries[i];
+			if ( entry != null && ( val == null ? entry.value == null : val.equals( entry.value ) ) ) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
-	@SuppressWarnings( {"unchecked"})
 	public V get(Object key) {
-		return map.get( new IdentityKey(key) );
+		final int index = table[ locate( key ) ];
+		return index == 0 ? null : entries[ index - 1 ].value;
 	}
 
 	@Override
 	public V put(K key, V value) {
-		dirty = true;
-		return map.put( new IdentityKey<K>(key), value );
+		int slot = locate( key );
+		if ( table[slot] != 0 ) {
+			return entries[ table[slot] - 1 ].setValue( value );
+		}
+		if ( used == entries.length ) {
+			// compact if that frees at least a quarter of the entries, otherwise grow
+			allocate( size < used - ( used >> 2 ) ? entries.length : entries.length << 1 );
+			slot = locate( key );
+		}
+		entries[used] = new IdentityMapEntry<K,V>( key, value );
+		table[slot] = ++used;
+		size++;
+		entryArray = null;
+		return null;
 	}
 
 	@Override
-	@SuppressWarnings( {"unchecked"})
 	public V remove(Object key) {
-		dirty = true;
-		return map.remove( new IdentityKey(key) );
+		final int slot = locate( key );
+		final int index = table[slot];
+		if ( index == 0 ) {
+			return null;
+		}
+		final IdentityMapEntry<K,V> entry = entries[ index - 1 ];
+		entries[ index - 1 ] = null;
+		deleteSlot( slot );
+		size--;
+		entryArray = null;
+		return entry.value;
 	}
 
 	@Override
@@ -202,50 +216,84 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 
 	@Override
 	public void clear() {
-		dirty = true;
+		// also releases the storage of a map which grew large
+		used = 0;
+		allocate( MINIMUM_CAPACITY );
 		entryArray = null;
-		map.clear();
 	}
 
 	@Override
 	public Set<K> keySet() {
-		// would need an IdentitySet for this!
-		throw new UnsupportedOperationException();
+		return new AbstractSet<K>() {
+			@Override
+			public Iterator<K> iterator() {
+				return new KeyIterator<K,V>( IdentityMap.this );
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey( o );
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				final boolean contained = containsKey( o );
+				IdentityMap.this.remove( o );
+				return contained;
+			}
+		};
 	}
 
 	@Override
 	public Collection<V> values() {
-		return map.values();
+		return new AbstractCollection<V>() {
+			@Override
+			public Iterator<V> iterator() {
+				return new ValueIterator<K,V>( IdentityMap.this );
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
 	}
 
 	@Override
 	public Set<Entry<K,V>> entrySet() {
-		Set<Entry<K,V>> set = new HashSet<Entry<K,V>>( map.size() );
-		for ( Entry<IdentityKey<K>, V> entry : map.entrySet() ) {
-			set.add( new IdentityMapEntry<K,V>( entry.getKey().getRealKey(), entry.getValue() ) );
-		}
-		return set;
+		return new AbstractSet<Entry<K,V>>() {
+			@Override
+			public Iterator<Entry<K,V>> iterator() {
+				return new EntryIterator<K,V>( IdentityMap.this );
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
 	}
 
+	@SuppressWarnings( {"unchecked"})
 	public List<Entry<K,V>> entryList() {
-		ArrayList<Entry<K,V>> list = new ArrayList<Entry<K,V>>( map.size() );
-		for ( Entry<IdentityKey<K>, V> entry : map.entrySet() ) {
-			list.add( new IdentityMapEntry<K,V>( entry.getKey().getRealKey(), entry.getValue() ) );
-		}
-		return list;
+		return Collections.unmodifiableList( Arrays.asList( (Entry<K,V>[]) entryArray() ) );
 	}
 
-	@SuppressWarnings( {"unchecked"})
 	public Map.Entry[] entryArray() {
-		if (dirty) {
-			entryArray = new Map.Entry[ map.size() ];
-			Iterator itr = map.entrySet().iterator();
-			int i=0;
-			while ( itr.hasNext() ) {
-				Map.Entry me = (Map.Entry) itr.next();
-				entryArray[i++] = new IdentityMapEntry( ( (IdentityKey) me.getKey() ).key, me.getValue() );
+		if ( entryArray == null ) {
+			final Map.Entry[] array = new Map.Entry[size];
+			int count = 0;
+			for ( int i = 0; i < used; i++ ) {
+				if ( entries[i] != null ) {
+					array[count++] = entries[i];
+				}
 			}
-			dirty = false;
+			entryArray = array;
 		}
 		return entryArray;
 	}
@@ -258,7 +306,13 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 	 * @return Object
 	 */
 	public static Object serialize(Map map) {
-		return ( (IdentityMap) map ).map;
+		final Map.Entry[] entries = ( (IdentityMap) map ).entryArray();
+		final Object[] keysAndValues = new Object[ entries.length * 2 ];
+		for ( int i = 0; i < entries.length; i++ ) {
+			keysAndValues[ i * 2 ] = entries[i].getKey();
+			keysAndValues[ i * 2 + 1 ] = entries[i].getValue();
+		}
+		return keysAndValues;
 	}
 
 	/**
@@ -270,12 +324,28 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 	 */
 	@SuppressWarnings( {"unchecked"})
 	public static <K,V> Map<K,V> deserialize(Object o) {
-		return new IdentityMap<K,V>( (Map<IdentityKey<K>,V>) o );
+		final Object[] keysAndValues = (Object[]) o;
+		final IdentityMap<K,V> map = new IdentityMap<K,V>( keysAndValues.length / 2 );
+		for ( int i = 0; i < keysAndValues.length; i += 2 ) {
+			map.put( (K) keysAndValues[i], (V) keysAndValues[ i + 1 ] );
+		}
+		return map;
 	}
-	
+
 	@Override
-    public String toString() {
-		return map.toString();
+	public String toString() {
+		final StringBuilder buffer = new StringBuilder( "{" );
+		boolean first = true;
+		for ( int i = 0; i < used; i++ ) {
+			if ( entries[i] != null ) {
+				if ( !first ) {
+					buffer.append( ", " );
+				}
+				buffer.append( entries[i] );
+				first = false;
+			}
+		}
+		return buffer.append( '}' ).toString();
 	}
 
 	public static <K,V> Map<V,K> invert(Map<K,V> map) {
@@ -286,25 +356,163 @@ public final class IdentityMap<K,V> implements Map<K,V> {
 		return result;
 	}
 
-	static final class KeyIterator<K> implements Iterator<K> {
-		private final Iterator<IdentityKey<K>> identityKeyIterator;
 
-		private KeyIterator(Iterator<IdentityKey<K>> iterator) {
-			identityKeyIterator = iterator;
+	// open addressing ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * (Re)allocate the storage for the given number of entries, compacting the current entries into it.
+	 */
+	@SuppressWarnings( {"unchecked"})
+	private void allocate(int capacity) {
+		final IdentityMapEntry<K,V>[] oldEntries = entries;
+		final int oldUsed = used;
+
+		// keep the table at most half full
+		int tableSize = Integer.highestOneBit( capacity - 1 ) << 2;
+		entries = new IdentityMapEntry[capacity];
+		table = new int[tableSize];
+		shift = 32 - Integer.numberOfTrailingZeros( tableSize );
+		used = 0;
+		size = 0;
+
+		for ( int i = 0; i < oldUsed; i++ ) {
+			final IdentityMapEntry<K,V> entry = oldEntries[i];
+			if ( entry != null ) {
+				entries[used] = entry;
+				table[ locate( entry.key ) ] = ++used;
+				size++;
+			}
+		}
+	}
+
+	private int home(Object key) {
+		// Fibonacci hashing of the identity hash code
+		return ( System.identityHashCode( key ) * 0x9E3779B9 ) >>> shift;
+	}
+
+	/**
+	 * Locate the table slot holding the given key, or the free slot where it would be inserted.
+	 */
+	private int locate(Object key) {
+		final int mask = table.length - 1;
+		int slot = home( key );
+		while ( true ) {
+			final int index = table[slot];
+			if ( index == 0 || entries[ index - 1 ].key == key ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+	}
+
+	/**
+	 * Free the given table slot, shifting back the following entries of the probe sequence so that
+	 * lookups never need tombstones.
+	 */
+	private void deleteSlot(int slot) {
+		final int mask = table.length - 1;
+		int free = slot;
+		int current = slot;
+		while ( true ) {
+			current = ( current + 1 ) & mask;
+			final int index = table[current];
+			if ( index == 0 ) {
+				break;
+			}
+			final int home = home( entries[ index - 1 ].key );
+			// the entry may move to the free slot unless its home lies cyclically in (free, current]
+			final boolean stays = free <= current
+					? free < home && home <= current
+					: free < home || home <= current;
+			if ( !stays ) {
+				table[free] = index;
+				free = current;
+			}
+		}
+		table[free] = 0;
+	}
+
+
+	// iterators ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	private boolean contains(IdentityMapEntry<K,V> entry) {
+		final int index = table[ locate( entry.key ) ];
+		return index != 0 && entries[ index - 1 ] == entry;
+	}
+
+	private abstract static class AbstractEntryIterator<K,V,T> implements Iterator<T> {
+		private final IdentityMap<K,V> map;
+		private final IdentityMapEntry<K,V>[] entries;
+		private int position;
+		private IdentityMapEntry<K,V> next;
+		private IdentityMapEntry<K,V> last;
+
+		private AbstractEntryIterator(IdentityMap<K,V> map) {
+			this.map = map;
+			this.entries = map.entries;
 		}
 
 		public boolean hasNext() {
-			return identityKeyIterator.hasNext();
+			while ( next == null && position < entries.length ) {
+				final IdentityMapEntry<K,V> candidate = entries[position++];
+				if ( candidate != null ) {
+					if ( entries == map.entries ) {
+						next = candidate;
+					}
+					else if ( map.contains( candidate ) ) {
+						// the map reallocated its storage since, and no longer updates this array
+						next = candidate;
+					}
+				}
+			}
+			return next != null;
 		}
 
-		public K next() {
-			return identityKeyIterator.next().getRealKey();
+		protected IdentityMapEntry<K,V> nextEntry() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			last = next;
+			next = null;
+			return last;
 		}
 
 		public void remove() {
-			throw new UnsupportedOperationException();
+			if ( last == null ) {
+				throw new IllegalStateException();
+			}
+			map.remove( last.key );
+			last = null;
+		}
+	}
+
+	private static final class EntryIterator<K,V> extends AbstractEntryIterator<K,V,Entry<K,V>> {
+		private EntryIterator(IdentityMap<K,V> map) {
+			super( map );
+		}
+
+		public Entry<K,V> next() {
+			return nextEntry();
+		}
+	}
+
+	private static final class KeyIterator<K,V> extends AbstractEntryIterator<K,V,K> {
+		private KeyIterator(IdentityMap<K,V> map) {
+			super( map );
 		}
 
+		public K next() {
+			return nextEntry().key;
+		}
 	}
 
-}
\ No newline at end of file
+	private static final class ValueIterator<K,V> extends AbstractEntryIterator<K,V,V> {
+		private ValueIterator(IdentityMap<K,V> map) {
+			super( map );
+		}
+
+		public V next() {
+			return nextEntry().value;
+		}
+	}
+}
@@ -13,6 +13,7 @@ import org.hibernate.internal.SessionFactoryRegistry;
 import org.hibernate.stat.CollectionStatistics;
 import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.SqlStatementStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
 import org.hibernate.stat.Statistics;
 import org.hibernate.stat.internal.ConcurrentStatisticsImpl;
@@ -136,6 +137,18 @@ public class StatisticsService implements StatisticsServiceMBean {
 	public QueryStatistics getQueryStatistics(String hql) {
 		return stats.getQueryStatistics(hql);
 	}
+	/**
+	 * @see StatisticsServiceMBean#getSqlStatementStatistics(java.lang.String)
+	 */
+	public SqlStatementStatistics getSqlStatementStatistics(String sql) {
+		return stats.getSqlStatementStatistics(sql);
+	}
+	/**
+	 * @see StatisticsServiceMBean#getTopSqlStatements(int)
+	 */
+	public SqlStatementStatistics[] getTopSqlStatements(int count) {
+		return stats.getTopSqlStatements(count);
+	}
 	/**
 	 * @see StatisticsServiceMBean#getEntityDeleteCount()
 	 */
@@ -209,6 +222,24 @@ public class StatisticsService implements StatisticsServiceMBean {
 	public long getConnectCount() {
 		return stats.getConnectCount();
 	}
+	/**
+	 * @see StatisticsServiceMBean#getConnectionHoldTime()
+	 */
+	public long getConnectionHoldTime() {
+		return stats.getConnectionHoldTime();
+	}
+	/**
+	 * @see StatisticsServiceMBean#getConnectionHoldMaxTime()
+	 */
+	public long getConnectionHoldMaxTime() {
+		return stats.getConnectionHoldMaxTime();
+	}
+	/**
+	 * @see StatisticsServiceMBean#getSessionConnectionHoldMaxTime()
+	 */
+	public long getSessionConnectionHoldMaxTime() {
+		return stats.getSessionConnectionHoldMaxTime();
+	}
 	/**
 	 * @see StatisticsServiceMBean#getSecondLevelCacheHitCount()
 	 */
@@ -306,6 +337,10 @@ public class StatisticsService implements StatisticsServiceMBean {
 		return stats.getQueries();
 	}
 
+	public String[] getSqlStatements() {
+		return stats.getSqlStatements();
+	}
+
 	public String[] getSecondLevelCacheRegionNames() {
 		return stats.getSecondLevelCacheRegionNames();
 	}
@@ -328,6 +363,34 @@ public class StatisticsService implements StatisticsServiceMBean {
 		return stats.getOptimisticFailureCount();
 	}
 
+	public long getConnectionPoolActiveCount() {
+		return stats.getConnectionPoolActiveCount();
+	}
+
+	public long getConnectionPoolIdleCount() {
+		return stats.getConnectionPoolIdleCount();
+	}
+
+	public long getConnectionPoolWaitCount() {
+		return stats.getConnectionPoolWaitCount();
+	}
+
+	public long getConnectionPoolWaitTime() {
+		return stats.getConnectionPoolWaitTime();
+	}
+
+	public long getConnectionPoolMaxWaitTime() {
+		return stats.getConnectionPoolMaxWaitTime();
+	}
+
+	public long getConnectionPoolTimeoutCount() {
+		return stats.getConnectionPoolTimeoutCount();
+	}
+
+	public long getConnectionPoolLeakCount() {
+		return stats.getConnectionPoolLeakCount();
+	}
+
 	public String getQueryExecutionMaxTimeQueryString() {
 		return stats.getQueryExecutionMaxTimeQueryString();
 	}
@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import org.hibernate.HibernateException;
+
+/**
+ * The strategies for building the loaders used to batch fetch entities and collections.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_FETCH_STYLE
+ * @see org.hibernate.annotations.BatchFetch
+ */
+public enum BatchFetchStyle {
+	/**
+	 * One loader per batch size in the sequence returned by
+	 * {@link org.hibernate.internal.util.collections.ArrayHelper#getBatchSizes}; a batch is loaded by the
+	 * largest loader it fills completely.  This is the default.
+	 */
+	LEGACY( "legacy" ),
+	/**
+	 * A single loader for the maximum batch size; the unused slots of a smaller batch are padded by repeating
+	 * the requested identifier.  Every batch is fetched with the same SQL statement, which keeps the number of
+	 * loaders (and of distinct statements to prepare and cache) per persister to two: the padded one, and the
+	 * one used when no other key is waiting to be fetched.
+	 */
+	PADDED( "padded" );
+
+	private final String externalName;
+
+	private BatchFetchStyle(String externalName) {
+		this.externalName = externalName;
+	}
+
+	public String getExternalName() {
+		return externalName;
+	}
+
+	/**
+	 * Interpret the value of a batch fetch style setting.
+	 *
+	 * @param setting The setting value: a {@link BatchFetchStyle}, its external name or its constant name
+	 *
+	 * @return The corresponding style, or {@code null} if the setting is {@code null} or empty
+	 */
+	public static BatchFetchStyle interpret(Object setting) {
+		if ( setting == null ) {
+			return null;
+		}
+		if ( setting instanceof BatchFetchStyle ) {
+			return (BatchFetchStyle) setting;
+		}
+		final String name = setting.toString().trim();
+		if ( name.length() == 0 ) {
+			return null;
+		}
+		for ( BatchFetchStyle style : values() ) {
+			if ( style.externalName.equalsIgnoreCase( name ) ) {
+				return style;
+			}
+		}
+		throw new HibernateException( "Unknown batch fetch style: " + setting );
+	}
+}
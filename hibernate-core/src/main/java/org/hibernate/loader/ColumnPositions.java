@@ -0,0 +1,202 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.persister.entity.Loadable;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.ManyToOneType;
+import org.hibernate.type.Type;
+
+/**
+ * The positions of the columns of the entities of a {@link Loader} in its results, resolved once from the
+ * result set metadata so that each row is hydrated by column position, sparing the driver a column lookup
+ * by name for every value read.
+ * <p/>
+ * Positions are {@code null} whenever an alias is not found among the column labels, or the type of the
+ * value only reads its columns by name (user types, any types...), in which case the column is read by name
+ * as before.  Instances are immutable, apart from the memoized positions of the subclass properties, and
+ * safe to share between the sessions using the loader.
+ */
+public final class ColumnPositions {
+	private static final int[][] UNRESOLVED = new int[0][];
+
+	private final Map<String,Integer> positionsByLabel;
+	private final EntityAliases[] entityAliases;
+	private final int[][] keyPositions;
+	private final int[][] discriminatorPositions;
+	private final int[][] versionPositions;
+	private final int[] rowIdPositions;
+	private final ConcurrentMap<Loadable,int[][]>[] propertyPositions;
+
+	@SuppressWarnings("unchecked")
+	private ColumnPositions(Map<String,Integer> positionsByLabel, EntityAliases[] entityAliases, Loadable[] persisters) {
+		this.positionsByLabel = positionsByLabel;
+		this.entityAliases = entityAliases;
+		final int entitySpan = entityAliases.length;
+		this.keyPositions = new int[entitySpan][];
+		this.discriminatorPositions = new int[entitySpan][];
+		this.versionPositions = new int[entitySpan][];
+		this.rowIdPositions = new int[entitySpan];
+		this.propertyPositions = new ConcurrentMap[entitySpan];
+		for ( int i = 0; i < entitySpan; i++ ) {
+			final Loadable persister = persisters[i];
+			keyPositions[i] = isReadByPosition( persister.getIdentifierType(), persister.getFactory() ) ?
+					resolve( entityAliases[i].getSuffixedKeyAliases() ) :
+					null;
+			final String discriminatorAlias = entityAliases[i].getSuffixedDiscriminatorAlias();
+			discriminatorPositions[i] = discriminatorAlias == null
+					|| !isReadByPosition( persister.getDiscriminatorType(), persister.getFactory() ) ?
+					null :
+					resolve( new String[] { discriminatorAlias } );
+			versionPositions[i] = persister.isVersioned()
+					&& isReadByPosition( persister.getVersionType(), persister.getFactory() ) ?
+					resolve( entityAliases[i].getSuffixedVersionAliases() ) :
+					null;
+			final int[] rowIdPosition = entityAliases[i].getRowIdAlias() == null ?
+					null :
+					resolve( new String[] { entityAliases[i].getRowIdAlias() } );
+			rowIdPositions[i] = rowIdPosition == null ? 0 : rowIdPosition[0];
+			propertyPositions[i] = new ConcurrentHashMap<Loadable,int[][]>();
+		}
+	}
+
+	/**
+	 * Resolve the column positions of the given entities from the metadata of a result set.
+	 *
+	 * @param rs The result set
+	 * @param entityAliases The aliases of the entities in the result set
+	 * @param persisters The persisters of the entities in the result set
+	 *
+	 * @return The column positions
+	 *
+	 * @throws SQLException Indicates a problem accessing the result set metadata
+	 */
+	static ColumnPositions resolve(ResultSet rs, EntityAliases[] entityAliases, Loadable[] persisters)
+			throws SQLException {
+		final ResultSetMetaData metaData = rs.getMetaData();
+		final int columnCount = metaData.getColumnCount();
+		final Map<String,Integer> positionsByLabel = new HashMap<String,Integer>( columnCount * 4 / 3 + 1 );
+		// as ResultSet#findColumn, the first of several columns with the same label wins
+		for ( int position = columnCount; position > 0; position-- ) {
+			positionsByLabel.put( metaData.getColumnLabel( position ).toLowerCase(), position );
+		}
+		return new ColumnPositions( positionsByLabel, entityAliases, persisters );
+	}
+
+	/**
+	 * Does the given type read its columns by position?  Other types would look up the label of each column
+	 * by position, then read it by name, for every row.
+	 */
+	private static boolean isReadByPosition(Type type, Mapping factory) {
+		if ( type instanceof AbstractStandardBasicType ) {
+			return true;
+		}
+		if ( type instanceof ManyToOneType ) {
+			return isReadByPosition( ( (ManyToOneType) type ).getIdentifierOrUniqueKeyType( factory ), factory );
+		}
+		if ( type instanceof ComponentType ) {
+			for ( Type subtype : ( (ComponentType) type ).getSubtypes() ) {
+				if ( !isReadByPosition( subtype, factory ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private int[] resolve(String[] aliases) {
+		if ( aliases == null ) {
+			return null;
+		}
+		final int[] positions = new int[aliases.length];
+		for ( int i = 0; i < aliases.length; i++ ) {
+			final Integer position = aliases[i] == null ? null : positionsByLabel.get( aliases[i].toLowerCase() );
+			if ( position == null ) {
+				return null;
+			}
+			positions[i] = position;
+		}
+		return positions;
+	}
+
+	int[] getKeyPositions(int i) {
+		return keyPositions[i];
+	}
+
+	int[] getDiscriminatorPositions(int i) {
+		return discriminatorPositions[i];
+	}
+
+	int[] getVersionPositions(int i) {
+		return versionPositions[i];
+	}
+
+	/**
+	 * @return The position of the row id, or 0 if not known
+	 */
+	int getRowIdPosition(int i) {
+		return rowIdPositions[i];
+	}
+
+	/**
+	 * The positions of the property columns of the given entity, as hydrated by the given (sub)class persister.
+	 *
+	 * @param i The index of the entity
+	 * @param persister The persister of the concrete class of the entity
+	 * @param rootPersister The persister of the entity in the loader
+	 *
+	 * @return The positions of the columns of each property, or {@code null} if none is known
+	 */
+	int[][] getPropertyPositions(int i, Loadable persister, Loadable rootPersister) {
+		int[][] positions = propertyPositions[i].get( persister );
+		if ( positions == null ) {
+			final String[][] aliases = persister == rootPersister ?
+					entityAliases[i].getSuffixedPropertyAliases() :
+					entityAliases[i].getSuffixedPropertyAliases( persister );
+			final Type[] types = persister.getPropertyTypes();
+			positions = new int[aliases.length][];
+			boolean resolved = false;
+			for ( int j = 0; j < aliases.length; j++ ) {
+				positions[j] = isReadByPosition( types[j], persister.getFactory() ) ? resolve( aliases[j] ) : null;
+				resolved = resolved || positions[j] != null;
+			}
+			if ( !resolved ) {
+				positions = UNRESOLVED;
+			}
+			propertyPositions[i].put( persister, positions );
+		}
+		return positions == UNRESOLVED ? null : positions;
+	}
+}
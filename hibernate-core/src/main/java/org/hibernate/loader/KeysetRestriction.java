@@ -0,0 +1,360 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.QueryException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.sql.KeysetFragment;
+import org.hibernate.type.Type;
+
+/**
+ * Rewrites the SQL of a keyset paginated query, adding to its top-level <tt>where</tt> clause the
+ * {@link KeysetFragment condition} on its leading <tt>order by</tt> items, and binds the key values.
+ * <p/>
+ * The condition is bound after all the parameters of the query, so the query may not have parameters
+ * following its <tt>where</tt> clause, and it may not combine several selects.  The key values are bound
+ * with the key types given to the {@link org.hibernate.KeysetCursor}; a null key value is only supported
+ * on an <tt>order by</tt> item with an explicit <tt>nulls first</tt> or <tt>nulls last</tt>.
+ *
+ * @see org.hibernate.KeysetCursor
+ */
+final class KeysetRestriction {
+	private static final Pattern NULL_PRECEDENCE = Pattern.compile( "\\s+nulls\\s+(first|last)$", Pattern.CASE_INSENSITIVE );
+	private static final Pattern DIRECTION = Pattern.compile( "\\s+(asc|desc)$", Pattern.CASE_INSENSITIVE );
+	private static final Pattern ORDINAL = Pattern.compile( "\\d+" );
+	private static final Pattern SELECT_ITEM_ALIAS = Pattern.compile(
+			"(.*?[\\w$#)\"'\\]])\\s+(?:as\\s+)?([a-z_][\\w$#]*|\"[^\"]+\")",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+	);
+
+	private final String sql;
+	private final int[] parameterKeyIndexes;
+
+	private KeysetRestriction(String sql, int[] parameterKeyIndexes) {
+		this.sql = sql;
+		this.parameterKeyIndexes = parameterKeyIndexes;
+	}
+
+	static KeysetRestriction apply(String sql, int keyCount, Dialect dialect) {
+		return apply( sql, new boolean[keyCount], dialect );
+	}
+
+	static KeysetRestriction apply(String sql, boolean[] nullValues, Dialect dialect) {
+		final int keyCount = nullValues.length;
+		final String lower = sql.toLowerCase();
+		int select = -1;
+		int from = -1;
+		int where = -1;
+		int whereEnd = -1;
+		int orderBy = -1;
+		int orderByEnd = sql.length();
+		final List<String> orderByItems = new ArrayList<String>();
+		int itemStart = -1;
+
+		int depth = 0;
+		char quote = 0;
+		for ( int i = 0; i < sql.length(); i++ ) {
+			final char c = sql.charAt( i );
+			if ( quote != 0 ) {
+				if ( c == quote ) {
+					quote = 0;
+				}
+				continue;
+			}
+			if ( c == '\'' || c == '"' ) {
+				quote = c;
+			}
+			else if ( c == '(' ) {
+				depth++;
+			}
+			else if ( c == ')' ) {
+				depth--;
+			}
+			else if ( depth == 0 && c == ',' && itemStart >= 0 ) {
+				orderByItems.add( sql.substring( itemStart, i ) );
+				itemStart = i + 1;
+			}
+			else if ( depth == 0 && ( i == 0 || Character.isWhitespace( sql.charAt( i - 1 ) ) ) ) {
+				if ( matches( lower, i, "union" ) || matches( lower, i, "intersect" ) || matches( lower, i, "except" ) ) {
+					throw new QueryException( "Keyset pagination is not supported on a query combining several selects", sql );
+				}
+				if ( orderBy < 0 ) {
+					if ( select < 0 && matches( lower, i, "select" ) ) {
+						select = i;
+					}
+					else if ( select >= 0 && from < 0 && matches( lower, i, "from" ) ) {
+						from = i;
+					}
+					else if ( where < 0 && matches( lower, i, "where" ) ) {
+						where = i;
+					}
+					else if ( whereEnd < 0 && ( matches( lower, i, "group", "by" ) || matches( lower, i, "having" ) ) ) {
+						whereEnd = i;
+					}
+					else if ( matches( lower, i, "order", "by" ) ) {
+						orderBy = i;
+						if ( whereEnd < 0 ) {
+							whereEnd = i;
+						}
+						itemStart = lower.indexOf( "by", i + 5 ) + 2;
+					}
+				}
+				else if ( itemStart >= 0 && ( matches( lower, i, "limit" ) || matches( lower, i, "offset" )
+						|| matches( lower, i, "fetch" ) || matches( lower, i, "for" ) ) ) {
+					orderByEnd = i;
+					orderByItems.add( sql.substring( itemStart, i ) );
+					itemStart = -1;
+				}
+			}
+		}
+		if ( orderBy < 0 ) {
+			throw new QueryException( "Keyset pagination requires the query to be ordered by its key", sql );
+		}
+		if ( itemStart >= 0 ) {
+			orderByItems.add( sql.substring( itemStart, orderByEnd ) );
+		}
+		if ( orderByItems.size() < keyCount ) {
+			throw new QueryException(
+					"Keyset pagination was given " + keyCount + " key values, but the query is only ordered by "
+							+ orderByItems.size() + " items",
+					sql
+			);
+		}
+		if ( StringHelper.countUnquoted( sql.substring( whereEnd ), '?' ) > 0 ) {
+			throw new QueryException( "Keyset pagination is not supported on a query with parameters following its where clause", sql );
+		}
+
+		final Map<String, String> selectAliases = select >= 0 && from > select
+				? selectAliases( sql.substring( select + 6, from ) )
+				: Collections.<String, String>emptyMap();
+
+		final KeysetFragment fragment = new KeysetFragment()
+				.setUseRowValueConstructor( dialect.useRowValueConstructorSyntaxForKeyset() );
+		for ( int i = 0; i < keyCount; i++ ) {
+			String item = orderByItems.get( i ).trim();
+			KeysetFragment.NullPrecedence nullPrecedence = KeysetFragment.NullPrecedence.UNSPECIFIED;
+			final Matcher nullPrecedenceMatcher = NULL_PRECEDENCE.matcher( item );
+			if ( nullPrecedenceMatcher.find() ) {
+				nullPrecedence = "first".equalsIgnoreCase( nullPrecedenceMatcher.group( 1 ) ) ?
+						KeysetFragment.NullPrecedence.FIRST :
+						KeysetFragment.NullPrecedence.LAST;
+				item = item.substring( 0, nullPrecedenceMatcher.start() );
+			}
+			final boolean descending = item.toLowerCase().endsWith( "desc" ) && DIRECTION.matcher( item ).find();
+			item = DIRECTION.matcher( item ).replaceFirst( "" );
+			if ( ORDINAL.matcher( item ).matches() ) {
+				throw new QueryException( "Keyset pagination is not supported on a query ordered by select item position", sql );
+			}
+			final String aliased = selectAliases.get( item.toLowerCase() );
+			if ( aliased != null && !aliased.equalsIgnoreCase( item ) ) {
+				// the alias is only known to the order by clause, not to the where clause the condition is added to
+				throw new QueryException(
+						"Keyset pagination is not supported on a query ordered by select item alias [" + item
+								+ "]; order by the expression itself",
+						sql
+				);
+			}
+			if ( nullValues[i] && nullPrecedence == KeysetFragment.NullPrecedence.UNSPECIFIED ) {
+				throw new QueryException(
+						"Keyset value " + i + " is null, which requires its order by item to specify nulls first or nulls last",
+						sql
+				);
+			}
+			fragment.addKey( item, descending, nullPrecedence, nullValues[i] );
+		}
+
+		final StringBuilder buf = new StringBuilder( sql.length() + 64 );
+		if ( where < 0 ) {
+			buf.append( sql, 0, whereEnd ).append( "where " ).append( fragment.toFragmentString() ).append( ' ' );
+		}
+		else {
+			buf.append( sql, 0, where + 5 )
+					.append( " (" )
+					.append( sql.substring( where + 5, whereEnd ).trim() )
+					.append( ") and " )
+					.append( fragment.toFragmentString() )
+					.append( ' ' );
+		}
+		buf.append( sql, whereEnd, sql.length() );
+		return new KeysetRestriction( buf.toString(), fragment.getParameterKeyIndexes() );
+	}
+
+	/**
+	 * @return The expressions of the aliased items of the select list, by lower case alias
+	 */
+	private static Map<String, String> selectAliases(String selectList) {
+		final Map<String, String> aliases = new HashMap<String, String>();
+		String list = selectList.trim();
+		final String lower = list.toLowerCase();
+		if ( matches( lower, 0, "distinct" ) ) {
+			list = list.substring( 8 );
+		}
+		else if ( matches( lower, 0, "all" ) ) {
+			list = list.substring( 3 );
+		}
+		for ( String selectItem : splitTopLevel( list ) ) {
+			final Matcher matcher = SELECT_ITEM_ALIAS.matcher( selectItem.trim() );
+			if ( matcher.matches() && !"end".equalsIgnoreCase( matcher.group( 2 ) ) ) {
+				aliases.put( matcher.group( 2 ).toLowerCase(), matcher.group( 1 ).trim() );
+			}
+		}
+		return aliases;
+	}
+
+	private static List<String> splitTopLevel(String list) {
+		final List<String> items = new ArrayList<String>();
+		int depth = 0;
+		char quote = 0;
+		int start = 0;
+		for ( int i = 0; i < list.length(); i++ ) {
+			final char c = list.charAt( i );
+			if ( quote != 0 ) {
+				if ( c == quote ) {
+					quote = 0;
+				}
+			}
+			else if ( c == '\'' || c == '"' ) {
+				quote = c;
+			}
+			else if ( c == '(' ) {
+				depth++;
+			}
+			else if ( c == ')' ) {
+				depth--;
+			}
+			else if ( c == ',' && depth == 0 ) {
+				items.add( list.substring( start, i ) );
+				start = i + 1;
+			}
+		}
+		items.add( list.substring( start ) );
+		return items;
+	}
+
+	private static boolean matches(String lower, int start, String... words) {
+		int position = start;
+		for ( int i = 0; i < words.length; i++ ) {
+			if ( i > 0 ) {
+				final int wordStart = position;
+				while ( position < lower.length() && Character.isWhitespace( lower.charAt( position ) ) ) {
+					position++;
+				}
+				if ( position == wordStart ) {
+					return false;
+				}
+			}
+			if ( !lower.startsWith( words[i], position ) ) {
+				return false;
+			}
+			position += words[i].length();
+		}
+		return position == lower.length()
+				|| Character.isWhitespace( lower.charAt( position ) )
+				|| lower.charAt( position ) == '(';
+	}
+
+	String getSql() {
+		return sql;
+	}
+
+	int bindKeyValues(PreparedStatement st, int position, Type[] types, Object[] values, SessionImplementor session)
+			throws SQLException {
+		if ( types == null || types.length != values.length ) {
+			throw new QueryException( "Keyset pagination requires the type of each of its " + values.length + " key values" );
+		}
+		for ( int i = 0; i < parameterKeyIndexes.length; i++ ) {
+			final int key = parameterKeyIndexes[i];
+			types[key].nullSafeSet( st, values[key], position + i, session );
+		}
+		return parameterKeyIndexes.length;
+	}
+
+	/**
+	 * The rewritten SQL of the keyset paginated queries of a loader, per SQL string and null key values.
+	 */
+	static final class Cache {
+		// the filtered SQL of a loader only has a few variations, this just guards against unbounded growth
+		private static final int MAX_SIZE = 64;
+
+		private final ConcurrentMap<Key, KeysetRestriction> restrictions = new ConcurrentHashMap<Key, KeysetRestriction>();
+
+		KeysetRestriction get(String sql, Object[] values, Dialect dialect) {
+			final boolean[] nullValues = new boolean[values.length];
+			for ( int i = 0; i < values.length; i++ ) {
+				nullValues[i] = values[i] == null;
+			}
+			final Key key = new Key( sql, nullValues );
+			KeysetRestriction restriction = restrictions.get( key );
+			if ( restriction == null ) {
+				// rewriting twice on concurrent first use is harmless
+				restriction = apply( sql, nullValues, dialect );
+				if ( restrictions.size() < MAX_SIZE ) {
+					restrictions.putIfAbsent( key, restriction );
+				}
+			}
+			return restriction;
+		}
+	}
+
+	private static final class Key {
+		private final String sql;
+		private final boolean[] nullValues;
+		private final int hashCode;
+
+		private Key(String sql, boolean[] nullValues) {
+			this.sql = sql;
+			this.nullValues = nullValues;
+			this.hashCode = 31 * sql.hashCode() + Arrays.hashCode( nullValues );
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if ( !( other instanceof Key ) ) {
+				return false;
+			}
+			final Key that = (Key) other;
+			return sql.equals( that.sql ) && Arrays.equals( nullValues, that.nullValues );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
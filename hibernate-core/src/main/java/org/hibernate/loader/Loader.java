@@ -104,7 +104,10 @@ public abstract class Loader {
     protected static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, Loader.class.getName());
 
 	private final SessionFactoryImplementor factory;
-	private ColumnNameCache columnNameCache;
+	private volatile ColumnNameCache columnNameCache;
+	private volatile ColumnPositions columnPositions;
+	private volatile ColumnPositions limitedColumnPositions;
+	private volatile KeysetRestriction.Cache keysetRestrictions;
 
 	public Loader(SessionFactoryImplementor factory) {
 		this.factory = factory;
@@ -331,7 +334,10 @@ public abstract class Loader {
 					null,
 					hydratedObjects,
 					new EntityKey[entitySpan],
-					returnProxies
+					new Object[entitySpan],
+					returnProxies,
+					null,
+					getColumnPositions( resultSet, queryParameters )
 				);
 		}
 		catch ( SQLException sqle ) {
@@ -365,18 +371,24 @@ public abstract class Loader {
 
 		Object result = null;
 		final EntityKey[] loadedKeys = new EntityKey[entitySpan];
+		final Object[] hydratedKeyState = new Object[entitySpan];
+		final LockMode[] lockModesArray = getLockModes( queryParameters.getLockOptions() );
 
 		try {
+			final ColumnPositions positions = getColumnPositions( resultSet, queryParameters );
 			do {
 				Object loaded = getRowFromResultSet(
 						resultSet,
 						session,
 						queryParameters,
-						getLockModes( queryParameters.getLockOptions() ),
+						lockModesArray,
 						null,
 						hydratedObjects,
 						loadedKeys,
-						returnProxies
+						hydratedKeyState,
+						returnProxies,
+						null,
+						positions
 					);
 				if ( result == null ) {
 					result = loaded;
@@ -606,33 +618,23 @@ public abstract class Loader {
 	        final EntityKey optionalObjectKey,
 	        final List hydratedObjects,
 	        final EntityKey[] keys,
-	        boolean returnProxies) throws SQLException, HibernateException {
-		return getRowFromResultSet(
+	        final Object[] hydratedKeyState,
+	        boolean returnProxies,
+	        ResultTransformer forcedResultTransformer,
+	        ColumnPositions positions) throws SQLException, HibernateException {
+		final Loadable[] persisters = getEntityPersisters();
+		final int entitySpan = persisters.length;
+		extractKeysFromResultSet(
+				persisters,
+				queryParameters,
 				resultSet,
 				session,
-				queryParameters,
+				keys,
+				hydratedKeyState,
 				lockModesArray,
-				optionalObjectKey,
 				hydratedObjects,
-				keys,
-				returnProxies,
-				null
+				positions
 		);
-	}
-
-	private Object getRowFromResultSet(
-	        final ResultSet resultSet,
-	        final SessionImplementor session,
-	        final QueryParameters queryParameters,
-	        final LockMode[] lockModesArray,
-	        final EntityKey optionalObjectKey,
-	        final List hydratedObjects,
-	        final EntityKey[] keys,
-	        boolean returnProxies,
-	        ResultTransformer forcedResultTransformer) throws SQLException, HibernateException {
-		final Loadable[] persisters = getEntityPersisters();
-		final int entitySpan = persisters.length;
-		extractKeysFromResultSet( persisters, queryParameters, resultSet, session, keys, lockModesArray, hydratedObjects );
 
 		registerNonExists( keys, persisters, session );
 
@@ -645,7 +647,8 @@ public abstract class Loader {
 				optionalObjectKey,
 				lockModesArray,
 				hydratedObjects,
-				session
+				session,
+				positions
 		);
 
 		readCollectionElements( row, resultSet, session );
@@ -674,14 +677,23 @@ public abstract class Loader {
 		;
 	}
 
+	/**
+	 * Read the keys of the entities in the current row.
+	 *
+	 * @param keys The keys of the entities; on entry, the keys read from the previous row (if any), which are
+	 * reused when the entity is the same
+	 * @param hydratedKeyState Scratch space for the hydrated key values, sized to the number of persisters
+	 */
 	protected void extractKeysFromResultSet(
 			Loadable[] persisters,
 			QueryParameters queryParameters,
 			ResultSet resultSet,
 			SessionImplementor session,
 			EntityKey[] keys,
+			Object[] hydratedKeyState,
 			LockMode[] lockModes,
-			List hydratedObjects) throws SQLException {
+			List hydratedObjects,
+			ColumnPositions positions) throws SQLException {
 		final int entitySpan = persisters.length;
 
 		final int numberOfPersistersToProcess;
@@ -695,11 +707,14 @@ public abstract class Loader {
 			numberOfPersistersToProcess = entitySpan;
 		}
 
-		final Object[] hydratedKeyState = new Object[numberOfPersistersToProcess];
+		EntityKey optionalObjectKey = null;
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
 			final Type idType = persisters[i].getIdentifierType();
-			hydratedKeyState[i] = idType.hydrate( resultSet, getEntityAliases()[i].getSuffixedKeyAliases(), session, null );
+			final int[] keyPositions = positions == null ? null : positions.getKeyPositions( i );
+			hydratedKeyState[i] = keyPositions == null ?
+					idType.hydrate( resultSet, getEntityAliases()[i].getSuffixedKeyAliases(), session, null ) :
+					idType.hydrate( resultSet, keyPositions, session, null );
 		}
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
@@ -733,10 +748,14 @@ public abstract class Loader {
 									keys[targetIndex],
 									object,
 									lockModes[targetIndex],
-									session
+									session,
+									positions
 							);
 						}
 						else {
+							if ( optionalObjectKey == null ) {
+								optionalObjectKey = getOptionalObjectKey( queryParameters, session );
+							}
 							instanceNotYetLoaded(
 									resultSet,
 									targetIndex,
@@ -744,17 +763,24 @@ public abstract class Loader {
 									getEntityAliases()[targetIndex].getRowIdAlias(),
 									keys[targetIndex],
 									lockModes[targetIndex],
-									getOptionalObjectKey( queryParameters, session ),
+									optionalObjectKey,
 									queryParameters.getOptionalObject(),
 									hydratedObjects,
-									session
+									session,
+									positions
 							);
 						}
 					}
 				}
 			}
 			final Serializable resolvedId = (Serializable) idType.resolve( hydratedKeyState[i], session, null );
-			keys[i] = resolvedId == null ? null : session.generateEntityKey( resolvedId, persisters[i] );
+			if ( resolvedId == null ) {
+				keys[i] = null;
+			}
+			else if ( keys[i] == null || !idType.isEqual( keys[i].getIdentifier(), resolvedId, getFactory() ) ) {
+				keys[i] = session.generateEntityKey( resolvedId, persisters[i] );
+			}
+			// else the same entity as in the previous row (typically a collection fetch): keep its key
 		}
 	}
 
@@ -844,14 +870,20 @@ public abstract class Loader {
 
 			handleEmptyCollections( queryParameters.getCollectionKeys(), rs, session );
 
+			final ColumnPositions positions = getColumnPositions( rs, queryParameters );
+
 			EntityKey[] keys = new EntityKey[entitySpan]; //we can reuse it for each row
+			final Object[] hydratedKeyState = new Object[entitySpan];
+			final boolean debugEnabled = LOG.isDebugEnabled();
 
 			LOG.trace( "Processing result set" );
 
 			int count;
 			for ( count = 0; count < maxRows && rs.next(); count++ ) {
 
-				LOG.debugf( "Result set row: %s", count );
+				if ( debugEnabled ) {
+					LOG.debugf( "Result set row: %s", count );
+				}
 
 				Object result = getRowFromResultSet(
 						rs,
@@ -861,8 +893,10 @@ public abstract class Loader {
 						optionalObjectKey,
 						hydratedObjects,
 						keys,
+						hydratedKeyState,
 						returnProxies,
-						forcedResultTransformer
+						forcedResultTransformer,
+						positions
 				);
 				results.add( result );
 
@@ -1307,19 +1341,18 @@ public abstract class Loader {
 	        final Serializable id,
 	        final Object entity,
 	        final ResultSet rs,
-	        final SessionImplementor session)
+	        final SessionImplementor session,
+	        final ColumnPositions positions)
 	throws HibernateException, SQLException {
 
 		Object version = session.getPersistenceContext().getEntry( entity ).getVersion();
 
 		if ( version != null ) { //null version means the object is in the process of being loaded somewhere else in the ResultSet
 			VersionType versionType = persister.getVersionType();
-			Object currentVersion = versionType.nullSafeGet(
-					rs,
-					getEntityAliases()[i].getSuffixedVersionAliases(),
-					session,
-					null
-				);
+			final int[] versionPositions = positions == null ? null : positions.getVersionPositions( i );
+			Object currentVersion = versionPositions == null ?
+					versionType.nullSafeGet( rs, getEntityAliases()[i].getSuffixedVersionAliases(), session, null ) :
+					versionType.nullSafeGet( rs, versionPositions, session, null );
 			if ( !versionType.isEqual(version, currentVersion) ) {
 				if ( session.getFactory().getStatistics().isStatisticsEnabled() ) {
 					session.getFactory().getStatisticsImplementor()
@@ -1346,7 +1379,8 @@ public abstract class Loader {
 	        final EntityKey optionalObjectKey,
 	        final LockMode[] lockModes,
 	        final List hydratedObjects,
-	        final SessionImplementor session)
+	        final SessionImplementor session,
+	        final ColumnPositions positions)
 	throws HibernateException, SQLException {
 
 		final int cols = persisters.length;
@@ -1377,7 +1411,8 @@ public abstract class Loader {
 							key,
 							object,
 							lockModes[i],
-							session
+							session,
+							positions
 						);
 				}
 				else {
@@ -1391,7 +1426,8 @@ public abstract class Loader {
 							optionalObjectKey,
 							optionalObject,
 							hydratedObjects,
-							session
+							session,
+							positions
 						);
 				}
 
@@ -1414,7 +1450,8 @@ public abstract class Loader {
 	        final EntityKey key,
 	        final Object object,
 	        final LockMode lockMode,
-	        final SessionImplementor session)
+	        final SessionImplementor session,
+	        final ColumnPositions positions)
 			throws HibernateException, SQLException {
 		if ( !persister.isInstance( object ) ) {
 			throw new WrongClassException(
@@ -1434,7 +1471,7 @@ public abstract class Loader {
 			// loads _always_ have lock mode NONE)
 			if (isVersionCheckNeeded) {
 				//we only check the version when _upgrading_ lock modes
-				checkVersion( i, persister, key.getIdentifier(), object, rs, session );
+				checkVersion( i, persister, key.getIdentifier(), object, rs, session, positions );
 				//we need to upgrade the lock mode to the mode requested
 				session.getPersistenceContext().getEntry(object)
 						.setLockMode(lockMode);
@@ -1455,14 +1492,16 @@ public abstract class Loader {
 	        final EntityKey optionalObjectKey,
 	        final Object optionalObject,
 	        final List hydratedObjects,
-	        final SessionImplementor session)
+	        final SessionImplementor session,
+	        final ColumnPositions positions)
 	throws HibernateException, SQLException {
 		final String instanceClass = getInstanceClass(
 				rs,
 				i,
 				persister,
 				key.getIdentifier(),
-				session
+				session,
+				positions
 			);
 
 		final Object object;
@@ -1490,7 +1529,8 @@ public abstract class Loader {
 				rowIdAlias,
 				acquiredLockMode,
 				persister,
-				session
+				session,
+				positions
 			);
 
 		//materialize associations (and initialize the object) later
@@ -1519,7 +1559,8 @@ public abstract class Loader {
 	        final String rowIdAlias,
 	        final LockMode lockMode,
 	        final Loadable rootPersister,
-	        final SessionImplementor session)
+	        final SessionImplementor session,
+	        final ColumnPositions positions)
 	throws SQLException, HibernateException {
 
 		final Serializable id = key.getIdentifier();
@@ -1555,11 +1596,19 @@ public abstract class Loader {
 				object,
 				rootPersister,
 				cols,
+				positions == null ? null : positions.getPropertyPositions( i, persister, rootPersister ),
 				eagerPropertyFetch,
 				session
 			);
 
-		final Object rowId = persister.hasRowId() ? rs.getObject(rowIdAlias) : null;
+		final Object rowId;
+		if ( persister.hasRowId() ) {
+			final int rowIdPosition = positions == null ? 0 : positions.getRowIdPosition( i );
+			rowId = rowIdPosition == 0 ? rs.getObject( rowIdAlias ) : rs.getObject( rowIdPosition );
+		}
+		else {
+			rowId = null;
+		}
 
 		final AssociationType[] ownerAssociationTypes = getOwnerAssociationTypes();
 		if ( ownerAssociationTypes != null && ownerAssociationTypes[i] != null ) {
@@ -1606,18 +1655,22 @@ public abstract class Loader {
 	        final int i,
 	        final Loadable persister,
 	        final Serializable id,
-	        final SessionImplementor session)
+	        final SessionImplementor session,
+	        final ColumnPositions positions)
 	throws HibernateException, SQLException {
 
 		if ( persister.hasSubclasses() ) {
 
 			// Code to handle subclasses of topClass
-			Object discriminatorValue = persister.getDiscriminatorType().nullSafeGet(
-					rs,
-					getEntityAliases()[i].getSuffixedDiscriminatorAlias(),
-					session,
-					null
-				);
+			final int[] discriminatorPositions = positions == null ? null : positions.getDiscriminatorPositions( i );
+			Object discriminatorValue = discriminatorPositions == null ?
+					persister.getDiscriminatorType().nullSafeGet(
+							rs,
+							getEntityAliases()[i].getSuffixedDiscriminatorAlias(),
+							session,
+							null
+					) :
+					persister.getDiscriminatorType().nullSafeGet( rs, discriminatorPositions, session, null );
 
 			final String result = persister.getSubclassForDiscriminatorValue( discriminatorValue );
 
@@ -1717,6 +1770,12 @@ public abstract class Loader {
 		final boolean useScrollableResultSetToSkip = hasFirstRow &&
 				!useLimitOffset && canScroll;
 		final ScrollMode scrollMode = getScrollMode( scroll, hasFirstRow, useLimit, queryParameters );
+		final KeysetRestriction keyset = selection != null && selection.definesKeyset() ?
+				getKeysetRestrictions().get( sql, selection.getKeysetValues(), dialect ) :
+				null;
+		if ( keyset != null ) {
+			sql = keyset.getSql();
+		}
 //
 //		if(canScroll && ( scroll || useScrollableResultSetToSkip )){
 //			 scrollMode = scroll ? queryParameters.getScrollMode() : ScrollMode.SCROLL_INSENSITIVE;
@@ -1755,6 +1814,10 @@ public abstract class Loader {
 
 			col += bindParameterValues( st, queryParameters, col, session );
 
+			if ( keyset != null ) {
+				col += keyset.bindKeyValues( st, col, selection.getKeysetTypes(), selection.getKeysetValues(), session );
+			}
+
 			if ( useLimit && !dialect.bindLimitParametersFirst() ) {
 				col += bindLimitParameters( st, col, selection );
 			}
@@ -1998,9 +2061,7 @@ public abstract class Loader {
 
 	}
 
-	private synchronized ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
-		// synchronized to avoid multi-thread access issues; defined as method synch to avoid
-		// potential deadlock issues due to nature of code.
+	private ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
 		if ( session.getFactory().getSettings().isWrapResultSetsEnabled() ) {
 			try {
 				LOG.debugf( "Wrapping result set [%s]", rs );
@@ -2019,12 +2080,49 @@ public abstract class Loader {
 	}
 
 	private ColumnNameCache retreiveColumnNameToIndexCache(ResultSet rs) throws SQLException {
-		if ( columnNameCache == null ) {
+		// the cache is thread-safe, so building it twice on concurrent first use is harmless
+		ColumnNameCache cache = columnNameCache;
+		if ( cache == null ) {
 			LOG.trace( "Building columnName->columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+			cache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+			columnNameCache = cache;
 		}
 
-		return columnNameCache;
+		return cache;
+	}
+
+	private KeysetRestriction.Cache getKeysetRestrictions() {
+		// creating it twice on concurrent first use is harmless
+		KeysetRestriction.Cache cache = keysetRestrictions;
+		if ( cache == null ) {
+			cache = new KeysetRestriction.Cache();
+			keysetRestrictions = cache;
+		}
+		return cache;
+	}
+
+	/**
+	 * The positions of the entity columns in the results of this loader, resolved on first use for each
+	 * SQL shape: the dialect may add columns to the select clause to apply a limit.
+	 */
+	private ColumnPositions getColumnPositions(ResultSet rs, QueryParameters queryParameters) throws SQLException {
+		if ( getEntityPersisters().length == 0 ) {
+			return null;
+		}
+		final boolean limited = useLimit( queryParameters.getRowSelection(), getFactory().getDialect() );
+		ColumnPositions positions = limited ? limitedColumnPositions : columnPositions;
+		if ( positions == null ) {
+			// resolving twice on concurrent first use is harmless
+			LOG.trace( "Resolving entity column positions" );
+			positions = ColumnPositions.resolve( rs, getEntityAliases(), getEntityPersisters() );
+			if ( limited ) {
+				limitedColumnPositions = positions;
+			}
+			else {
+				columnPositions = positions;
+			}
+		}
+		return positions;
 	}
 
 	/**
@@ -2425,7 +2523,7 @@ public abstract class Loader {
 			final QueryCache queryCache,
 			final QueryKey key,
 			final List result) {
-		if ( session.getCacheMode().isPutEnabled() ) {
+		if ( session.getCacheMode().isPutEnabled() && !session.isReadingFromReplica() ) {
 			boolean put = queryCache.put(
 					key,
 					key.getResultTransformer().getCachedResultTypes( resultTypes ),
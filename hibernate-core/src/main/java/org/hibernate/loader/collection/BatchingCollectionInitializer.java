@@ -31,6 +31,7 @@ import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.loader.Loader;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.collection.QueryableCollection;
@@ -91,7 +92,30 @@ public class BatchingCollectionInitializer implements CollectionInitializer {
 			final int maxBatchSize,
 			final SessionFactoryImplementor factory,
 			final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
-		if ( maxBatchSize > 1 ) {
+		return createBatchingOneToManyInitializer(
+				persister,
+				maxBatchSize,
+				BatchFetchStyle.LEGACY,
+				factory,
+				loadQueryInfluencers
+		);
+	}
+
+	public static CollectionInitializer createBatchingOneToManyInitializer(
+			final QueryableCollection persister,
+			final int maxBatchSize,
+			final BatchFetchStyle batchFetchStyle,
+			final SessionFactoryImplementor factory,
+			final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
+		if ( maxBatchSize > 1 && batchFetchStyle == BatchFetchStyle.PADDED ) {
+			return new PaddedBatchingCollectionInitializer(
+					persister,
+					maxBatchSize,
+					new OneToManyLoader( persister, maxBatchSize, factory, loadQueryInfluencers ),
+					new OneToManyLoader( persister, factory, loadQueryInfluencers )
+			);
+		}
+		else if ( maxBatchSize > 1 ) {
 			int[] batchSizesToCreate = ArrayHelper.getBatchSizes(maxBatchSize);
 			Loader[] loadersToCreate = new Loader[ batchSizesToCreate.length ];
 			for ( int i=0; i<batchSizesToCreate.length; i++ ) {
@@ -109,7 +133,30 @@ public class BatchingCollectionInitializer implements CollectionInitializer {
 			final int maxBatchSize,
 			final SessionFactoryImplementor factory,
 			final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
-		if ( maxBatchSize > 1 ) {
+		return createBatchingCollectionInitializer(
+				persister,
+				maxBatchSize,
+				BatchFetchStyle.LEGACY,
+				factory,
+				loadQueryInfluencers
+		);
+	}
+
+	public static CollectionInitializer createBatchingCollectionInitializer(
+			final QueryableCollection persister,
+			final int maxBatchSize,
+			final BatchFetchStyle batchFetchStyle,
+			final SessionFactoryImplementor factory,
+			final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
+		if ( maxBatchSize > 1 && batchFetchStyle == BatchFetchStyle.PADDED ) {
+			return new PaddedBatchingCollectionInitializer(
+					persister,
+					maxBatchSize,
+					new BasicCollectionLoader( persister, maxBatchSize, factory, loadQueryInfluencers ),
+					new BasicCollectionLoader( persister, factory, loadQueryInfluencers )
+			);
+		}
+		else if ( maxBatchSize > 1 ) {
 			int[] batchSizesToCreate = ArrayHelper.getBatchSizes( maxBatchSize );
 			Loader[] loadersToCreate = new Loader[ batchSizesToCreate.length ];
 			for ( int i=0; i<batchSizesToCreate.length; i++ ) {
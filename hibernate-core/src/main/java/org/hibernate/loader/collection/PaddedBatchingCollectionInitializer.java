@@ -0,0 +1,81 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.collection;
+
+import java.io.Serializable;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.Loader;
+import org.hibernate.persister.collection.CollectionPersister;
+
+/**
+ * "Batch" loads collections using a single SQL statement per persister, whatever the number of
+ * keys waiting to be fetched: a batch smaller than the maximum batch size is padded by repeating
+ * the requested key.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#PADDED
+ * @see BatchingCollectionInitializer
+ */
+public class PaddedBatchingCollectionInitializer implements CollectionInitializer {
+	private final CollectionPersister collectionPersister;
+	private final int batchSize;
+	private final Loader batchLoader;
+	private final Loader singleLoader;
+
+	public PaddedBatchingCollectionInitializer(
+			CollectionPersister collectionPersister,
+			int batchSize,
+			Loader batchLoader,
+			Loader singleLoader) {
+		this.collectionPersister = collectionPersister;
+		this.batchSize = batchSize;
+		this.batchLoader = batchLoader;
+		this.singleLoader = singleLoader;
+	}
+
+	public CollectionPersister getCollectionPersister() {
+		return collectionPersister;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void initialize(Serializable id, SessionImplementor session) throws HibernateException {
+		final Serializable[] batch = session.getPersistenceContext().getBatchFetchQueue()
+				.getCollectionBatch( collectionPersister, id, batchSize );
+
+		if ( batch[1] == null ) {
+			// nothing else to fetch, no point in sending a padded IN list
+			singleLoader.loadCollection( session, id, collectionPersister.getKeyType() );
+			return;
+		}
+
+		for ( int i = batch.length - 1; i > 0 && batch[i] == null; i-- ) {
+			batch[i] = id;
+		}
+		batchLoader.loadCollectionBatch( session, batch, collectionPersister.getKeyType() );
+	}
+}
@@ -314,6 +314,8 @@ public class CriteriaQueryTranslator implements CriteriaQuery {
 		selection.setMaxRows( rootCriteria.getMaxResults() );
 		selection.setTimeout( rootCriteria.getTimeout() );
 		selection.setFetchSize( rootCriteria.getFetchSize() );
+		selection.setKeysetValues( rootCriteria.getKeysetValues() );
+		selection.setKeysetTypes( rootCriteria.getKeysetTypes() );
 
 		Iterator iter = rootCriteria.getLockModes().entrySet().iterator();
 		while ( iter.hasNext() ) {
@@ -35,6 +35,7 @@ import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.loader.Loader;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.OuterJoinLoadable;
@@ -61,7 +62,7 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 		idType = persister.getIdentifierType();
 	}
 
-	private Object getObjectFromList(List results, Serializable id, SessionImplementor session) {
+	static Object getObjectFromList(List results, Serializable id, Type idType, SessionImplementor session) {
 		// get the right object from the list ... would it be easier to just call getEntity() ??
 		Iterator iter = results.iterator();
 		while ( iter.hasNext() ) {
@@ -104,7 +105,7 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 						persister,
 						lockOptions
 				);
-				return getObjectFromList(results, id, session); //EARLY EXIT
+				return getObjectFromList(results, id, idType, session); //EARLY EXIT
 			}
 		}
 
@@ -118,8 +119,33 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 		final LockMode lockMode,
 		final SessionFactoryImplementor factory,
 		final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
+		return createBatchingEntityLoader(
+				persister,
+				maxBatchSize,
+				BatchFetchStyle.LEGACY,
+				lockMode,
+				factory,
+				loadQueryInfluencers
+		);
+	}
+
+	public static UniqueEntityLoader createBatchingEntityLoader(
+		final OuterJoinLoadable persister,
+		final int maxBatchSize,
+		final BatchFetchStyle batchFetchStyle,
+		final LockMode lockMode,
+		final SessionFactoryImplementor factory,
+		final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
 
-		if ( maxBatchSize>1 ) {
+		if ( maxBatchSize>1 && batchFetchStyle==BatchFetchStyle.PADDED ) {
+			return new PaddedBatchingEntityLoader(
+					persister,
+					maxBatchSize,
+					new EntityLoader(persister, maxBatchSize, lockMode, factory, loadQueryInfluencers),
+					new EntityLoader(persister, lockMode, factory, loadQueryInfluencers)
+			);
+		}
+		else if ( maxBatchSize>1 ) {
 			int[] batchSizesToCreate = ArrayHelper.getBatchSizes(maxBatchSize);
 			Loader[] loadersToCreate = new Loader[ batchSizesToCreate.length ];
 			for ( int i=0; i<batchSizesToCreate.length; i++ ) {
@@ -138,8 +164,33 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 		final LockOptions lockOptions,
 		final SessionFactoryImplementor factory,
 		final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
+		return createBatchingEntityLoader(
+				persister,
+				maxBatchSize,
+				BatchFetchStyle.LEGACY,
+				lockOptions,
+				factory,
+				loadQueryInfluencers
+		);
+	}
+
+	public static UniqueEntityLoader createBatchingEntityLoader(
+		final OuterJoinLoadable persister,
+		final int maxBatchSize,
+		final BatchFetchStyle batchFetchStyle,
+		final LockOptions lockOptions,
+		final SessionFactoryImplementor factory,
+		final LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
 
-		if ( maxBatchSize>1 ) {
+		if ( maxBatchSize>1 && batchFetchStyle==BatchFetchStyle.PADDED ) {
+			return new PaddedBatchingEntityLoader(
+					persister,
+					maxBatchSize,
+					new EntityLoader(persister, maxBatchSize, lockOptions, factory, loadQueryInfluencers),
+					new EntityLoader(persister, lockOptions, factory, loadQueryInfluencers)
+			);
+		}
+		else if ( maxBatchSize>1 ) {
 			int[] batchSizesToCreate = ArrayHelper.getBatchSizes(maxBatchSize);
 			Loader[] loadersToCreate = new Loader[ batchSizesToCreate.length ];
 			for ( int i=0; i<batchSizesToCreate.length; i++ ) {
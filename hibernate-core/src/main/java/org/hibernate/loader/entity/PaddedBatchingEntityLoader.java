@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.entity;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.Loader;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+/**
+ * "Batch" loads entities using a single SQL statement per persister, whatever the number of
+ * keys waiting to be fetched: a batch smaller than the maximum batch size is padded by repeating
+ * the requested identifier.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#PADDED
+ * @see BatchingEntityLoader
+ */
+public class PaddedBatchingEntityLoader implements UniqueEntityLoader {
+	private final EntityPersister persister;
+	private final Type idType;
+	private final int batchSize;
+	private final Loader batchLoader;
+	private final UniqueEntityLoader singleLoader;
+
+	public PaddedBatchingEntityLoader(
+			EntityPersister persister,
+			int batchSize,
+			Loader batchLoader,
+			UniqueEntityLoader singleLoader) {
+		this.persister = persister;
+		this.idType = persister.getIdentifierType();
+		this.batchSize = batchSize;
+		this.batchLoader = batchLoader;
+		this.singleLoader = singleLoader;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object load(Serializable id, Object optionalObject, SessionImplementor session) {
+		// this form is deprecated!
+		return load( id, optionalObject, session, LockOptions.NONE );
+	}
+
+	public Object load(Serializable id, Object optionalObject, SessionImplementor session, LockOptions lockOptions) {
+		final Serializable[] batch = session.getPersistenceContext()
+				.getBatchFetchQueue()
+				.getEntityBatch( persister, id, batchSize, persister.getEntityMode() );
+
+		if ( batch[1] == null ) {
+			// nothing else to fetch, no point in sending a padded IN list
+			return singleLoader.load( id, optionalObject, session );
+		}
+
+		pad( batch, id );
+		final List results = batchLoader.loadEntityBatch(
+				session,
+				batch,
+				idType,
+				optionalObject,
+				persister.getEntityName(),
+				id,
+				persister,
+				lockOptions
+		);
+		return BatchingEntityLoader.getObjectFromList( results, id, idType, session );
+	}
+
+	private static void pad(Serializable[] batch, Serializable id) {
+		for ( int i = batch.length - 1; i > 0 && batch[i] == null; i-- ) {
+			batch[i] = id;
+		}
+	}
+}
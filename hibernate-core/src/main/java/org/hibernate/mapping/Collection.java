@@ -75,6 +75,7 @@ public abstract class Collection implements Fetchable, Value, Filterable {
 	private String comparatorClassName;
 	private boolean orphanDelete;
 	private int batchSize = -1;
+	private String batchFetchStyle;
 	private FetchMode fetchMode;
 	private boolean embedded = true;
 	private boolean optimisticLocked = true;
@@ -280,6 +281,18 @@ public abstract class Collection implements Fetchable, Value, Filterable {
 		batchSize = i;
 	}
 
+	/**
+	 * @return The name of the batch fetch style of this collection (see {@link org.hibernate.loader.BatchFetchStyle}),
+	 * or {@code null} to use the global setting
+	 */
+	public String getBatchFetchStyle() {
+		return batchFetchStyle;
+	}
+
+	public void setBatchFetchStyle(String batchFetchStyle) {
+		this.batchFetchStyle = batchFetchStyle;
+	}
+
 	public FetchMode getFetchMode() {
 		return fetchMode;
 	}
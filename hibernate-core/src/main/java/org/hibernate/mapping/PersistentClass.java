@@ -72,6 +72,7 @@ public abstract class PersistentClass implements Serializable, Filterable, MetaA
 	private boolean dynamicInsert;
 	private boolean dynamicUpdate;
 	private int batchSize=-1;
+	private String batchFetchStyle;
 	private boolean selectBeforeUpdate;
 	private java.util.Map metaAttributes;
 	private ArrayList joins = new ArrayList();
@@ -335,6 +336,18 @@ public abstract class PersistentClass implements Serializable, Filterable, MetaA
 		this.batchSize = batchSize;
 	}
 
+	/**
+	 * @return The name of the batch fetch style of this entity (see {@link org.hibernate.loader.BatchFetchStyle}),
+	 * or {@code null} to use the global setting
+	 */
+	public String getBatchFetchStyle() {
+		return batchFetchStyle;
+	}
+
+	public void setBatchFetchStyle(String batchFetchStyle) {
+		this.batchFetchStyle = batchFetchStyle;
+	}
+
 	public boolean hasSelectBeforeUpdate() {
 		return selectBeforeUpdate;
 	}
@@ -89,6 +89,7 @@ public class EntityBinding implements AttributeBindingContainer {
 	private boolean dynamicInsert;
 
 	private int batchSize;
+	private String batchFetchStyle;
 	private boolean selectBeforeUpdate;
 	private boolean hasSubselectLoadableCollections;
 
@@ -388,6 +389,14 @@ public class EntityBinding implements AttributeBindingContainer {
 		this.batchSize = batchSize;
 	}
 
+	public String getBatchFetchStyle() {
+		return batchFetchStyle;
+	}
+
+	public void setBatchFetchStyle(String batchFetchStyle) {
+		this.batchFetchStyle = batchFetchStyle;
+	}
+
 	public boolean isSelectBeforeUpdate() {
 		return selectBeforeUpdate;
 	}
@@ -29,6 +29,7 @@ import org.hibernate.annotations.AccessType;
 import org.hibernate.annotations.Any;
 import org.hibernate.annotations.AnyMetaDef;
 import org.hibernate.annotations.AnyMetaDefs;
+import org.hibernate.annotations.BatchFetch;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.Cascade;
@@ -110,6 +111,7 @@ public interface HibernateDotNames {
 	DotName ANY = DotName.createSimple( Any.class.getName() );
 	DotName ANY_META_DEF = DotName.createSimple( AnyMetaDef.class.getName() );
 	DotName ANY_META_DEFS = DotName.createSimple( AnyMetaDefs.class.getName() );
+	DotName BATCH_FETCH = DotName.createSimple( BatchFetch.class.getName() );
 	DotName BATCH_SIZE = DotName.createSimple( BatchSize.class.getName() );
 	DotName CACHE = DotName.createSimple( Cache.class.getName() );
 	DotName CASCADE = DotName.createSimple( Cascade.class.getName() );
@@ -86,6 +86,7 @@ public class EntityClass extends ConfiguredClass {
 	private final String customLoaderQueryName;
 	private final List<String> synchronizedTableNames;
 	private final int batchSize;
+	private final String batchFetchStyle;
 
 	private final TableSource primaryTableSource;
 	private final Set<TableSource> secondaryTableSources;
@@ -146,6 +147,7 @@ public class EntityClass extends ConfiguredClass {
 		this.customLoaderQueryName = determineCustomLoader();
 		this.synchronizedTableNames = determineSynchronizedTableNames();
 		this.batchSize = determineBatchSize();
+		this.batchFetchStyle = determineBatchFetchStyle();
 		this.jpaCallbacks = determineEntityListeners();
 
 		processHibernateEntitySpecificAnnotations();
@@ -267,6 +269,10 @@ public class EntityClass extends ConfiguredClass {
 		return batchSize;
 	}
 
+	public String getBatchFetchStyle() {
+		return batchFetchStyle;
+	}
+
 	public boolean isEntityRoot() {
 		return getParent() == null;
 	}
@@ -762,6 +768,13 @@ public class EntityClass extends ConfiguredClass {
 		return batchSizeAnnotation == null ? -1 : batchSizeAnnotation.value( "size" ).asInt();
 	}
 
+	private String determineBatchFetchStyle() {
+		final AnnotationInstance batchFetchAnnotation = JandexHelper.getSingleAnnotation(
+				getClassInfo(), HibernateDotNames.BATCH_FETCH
+		);
+		return batchFetchAnnotation == null ? null : batchFetchAnnotation.value( "style" ).asEnum();
+	}
+
 	private List<JpaCallbackClass> determineEntityListeners() {
 		List<JpaCallbackClass> callbackClassList = new ArrayList<JpaCallbackClass>();
 
@@ -110,6 +110,11 @@ public class EntitySourceImpl implements EntitySource {
 		return entityClass.getBatchSize();
 	}
 
+	@Override
+	public String getBatchFetchStyle() {
+		return entityClass.getBatchFetchStyle();
+	}
+
 	@Override
 	public boolean isDynamicInsert() {
 		return entityClass.isDynamicInsert();
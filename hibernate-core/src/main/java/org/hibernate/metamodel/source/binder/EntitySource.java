@@ -123,6 +123,15 @@ public interface EntitySource extends SubclassEntityContainer, AttributeSourceCo
 	 */
 	public int getBatchSize();
 
+	/**
+	 * Obtain the name of the batch fetch style to be applied when initializing proxies of this entity.
+	 *
+	 * @return The batch fetch style name, or {@code null} to use the global setting
+	 *
+	 * @see org.hibernate.loader.BatchFetchStyle
+	 */
+	public String getBatchFetchStyle();
+
 	/**
 	 * Is the entity abstract?
 	 * <p/>
@@ -124,6 +124,11 @@ public abstract class AbstractEntitySourceImpl implements EntitySource {
 		return Helper.getIntValue( entityElement.getBatchSize(), -1 );
 	}
 
+	@Override
+	public String getBatchFetchStyle() {
+		return entityElement.getBatchFetchStyle();
+	}
+
 	@Override
 	public boolean isDynamicInsert() {
 		return entityElement.isDynamicInsert();
@@ -66,6 +66,7 @@ import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.loader.collection.CollectionInitializer;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
@@ -172,6 +173,7 @@ public abstract class AbstractCollectionPersister
 	private final boolean isMutable;
 	private final boolean isVersioned;
 	protected final int batchSize;
+	protected final BatchFetchStyle batchFetchStyle;
 	private final FetchMode fetchMode;
 	private final boolean hasOrphanDelete;
 	private final boolean subselectLoadable;
@@ -283,6 +285,9 @@ public abstract class AbstractCollectionPersister
 			batch = factory.getSettings().getDefaultBatchFetchSize();
 		}
 		batchSize = batch;
+		batchFetchStyle = collection.getBatchFetchStyle() == null
+				? factory.getSettings().getBatchFetchStyle()
+				: BatchFetchStyle.interpret( collection.getBatchFetchStyle() );
 
 		isVersioned = collection.isOptimisticLocked();
 
@@ -1555,6 +1560,10 @@ public abstract class AbstractCollectionPersister
 		return spaces;
 	}
 
+	public boolean isBatchLoadable() {
+		return batchSize > 1;
+	}
+
 	protected abstract String generateDeleteString();
 
 	protected abstract String generateDeleteRowString();
@@ -233,6 +233,11 @@ public interface CollectionPersister {
 	 */
 	public Serializable[] getCollectionSpaces();
 
+	/**
+	 * Is batch loading enabled?
+	 */
+	public boolean isBatchLoadable();
+
 	public CollectionMetadata getCollectionMetadata();
 
 	/**
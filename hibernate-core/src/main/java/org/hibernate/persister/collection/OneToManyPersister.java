@@ -358,7 +358,7 @@ public class OneToManyPersister extends AbstractCollectionPersister {
 	@Override
     protected CollectionInitializer createCollectionInitializer(LoadQueryInfluencers loadQueryInfluencers)
 			throws MappingException {
-		return BatchingCollectionInitializer.createBatchingOneToManyInitializer( this, batchSize, getFactory(), loadQueryInfluencers );
+		return BatchingCollectionInitializer.createBatchingOneToManyInitializer( this, batchSize, batchFetchStyle, getFactory(), loadQueryInfluencers );
 	}
 
 	public String fromJoinFragment(String alias,
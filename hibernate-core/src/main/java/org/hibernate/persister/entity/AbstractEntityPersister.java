@@ -36,6 +36,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.logging.Logger;
 
@@ -73,9 +75,10 @@ import org.hibernate.engine.spi.Mapping;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.ValueInclusion;
+import org.hibernate.id.BatchedIdentityInsertPersister;
 import org.hibernate.id.IdentifierGenerator;
 import org.hibernate.id.PostInsertIdentifierGenerator;
-import org.hibernate.id.PostInsertIdentityPersister;
+import org.hibernate.id.insert.BatchedInsertGeneratedIdentifierDelegate;
 import org.hibernate.id.insert.Binder;
 import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
 import org.hibernate.internal.CoreMessageLogger;
@@ -85,6 +88,8 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
+import org.hibernate.loader.BatchFetchStyle;
+import org.hibernate.loader.Loader;
 import org.hibernate.loader.entity.BatchingEntityLoader;
 import org.hibernate.loader.entity.CascadeEntityLoader;
 import org.hibernate.loader.entity.EntityLoader;
@@ -132,7 +137,7 @@ import org.hibernate.type.VersionType;
  */
 public abstract class AbstractEntityPersister
 		implements OuterJoinLoadable, Queryable, ClassMetadata, UniqueKeyLoadable,
-				   SQLLoadable, LazyPropertyInitializer, PostInsertIdentityPersister, Lockable {
+				   SQLLoadable, LazyPropertyInitializer, BatchedIdentityInsertPersister, Lockable {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class,
                                                                        AbstractEntityPersister.class.getName());
@@ -156,6 +161,7 @@ public abstract class AbstractEntityPersister
 	private final String versionColumnName;
 	private final boolean hasFormulaProperties;
 	private final int batchSize;
+	private final BatchFetchStyle batchFetchStyle;
 	private final boolean hasSubselectLoadableCollections;
 	protected final String rowIdName;
 
@@ -219,7 +225,8 @@ public abstract class AbstractEntityPersister
 
 	private final Map uniqueKeyLoaders = new HashMap();
 	private final Map lockers = new HashMap();
-	private final Map loaders = new HashMap();
+	private final ConcurrentMap loaders = new ConcurrentHashMap();
+	private final ConcurrentMap multiLoaders = new ConcurrentHashMap();
 
 	// SQL strings
 	private String sqlVersionSelectString;
@@ -504,6 +511,9 @@ public abstract class AbstractEntityPersister
 			batch = factory.getSettings().getDefaultBatchFetchSize();
 		}
 		batchSize = batch;
+		batchFetchStyle = persistentClass.getBatchFetchStyle() == null
+				? factory.getSettings().getBatchFetchStyle()
+				: BatchFetchStyle.interpret( persistentClass.getBatchFetchStyle() );
 		hasSubselectLoadableCollections = persistentClass.hasSubselectLoadableCollections();
 
 		propertyMapping = new BasicEntityPropertyMapping( this );
@@ -788,6 +798,9 @@ public abstract class AbstractEntityPersister
 			batch = factory.getSettings().getDefaultBatchFetchSize();
 		}
 		batchSize = batch;
+		batchFetchStyle = entityBinding.getBatchFetchStyle() == null
+				? factory.getSettings().getBatchFetchStyle()
+				: BatchFetchStyle.interpret( entityBinding.getBatchFetchStyle() );
 		hasSubselectLoadableCollections = entityBinding.hasSubselectLoadableCollections();
 
 		propertyMapping = new BasicEntityPropertyMapping( this );
@@ -1307,6 +1320,13 @@ public abstract class AbstractEntityPersister
 		return batchSize > 1;
 	}
 
+	/**
+	 * @return The batch size of this entity, the default batch fetch size if it is not mapped with one
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
 	public String[] getIdentifierColumnNames() {
 		return rootTableKeyColumnNames;
 	}
@@ -2323,6 +2343,7 @@ public abstract class AbstractEntityPersister
 		return BatchingEntityLoader.createBatchingEntityLoader(
 				this,
 				batchSize,
+				batchFetchStyle,
 				lockMode,
 				getFactory(),
 				loadQueryInfluencers
@@ -2336,6 +2357,7 @@ public abstract class AbstractEntityPersister
 		return BatchingEntityLoader.createBatchingEntityLoader(
 				this,
 				batchSize,
+				batchFetchStyle,
 			lockOptions,
 				getFactory(),
 				loadQueryInfluencers
@@ -2622,6 +2644,18 @@ public abstract class AbstractEntityPersister
 	        final String[][] suffixedPropertyColumns,
 	        final boolean allProperties,
 	        final SessionImplementor session) throws SQLException, HibernateException {
+		return hydrate( rs, id, object, rootLoadable, suffixedPropertyColumns, null, allProperties, session );
+	}
+
+	public Object[] hydrate(
+			final ResultSet rs,
+	        final Serializable id,
+	        final Object object,
+	        final Loadable rootLoadable,
+	        final String[][] suffixedPropertyColumns,
+	        final int[][] propertyColumnPositions,
+	        final boolean allProperties,
+	        final SessionImplementor session) throws SQLException, HibernateException {
 
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Hydrating entity: {0}", MessageHelper.infoString( this, id, getFactory() ) );
@@ -2690,9 +2724,15 @@ public abstract class AbstractEntityPersister
 						values[i] = null;
 					}
 					else {
-						final ResultSet propertyResultSet = propertyIsDeferred ? sequentialResultSet : rs;
-						final String[] cols = propertyIsDeferred ? propertyColumnAliases[i] : suffixedPropertyColumns[i];
-						values[i] = types[i].hydrate( propertyResultSet, cols, session, object );
+						if ( propertyIsDeferred ) {
+							values[i] = types[i].hydrate( sequentialResultSet, propertyColumnAliases[i], session, object );
+						}
+						else if ( propertyColumnPositions != null && propertyColumnPositions[i] != null ) {
+							values[i] = types[i].hydrate( rs, propertyColumnPositions[i], session, object );
+						}
+						else {
+							values[i] = types[i].hydrate( rs, suffixedPropertyColumns[i], session, object );
+						}
 					}
 				}
 				else {
@@ -2722,6 +2762,13 @@ public abstract class AbstractEntityPersister
 		return getFactory().getSettings().isGetGeneratedKeysEnabled();
 	}
 
+	public boolean isIdentityInsertBatchable() {
+		// with dynamic-insert the SQL may differ from one entity to the next
+		return getFactory().getSettings().isIdentityInsertBatchingEnabled()
+				&& !entityMetamodel.isDynamicInsert()
+				&& identityDelegate instanceof BatchedInsertGeneratedIdentifierDelegate;
+	}
+
 	protected String getSequentialSelect(String entityName) {
 		throw new UnsupportedOperationException("no sequential selects");
 	}
@@ -2757,6 +2804,41 @@ public abstract class AbstractEntityPersister
 		return identityDelegate.performInsert( sql, session, binder );
 	}
 
+	public Serializable[] insert(final Object[][] fields, final Object[] objects, final SessionImplementor session)
+			throws HibernateException {
+		if ( !isIdentityInsertBatchable() ) {
+			throw new AssertionFailure( "identity inserts of " + getEntityName() + " cannot be batched" );
+		}
+		if ( LOG.isTraceEnabled() ) {
+			LOG.tracev( "Inserting {0} entities: {1} (native id)", objects.length, getEntityName() );
+		}
+
+		final boolean[] notNull = getPropertyInsertability();
+		final Binder[] binders = new Binder[objects.length];
+		for ( int i = 0; i < objects.length; i++ ) {
+			final int index = i;
+			binders[i] = new Binder() {
+				public void bindValues(PreparedStatement ps) throws SQLException {
+					dehydrate( null, fields[index], notNull, propertyColumnInsertable, 0, ps, session );
+				}
+				public Object getEntity() {
+					return objects[index];
+				}
+			};
+		}
+		final Serializable[] ids = ( (BatchedInsertGeneratedIdentifierDelegate) identityDelegate ).performBatchInsert(
+				getSQLIdentityInsertString(),
+				session,
+				binders
+		);
+		for ( int j = 1; j < getTableSpan(); j++ ) {
+			for ( int i = 0; i < objects.length; i++ ) {
+				insert( ids[i], fields[i], notNull, j, getSQLInsertStrings()[j], objects[i], session );
+			}
+		}
+		return ids;
+	}
+
 	public String getIdentitySelectString() {
 		//TODO: cache this in an instvar
 		return getFactory().getDialect().getIdentitySelectString(
@@ -3608,64 +3690,77 @@ public abstract class AbstractEntityPersister
 
 	//Relational based Persisters should be content with this implementation
 	protected void createLoaders() {
+		// the loaders for the other lock modes and the internal fetch profiles are
+		// only built on first use, see getLoader()
 		final Map loaders = getLoaders();
 		loaders.put( LockMode.NONE, createEntityLoader( LockMode.NONE ) );
+		loaders.put( LockMode.READ, createEntityLoader( LockMode.READ ) );
+	}
+
+	/**
+	 * Get the loader for the given lock mode or internal fetch profile, building it if needed.
+	 *
+	 * @param key The {@link LockMode}, or the name of the internal fetch profile
+	 *
+	 * @return The loader, or {@code null} if there is none for that key
+	 */
+	private UniqueEntityLoader getLoader(Object key) {
+		// subclasses overriding getLoaders() may supply their own loaders, those built on first use
+		// always go to our own concurrent map
+		UniqueEntityLoader loader = ( UniqueEntityLoader ) getLoaders().get( key );
+		if ( loader == null ) {
+			loader = ( UniqueEntityLoader ) loaders.get( key );
+		}
+		if ( loader == null ) {
+			loader = createLoader( key );
+			if ( loader != null ) {
+				// two threads may race to build the same loader, they are interchangeable
+				final Object previous = loaders.putIfAbsent( key, loader );
+				if ( previous != null ) {
+					loader = ( UniqueEntityLoader ) previous;
+				}
+			}
+		}
+		return loader;
+	}
 
-		UniqueEntityLoader readLoader = createEntityLoader( LockMode.READ );
-		loaders.put( LockMode.READ, readLoader );
+	private UniqueEntityLoader createLoader(Object key) {
+		if ( "merge".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingAction.MERGE, getFactory() );
+		}
+		else if ( "refresh".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingAction.REFRESH, getFactory() );
+		}
+		else if ( key == LockMode.OPTIMISTIC || key == LockMode.OPTIMISTIC_FORCE_INCREMENT ) {
+			return createEntityLoader( ( LockMode ) key );
+		}
+		else if ( key == LockMode.UPGRADE
+				|| key == LockMode.UPGRADE_NOWAIT
+				|| key == LockMode.FORCE
+				|| key == LockMode.PESSIMISTIC_READ
+				|| key == LockMode.PESSIMISTIC_WRITE
+				|| key == LockMode.PESSIMISTIC_FORCE_INCREMENT ) {
+			return isForUpdateDisabled() ?
+					getLoader( LockMode.READ ) :
+					createEntityLoader( ( LockMode ) key );
+		}
+		else {
+			return null;
+		}
+	}
 
+	private boolean isForUpdateDisabled() {
 		//TODO: inexact, what we really need to know is: are any outer joins used?
-		boolean disableForUpdate = getSubclassTableSpan() > 1 &&
+		return getSubclassTableSpan() > 1 &&
 				hasSubclasses() &&
 				!getFactory().getDialect().supportsOuterJoinForUpdate();
+	}
 
-		loaders.put(
-				LockMode.UPGRADE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE )
-			);
-		loaders.put(
-				LockMode.UPGRADE_NOWAIT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_NOWAIT )
-			);
-		loaders.put(
-				LockMode.FORCE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.FORCE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_READ,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_READ )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_WRITE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_WRITE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_FORCE_INCREMENT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_FORCE_INCREMENT )
-			);
-		loaders.put( LockMode.OPTIMISTIC, createEntityLoader( LockMode.OPTIMISTIC) );
-		loaders.put( LockMode.OPTIMISTIC_FORCE_INCREMENT, createEntityLoader(LockMode.OPTIMISTIC_FORCE_INCREMENT) );
-
-		loaders.put(
-				"merge",
-				new CascadeEntityLoader( this, CascadingAction.MERGE, getFactory() )
-			);
-		loaders.put(
-				"refresh",
-				new CascadeEntityLoader( this, CascadingAction.REFRESH, getFactory() )
-			);
+	/**
+	 * @return The number of lock mode and internal fetch profile loaders built so far
+	 */
+	public int getBuiltLoaderCount() {
+		return loaders.size();
 	}
 
 	protected void createQueryLoader() {
@@ -3697,6 +3792,56 @@ public abstract class AbstractEntityPersister
 		return loader.load( id, optionalObject, session, lockOptions );
 	}
 
+	/**
+	 * Load the instances with the given identifiers using a single SQL statement with one parameter per identifier,
+	 * bypassing the persistence context and the second-level cache.  The loaded instances are associated with the
+	 * session.  Callers should pad the identifiers (by repeating one of them) to a few fixed sizes: a loader is built
+	 * and kept for each size and lock mode.
+	 *
+	 * @param ids The identifiers
+	 * @param lockOptions The lock options
+	 * @param session The session from which the request originated
+	 *
+	 * @return The loaded instances, with no element for the identifiers which do not exist
+	 */
+	public List loadEntityBatch(Serializable[] ids, LockOptions lockOptions, SessionImplementor session)
+			throws HibernateException {
+		if ( queryLoader != null ) {
+			// a custom loader has no batch form
+			final List results = new ArrayList( ids.length );
+			for ( Serializable id : ids ) {
+				final Object entity = queryLoader.load( id, null, session, lockOptions );
+				if ( entity != null ) {
+					results.add( entity );
+				}
+			}
+			return results;
+		}
+
+		final LockOptions loaderLockOptions = isForUpdateDisabled() && lockOptions.getLockMode().greaterThan( LockMode.READ )
+				? new LockOptions( LockMode.READ )
+				: lockOptions;
+		final Loader loader;
+		if ( isAffectedByEnabledFilters( session )
+				|| isAffectedByEnabledFetchProfiles( session )
+				|| lockOptions.getTimeOut() != LockOptions.WAIT_FOREVER ) {
+			loader = new EntityLoader( this, ids.length, loaderLockOptions, getFactory(), session.getLoadQueryInfluencers() );
+		}
+		else {
+			final String key = loaderLockOptions.getLockMode().name() + ':' + ids.length;
+			Loader cached = ( Loader ) multiLoaders.get( key );
+			if ( cached == null ) {
+				cached = new EntityLoader( this, ids.length, loaderLockOptions, getFactory(), LoadQueryInfluencers.NONE );
+				final Object previous = multiLoaders.putIfAbsent( key, cached );
+				if ( previous != null ) {
+					cached = ( Loader ) previous;
+				}
+			}
+			loader = cached;
+		}
+		return loader.loadEntityBatch( session, ids, getIdentifierType(), null, null, null, this, lockOptions );
+	}
+
 	public void registerAffectingFetchProfile(String fetchProfileName) {
 		affectingFetchProfileNames.add( fetchProfileName );
 	}
@@ -3731,7 +3876,7 @@ public abstract class AbstractEntityPersister
 			// Next, we consider whether an 'internal' fetch profile has been set.
 			// This indicates a special fetch profile Hibernate needs applied
 			// (for its merge loading process e.g.).
-			return ( UniqueEntityLoader ) getLoaders().get( session.getLoadQueryInfluencers().getInternalFetchProfile() );
+			return getLoader( session.getLoadQueryInfluencers().getInternalFetchProfile() );
 		}
 		else if ( isAffectedByEnabledFetchProfiles( session ) ) {
 			// If the session has associated influencers we need to adjust the
@@ -3742,7 +3887,7 @@ public abstract class AbstractEntityPersister
 			return createEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else {
-			return ( UniqueEntityLoader ) getLoaders().get( lockOptions.getLockMode() );
+			return getLoader( lockOptions.getLockMode() );
 		}
 	}
 
@@ -3821,6 +3966,30 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	public int[] findDirty(
+			int[] candidateProperties,
+			Object[] currentState,
+			Object[] previousState,
+			Object entity,
+			SessionImplementor session) throws HibernateException {
+		int[] props = TypeHelper.findDirty(
+				entityMetamodel.getProperties(),
+				candidateProperties,
+				currentState,
+				previousState,
+				propertyColumnUpdateable,
+				hasUninitializedLazyProperties( entity ),
+				session
+			);
+		if ( props == null ) {
+			return null;
+		}
+		else {
+			logDirtyProperties( props );
+			return props;
+		}
+	}
+
 	/**
 	 * Locate the property-indices of all properties considered to be dirty.
 	 *
@@ -224,6 +224,26 @@ public interface EntityPersister extends OptimisticCacheSource {
 	 */
 	public int[] findDirty(Object[] currentState, Object[] previousState, Object owner, SessionImplementor session);
 
+	/**
+	 * Compare the given properties of the two snapshots to determine if they represent dirty state.  The other
+	 * properties are known not to be dirty, typically because they were not written since the baseline snapshot
+	 * was taken.
+	 *
+	 * @param candidateProperties The indices of the properties to compare, in ascending order
+	 * @param currentState The current snapshot
+	 * @param previousState The baseline snapshot
+	 * @param owner The entity containing the state
+	 * @param session The originating session
+	 * @return The indices of all dirty properties, or null if no properties
+	 * were dirty.
+	 */
+	public int[] findDirty(
+			int[] candidateProperties,
+			Object[] currentState,
+			Object[] previousState,
+			Object owner,
+			SessionImplementor session);
+
 	/**
 	 * Compare the two snapshots to determine if they represent modified state.
 	 *
@@ -110,6 +110,25 @@ public interface Loadable extends EntityPersister {
 			SessionImplementor session)
 	throws SQLException, HibernateException;
 
+	/**
+	 * Retrieve property values from one row of a result set, reading the columns
+	 * by position where it is known
+	 *
+	 * @param propertyColumnPositions The (1-based) positions of the columns of each
+	 * property in the result set; a property with {@code null} positions is read
+	 * using its suffixed property columns
+	 */
+	public Object[] hydrate(
+			ResultSet rs,
+			Serializable id,
+			Object object,
+			Loadable rootLoadable,
+			String[][] suffixedPropertyColumns,
+			int[][] propertyColumnPositions,
+			boolean allProperties,
+			SessionImplementor session)
+	throws SQLException, HibernateException;
+
 	public boolean isAbstract();
 
 	/**
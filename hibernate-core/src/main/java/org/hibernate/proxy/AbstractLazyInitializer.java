@@ -29,6 +29,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.LazyInitializationException;
 import org.hibernate.SessionException;
 import org.hibernate.TransientObjectException;
+import org.hibernate.engine.internal.ParallelDirtyChecking;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.persister.entity.EntityPersister;
@@ -145,6 +146,7 @@ public abstract class AbstractLazyInitializer implements LazyInitializer {
 	@Override
 	public final void initialize() throws HibernateException {
 		if (!initialized) {
+			ParallelDirtyChecking.checkNotWorkerThread();
 			if ( session==null ) {
 				throw new LazyInitializationException("could not initialize proxy - no Session");
 			}
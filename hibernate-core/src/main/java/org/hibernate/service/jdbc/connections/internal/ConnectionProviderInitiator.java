@@ -112,7 +112,9 @@ public class ConnectionProviderInitiator implements BasicServiceInitiator<Connec
 			connectionProvider = instantiateExplicitConnectionProvider( providerClassName, classLoaderService );
 		}
 		else if ( configurationValues.get( Environment.DATASOURCE ) != null ) {
-			connectionProvider = new DatasourceConnectionProviderImpl();
+			connectionProvider = configurationValues.get( Environment.REPLICA_DATASOURCES ) != null
+					? new ReadWriteSplittingConnectionProviderImpl()
+					: new DatasourceConnectionProviderImpl();
 		}
 
 		if ( connectionProvider == null ) {
@@ -0,0 +1,522 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.jdbc.connections.spi.ConnectionPoolMetrics;
+import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+/**
+ * A connection provider that uses the {@link java.sql.DriverManager} to open connections and pools them, bounding
+ * the number of connections open at any time to {@link AvailableSettings#POOL_SIZE}.
+ * <p/>
+ * Handing out and taking back a connection does not lock: each pooled connection carries its own atomic state, and
+ * a thread first tries the connection it used last, which is usually idle when sessions are opened and closed on
+ * the same thread.  When all connections are in use, requests wait at most {@link AvailableSettings#POOL_ACQUIRE_TIMEOUT}
+ * milliseconds for one to be returned.  Connections can be validated when handed out, always or once they have been
+ * idle for a while, and connections which are not returned in time can be reported as possible leaks.  The pool
+ * metrics are exposed through {@link ConnectionPoolMetrics}, and from there through {@link org.hibernate.stat.Statistics}.
+ */
+public class PooledConnectionProviderImpl
+		implements ConnectionProvider, ConnectionPoolMetrics, Configurable, Stoppable {
+
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PooledConnectionProviderImpl.class.getName()
+	);
+
+	private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+	private String url;
+	private Properties connectionProps;
+	private Integer isolation;
+	private boolean autocommit;
+
+	private int maxSize;
+	private long acquireTimeout;
+	private boolean validateOnBorrow;
+	private long idleValidationInterval;
+	private long leakDetectionThreshold;
+
+	private final CopyOnWriteArrayList<PooledConnection> connections = new CopyOnWriteArrayList<PooledConnection>();
+	// the number of open connections, including those being opened
+	private final AtomicInteger size = new AtomicInteger();
+	private final ThreadLocal<PooledConnection> lastUsed = new ThreadLocal<PooledConnection>();
+	private Semaphore permits;
+	private ScheduledExecutorService leakDetector;
+	private volatile boolean stopped;
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+	private final AtomicLong waitCount = new AtomicLong();
+	private final AtomicLong waitTime = new AtomicLong();
+	private final AtomicLong maxWaitTime = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+	private final AtomicLong leakCount = new AtomicLong();
+
+	@Override
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return ConnectionProvider.class.equals( unwrapType ) ||
+				ConnectionPoolMetrics.class.equals( unwrapType ) ||
+				PooledConnectionProviderImpl.class.isAssignableFrom( unwrapType );
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	public <T> T unwrap(Class<T> unwrapType) {
+		if ( isUnwrappableAs( unwrapType ) ) {
+			return (T) this;
+		}
+		else {
+			throw new UnknownUnwrapTypeException( unwrapType );
+		}
+	}
+
+	public void configure(Map configurationValues) {
+		String driverClassName = (String) configurationValues.get( AvailableSettings.DRIVER );
+		if ( driverClassName == null ) {
+			LOG.jdbcDriverNotSpecified( AvailableSettings.DRIVER );
+		}
+		else {
+			try {
+				// trying via forName() first to be as close to DriverManager's semantics
+				Class.forName( driverClassName );
+			}
+			catch ( ClassNotFoundException cnfe ) {
+				try {
+					ReflectHelper.classForName( driverClassName );
+				}
+				catch ( ClassNotFoundException e ) {
+					throw new HibernateException( "Specified JDBC Driver " + driverClassName + " class not found", e );
+				}
+			}
+		}
+
+		maxSize = ConfigurationHelper.getInt( AvailableSettings.POOL_SIZE, configurationValues, 20 );
+		if ( maxSize < 1 ) {
+			throw new HibernateException( "Invalid " + AvailableSettings.POOL_SIZE + " [" + maxSize + "]; must be at least 1" );
+		}
+		acquireTimeout = ConfigurationHelper.getInt( AvailableSettings.POOL_ACQUIRE_TIMEOUT, configurationValues, 30000 );
+		validateOnBorrow = ConfigurationHelper.getBoolean( AvailableSettings.POOL_VALIDATE_ON_BORROW, configurationValues );
+		idleValidationInterval = ConfigurationHelper.getInt(
+				AvailableSettings.POOL_IDLE_VALIDATION_INTERVAL,
+				configurationValues,
+				0
+		);
+		leakDetectionThreshold = ConfigurationHelper.getInt(
+				AvailableSettings.POOL_LEAK_DETECTION_THRESHOLD,
+				configurationValues,
+				0
+		);
+		LOG.usingPooledConnectionProvider( maxSize, acquireTimeout );
+
+		autocommit = ConfigurationHelper.getBoolean( AvailableSettings.AUTOCOMMIT, configurationValues );
+		LOG.autoCommitMode( autocommit );
+
+		isolation = ConfigurationHelper.getInteger( AvailableSettings.ISOLATION, configurationValues );
+		if ( isolation != null ) {
+			LOG.jdbcIsolationLevel( Environment.isolationLevelToString( isolation.intValue() ) );
+		}
+
+		url = (String) configurationValues.get( AvailableSettings.URL );
+		if ( url == null ) {
+			String msg = LOG.jdbcUrlNotSpecified( AvailableSettings.URL );
+			LOG.error( msg );
+			throw new HibernateException( msg );
+		}
+
+		connectionProps = ConnectionProviderInitiator.getConnectionProperties( configurationValues );
+
+		LOG.usingDriver( driverClassName, url );
+		// if debug level is enabled, then log the password, otherwise mask it
+		if ( LOG.isDebugEnabled() ) {
+			LOG.connectionProperties( connectionProps );
+		}
+		else {
+			LOG.connectionProperties( ConfigurationHelper.maskOut( connectionProps, "password" ) );
+		}
+
+		permits = new Semaphore( maxSize );
+		if ( leakDetectionThreshold > 0 ) {
+			leakDetector = Executors.newSingleThreadScheduledExecutor( new LeakDetectorThreadFactory() );
+			leakDetector.scheduleWithFixedDelay(
+					new Runnable() {
+						public void run() {
+							detectLeaks();
+						}
+					},
+					leakDetectionThreshold,
+					leakDetectionThreshold,
+					TimeUnit.MILLISECONDS
+			);
+		}
+	}
+
+	public void stop() {
+		LOG.cleaningUpConnectionPool( url );
+		stopped = true;
+		if ( leakDetector != null ) {
+			leakDetector.shutdownNow();
+		}
+		// connections in use are closed when returned
+		for ( PooledConnection pooled : connections ) {
+			if ( pooled.tryReserve() ) {
+				discard( pooled );
+			}
+		}
+	}
+
+	public Connection getConnection() throws SQLException {
+		if ( stopped ) {
+			throw new SQLException( "Connection pool [" + url + "] has been stopped" );
+		}
+		acquirePermit();
+		boolean success = false;
+		try {
+			final PooledConnection pooled = borrow();
+			lastUsed.set( pooled );
+			activeCount.incrementAndGet();
+			success = true;
+			return pooled.connection;
+		}
+		finally {
+			if ( !success ) {
+				permits.release();
+			}
+		}
+	}
+
+	private void acquirePermit() throws SQLException {
+		if ( permits.tryAcquire() ) {
+			return;
+		}
+
+		final long start = System.nanoTime();
+		final boolean acquired;
+		try {
+			acquired = permits.tryAcquire( acquireTimeout, TimeUnit.MILLISECONDS );
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new SQLException( "Interrupted while waiting for a connection from pool [" + url + "]" );
+		}
+		final long waited = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+		waitCount.incrementAndGet();
+		waitTime.addAndGet( waited );
+		long max = maxWaitTime.get();
+		while ( waited > max && !maxWaitTime.compareAndSet( max, waited ) ) {
+			max = maxWaitTime.get();
+		}
+
+		if ( !acquired ) {
+			timeoutCount.incrementAndGet();
+			throw new SQLException(
+					"Timed out after " + acquireTimeout + " ms waiting for one of the " + maxSize
+							+ " connections of pool [" + url + "]"
+			);
+		}
+	}
+
+	/**
+	 * Find an idle connection, or open a new one.  Holding a permit guarantees there is one or the other, but
+	 * another permit holder may be in the middle of returning or discarding a connection.
+	 */
+	private PooledConnection borrow() throws SQLException {
+		final PooledConnection local = lastUsed.get();
+		if ( local != null && local.tryReserve() && activate( local ) ) {
+			return local;
+		}
+
+		while ( true ) {
+			for ( PooledConnection pooled : connections ) {
+				if ( pooled.tryReserve() && activate( pooled ) ) {
+					return pooled;
+				}
+			}
+
+			final int current = size.get();
+			if ( current < maxSize ) {
+				if ( size.compareAndSet( current, current + 1 ) ) {
+					return open();
+				}
+			}
+			else {
+				Thread.yield();
+			}
+		}
+	}
+
+	private PooledConnection open() throws SQLException {
+		boolean success = false;
+		try {
+			LOG.debug( "Opening new JDBC connection" );
+			final Connection connection = DriverManager.getConnection( url, connectionProps );
+			if ( isolation != null ) {
+				connection.setTransactionIsolation( isolation.intValue() );
+			}
+			if ( connection.getAutoCommit() != autocommit ) {
+				connection.setAutoCommit( autocommit );
+			}
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf(
+						"Created connection to: %s, Isolation Level: %s",
+						url,
+						connection.getTransactionIsolation()
+				);
+			}
+			final PooledConnection pooled = new PooledConnection( connection );
+			pooled.borrowed( leakDetectionThreshold > 0 ? new Throwable( "Connection obtained here" ) : null );
+			connections.add( pooled );
+			success = true;
+			return pooled;
+		}
+		finally {
+			if ( !success ) {
+				size.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Prepare a reserved connection for use.
+	 *
+	 * @return {@code false} if the connection turned out to be invalid, and was discarded
+	 */
+	private boolean activate(PooledConnection pooled) throws SQLException {
+		final long idleSince = pooled.timestamp;
+		if ( validateOnBorrow
+				|| ( idleValidationInterval > 0 && System.currentTimeMillis() - idleSince >= idleValidationInterval ) ) {
+			if ( !isValid( pooled.connection ) ) {
+				LOG.debug( "Discarding invalid pooled JDBC connection" );
+				discard( pooled );
+				return false;
+			}
+		}
+		try {
+			if ( pooled.connection.getAutoCommit() != autocommit ) {
+				pooled.connection.setAutoCommit( autocommit );
+			}
+		}
+		catch ( SQLException e ) {
+			discard( pooled );
+			throw e;
+		}
+		pooled.borrowed( leakDetectionThreshold > 0 ? new Throwable( "Connection obtained here" ) : null );
+		return true;
+	}
+
+	private static boolean isValid(Connection connection) {
+		try {
+			return connection.isValid( VALIDATION_TIMEOUT_SECONDS );
+		}
+		catch ( SQLException e ) {
+			return false;
+		}
+	}
+
+	private void discard(PooledConnection pooled) {
+		pooled.state.set( PooledConnection.REMOVED );
+		connections.remove( pooled );
+		size.decrementAndGet();
+		try {
+			pooled.connection.close();
+		}
+		catch ( SQLException sqle ) {
+			LOG.unableToClosePooledConnection( sqle );
+		}
+	}
+
+	public void closeConnection(Connection conn) throws SQLException {
+		PooledConnection pooled = lastUsed.get();
+		if ( pooled == null || pooled.connection != conn ) {
+			pooled = find( conn );
+		}
+		if ( pooled == null ) {
+			LOG.debug( "Closing JDBC connection not handed out by the pool" );
+			conn.close();
+			return;
+		}
+		// the connection goes straight from in use to removed once the pool is stopped, so that stop() cannot
+		// reserve and discard it as well
+		final boolean remove = stopped;
+		final boolean released = remove ? pooled.removed() : pooled.returned();
+		if ( !released ) {
+			// already returned (or discarded): closing it now would leave a dead connection in the pool
+			LOG.connectionReturnedTwice( url );
+			return;
+		}
+
+		activeCount.decrementAndGet();
+		if ( remove ) {
+			discard( pooled );
+		}
+		else {
+			lastUsed.set( pooled );
+			// the pool was stopped while the connection was returned, possibly after stop() looked at it
+			if ( stopped && pooled.tryReserve() ) {
+				discard( pooled );
+			}
+		}
+		permits.release();
+	}
+
+	private PooledConnection find(Connection conn) {
+		for ( PooledConnection pooled : connections ) {
+			if ( pooled.connection == conn ) {
+				return pooled;
+			}
+		}
+		return null;
+	}
+
+	private void detectLeaks() {
+		final long now = System.currentTimeMillis();
+		for ( PooledConnection pooled : connections ) {
+			if ( pooled.state.get() == PooledConnection.IN_USE
+					&& !pooled.leakReported
+					&& now - pooled.timestamp >= leakDetectionThreshold ) {
+				pooled.leakReported = true;
+				leakCount.incrementAndGet();
+				LOG.connectionLeakSuspected( url, leakDetectionThreshold, pooled.borrowSite );
+			}
+		}
+	}
+
+	public boolean supportsAggressiveRelease() {
+		return false;
+	}
+
+	@Override
+	public int getActiveConnectionCount() {
+		return activeCount.get();
+	}
+
+	@Override
+	public int getIdleConnectionCount() {
+		int idle = 0;
+		for ( PooledConnection pooled : connections ) {
+			if ( pooled.state.get() == PooledConnection.IDLE ) {
+				idle++;
+			}
+		}
+		return idle;
+	}
+
+	@Override
+	public long getConnectionWaitCount() {
+		return waitCount.get();
+	}
+
+	@Override
+	public long getConnectionWaitTime() {
+		return waitTime.get();
+	}
+
+	@Override
+	public long getMaxConnectionWaitTime() {
+		return maxWaitTime.get();
+	}
+
+	@Override
+	public long getConnectionTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	@Override
+	public long getConnectionLeakCount() {
+		return leakCount.get();
+	}
+
+	private static final class PooledConnection {
+		private static final int IDLE = 0;
+		private static final int IN_USE = 1;
+		private static final int REMOVED = 2;
+
+		private final Connection connection;
+		private final AtomicInteger state = new AtomicInteger( IN_USE );
+		// when the connection was last handed out or returned
+		private volatile long timestamp;
+		private volatile Throwable borrowSite;
+		private volatile boolean leakReported;
+
+		private PooledConnection(Connection connection) {
+			this.connection = connection;
+		}
+
+		private boolean tryReserve() {
+			return state.get() == IDLE && state.compareAndSet( IDLE, IN_USE );
+		}
+
+		private void borrowed(Throwable borrowSite) {
+			this.borrowSite = borrowSite;
+			this.leakReported = false;
+			this.timestamp = System.currentTimeMillis();
+		}
+
+		private boolean returned() {
+			if ( state.get() != IN_USE ) {
+				return false;
+			}
+			borrowSite = null;
+			timestamp = System.currentTimeMillis();
+			return state.compareAndSet( IN_USE, IDLE );
+		}
+
+		private boolean removed() {
+			return state.compareAndSet( IN_USE, REMOVED );
+		}
+	}
+
+	private static class LeakDetectorThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-connection-leak-detector" );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
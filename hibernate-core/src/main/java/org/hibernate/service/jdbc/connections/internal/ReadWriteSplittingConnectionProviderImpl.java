@@ -0,0 +1,212 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.jdbc.connections.spi.ReadOnlyRoutingConnectionProvider;
+import org.hibernate.service.jndi.spi.JndiService;
+import org.hibernate.service.spi.InjectService;
+
+/**
+ * A {@link DatasourceConnectionProviderImpl} which routes read-only work to the replicas named by
+ * {@link AvailableSettings#REPLICA_DATASOURCES}, in turn.
+ * <p/>
+ * A replica which fails to hand out a connection is left out of the rotation for
+ * {@link AvailableSettings#REPLICA_RETRY_INTERVAL}; when no replica is available, {@link #getReadOnlyConnection()}
+ * returns {@literal null} and read-only work falls back to the primary {@link DataSource}.  The {@link Environment#USER} and {@link Environment#PASS} credentials, if any, are
+ * used for the replicas as well.
+ */
+public class ReadWriteSplittingConnectionProviderImpl extends DatasourceConnectionProviderImpl
+		implements ReadOnlyRoutingConnectionProvider {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ReadWriteSplittingConnectionProviderImpl.class.getName()
+	);
+
+	private static final int DEFAULT_RETRY_INTERVAL = 30000;
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	private JndiService jndiService;
+	private Replica[] replicas = new Replica[0];
+	private long retryInterval;
+	private String user;
+	private String pass;
+	private boolean useCredentials;
+
+	@Override
+	@InjectService( required = false )
+	public void setJndiService(JndiService jndiService) {
+		super.setJndiService( jndiService );
+		this.jndiService = jndiService;
+	}
+
+	@Override
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return ReadOnlyRoutingConnectionProvider.class.equals( unwrapType ) || super.isUnwrappableAs( unwrapType );
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	public <T> T unwrap(Class<T> unwrapType) {
+		if ( ReadOnlyRoutingConnectionProvider.class.equals( unwrapType ) ) {
+			return (T) this;
+		}
+		return super.unwrap( unwrapType );
+	}
+
+	@Override
+	public void configure(Map configValues) {
+		super.configure( configValues );
+
+		final List<Replica> replicas = new ArrayList<Replica>();
+		final Object setting = configValues.get( AvailableSettings.REPLICA_DATASOURCES );
+		if ( setting instanceof String ) {
+			for ( String jndiName : StringHelper.split( ", \t\n\r\f", (String) setting ) ) {
+				replicas.add( lookup( jndiName ) );
+			}
+		}
+		else if ( setting instanceof Object[] ) {
+			addReplicas( Arrays.asList( (Object[]) setting ), replicas );
+		}
+		else if ( setting instanceof Collection ) {
+			addReplicas( (Collection) setting, replicas );
+		}
+		else if ( setting != null ) {
+			addReplicas( Arrays.asList( setting ), replicas );
+		}
+		this.replicas = replicas.toArray( new Replica[replicas.size()] );
+
+		retryInterval = ConfigurationHelper.getInt( AvailableSettings.REPLICA_RETRY_INTERVAL, configValues, DEFAULT_RETRY_INTERVAL );
+		user = (String) configValues.get( Environment.USER );
+		pass = (String) configValues.get( Environment.PASS );
+		useCredentials = user != null || pass != null;
+
+		LOG.usingReplicaDataSources( this.replicas.length );
+	}
+
+	private void addReplicas(Collection setting, List<Replica> replicas) {
+		for ( Object replica : setting ) {
+			if ( replica instanceof DataSource ) {
+				replicas.add( new Replica( replica.toString(), (DataSource) replica ) );
+			}
+			else if ( replica instanceof String ) {
+				replicas.add( lookup( (String) replica ) );
+			}
+			else {
+				throw new HibernateException(
+						"Replica [" + replica + "] specified by [" + AvailableSettings.REPLICA_DATASOURCES
+								+ "] is neither a DataSource nor a JNDI name"
+				);
+			}
+		}
+	}
+
+	private Replica lookup(String jndiName) {
+		if ( jndiService == null ) {
+			throw new HibernateException( "Unable to locate JndiService to lookup replica Datasource" );
+		}
+		return new Replica( jndiName, (DataSource) jndiService.locate( jndiName ) );
+	}
+
+	@Override
+	public void stop() {
+		replicas = new Replica[0];
+		super.stop();
+	}
+
+	/**
+	 * @return The number of replicas currently in the rotation
+	 */
+	public int getAvailableReplicaCount() {
+		final long now = System.currentTimeMillis();
+		int count = 0;
+		for ( Replica replica : replicas ) {
+			if ( replica.isAvailable( now ) ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public Connection getReadOnlyConnection() throws SQLException {
+		final Replica[] replicas = this.replicas;
+		if ( replicas.length > 0 ) {
+			final long now = System.currentTimeMillis();
+			final int start = ( nextReplica.getAndIncrement() & Integer.MAX_VALUE ) % replicas.length;
+			for ( int i = 0; i < replicas.length; i++ ) {
+				final Replica replica = replicas[( start + i ) % replicas.length];
+				if ( !replica.isAvailable( now ) ) {
+					continue;
+				}
+				try {
+					return useCredentials
+							? replica.dataSource.getConnection( user, pass )
+							: replica.dataSource.getConnection();
+				}
+				catch ( SQLException e ) {
+					replica.unavailableUntil = now + retryInterval;
+					LOG.replicaDataSourceUnavailable( replica.name, retryInterval, e );
+				}
+			}
+			LOG.debug( "No replica data source available; using the primary data source" );
+		}
+		return null;
+	}
+
+	private static class Replica {
+		private final String name;
+		private final DataSource dataSource;
+		private volatile long unavailableUntil;
+
+		private Replica(String name, DataSource dataSource) {
+			if ( dataSource == null ) {
+				throw new HibernateException( "Unable to locate replica DataSource [" + name + "]" );
+			}
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		private boolean isAvailable(long now) {
+			return unavailableUntil <= now;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.spi;
+
+/**
+ * Metrics of a pooling {@link ConnectionProvider}, which exposes them by being
+ * {@link ConnectionProvider#unwrap unwrappable} as this contract.
+ * <p/>
+ * Counters and times accumulate from the start of the pool.
+ */
+public interface ConnectionPoolMetrics {
+	/**
+	 * @return The number of connections currently handed out
+	 */
+	public int getActiveConnectionCount();
+
+	/**
+	 * @return The number of open connections currently available in the pool
+	 */
+	public int getIdleConnectionCount();
+
+	/**
+	 * @return The number of requests for a connection which had to wait for one to be returned
+	 */
+	public long getConnectionWaitCount();
+
+	/**
+	 * @return The total time, in milliseconds, requests waited for a connection
+	 */
+	public long getConnectionWaitTime();
+
+	/**
+	 * @return The longest time, in milliseconds, a request waited for a connection
+	 */
+	public long getMaxConnectionWaitTime();
+
+	/**
+	 * @return The number of requests which gave up waiting for a connection
+	 */
+	public long getConnectionTimeoutCount();
+
+	/**
+	 * @return The number of connections reported as possibly leaked
+	 */
+	public long getConnectionLeakCount();
+}
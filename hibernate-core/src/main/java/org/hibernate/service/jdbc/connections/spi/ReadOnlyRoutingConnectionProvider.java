@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.spi;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A {@link ConnectionProvider} which can route read-only work to replicas of the primary database.
+ * <p/>
+ * Sessions marked read-only (see {@link org.hibernate.Session#setDefaultReadOnly} and
+ * {@link org.hibernate.SessionBuilder#readOnly}), and read-only queries executed outside of a transaction, obtain
+ * their connection from {@link #getReadOnlyConnection()}.  All other work uses {@link #getConnection()}.  Both kinds
+ * of connection are handed back through {@link #closeConnection}.
+ */
+public interface ReadOnlyRoutingConnectionProvider extends ConnectionProvider {
+	/**
+	 * Grab a connection to a replica, for read-only work.  When no replica is available, {@literal null} is
+	 * returned and the caller falls back to {@link #getConnection()}, so that a connection to the primary is never
+	 * mistaken for a replica connection.
+	 *
+	 * @return The JDBC connection to a replica, or {@literal null} if no replica is available
+	 *
+	 * @throws SQLException Indicates a problem opening a connection
+	 * @throws org.hibernate.HibernateException Indicates a problem otherwise obtaining a connection.
+	 */
+	public Connection getReadOnlyConnection() throws SQLException;
+}
@@ -0,0 +1,192 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The condition restricting a keyset paginated query to the rows following the last key seen, either as a
+ * row value comparison, <code>(a, b) &gt; (?, ?)</code>, or as the expanded
+ * <code>(a &gt; ?) or (a = ? and b &gt; ?)</code>.
+ * <p/>
+ * A key with an explicit null precedence may have a null last seen value, which is compared with
+ * <tt>is null</tt> rather than bound; with <tt>nulls last</tt>, the null rows also sort after any value.
+ * Keys without an explicit null precedence are assumed not to be null.
+ * <p/>
+ * The expanded form binds some key values more than once; {@link #getParameterKeyIndexes()} tells which
+ * key value each parameter of the fragment binds.
+ */
+public class KeysetFragment {
+	/**
+	 * Where the null values of a key sort.
+	 */
+	public static enum NullPrecedence {
+		UNSPECIFIED,
+		FIRST,
+		LAST
+	}
+
+	private final List<String> columns = new ArrayList<String>();
+	private final List<Boolean> descending = new ArrayList<Boolean>();
+	private final List<NullPrecedence> nullPrecedences = new ArrayList<NullPrecedence>();
+	private final List<Boolean> nullValues = new ArrayList<Boolean>();
+	private boolean useRowValueConstructor;
+
+	public KeysetFragment addKey(String column, boolean descending) {
+		return addKey( column, descending, NullPrecedence.UNSPECIFIED, false );
+	}
+
+	public KeysetFragment addKey(String column, boolean descending, NullPrecedence nullPrecedence, boolean nullValue) {
+		if ( nullValue && nullPrecedence == NullPrecedence.UNSPECIFIED ) {
+			throw new IllegalArgumentException( "A null key value requires an explicit null precedence: " + column );
+		}
+		this.columns.add( column );
+		this.descending.add( descending );
+		this.nullPrecedences.add( nullPrecedence );
+		this.nullValues.add( nullValue );
+		return this;
+	}
+
+	public KeysetFragment setUseRowValueConstructor(boolean useRowValueConstructor) {
+		this.useRowValueConstructor = useRowValueConstructor;
+		return this;
+	}
+
+	private boolean isRowValueComparison() {
+		return useRowValueConstructor
+				&& columns.size() > 1
+				&& !descending.contains( !descending.get( 0 ) )
+				&& !nullValues.contains( Boolean.TRUE )
+				&& !nullPrecedences.contains( NullPrecedence.LAST );
+	}
+
+	public String toFragmentString() {
+		return render( new ArrayList<Integer>() );
+	}
+
+	/**
+	 * The index of the key value bound by each parameter of the {@link #toFragmentString() fragment}.
+	 *
+	 * @return The key value indexes, in parameter order
+	 */
+	public int[] getParameterKeyIndexes() {
+		final List<Integer> indexes = new ArrayList<Integer>();
+		render( indexes );
+		final int[] result = new int[indexes.size()];
+		for ( int i = 0; i < result.length; i++ ) {
+			result[i] = indexes.get( i );
+		}
+		return result;
+	}
+
+	private String render(List<Integer> parameterKeyIndexes) {
+		final StringBuilder buf = new StringBuilder();
+		if ( isRowValueComparison() ) {
+			buf.append( '(' );
+			for ( int i = 0; i < columns.size(); i++ ) {
+				if ( i > 0 ) {
+					buf.append( ", " );
+				}
+				buf.append( columns.get( i ) );
+			}
+			buf.append( ')' ).append( descending.get( 0 ) ? " < (" : " > (" );
+			for ( int i = 0; i < columns.size(); i++ ) {
+				buf.append( i > 0 ? ", ?" : "?" );
+				parameterKeyIndexes.add( i );
+			}
+			buf.append( ')' );
+		}
+		else if ( columns.size() == 1 ) {
+			if ( !appendFollowing( buf, 0, true, parameterKeyIndexes ) ) {
+				buf.append( "1=0" );
+			}
+		}
+		else {
+			buf.append( '(' );
+			boolean first = true;
+			for ( int i = 0; i < columns.size(); i++ ) {
+				if ( nullValues.get( i ) && nullPrecedences.get( i ) == NullPrecedence.LAST ) {
+					// nothing sorts after a trailing null
+					continue;
+				}
+				if ( !first ) {
+					buf.append( " or " );
+				}
+				first = false;
+				buf.append( '(' );
+				for ( int j = 0; j < i; j++ ) {
+					if ( nullValues.get( j ) ) {
+						buf.append( columns.get( j ) ).append( " is null and " );
+					}
+					else {
+						buf.append( columns.get( j ) ).append( " = ? and " );
+						parameterKeyIndexes.add( j );
+					}
+				}
+				appendFollowing( buf, i, i > 0, parameterKeyIndexes );
+				buf.append( ')' );
+			}
+			if ( first ) {
+				buf.append( "1=0" );
+			}
+			buf.append( ')' );
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Append the condition on the given key sorting after the last value seen.
+	 *
+	 * @param parenthesize Whether a disjunction must be parenthesized
+	 *
+	 * @return {@code false} if no value sorts after the last value seen
+	 */
+	private boolean appendFollowing(StringBuilder buf, int key, boolean parenthesize, List<Integer> parameterKeyIndexes) {
+		final String column = columns.get( key );
+		final NullPrecedence nullPrecedence = nullPrecedences.get( key );
+		if ( nullValues.get( key ) ) {
+			if ( nullPrecedence == NullPrecedence.LAST ) {
+				return false;
+			}
+			buf.append( column ).append( " is not null" );
+			return true;
+		}
+		final String comparison = column + ( descending.get( key ) ? " < ?" : " > ?" );
+		if ( nullPrecedence == NullPrecedence.LAST ) {
+			if ( parenthesize ) {
+				buf.append( '(' );
+			}
+			buf.append( comparison ).append( " or " ).append( column ).append( " is null" );
+			if ( parenthesize ) {
+				buf.append( ')' );
+			}
+		}
+		else {
+			buf.append( comparison );
+		}
+		parameterKeyIndexes.add( key );
+		return true;
+	}
+}
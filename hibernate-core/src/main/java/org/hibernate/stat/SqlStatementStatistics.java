@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Statistics of a SQL statement, as sent to the database through JDBC.  Statements are identified by their SQL
+ * with whitespace normalized.
+ * <p/>
+ * Besides totals, the execution and fetch times are recorded into histograms with fixed buckets: bucket
+ * {@code i} counts the times lower than {@code getHistogramBounds()[i]} milliseconds (and not lower than the
+ * previous bound), the last bucket counts the times beyond the last bound.
+ */
+public interface SqlStatementStatistics extends Serializable {
+	/**
+	 * The normalized SQL of the statement
+	 */
+	String getSql();
+
+	/**
+	 * Number of times the statement was executed
+	 */
+	long getExecutionCount();
+
+	/**
+	 * Total time, in milliseconds, spent executing the statement
+	 */
+	long getExecutionTotalTime();
+
+	/**
+	 * Average time, in milliseconds, of an execution of the statement
+	 */
+	long getExecutionAvgTime();
+
+	/**
+	 * Longest time, in milliseconds, of an execution of the statement
+	 */
+	long getExecutionMaxTime();
+
+	/**
+	 * Number of result sets of the statement read
+	 */
+	long getFetchCount();
+
+	/**
+	 * Total time, in milliseconds, spent reading the result sets of the statement
+	 */
+	long getFetchTotalTime();
+
+	/**
+	 * Longest time, in milliseconds, spent reading a result set of the statement
+	 */
+	long getFetchMaxTime();
+
+	/**
+	 * Total time, in milliseconds, spent executing the statement and reading its results
+	 */
+	long getTotalTime();
+
+	/**
+	 * The upper bounds, in milliseconds, of the histogram buckets
+	 */
+	long[] getHistogramBounds();
+
+	/**
+	 * Number of executions per execution time bucket
+	 */
+	long[] getExecutionTimeHistogram();
+
+	/**
+	 * Number of result sets read per fetch time bucket
+	 */
+	long[] getFetchTimeHistogram();
+}
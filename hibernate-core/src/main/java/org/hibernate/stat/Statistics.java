@@ -67,6 +67,22 @@ public interface Statistics {
 	 */
 	public QueryStatistics getQueryStatistics(String queryString);
 
+	/**
+	 * Statistics of a SQL statement executed through JDBC, including the histograms of its execution and fetch times
+	 *
+	 * @param sql The SQL statement
+	 * @return SqlStatementStatistics
+	 */
+	public SqlStatementStatistics getSqlStatementStatistics(String sql);
+
+	/**
+	 * The statistics of the SQL statements on which the most time was spent, executing them and reading their results
+	 *
+	 * @param count The maximum number of statements to return
+	 * @return The statistics, by decreasing total time
+	 */
+	public SqlStatementStatistics[] getTopSqlStatements(int count);
+
     /**
      * Get global number of entity deletes
 	 * @return entity deletion count
@@ -145,6 +161,21 @@ public interface Statistics {
      * whether you use a connection pool or not)
 	 */
 	public long getConnectCount();
+
+	/**
+	 * The total time, in milliseconds, sessions held JDBC connections
+	 */
+	public long getConnectionHoldTime();
+
+	/**
+	 * The longest time, in milliseconds, a session held a JDBC connection before releasing it
+	 */
+	public long getConnectionHoldMaxTime();
+
+	/**
+	 * The longest time, in milliseconds, a single session held JDBC connections in total over its lifetime
+	 */
+	public long getSessionConnectionHoldMaxTime();
 	/**
      * Global number of cacheable entities/collections successfully retrieved from the cache
      */
@@ -207,6 +238,11 @@ public interface Statistics {
 	 * Get all executed query strings
 	 */
 	public String[] getQueries();
+	/**
+	 * Get all executed SQL statements (normalized).  The number of distinct statements tracked is limited, so
+	 * that SQL varying per execution cannot exhaust memory; statements beyond the limit are not reported.
+	 */
+	public String[] getSqlStatements();
 	/**
 	 * Get the names of all entities
 	 */
@@ -240,4 +276,33 @@ public interface Statistics {
 	 * that occurred
 	 */
 	public long getOptimisticFailureCount();
+	/**
+	 * The number of connections currently handed out by the connection pool, or -1 if the connection
+	 * provider does not expose {@link org.hibernate.service.jdbc.connections.spi.ConnectionPoolMetrics}
+	 */
+	public long getConnectionPoolActiveCount();
+	/**
+	 * The number of open connections currently available in the connection pool, or -1 if unknown
+	 */
+	public long getConnectionPoolIdleCount();
+	/**
+	 * The number of requests which had to wait for a connection of the pool, or -1 if unknown
+	 */
+	public long getConnectionPoolWaitCount();
+	/**
+	 * The total time, in milliseconds, requests waited for a connection of the pool, or -1 if unknown
+	 */
+	public long getConnectionPoolWaitTime();
+	/**
+	 * The longest time, in milliseconds, a request waited for a connection of the pool, or -1 if unknown
+	 */
+	public long getConnectionPoolMaxWaitTime();
+	/**
+	 * The number of requests which gave up waiting for a connection of the pool, or -1 if unknown
+	 */
+	public long getConnectionPoolTimeoutCount();
+	/**
+	 * The number of connections the connection pool reported as possibly leaked, or -1 if unknown
+	 */
+	public long getConnectionPoolLeakCount();
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.stat.SqlStatementStatistics;
+
+/**
+ * SQL statement statistics, with the execution and fetch times recorded into fixed-size histograms.
+ */
+public class ConcurrentSqlStatementStatisticsImpl extends CategorizedStatistics implements SqlStatementStatistics {
+	private static final long[] HISTOGRAM_BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000 };
+
+	private final AtomicLong executionCount = new AtomicLong();
+	private final AtomicLong executionTotalTime = new AtomicLong();
+	private final AtomicLong executionMaxTime = new AtomicLong();
+	private final AtomicLongArray executionTimeHistogram = new AtomicLongArray( HISTOGRAM_BOUNDS.length + 1 );
+	private final AtomicLong fetchCount = new AtomicLong();
+	private final AtomicLong fetchTotalTime = new AtomicLong();
+	private final AtomicLong fetchMaxTime = new AtomicLong();
+	private final AtomicLongArray fetchTimeHistogram = new AtomicLongArray( HISTOGRAM_BOUNDS.length + 1 );
+
+	ConcurrentSqlStatementStatisticsImpl(String sql) {
+		super( sql );
+	}
+
+	public String getSql() {
+		return getCategoryName();
+	}
+
+	public long getExecutionCount() {
+		return executionCount.get();
+	}
+
+	public long getExecutionTotalTime() {
+		return TimeUnit.NANOSECONDS.toMillis( executionTotalTime.get() );
+	}
+
+	public long getExecutionAvgTime() {
+		final long count = executionCount.get();
+		return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis( executionTotalTime.get() / count );
+	}
+
+	public long getExecutionMaxTime() {
+		return TimeUnit.NANOSECONDS.toMillis( executionMaxTime.get() );
+	}
+
+	public long getFetchCount() {
+		return fetchCount.get();
+	}
+
+	public long getFetchTotalTime() {
+		return TimeUnit.NANOSECONDS.toMillis( fetchTotalTime.get() );
+	}
+
+	public long getFetchMaxTime() {
+		return TimeUnit.NANOSECONDS.toMillis( fetchMaxTime.get() );
+	}
+
+	public long getTotalTime() {
+		return TimeUnit.NANOSECONDS.toMillis( getTotalNanos() );
+	}
+
+	long getTotalNanos() {
+		return executionTotalTime.get() + fetchTotalTime.get();
+	}
+
+	public long[] getHistogramBounds() {
+		return HISTOGRAM_BOUNDS.clone();
+	}
+
+	public long[] getExecutionTimeHistogram() {
+		return toArray( executionTimeHistogram );
+	}
+
+	public long[] getFetchTimeHistogram() {
+		return toArray( fetchTimeHistogram );
+	}
+
+	/**
+	 * add statistics report of an execution of the statement
+	 *
+	 * @param time execution time, in nanoseconds
+	 */
+	void executed(long time) {
+		executionCount.getAndIncrement();
+		executionTotalTime.addAndGet( time );
+		updateMax( executionMaxTime, time );
+		executionTimeHistogram.getAndIncrement( bucket( time ) );
+	}
+
+	/**
+	 * add statistics report of a result set of the statement having been read
+	 *
+	 * @param time fetch time, in nanoseconds
+	 */
+	void fetched(long time) {
+		fetchCount.getAndIncrement();
+		fetchTotalTime.addAndGet( time );
+		updateMax( fetchMaxTime, time );
+		fetchTimeHistogram.getAndIncrement( bucket( time ) );
+	}
+
+	private static int bucket(long time) {
+		final long millis = TimeUnit.NANOSECONDS.toMillis( time );
+		int bucket = 0;
+		while ( bucket < HISTOGRAM_BOUNDS.length && millis >= HISTOGRAM_BOUNDS[bucket] ) {
+			bucket++;
+		}
+		return bucket;
+	}
+
+	private static void updateMax(AtomicLong max, long value) {
+		for ( long old = max.get(); value > old && !max.compareAndSet( old, value ); old = max.get() ) {
+			// retry until no larger value wins the race
+		}
+	}
+
+	private static long[] toArray(AtomicLongArray histogram) {
+		final long[] counts = new long[histogram.length()];
+		for ( int i = 0; i < counts.length; i++ ) {
+			counts[i] = histogram.get( i );
+		}
+		return counts;
+	}
+
+	public String toString() {
+		return new StringBuilder()
+				.append( "SqlStatementStatistics" )
+				.append( "[sql=" ).append( getSql() )
+				.append( ",executionCount=" ).append( executionCount )
+				.append( ",executionTotalTime=" ).append( getExecutionTotalTime() )
+				.append( ",executionMaxTime=" ).append( getExecutionMaxTime() )
+				.append( ",fetchCount=" ).append( fetchCount )
+				.append( ",fetchTotalTime=" ).append( getFetchTotalTime() )
+				.append( ",fetchMaxTime=" ).append( getFetchMaxTime() )
+				.append( ']' )
+				.toString();
+	}
+}
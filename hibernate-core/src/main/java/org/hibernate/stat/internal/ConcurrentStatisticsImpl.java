@@ -23,8 +23,11 @@
  */
 package org.hibernate.stat.internal;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.logging.Logger;
@@ -34,10 +37,13 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.service.Service;
+import org.hibernate.service.jdbc.connections.spi.ConnectionPoolMetrics;
+import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.stat.CollectionStatistics;
 import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.SqlStatementStatistics;
 import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
@@ -58,6 +64,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	private AtomicLong sessionCloseCount = new AtomicLong();
 	private AtomicLong flushCount = new AtomicLong();
 	private AtomicLong connectCount = new AtomicLong();
+	private AtomicLong connectionHoldTime = new AtomicLong();
+	private AtomicLong connectionHoldMaxTime = new AtomicLong();
+	private AtomicLong sessionConnectionHoldMaxTime = new AtomicLong();
 
 	private AtomicLong prepareStatementCount = new AtomicLong();
 	private AtomicLong closeStatementCount = new AtomicLong();
@@ -109,6 +118,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * entity statistics per query string (HQL or SQL)
 	 */
 	private final ConcurrentMap queryStatistics = new ConcurrentHashMap();
+	/**
+	 * statistics per SQL statement; replaced as a whole on clear()
+	 */
+	private volatile SqlStatementStatisticsHolder sqlStatementStatistics = new SqlStatementStatisticsHolder();
 
 	@SuppressWarnings({ "UnusedDeclaration" })
 	public ConcurrentStatisticsImpl() {
@@ -132,6 +145,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		sessionOpenCount.set( 0 );
 		flushCount.set( 0 );
 		connectCount.set( 0 );
+		connectionHoldTime.set( 0 );
+		connectionHoldMaxTime.set( 0 );
+		sessionConnectionHoldMaxTime.set( 0 );
 
 		prepareStatementCount.set( 0 );
 		closeStatementCount.set( 0 );
@@ -168,6 +184,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		entityStatistics.clear();
 		collectionStatistics.clear();
 		queryStatistics.clear();
+		sqlStatementStatistics = new SqlStatementStatisticsHolder();
 
 		startTime = System.currentTimeMillis();
 	}
@@ -188,6 +205,21 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		connectCount.getAndIncrement();
 	}
 
+	public void releaseConnection(long holdTime) {
+		connectionHoldTime.addAndGet( holdTime );
+		updateMax( connectionHoldMaxTime, holdTime );
+	}
+
+	public void closeLogicalConnection(long holdTime) {
+		updateMax( sessionConnectionHoldMaxTime, holdTime );
+	}
+
+	private static void updateMax(AtomicLong max, long value) {
+		for ( long old = max.get(); value > old && !max.compareAndSet( old, value ); old = max.get() ) {
+			// retry until no larger value wins the race
+		}
+	}
+
 	public void loadEntity(String entityName) {
 		entityLoadCount.getAndIncrement();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementLoadCount();
@@ -397,6 +429,95 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		updateTimestampsCachePutCount.getAndIncrement();
 	}
 
+	public void sqlStatementExecuted(String sql, long time) {
+		final ConcurrentSqlStatementStatisticsImpl ss = sqlStatementStatistics.get( sql );
+		if ( ss != null ) {
+			ss.executed( time );
+		}
+	}
+
+	public void sqlResultSetFetched(String sql, long time) {
+		final ConcurrentSqlStatementStatisticsImpl ss = sqlStatementStatistics.get( sql );
+		if ( ss != null ) {
+			ss.fetched( time );
+		}
+	}
+
+	/**
+	 * Statistics of a SQL statement
+	 *
+	 * @param sql The SQL statement
+	 *
+	 * @return SqlStatementStatistics
+	 */
+	public SqlStatementStatistics getSqlStatementStatistics(String sql) {
+		final ConcurrentSqlStatementStatisticsImpl ss = sqlStatementStatistics.get( sql );
+		// statements beyond the tracked maximum have no statistics
+		return ss == null ? new ConcurrentSqlStatementStatisticsImpl( normalize( sql ) ) : ss;
+	}
+
+	private static String normalize(String sql) {
+		final String trimmed = sql.trim();
+		final StringBuilder buffer = new StringBuilder( trimmed.length() );
+		boolean whitespace = false;
+		for ( int i = 0; i < trimmed.length(); i++ ) {
+			final char c = trimmed.charAt( i );
+			if ( Character.isWhitespace( c ) ) {
+				whitespace = true;
+			}
+			else {
+				if ( whitespace ) {
+					buffer.append( ' ' );
+					whitespace = false;
+				}
+				buffer.append( c );
+			}
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Get all executed SQL statements
+	 */
+	public String[] getSqlStatements() {
+		return ArrayHelper.toStringArray( sqlStatementStatistics.byNormalizedSql.keySet() );
+	}
+
+	/**
+	 * The statistics of the SQL statements which took the most time, executing and reading results
+	 *
+	 * @param count The maximum number of statements to return
+	 *
+	 * @return The statistics, by decreasing total time
+	 */
+	public SqlStatementStatistics[] getTopSqlStatements(int count) {
+		final ConcurrentSqlStatementStatisticsImpl[] all = sqlStatementStatistics.byNormalizedSql
+				.values()
+				.toArray( new ConcurrentSqlStatementStatisticsImpl[0] );
+		final long[] totals = new long[all.length];
+		final Integer[] order = new Integer[all.length];
+		for ( int i = 0; i < all.length; i++ ) {
+			// snapshot the totals, as they keep changing while sorting
+			totals[i] = all[i].getTotalNanos();
+			order[i] = i;
+		}
+		Arrays.sort(
+				order, new Comparator<Integer>() {
+					@Override
+					public int compare(Integer first, Integer second) {
+						final long firstTotal = totals[first];
+						final long secondTotal = totals[second];
+						return firstTotal > secondTotal ? -1 : ( firstTotal == secondTotal ? 0 : 1 );
+					}
+				}
+		);
+		final SqlStatementStatistics[] top = new SqlStatementStatistics[Math.min( Math.max( count, 0 ), all.length )];
+		for ( int i = 0; i < top.length; i++ ) {
+			top[i] = all[order[i]];
+		}
+		return top;
+	}
+
 	/**
 	 * Query statistics from query string (HQL or SQL)
 	 *
@@ -495,6 +616,18 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return connectCount.get();
 	}
 
+	public long getConnectionHoldTime() {
+		return TimeUnit.NANOSECONDS.toMillis( connectionHoldTime.get() );
+	}
+
+	public long getConnectionHoldMaxTime() {
+		return TimeUnit.NANOSECONDS.toMillis( connectionHoldMaxTime.get() );
+	}
+
+	public long getSessionConnectionHoldMaxTime() {
+		return TimeUnit.NANOSECONDS.toMillis( sessionConnectionHoldMaxTime.get() );
+	}
+
 	/**
 	 * @return second level cache hit
 	 */
@@ -716,6 +849,53 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return optimisticFailureCount.get();
 	}
 
+	private ConnectionPoolMetrics getConnectionPoolMetrics() {
+		if ( sessionFactory == null ) {
+			return null;
+		}
+		final ConnectionProvider connectionProvider = sessionFactory.getServiceRegistry()
+				.getService( ConnectionProvider.class );
+		if ( connectionProvider == null || !connectionProvider.isUnwrappableAs( ConnectionPoolMetrics.class ) ) {
+			return null;
+		}
+		return connectionProvider.unwrap( ConnectionPoolMetrics.class );
+	}
+
+	public long getConnectionPoolActiveCount() {
+		final ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+		return metrics == null ? -1 : metrics.getActiveConnectionCount();
+	}
+
+	public long getConnectionPoolIdleCount() {
+		final ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+		return metrics == null ? -1 : metrics.getIdleConnectionCount();
+	}
+
+	public long getConnectionPoolWaitCount() {
+		final ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+		return metrics == null ? -1 : metrics.getConnectionWaitCount();
+	}
+
+	public long getConnectionPoolWaitTime() {
+		final ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+		return metrics == null ? -1 : metrics.getConnectionWaitTime();
+	}
+
+	public long getConnectionPoolMaxWaitTime() {
+		final ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+		return metrics == null ? -1 : metrics.getMaxConnectionWaitTime();
+	}
+
+	public long getConnectionPoolTimeoutCount() {
+		final ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+		return metrics == null ? -1 : metrics.getConnectionTimeoutCount();
+	}
+
+	public long getConnectionPoolLeakCount() {
+		final ConnectionPoolMetrics metrics = getConnectionPoolMetrics();
+		return metrics == null ? -1 : metrics.getConnectionLeakCount();
+	}
+
 	@Override
     public String toString() {
 		return new StringBuilder()
@@ -728,6 +908,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append( ",optimistic lock failures=" ).append( optimisticFailureCount )
 				.append( ",flushes=" ).append( flushCount )
 				.append( ",connections obtained=" ).append( connectCount )
+				.append( ",connection hold time=" ).append( getConnectionHoldTime() )
 				.append( ",statements prepared=" ).append( prepareStatementCount )
 				.append( ",statements closed=" ).append( closeStatementCount )
 				.append( ",second level cache puts=" ).append( secondLevelCachePutCount )
@@ -758,4 +939,45 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	public String getQueryExecutionMaxTimeQueryString() {
 		return queryExecutionMaxTimeQueryString;
 	}
+
+	/**
+	 * The statistics per SQL statement, keyed by the normalized SQL, and by the SQL as executed so that each
+	 * distinct SQL string is only normalized once.  Statements varying per execution, such as IN lists of varying
+	 * length, would make both maps grow without bounds: at most {@link #MAX_SQL_STATEMENTS} statements are tracked.
+	 */
+	private static final class SqlStatementStatisticsHolder {
+		private static final int MAX_SQL_STATEMENTS = 1000;
+
+		private final ConcurrentMap<String, ConcurrentSqlStatementStatisticsImpl> byNormalizedSql
+				= new ConcurrentHashMap<String, ConcurrentSqlStatementStatisticsImpl>();
+		private final ConcurrentMap<String, ConcurrentSqlStatementStatisticsImpl> byRawSql
+				= new ConcurrentHashMap<String, ConcurrentSqlStatementStatisticsImpl>();
+
+		/**
+		 * @return The statistics of the statement, or {@literal null} if the maximum number of statements is tracked
+		 * already
+		 */
+		private ConcurrentSqlStatementStatisticsImpl get(String sql) {
+			ConcurrentSqlStatementStatisticsImpl ss = byRawSql.get( sql );
+			if ( ss != null ) {
+				return ss;
+			}
+			final String normalizedSql = normalize( sql );
+			ss = byNormalizedSql.get( normalizedSql );
+			if ( ss == null ) {
+				if ( byNormalizedSql.size() >= MAX_SQL_STATEMENTS ) {
+					return null;
+				}
+				ss = new ConcurrentSqlStatementStatisticsImpl( normalizedSql );
+				final ConcurrentSqlStatementStatisticsImpl previous = byNormalizedSql.putIfAbsent( normalizedSql, ss );
+				if ( previous != null ) {
+					ss = previous;
+				}
+			}
+			if ( byRawSql.size() < MAX_SQL_STATEMENTS ) {
+				byRawSql.put( sql, ss );
+			}
+			return ss;
+		}
+	}
 }
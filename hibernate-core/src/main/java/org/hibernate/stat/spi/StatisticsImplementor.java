@@ -53,6 +53,20 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void connect();
 
+	/**
+	 * Callback about a connection being released back to the {@link org.hibernate.service.jdbc.connections.spi.ConnectionProvider}
+	 *
+	 * @param holdTime How long, in nanoseconds, the session held the connection
+	 */
+	public void releaseConnection(long holdTime);
+
+	/**
+	 * Callback about the logical connection of a session being closed.
+	 *
+	 * @param holdTime How long, in nanoseconds, the session held connections in total
+	 */
+	public void closeLogicalConnection(long holdTime);
+
 	/**
 	 * Callback about a statement being prepared.
 	 */
@@ -205,6 +219,22 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void queryExecuted(String hql, int rows, long time);
 
+	/**
+	 * Callback indicating execution of a SQL statement through JDBC
+	 *
+	 * @param sql The SQL statement
+	 * @param time execution time, in nanoseconds
+	 */
+	public void sqlStatementExecuted(String sql, long time);
+
+	/**
+	 * Callback indicating the results of a SQL statement having been read
+	 *
+	 * @param sql The SQL statement
+	 * @param time time spent moving through the result set, in nanoseconds
+	 */
+	public void sqlResultSetFetched(String sql, long time);
+
 
 	/**
 	 * Callback indicating a hit to the timestamp cache
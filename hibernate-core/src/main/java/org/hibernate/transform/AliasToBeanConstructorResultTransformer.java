@@ -27,6 +27,7 @@ import java.lang.reflect.Constructor;
 import java.util.List;
 
 import org.hibernate.QueryException;
+import org.hibernate.bytecode.spi.ConstructorOptimizer;
 
 /**
  * Wraps the tuples in a constructor call.
@@ -36,6 +37,8 @@ import org.hibernate.QueryException;
 public class AliasToBeanConstructorResultTransformer implements ResultTransformer {
 
 	private final Constructor constructor;
+	private transient volatile boolean optimizerResolved;
+	private transient ConstructorOptimizer optimizer;
 
 	/**
 	 * Instantiates a AliasToBeanConstructorResultTransformer.
@@ -50,8 +53,12 @@ public class AliasToBeanConstructorResultTransformer implements ResultTransforme
 	 * Wrap the incoming tuples in a call to our configured constructor.
 	 */
 	public Object transformTuple(Object[] tuple, String[] aliases) {
+		if ( !optimizerResolved ) {
+			optimizer = BytecodeOptimizers.getConstructorOptimizer( constructor );
+			optimizerResolved = true;
+		}
 		try {
-			return constructor.newInstance( tuple );
+			return optimizer == null ? constructor.newInstance( tuple ) : optimizer.newInstance( tuple );
 		}
 		catch ( Exception e ) {
 			throw new QueryException( 
@@ -26,6 +26,7 @@ package org.hibernate.transform;
 import java.util.Arrays;
 
 import org.hibernate.HibernateException;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.property.ChainedPropertyAccessor;
 import org.hibernate.property.PropertyAccessor;
 import org.hibernate.property.PropertyAccessorFactory;
@@ -61,6 +62,8 @@ public class AliasToBeanResultTransformer extends AliasedTupleSubsetResultTransf
 	private boolean isInitialized;
 	private String[] aliases;
 	private Setter[] setters;
+	// generated on first use when all the aliases map to setter methods; null to populate through reflection
+	private transient ReflectionOptimizer optimizer;
 
 	public AliasToBeanResultTransformer(Class resultClass) {
 		if ( resultClass == null ) {
@@ -87,12 +90,18 @@ public class AliasToBeanResultTransformer extends AliasedTupleSubsetResultTransf
 			else {
 				check( aliases );
 			}
-			
-			result = resultClass.newInstance();
 
-			for ( int i = 0; i < aliases.length; i++ ) {
-				if ( setters[i] != null ) {
-					setters[i].set( result, tuple[i], null );
+			if ( optimizer != null ) {
+				result = optimizer.getInstantiationOptimizer().newInstance();
+				optimizer.getAccessOptimizer().setPropertyValues( result, tuple );
+			}
+			else {
+				result = resultClass.newInstance();
+
+				for ( int i = 0; i < aliases.length; i++ ) {
+					if ( setters[i] != null ) {
+						setters[i].set( result, tuple[i], null );
+					}
 				}
 			}
 		}
@@ -122,6 +131,7 @@ public class AliasToBeanResultTransformer extends AliasedTupleSubsetResultTransf
 				setters[ i ] = propertyAccessor.getSetter( resultClass, alias );
 			}
 		}
+		optimizer = BytecodeOptimizers.getSetterOptimizer( resultClass, this.aliases, setters );
 		isInitialized = true;
 	}
 
@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.transform;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.hibernate.PropertyNotFoundException;
+import org.hibernate.bytecode.spi.ConstructorOptimizer;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.Environment;
+import org.hibernate.property.BasicPropertyAccessor;
+import org.hibernate.property.Getter;
+import org.hibernate.property.Setter;
+
+/**
+ * Shares the bytecode optimizers generated for result classes between the result transformer instances
+ * (typically one per query execution) populating them.
+ * <p/>
+ * Optimizers are only generated when {@link Environment#useReflectionOptimizer()} allows it.  Result classes
+ * are weakly referenced and the optimizers softly referenced, so that the cache does not prevent
+ * unloading the result classes.
+ */
+final class BytecodeOptimizers {
+	private static final Object UNAVAILABLE = new Object();
+
+	private static final Map<Class, Map<List<String>, SoftReference<Object>>> OPTIMIZERS =
+			Collections.synchronizedMap( new WeakHashMap<Class, Map<List<String>, SoftReference<Object>>>() );
+
+	private BytecodeOptimizers() {
+	}
+
+	/**
+	 * Get an optimizer invoking the given constructor.
+	 *
+	 * @param constructor The constructor
+	 *
+	 * @return The optimizer, or {@code null} if the constructor is to be invoked by reflection
+	 */
+	static ConstructorOptimizer getConstructorOptimizer(Constructor constructor) {
+		if ( !Environment.useReflectionOptimizer() ) {
+			return null;
+		}
+		final Class[] parameterTypes = constructor.getParameterTypes();
+		final String[] key = new String[parameterTypes.length + 1];
+		// distinguishes the constructor keys from the setter keys, which are aliases
+		key[0] = "<init>";
+		for ( int i = 0; i < parameterTypes.length; i++ ) {
+			key[i + 1] = parameterTypes[i].getName();
+		}
+
+		Object optimizer = get( constructor.getDeclaringClass(), key );
+		if ( optimizer == null ) {
+			optimizer = Environment.getBytecodeProvider().getConstructorOptimizer( constructor );
+			put( constructor.getDeclaringClass(), key, optimizer );
+		}
+		return optimizer == UNAVAILABLE ? null : (ConstructorOptimizer) optimizer;
+	}
+
+	/**
+	 * Get an optimizer instantiating the given class and setting the given properties through their setter
+	 * methods.
+	 *
+	 * @param resultClass The class to populate
+	 * @param aliases The names of the properties, in tuple order
+	 * @param setters The setters of these properties
+	 *
+	 * @return The optimizer, or {@code null} if the class is to be populated by reflection
+	 */
+	static ReflectionOptimizer getSetterOptimizer(Class resultClass, String[] aliases, Setter[] setters) {
+		if ( !Environment.useReflectionOptimizer() ) {
+			return null;
+		}
+
+		Object optimizer = get( resultClass, aliases );
+		if ( optimizer == null ) {
+			optimizer = buildSetterOptimizer( resultClass, aliases, setters );
+			put( resultClass, aliases, optimizer );
+		}
+		return optimizer == UNAVAILABLE ? null : (ReflectionOptimizer) optimizer;
+	}
+
+	private static ReflectionOptimizer buildSetterOptimizer(Class resultClass, String[] aliases, Setter[] setters) {
+		final BasicPropertyAccessor getterAccessor = new BasicPropertyAccessor();
+		final String[] getterNames = new String[aliases.length];
+		final String[] setterNames = new String[aliases.length];
+		final Class[] types = new Class[aliases.length];
+		for ( int i = 0; i < aliases.length; i++ ) {
+			final Method setterMethod = setters[i] == null ? null : setters[i].getMethod();
+			if ( setterMethod == null ) {
+				// an unknown alias, or a property set through its field
+				return null;
+			}
+			setterNames[i] = setterMethod.getName();
+			types[i] = setterMethod.getParameterTypes()[0];
+			try {
+				// the getters are only used to check the optimizer when it is built
+				final Getter getter = getterAccessor.getGetter( resultClass, aliases[i] );
+				if ( getter.getReturnType() == types[i] ) {
+					getterNames[i] = getter.getMethodName();
+				}
+			}
+			catch ( PropertyNotFoundException ignore ) {
+			}
+		}
+		return Environment.getBytecodeProvider().getReflectionOptimizer( resultClass, getterNames, setterNames, types );
+	}
+
+	private static Object get(Class resultClass, String[] key) {
+		final Map<List<String>, SoftReference<Object>> optimizers = OPTIMIZERS.get( resultClass );
+		if ( optimizers == null ) {
+			return null;
+		}
+		synchronized ( optimizers ) {
+			final SoftReference<Object> reference = optimizers.get( Arrays.asList( key ) );
+			return reference == null ? null : reference.get();
+		}
+	}
+
+	private static void put(Class resultClass, String[] key, Object optimizer) {
+		Map<List<String>, SoftReference<Object>> optimizers;
+		synchronized ( OPTIMIZERS ) {
+			optimizers = OPTIMIZERS.get( resultClass );
+			if ( optimizers == null ) {
+				optimizers = new HashMap<List<String>, SoftReference<Object>>();
+				OPTIMIZERS.put( resultClass, optimizers );
+			}
+		}
+		synchronized ( optimizers ) {
+			optimizers.put(
+					Arrays.asList( key.clone() ),
+					new SoftReference<Object>( optimizer == null ? UNAVAILABLE : optimizer )
+			);
+		}
+	}
+}
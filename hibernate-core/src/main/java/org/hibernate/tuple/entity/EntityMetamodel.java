@@ -25,6 +25,7 @@ package org.hibernate.tuple.entity;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -60,6 +61,7 @@ import org.hibernate.tuple.PropertyFactory;
 import org.hibernate.tuple.StandardProperty;
 import org.hibernate.tuple.VersionProperty;
 import org.hibernate.type.AssociationType;
+import org.hibernate.type.CollectionType;
 import org.hibernate.type.CompositeType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -132,6 +134,7 @@ public class EntityMetamodel implements Serializable {
 	private final EntityMode entityMode;
 	private final EntityTuplizer entityTuplizer;
 	private boolean lazyAvailable;
+	private final boolean enhancedDirtyTrackingEnabled;
 
 	public EntityMetamodel(PersistentClass persistentClass, SessionFactoryImplementor sessionFactory) {
 		this.sessionFactory = sessionFactory;
@@ -330,6 +333,7 @@ public class EntityMetamodel implements Serializable {
 		}
 
 		entityMode = persistentClass.hasPojoRepresentation() ? EntityMode.POJO : EntityMode.MAP;
+		enhancedDirtyTrackingEnabled = determineEnhancedDirtyTracking();
 		final EntityTuplizerFactory entityTuplizerFactory = sessionFactory.getSettings().getEntityTuplizerFactory();
 		final String tuplizerClassName = persistentClass.getTuplizerImplClassName( entityMode );
 		if ( tuplizerClassName == null ) {
@@ -578,6 +582,7 @@ public class EntityMetamodel implements Serializable {
 		}
 
 		entityMode = hasPojoRepresentation ? EntityMode.POJO : EntityMode.MAP;
+		enhancedDirtyTrackingEnabled = determineEnhancedDirtyTracking();
 		final EntityTuplizerFactory entityTuplizerFactory = sessionFactory.getSettings().getEntityTuplizerFactory();
 		Class<? extends EntityTuplizer> tuplizerClass = entityBinding.getCustomEntityTuplizerClass();
 
@@ -589,6 +594,34 @@ public class EntityMetamodel implements Serializable {
 		}
 	}
 
+	private boolean determineEnhancedDirtyTracking() {
+		if ( !sessionFactory.getSettings().isEnhancedDirtyTrackingEnabled() ) {
+			return false;
+		}
+		// the loaded state snapshot is still needed by version and optimistic-lock=all|dirty checks, for
+		// comparing mutable values, for natural-id checks, for re-reading generated values and for
+		// orphan / property-ref collection key resolution
+		if ( !lazyAvailable || entityMode != EntityMode.POJO || !mutable || versioned || hasMutableProperties ) {
+			return false;
+		}
+		if ( optimisticLockStyle == OptimisticLockStyle.ALL || optimisticLockStyle == OptimisticLockStyle.DIRTY ) {
+			return false;
+		}
+		if ( naturalIdPropertyNumbers != null || hasInsertGeneratedValues || hasUpdateGeneratedValues ) {
+			return false;
+		}
+		for ( int i = 0; i < propertySpan; i++ ) {
+			if ( cascadeStyles[i].hasOrphanDelete() ) {
+				return false;
+			}
+			if ( propertyTypes[i].isCollectionType()
+					&& ( (CollectionType) propertyTypes[i] ).getLHSPropertyName() != null ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private ValueInclusion determineInsertValueGenerationType(Property mappingProperty, StandardProperty runtimeProperty) {
 		if ( runtimeProperty.isInsertGenerated() ) {
 			return ValueInclusion.FULL;
@@ -788,6 +821,34 @@ public class EntityMetamodel implements Serializable {
 		return (Integer) propertyIndexes.get( propertyName );
 	}
 
+	/**
+	 * Resolve the indexes of the properties with the given names, as reported by
+	 * {@link org.hibernate.bytecode.instrumentation.spi.FieldInterceptor#getDirtyFields()}.
+	 *
+	 * @param propertyNames The property names; names not mapped to a property are ignored.
+	 * @return The property indexes, in ascending order.
+	 */
+	public int[] getPropertyIndexes(Set<String> propertyNames) {
+		final int[] indexes = new int[propertyNames.size()];
+		int count = 0;
+		for ( String propertyName : propertyNames ) {
+			final Integer index = propertyIndexes.get( propertyName );
+			if ( index != null ) {
+				indexes[count++] = index;
+			}
+		}
+		final int[] result;
+		if ( count == indexes.length ) {
+			result = indexes;
+		}
+		else {
+			result = new int[count];
+			System.arraycopy( indexes, 0, result, 0, count );
+		}
+		Arrays.sort( result );
+		return result;
+	}
+
 	public boolean hasCollections() {
 		return hasCollections;
 	}
@@ -946,4 +1007,14 @@ public class EntityMetamodel implements Serializable {
 	public boolean isInstrumented() {
 		return lazyAvailable;
 	}
+
+	/**
+	 * Whether instances of this (instrumented) entity are dirty-checked against the fields written since
+	 * they were loaded, rather than against a snapshot of their loaded state.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ENHANCED_DIRTY_TRACKING
+	 */
+	public boolean isEnhancedDirtyTrackingEnabled() {
+		return enhancedDirtyTrackingEnabled;
+	}
 }
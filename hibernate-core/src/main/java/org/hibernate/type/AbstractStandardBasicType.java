@@ -244,8 +244,12 @@ public abstract class AbstractStandardBasicType<T>
 	}
 
 	public final T nullSafeGet(ResultSet rs, String name, final SessionImplementor session) throws SQLException {
+		return nullSafeGet( rs, name, getWrapperOptions( session ) );
+	}
+
+	private WrapperOptions getWrapperOptions(final SessionImplementor session) {
 		// todo : have SessionImplementor extend WrapperOptions
-		final WrapperOptions options = new WrapperOptions() {
+		return new WrapperOptions() {
 			public boolean useStreamForLobBinding() {
 				return Environment.useStreamsForBinary();
 			}
@@ -261,14 +265,25 @@ public abstract class AbstractStandardBasicType<T>
 				return remapped == null ? sqlTypeDescriptor : remapped;
 			}
 		};
-
-		return nullSafeGet( rs, name, options );
 	}
 
 	protected final T nullSafeGet(ResultSet rs, String name, WrapperOptions options) throws SQLException {
 		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( rs, name, options );
 	}
 
+	public final Object nullSafeGet(ResultSet rs, int[] positions, SessionImplementor session, Object owner)
+			throws SQLException {
+		return nullSafeGet( rs, positions[0], session );
+	}
+
+	public final T nullSafeGet(ResultSet rs, int position, SessionImplementor session) throws SQLException {
+		return nullSafeGet( rs, position, getWrapperOptions( session ) );
+	}
+
+	protected final T nullSafeGet(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( rs, position, options );
+	}
+
 	public Object get(ResultSet rs, String name, SessionImplementor session) throws HibernateException, SQLException {
 		return nullSafeGet( rs, name, session );
 	}
@@ -357,6 +372,11 @@ public abstract class AbstractStandardBasicType<T>
 		return nullSafeGet(rs, names, session, owner);
 	}
 
+	public final Object hydrate(ResultSet rs, int[] positions, SessionImplementor session, Object owner)
+			throws HibernateException, SQLException {
+		return nullSafeGet( rs, positions, session, owner );
+	}
+
 	public final Object resolve(Object value, SessionImplementor session, Object owner) throws HibernateException {
 		return value;
 	}
@@ -25,6 +25,7 @@ package org.hibernate.type;
 
 import java.io.Serializable;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.Map;
 
@@ -34,6 +35,7 @@ import org.dom4j.Node;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.internal.util.compare.EqualsHelper;
 import org.hibernate.metamodel.relational.Size;
 
@@ -106,6 +108,36 @@ public abstract class AbstractType implements Type {
 		return nullSafeGet(rs, names, session, owner);
 	}
 
+	/**
+	 * Reads the columns by name, using the labels of the columns at the given positions.  Types able to
+	 * read their columns by position override this.
+	 */
+	public Object nullSafeGet(ResultSet rs, int[] positions, SessionImplementor session, Object owner)
+	throws HibernateException, SQLException {
+		return nullSafeGet( rs, getColumnLabels( rs, positions ), session, owner );
+	}
+
+	/**
+	 * Reads the columns by name, using the labels of the columns at the given positions.  Types able to
+	 * read their columns by position override this.
+	 */
+	public Object hydrate(ResultSet rs, int[] positions, SessionImplementor session, Object owner)
+	throws HibernateException, SQLException {
+		return hydrate( rs, getColumnLabels( rs, positions ), session, owner );
+	}
+
+	protected static String[] getColumnLabels(ResultSet rs, int[] positions) throws SQLException {
+		if ( positions.length == 0 ) {
+			return ArrayHelper.EMPTY_STRING_ARRAY;
+		}
+		final ResultSetMetaData metaData = rs.getMetaData();
+		final String[] labels = new String[positions.length];
+		for ( int i = 0; i < positions.length; i++ ) {
+			labels[i] = metaData.getColumnLabel( positions[i] );
+		}
+		return labels;
+	}
+
 	public Object resolve(Object value, SessionImplementor session, Object owner)
 	throws HibernateException {
 		return value;
@@ -349,6 +349,12 @@ public class ComponentType extends AbstractType implements CompositeType {
 		return resolve( hydrate( rs, names, session, owner ), session, owner );
 	}
 
+	@Override
+	public Object nullSafeGet(ResultSet rs, int[] positions, SessionImplementor session, Object owner)
+			throws HibernateException, SQLException {
+		return resolve( hydrate( rs, positions, session, owner ), session, owner );
+	}
+
 	public void nullSafeSet(PreparedStatement st, Object value, int begin, SessionImplementor session)
 			throws HibernateException, SQLException {
 
@@ -646,6 +652,36 @@ public class ComponentType extends AbstractType implements CompositeType {
 		return notNull ? values : null;
 	}
 
+	@Override
+	public Object hydrate(
+			final ResultSet rs,
+			final int[] positions,
+			final SessionImplementor session,
+			final Object owner)
+			throws HibernateException, SQLException {
+
+		int begin = 0;
+		boolean notNull = false;
+		Object[] values = new Object[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			int length = propertyTypes[i].getColumnSpan( session.getFactory() );
+			int[] range = ArrayHelper.slice( positions, begin, length );
+			Object val = propertyTypes[i].hydrate( rs, range, session, owner );
+			if ( val == null ) {
+				if ( isKey ) {
+					return null; //different nullability rules for pk/fk
+				}
+			}
+			else {
+				notNull = true;
+			}
+			values[i] = val;
+			begin += length;
+		}
+
+		return notNull ? values : null;
+	}
+
 	@Override
     public Object resolve(Object value, SessionImplementor session, Object owner)
 			throws HibernateException {
@@ -234,6 +234,15 @@ public abstract class EntityType extends AbstractType implements AssociationType
 		return resolve( hydrate(rs, names, session, owner), session, owner );
 	}
 
+	@Override
+	public final Object nullSafeGet(
+			ResultSet rs,
+			int[] positions,
+			SessionImplementor session,
+			Object owner) throws HibernateException, SQLException {
+		return resolve( hydrate( rs, positions, session, owner ), session, owner );
+	}
+
 	/**
 	 * Two entities are considered the same when their instances are the same.
 	 *
@@ -160,6 +160,18 @@ public class ManyToOneType extends EntityType {
 		return id;
 	}
 
+	@Override
+	public Object hydrate(
+			ResultSet rs,
+			int[] positions,
+			SessionImplementor session,
+			Object owner) throws HibernateException, SQLException {
+		Serializable id = (Serializable) getIdentifierOrUniqueKeyType( session.getFactory() )
+				.nullSafeGet( rs, positions, session, null );
+		scheduleBatchLoadIfNeeded( id, session );
+		return id;
+	}
+
 	/**
 	 * Register the entity as batch loadable, if enabled
 	 */
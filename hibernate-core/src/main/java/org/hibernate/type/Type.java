@@ -332,6 +332,22 @@ public interface Type extends Serializable {
 	public Object nullSafeGet(ResultSet rs, String name, SessionImplementor session, Object owner)
 	throws HibernateException, SQLException;
 
+	/**
+	 * Retrieve an instance of the mapped class from a JDBC resultset, reading the columns
+	 * by position rather than by name. Implementors should handle possibility of null values.
+	 *
+	 * @see Type#nullSafeGet(ResultSet, String[], SessionImplementor, Object)
+	 * @param rs
+	 * @param positions the (1-based) column positions
+	 * @param session
+	 * @param owner the parent entity
+	 * @return Object
+	 * @throws HibernateException
+	 * @throws SQLException
+	 */
+	public Object nullSafeGet(ResultSet rs, int[] positions, SessionImplementor session, Object owner)
+	throws HibernateException, SQLException;
+
 	/**
 	 * Write an instance of the mapped class to a prepared statement, ignoring some columns. 
 	 * Implementors should handle possibility of null values. A multi-column type should be 
@@ -464,6 +480,22 @@ public interface Type extends Serializable {
 	public Object hydrate(ResultSet rs, String[] names, SessionImplementor session, Object owner)
 	throws HibernateException, SQLException;
 
+	/**
+	 * Retrieve an instance of the mapped class, or the identifier of an entity or collection,
+	 * from a JDBC resultset, reading the columns by position rather than by name.
+	 *
+	 * @see Type#hydrate(ResultSet, String[], SessionImplementor, Object)
+	 * @param rs
+	 * @param positions the (1-based) column positions
+	 * @param session the session
+	 * @param owner the parent entity
+	 * @return Object an identifier or actual value
+	 * @throws HibernateException
+	 * @throws SQLException
+	 */
+	public Object hydrate(ResultSet rs, int[] positions, SessionImplementor session, Object owner)
+	throws HibernateException, SQLException;
+
 	/**
 	 * Map identifiers to entities or collections. This is the second phase of 2-phase property 
 	 * initialization.
@@ -43,4 +43,17 @@ public interface ValueExtractor<X> {
 	 * @throws SQLException Indicates a JDBC error occurred.
 	 */
 	public X extract(ResultSet rs, String name, WrapperOptions options) throws SQLException;
+
+	/**
+	 * Extract value from result set
+	 *
+	 * @param rs The result set from which to extract the value
+	 * @param position The (1-based) position of the value in the result set
+	 * @param options The options
+	 *
+	 * @return The extracted value
+	 *
+	 * @throws SQLException Indicates a JDBC error occurred.
+	 */
+	public X extract(ResultSet rs, int position, WrapperOptions options) throws SQLException;
 }
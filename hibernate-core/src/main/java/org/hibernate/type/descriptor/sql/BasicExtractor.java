@@ -75,6 +75,25 @@ public abstract class BasicExtractor<J> implements ValueExtractor<J> {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public J extract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		final J value = doExtract( rs, position, options );
+		if ( value == null || rs.wasNull() ) {
+			if ( LOG.isTraceEnabled() ) {
+				LOG.tracev( "Found [null] as column at position [{0}]", position );
+			}
+			return null;
+		}
+		else {
+			if ( LOG.isTraceEnabled() ) {
+				LOG.tracev( "Found [{0}] as column at position [{1}]", getJavaDescriptor().extractLoggableRepresentation( value ), position );
+			}
+			return value;
+		}
+	}
+
 	/**
 	 * Perform the extraction.
 	 * <p/>
@@ -90,4 +109,22 @@ public abstract class BasicExtractor<J> implements ValueExtractor<J> {
 	 * @throws SQLException Indicates a problem access the result set
 	 */
 	protected abstract J doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException;
+
+	/**
+	 * Perform the extraction by position.
+	 * <p/>
+	 * Called from {@link #extract}.  The built-in extractors read the value by position; this default
+	 * implementation, kept for extractors only reading by name, looks up the label of the column.
+	 *
+	 * @param rs The result set
+	 * @param position The (1-based) position of the value in the result set
+	 * @param options The binding options
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates a problem access the result set
+	 */
+	protected J doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		return doExtract( rs, rs.getMetaData().getColumnLabel( position ), options );
+	}
 }
@@ -65,6 +65,11 @@ public class BigIntTypeDescriptor implements SqlTypeDescriptor {
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( rs.getLong( name ), options );
 			}
+
+			@Override
+			protected X doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getLong( position ), options );
+			}
 		};
 	}
 }
@@ -0,0 +1,121 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batch.identity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialectFeature;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that persisted entities with IDENTITY generated ids are inserted at flush time, in JDBC batches,
+ * and get the ids generated for them.
+ */
+@RequiresDialectFeature( DialectChecks.SupportsBatchedGeneratedKeys.class )
+public class BatchedIdentityInsertTest extends BaseCoreFunctionalTestCase {
+	private static final int ITEMS = 25;
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batch/identity/Mapping.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "10" );
+		cfg.setProperty( Environment.USE_GET_GENERATED_KEYS, "true" );
+		cfg.setProperty( Environment.BATCH_IDENTITY_INSERTS, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testBatchedInserts() {
+		Session s = openSession();
+		s.beginTransaction();
+		Owner owner = new Owner( "owner" );
+		List<Item> items = new ArrayList<Item>();
+		for ( int i = 0; i < ITEMS; i++ ) {
+			Item item = new Item( "item" + i, owner );
+			s.persist( item );
+			items.add( item );
+		}
+		assertNull( owner.getId() );
+		assertNull( items.get( 0 ).getId() );
+
+		sessionFactory().getStatistics().clear();
+		s.flush();
+		// one statement for the owner, then batches of 10, 10 and 5 items
+		assertEquals( 4, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( ITEMS + 1, sessionFactory().getStatistics().getEntityInsertCount() );
+		assertNotNull( owner.getId() );
+		Set<Long> ids = new HashSet<Long>();
+		for ( Item item : items ) {
+			assertNotNull( item.getId() );
+			assertTrue( ids.add( item.getId() ) );
+			assertEquals( item.getId(), s.getIdentifier( item ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < ITEMS; i++ ) {
+			Item item = (Item) s.get( Item.class, items.get( i ).getId() );
+			assertEquals( "item" + i, item.getName() );
+			assertEquals( owner.getId(), item.getOwner().getId() );
+		}
+		s.createQuery( "delete from Item" ).executeUpdate();
+		s.createQuery( "delete from Owner" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSaveIsNotDelayed() {
+		Session s = openSession();
+		s.beginTransaction();
+		Owner owner = new Owner( "owner" );
+		s.save( owner );
+		// save() returns the id, so the insert cannot wait for the flush
+		assertNotNull( owner.getId() );
+		s.delete( owner );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
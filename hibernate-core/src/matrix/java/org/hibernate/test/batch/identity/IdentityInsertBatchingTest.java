@@ -0,0 +1,181 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batch.identity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.metamodel.source.MetadataImplementor;
+import org.hibernate.service.BootstrapServiceRegistryBuilder;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialectFeature;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks how the action queue groups delayed identity inserts into batches, using a persister which accepts
+ * batches on any database: consecutive inserts of the same entity go together, up to the JDBC batch size, vetoed
+ * inserts are left out, and the persistence context keys of the inserted entities are replaced by their ids.
+ */
+@RequiresDialectFeature( DialectChecks.SupportsIdentityColumns.class )
+public class IdentityInsertBatchingTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batch/identity/StubMapping.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "3" );
+	}
+
+	@Override
+	protected void prepareBootstrapRegistryBuilder(BootstrapServiceRegistryBuilder builder) {
+		super.prepareBootstrapRegistryBuilder( builder );
+		builder.with(
+				new Integrator() {
+					@Override
+					public void integrate(
+							Configuration configuration,
+							SessionFactoryImplementor sessionFactory,
+							SessionFactoryServiceRegistry serviceRegistry) {
+						integrate( serviceRegistry );
+					}
+
+					@Override
+					public void integrate(
+							MetadataImplementor metadata,
+							SessionFactoryImplementor sessionFactory,
+							SessionFactoryServiceRegistry serviceRegistry) {
+						integrate( serviceRegistry );
+					}
+
+					private void integrate(SessionFactoryServiceRegistry serviceRegistry) {
+						serviceRegistry.getService( EventListenerRegistry.class )
+								.getEventListenerGroup( EventType.PRE_INSERT )
+								.appendListener(
+										new PreInsertEventListener() {
+											@Override
+											public boolean onPreInsert(PreInsertEvent event) {
+												return event.getEntity() instanceof Owner
+														&& ( (Owner) event.getEntity() ).getName().startsWith( "vetoed" );
+											}
+										}
+								);
+					}
+
+					@Override
+					public void disintegrate(
+							SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testBatchesGroupedByEntityAndSplitAtBatchSize() {
+		RecordingBatchPersister.getBatches().clear();
+		Session s = openSession();
+		s.beginTransaction();
+		List<Owner> owners = new ArrayList<Owner>();
+		for ( int i = 0; i < 7; i++ ) {
+			Owner owner = new Owner( "owner" + i );
+			s.persist( owner );
+			owners.add( owner );
+		}
+		Item first = new Item( "first", null );
+		Item second = new Item( "second", null );
+		s.persist( first );
+		s.persist( second );
+		Owner last = new Owner( "last" );
+		s.persist( last );
+		assertNull( owners.get( 0 ).getId() );
+
+		s.flush();
+		// the seventh owner and the last one are inserted on their own, outside of any batch
+		assertEquals( Arrays.asList( "Owner:3", "Owner:3", "Item:2" ), RecordingBatchPersister.getBatches() );
+		owners.add( last );
+		for ( Owner owner : owners ) {
+			assertNotNull( owner.getId() );
+			assertEquals( owner.getId(), s.getIdentifier( owner ) );
+			assertSame( owner, s.get( Owner.class, owner.getId() ) );
+		}
+		assertNotNull( first.getId() );
+		assertSame( first, s.get( Item.class, first.getId() ) );
+		assertSame( second, s.get( Item.class, second.getId() ) );
+		assertEquals( 8L, s.createQuery( "select count(*) from Owner" ).uniqueResult() );
+		assertEquals( 2L, s.createQuery( "select count(*) from Item" ).uniqueResult() );
+
+		s.createQuery( "delete from Item" ).executeUpdate();
+		s.createQuery( "delete from Owner" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testVetoedInsertLeftOutOfBatch() {
+		RecordingBatchPersister.getBatches().clear();
+		Session s = openSession();
+		s.beginTransaction();
+		Owner before = new Owner( "before" );
+		Owner vetoed = new Owner( "vetoed" );
+		Owner after = new Owner( "after" );
+		s.persist( before );
+		s.persist( vetoed );
+		s.persist( after );
+
+		s.flush();
+		assertEquals( Arrays.asList( "Owner:2" ), RecordingBatchPersister.getBatches() );
+		assertNotNull( before.getId() );
+		assertNotNull( after.getId() );
+		assertFalse( before.getId().equals( after.getId() ) );
+		assertSame( after, s.get( Owner.class, after.getId() ) );
+		assertNull( vetoed.getId() );
+		s.evict( vetoed );
+		assertEquals( 2L, s.createQuery( "select count(*) from Owner" ).uniqueResult() );
+
+		s.createQuery( "delete from Owner" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batch.identity;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+
+/**
+ * A persister which always accepts batched identity inserts, whatever the dialect, and records the batches it
+ * is given.  Each batch is inserted one row at a time, so the grouping done by the action queue can be checked
+ * on databases whose driver does not return the keys of a batch.
+ */
+public class RecordingBatchPersister extends SingleTableEntityPersister {
+	private static final List<String> batches = new ArrayList<String>();
+
+	public RecordingBatchPersister(
+			PersistentClass persistentClass,
+			EntityRegionAccessStrategy cacheAccessStrategy,
+			SessionFactoryImplementor factory,
+			Mapping mapping) throws HibernateException {
+		super( persistentClass, cacheAccessStrategy, factory, mapping );
+	}
+
+	/**
+	 * @return The batches inserted so far, as "entity name:batch size"
+	 */
+	public static List<String> getBatches() {
+		return batches;
+	}
+
+	@Override
+	public boolean isIdentityInsertBatchable() {
+		return true;
+	}
+
+	@Override
+	public Serializable[] insert(Object[][] fields, Object[] objects, SessionImplementor session)
+			throws HibernateException {
+		batches.add( getEntityName().substring( getEntityName().lastIndexOf( '.' ) + 1 ) + ':' + objects.length );
+		final Serializable[] ids = new Serializable[objects.length];
+		for ( int i = 0; i < objects.length; i++ ) {
+			ids[i] = insert( fields[i], objects[i], session );
+		}
+		return ids;
+	}
+}
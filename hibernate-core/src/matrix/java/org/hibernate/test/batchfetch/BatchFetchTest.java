@@ -136,5 +136,41 @@ public class BatchFetchTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
-}
+	@SuppressWarnings( {"unchecked"})
+	@Test
+	public void testCollectionBatchFollowsTriggeringCollection() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		for ( int i = 0; i < 100; i++ ) {
+			ProductLine productLine = new ProductLine();
+			productLine.setDescription( "pl" + ( i < 10 ? "0" + i : "" + i ) );
+			s.save( productLine );
+		}
+		t.commit();
+		s.close();
 
+		s = openSession();
+		t = s.beginTransaction();
+		List<ProductLine> list = s.createQuery( "from ProductLine pl order by pl.description" ).list();
+		assertEquals( 100, list.size() );
+		list.get( 30 ).getModels().size();
+		// a batch of 64: the collection itself and the 63 registered right after it
+		for ( int i = 0; i < list.size(); i++ ) {
+			assertEquals(
+					"collection " + i,
+					i >= 30 && i < 94,
+					Hibernate.isInitialized( list.get( i ).getModels() )
+			);
+		}
+		// the ones after it, then those before it, skipping the initialized ones
+		list.get( 95 ).getModels().size();
+		for ( int i = 0; i < list.size(); i++ ) {
+			assertTrue( "collection " + i, Hibernate.isInitialized( list.get( i ).getModels() ) );
+		}
+		for ( ProductLine productLine : list ) {
+			s.delete( productLine );
+		}
+		t.commit();
+		s.close();
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.loader.collection.PaddedBatchingCollectionInitializer;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The batch fetch style given by the <tt>batch-fetch-style</tt> mapping attribute of a class or collection
+ * overrides the global setting.
+ */
+public class MappedBatchFetchStyleTest extends BaseCoreFunctionalTestCase {
+	private static final int PRODUCT_LINES = 11;
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batchfetch/PaddedProductLine.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.BATCH_FETCH_STYLE, "legacy" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testCollectionStyle() {
+		AbstractCollectionPersister cp = (AbstractCollectionPersister)
+				sessionFactory().getCollectionPersister( ProductLine.class.getName() + ".models" );
+		assertTrue( cp.getInitializer() instanceof PaddedBatchingCollectionInitializer );
+	}
+
+	@SuppressWarnings( {"unchecked"})
+	@Test
+	public void testEntityStyle() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		for ( int i = 0; i < PRODUCT_LINES; i++ ) {
+			ProductLine productLine = new ProductLine();
+			productLine.setDescription( "pl" + i );
+			Model model = new Model( productLine );
+			model.setName( "m" + i );
+			model.setDescription( "model of pl" + i );
+			s.save( productLine );
+		}
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		List<Model> models = s.createQuery( "from Model m order by m.name" ).list();
+		sessionFactory().getStatistics().clear();
+		// the legacy style would need a batch of 10 and a single load for 11 keys
+		Hibernate.initialize( models.get( 0 ).getProductLine() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		for ( Model model : models ) {
+			assertTrue( Hibernate.isInitialized( model.getProductLine() ) );
+		}
+		for ( Object pl : s.createQuery( "from ProductLine" ).list() ) {
+			s.delete( pl );
+		}
+		t.commit();
+		s.close();
+	}
+}
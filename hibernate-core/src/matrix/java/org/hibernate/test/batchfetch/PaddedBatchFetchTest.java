@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.loader.collection.PaddedBatchingCollectionInitializer;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Batch fetching with {@link org.hibernate.loader.BatchFetchStyle#PADDED} loaders.
+ */
+public class PaddedBatchFetchTest extends BaseCoreFunctionalTestCase {
+	private static final int PRODUCT_LINES = 10;
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batchfetch/ProductLine.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.BATCH_FETCH_STYLE, "padded" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testProperLoaderSetup() {
+		AbstractCollectionPersister cp = (AbstractCollectionPersister)
+				sessionFactory().getCollectionPersister( ProductLine.class.getName() + ".models" );
+		assertTrue( cp.getInitializer() instanceof PaddedBatchingCollectionInitializer );
+		assertEquals( 64, ( (PaddedBatchingCollectionInitializer) cp.getInitializer() ).getBatchSize() );
+	}
+
+	@SuppressWarnings( {"unchecked"})
+	@Test
+	public void testPaddedBatchFetch() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		for ( int i = 0; i < PRODUCT_LINES; i++ ) {
+			ProductLine productLine = new ProductLine();
+			productLine.setDescription( "pl" + i );
+			Model model = new Model( productLine );
+			model.setName( "m" + i );
+			model.setDescription( "model of pl" + i );
+			s.save( productLine );
+		}
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		List<ProductLine> productLines = s.createQuery( "from ProductLine pl order by pl.description" ).list();
+		sessionFactory().getStatistics().clear();
+		// 10 keys in a statement with room for 64
+		assertEquals( 1, productLines.get( 3 ).getModels().size() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		for ( int i = 0; i < PRODUCT_LINES; i++ ) {
+			ProductLine productLine = productLines.get( i );
+			assertTrue( Hibernate.isInitialized( productLine.getModels() ) );
+			Model model = (Model) productLine.getModels().iterator().next();
+			assertEquals( "m" + i, model.getName() );
+			assertEquals( productLine, model.getProductLine() );
+		}
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		List<Model> models = s.createQuery( "from Model m order by m.name" ).list();
+		for ( Model model : models ) {
+			assertFalse( Hibernate.isInitialized( model.getProductLine() ) );
+		}
+		sessionFactory().getStatistics().clear();
+		assertEquals( "pl0", models.get( 0 ).getProductLine().getDescription() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		for ( Model model : models ) {
+			assertTrue( Hibernate.isInitialized( model.getProductLine() ) );
+			assertEquals( "pl" + model.getName().substring( 1 ), model.getProductLine().getDescription() );
+		}
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		// a lone key still goes through the single-key loader
+		ProductLine productLine = (ProductLine) s.get( ProductLine.class, productLines.get( 0 ).getId() );
+		assertEquals( 1, productLine.getModels().size() );
+		for ( Object pl : s.createQuery( "from ProductLine" ).list() ) {
+			s.delete( pl );
+		}
+		t.commit();
+		s.close();
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+import org.hibernate.type.Type;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that parallel flush-time dirty-checking schedules the same updates, in the same order,
+ * as sequential dirty-checking, that the dirty-checks run on the executor threads while the interceptor
+ * callbacks stay on the flushing thread, and that small flushes are dirty-checked sequentially.
+ */
+public class ParallelDirtyCheckingTest extends BaseCoreFunctionalTestCase {
+	private static final int AUTHORS = 100;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class, Book.class, Publisher.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, "10" );
+		cfg.setProperty( Environment.FLUSH_PARALLEL_DIRTY_CHECK_THREADS, "4" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void afterConfigurationBuilt(Configuration configuration) {
+		super.afterConfigurationBuilt( configuration );
+		configuration.getClassMapping( Author.class.getName() ).setEntityPersisterClass( RecordingPersister.class );
+	}
+
+	@Test
+	public void testParallelDirtyChecking() {
+		assertNotNull( sessionFactory().getFlushExecutor() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		Publisher acme = new Publisher( "acme" );
+		Publisher other = new Publisher( "other" );
+		s.save( other );
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			Author author = new Author( "author" + i );
+			author.setPublisher( acme );
+			s.save( author );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		final RecordingInterceptor interceptor = new RecordingInterceptor();
+		s = sessionFactory().withOptions().interceptor( interceptor ).openSession();
+		s.beginTransaction();
+		List authors = s.createQuery( "from Author a order by a.id" ).list();
+		assertEquals( AUTHORS, authors.size() );
+		other = (Publisher) s.get( Publisher.class, other.getId() );
+		List<Serializable> expectedIds = new ArrayList<Serializable>();
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			Author author = (Author) authors.get( i );
+			if ( i % 3 == 0 ) {
+				author.setName( "renamed" + i );
+				expectedIds.add( author.getId() );
+			}
+			else if ( i % 5 == 0 ) {
+				author.setPublisher( other );
+				expectedIds.add( author.getId() );
+			}
+		}
+		RecordingPersister.findDirtyThreads.clear();
+		s.flush();
+		assertEquals( expectedIds.size(), sessionFactory().getStatistics().getEntityUpdateCount() );
+		assertEquals( expectedIds, interceptor.flushDirtyIds );
+		assertFalse( RecordingPersister.findDirtyThreads.isEmpty() );
+		for ( Thread thread : RecordingPersister.findDirtyThreads ) {
+			assertTrue( thread.getName(), thread.getName().startsWith( "hibernate-flush-dirty-check-" ) );
+		}
+		assertEquals( Collections.singleton( Thread.currentThread() ), interceptor.callbackThreads );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		authors = s.createQuery( "from Author a order by a.id" ).list();
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			Author author = (Author) authors.get( i );
+			if ( i % 3 == 0 ) {
+				assertEquals( "renamed" + i, author.getName() );
+				assertEquals( "acme", author.getPublisher().getName() );
+			}
+			else if ( i % 5 == 0 ) {
+				assertEquals( "author" + i, author.getName() );
+				assertEquals( "other", author.getPublisher().getName() );
+			}
+			else {
+				assertEquals( "author" + i, author.getName() );
+				assertEquals( "acme", author.getPublisher().getName() );
+			}
+			// cascades to the publishers
+			s.delete( author );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSequentialBelowThreshold() {
+		Session s = openSession();
+		s.beginTransaction();
+		Publisher acme = new Publisher( "acme" );
+		for ( int i = 0; i < 3; i++ ) {
+			Author author = new Author( "author" + i );
+			author.setPublisher( acme );
+			s.save( author );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final RecordingInterceptor interceptor = new RecordingInterceptor();
+		s = sessionFactory().withOptions().interceptor( interceptor ).openSession();
+		s.beginTransaction();
+		List authors = s.createQuery( "from Author a order by a.id" ).list();
+		( (Author) authors.get( 0 ) ).setName( "renamed" );
+		RecordingPersister.findDirtyThreads.clear();
+		// three authors and their publisher are fewer entities than the threshold
+		s.flush();
+		assertEquals( 1, interceptor.flushDirtyIds.size() );
+		assertEquals( Collections.singleton( Thread.currentThread() ), RecordingPersister.findDirtyThreads );
+		assertEquals( Collections.singleton( Thread.currentThread() ), interceptor.callbackThreads );
+		for ( Object author : authors ) {
+			s.delete( author );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	public static class RecordingPersister extends SingleTableEntityPersister {
+		private static final Set<Thread> findDirtyThreads = Collections.synchronizedSet( new HashSet<Thread>() );
+
+		public RecordingPersister(
+				PersistentClass persistentClass,
+				EntityRegionAccessStrategy cacheAccessStrategy,
+				SessionFactoryImplementor factory,
+				Mapping mapping) throws HibernateException {
+			super( persistentClass, cacheAccessStrategy, factory, mapping );
+		}
+
+		@Override
+		public int[] findDirty(Object[] currentState, Object[] previousState, Object entity, SessionImplementor session)
+				throws HibernateException {
+			findDirtyThreads.add( Thread.currentThread() );
+			return super.findDirty( currentState, previousState, entity, session );
+		}
+	}
+
+	private static class RecordingInterceptor extends EmptyInterceptor {
+		private final List<Serializable> flushDirtyIds = new ArrayList<Serializable>();
+		private final Set<Thread> callbackThreads = new HashSet<Thread>();
+
+		@Override
+		public int[] findDirty(
+				Object entity,
+				Serializable id,
+				Object[] currentState,
+				Object[] previousState,
+				String[] propertyNames,
+				Type[] types) {
+			callbackThreads.add( Thread.currentThread() );
+			return null;
+		}
+
+		@Override
+		public boolean onFlushDirty(
+				Object entity,
+				Serializable id,
+				Object[] currentState,
+				Object[] previousState,
+				String[] propertyNames,
+				Type[] types) {
+			callbackThreads.add( Thread.currentThread() );
+			if ( entity instanceof Author ) {
+				flushDirtyIds.add( id );
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.metamodel.source.MetadataImplementor;
+import org.hibernate.service.BootstrapServiceRegistryBuilder;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that an auto-flush scoped to the query spaces skips the flush when nothing affecting the query is dirty,
+ * and still flushes otherwise.
+ */
+public class ScopedAutoFlushTest extends BaseCoreFunctionalTestCase {
+	private static int flushedEntities;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Category.class, Product.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.FLUSH_SCOPED_AUTO_FLUSH, "true" );
+	}
+
+	@Override
+	protected void prepareBootstrapRegistryBuilder(BootstrapServiceRegistryBuilder builder) {
+		super.prepareBootstrapRegistryBuilder( builder );
+		builder.with(
+				new Integrator() {
+					@Override
+					public void integrate(
+							Configuration configuration,
+							SessionFactoryImplementor sessionFactory,
+							SessionFactoryServiceRegistry serviceRegistry) {
+						integrate( serviceRegistry );
+					}
+
+					@Override
+					public void integrate(
+							MetadataImplementor metadata,
+							SessionFactoryImplementor sessionFactory,
+							SessionFactoryServiceRegistry serviceRegistry) {
+						integrate( serviceRegistry );
+					}
+
+					private void integrate(SessionFactoryServiceRegistry serviceRegistry) {
+						serviceRegistry.getService( EventListenerRegistry.class )
+								.getEventListenerGroup( EventType.FLUSH_ENTITY )
+								.appendListener(
+										new FlushEntityEventListener() {
+											@Override
+											public void onFlushEntity(FlushEntityEvent event) throws HibernateException {
+												flushedEntities++;
+											}
+										}
+								);
+					}
+
+					@Override
+					public void disintegrate(
+							SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testAutoFlushScopedToQuerySpaces() {
+		Session s = openSession();
+		s.beginTransaction();
+		Category category = new Category( "tools" );
+		s.save( category );
+		Product product = new Product( "hammer", category );
+		s.save( product );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		product = (Product) s.get( Product.class, product.getId() );
+		category = (Category) s.get( Category.class, category.getId() );
+
+		// a dirty category does not affect a query on products
+		category.setName( "hardware" );
+		flushedEntities = 0;
+		assertEquals( 1, s.createQuery( "from Product" ).list().size() );
+		assertEquals( 0, flushedEntities );
+
+		// but it does affect a query on categories
+		assertEquals(
+				1,
+				s.createQuery( "from Category c where c.name = 'hardware'" ).list().size()
+		);
+		assertTrue( flushedEntities > 0 );
+
+		// nothing is dirty anymore
+		flushedEntities = 0;
+		s.createQuery( "from Category" ).list();
+		assertEquals( 0, flushedEntities );
+
+		product.setName( "mallet" );
+		assertEquals(
+				1,
+				s.createQuery( "from Product p where p.name = 'mallet'" ).list().size()
+		);
+		assertTrue( flushedEntities > 0 );
+
+		s.delete( product );
+		s.delete( category );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testAutoFlushOnReplacedCollection() {
+		Product product = createProductWithTag();
+
+		Session s = openSession();
+		s.beginTransaction();
+		product = (Product) s.get( Product.class, product.getId() );
+		product.setTags( new HashSet<String>( Arrays.asList( "steel", "wood" ) ) );
+		flushedEntities = 0;
+		assertEquals( 2, s.createQuery( "select t from Product p join p.tags t" ).list().size() );
+		assertTrue( flushedEntities > 0 );
+		s.delete( product );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testAutoFlushOnNulledCollection() {
+		Product product = createProductWithTag();
+
+		Session s = openSession();
+		s.beginTransaction();
+		product = (Product) s.get( Product.class, product.getId() );
+		product.setTags( null );
+		flushedEntities = 0;
+		assertEquals( 0, s.createQuery( "select t from Product p join p.tags t" ).list().size() );
+		assertTrue( flushedEntities > 0 );
+		s.delete( product );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private Product createProductWithTag() {
+		Session s = openSession();
+		s.beginTransaction();
+		Product product = new Product( "hammer", null );
+		product.getTags().add( "steel" );
+		s.save( product );
+		s.getTransaction().commit();
+		s.close();
+		return product;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.id.uuid.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.type.UUIDCharType;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that identifiers generated by {@link org.hibernate.id.uuid.TimeOrderedStrategy} come back from the
+ * database, ordered by the (indexed) identifier column, in the order they were generated.
+ */
+public class TimeOrderedStrategyTest extends BaseCoreFunctionalTestCase {
+	private static final int NODES = 50;
+
+	@Override
+	public void configure(Configuration cfg) {
+		cfg.registerTypeOverride(
+				new UUIDCharType() {
+					@Override
+					protected boolean registerUnderJavaType() {
+						return true;
+					}
+				}
+		);
+	}
+
+	public String[] getMappings() {
+		return new String[] { "id/uuid/strategy/TimeOrderedNode.hbm.xml" };
+	}
+
+	@Test
+	public void testGenerationOrder() {
+		Session session = openSession();
+		session.beginTransaction();
+		List<Node> nodes = new ArrayList<Node>();
+		for ( int i = 0; i < NODES; i++ ) {
+			Node node = new Node( "node" + i );
+			session.save( node );
+			assertEquals( 2, node.getId().variant() );
+			assertEquals( 7, node.getId().version() );
+			nodes.add( node );
+		}
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.beginTransaction();
+		List ordered = session.createQuery( "from Node n order by n.id" ).list();
+		assertEquals( NODES, ordered.size() );
+		for ( int i = 0; i < NODES; i++ ) {
+			Node node = (Node) ordered.get( i );
+			assertEquals( nodes.get( i ).getId(), node.getId() );
+			assertEquals( "node" + i, node.getName() );
+			session.delete( node );
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.idgen.enhanced.table;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.hibernate.testing.junit4.ExtraAssertions.assertClassAssignability;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the stripes of a segment hand out interleaved, non-overlapping values.
+ */
+public class StripedTableTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "idgen/enhanced/table/Striped.hbm.xml" };
+	}
+
+	@Test
+	public void testStripes() {
+		EntityPersister persister = sessionFactory().getEntityPersister( Entity.class.getName() );
+		assertClassAssignability( RoundRobinStripedTableGenerator.class, persister.getIdentifierGenerator().getClass() );
+		RoundRobinStripedTableGenerator generator = ( RoundRobinStripedTableGenerator ) persister.getIdentifierGenerator();
+		assertClassAssignability( OptimizerFactory.PooledOptimizer.class, generator.getOptimizer().getClass() );
+		assertEquals( 3, generator.getStripeCount() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		// the rows of the stripes are created by the schema export
+		Number rows = (Number) s.createSQLQuery( "select count(*) from ID_TBL_STRIPED_TBL" ).uniqueResult();
+		assertEquals( 3, rows.intValue() );
+
+		int increment = generator.getIncrementSize();
+		Entity[] entities = new Entity[ increment * generator.getStripeCount() * 2 ];
+		for ( int i = 0; i < entities.length; i++ ) {
+			entities[i] = new Entity( "" + ( i + 1 ) );
+			s.save( entities[i] );
+			assertEquals( ( i / increment ) + 1, generator.getTableAccessCount() );
+		}
+		s.getTransaction().commit();
+
+		s.beginTransaction();
+		// allocating from each stripe in turn, the blocks follow each other
+		for ( int i = 0; i < entities.length; i++ ) {
+			assertEquals( i + 1, entities[i].getId().intValue() );
+			s.delete( entities[i] );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
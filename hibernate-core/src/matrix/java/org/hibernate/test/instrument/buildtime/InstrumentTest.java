@@ -29,6 +29,7 @@ import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
 import org.hibernate.test.instrument.cases.Executable;
 import org.hibernate.test.instrument.cases.TestCustomColumnReadAndWrite;
 import org.hibernate.test.instrument.cases.TestDirtyCheckExecutable;
+import org.hibernate.test.instrument.cases.TestDirtyTrackingExecutable;
 import org.hibernate.test.instrument.cases.TestFetchAllExecutable;
 import org.hibernate.test.instrument.cases.TestInjectFieldInterceptorExecutable;
 import org.hibernate.test.instrument.cases.TestIsPropertyInitializedExecutable;
@@ -54,6 +55,11 @@ public class InstrumentTest extends BaseUnitTestCase {
 		execute( new TestDirtyCheckExecutable() );
 	}
 
+	@Test
+	public void testDirtyTracking() throws Exception {
+		execute( new TestDirtyTrackingExecutable() );
+	}
+
 	@Test
 	public void testFetchAll() throws Exception {
 		execute( new TestFetchAllExecutable() );
@@ -20,6 +20,7 @@ public abstract class AbstractExecutable implements Executable {
 		for ( String resource : resources ) {
 			cfg.addResource( resource );
 		}
+		configure( cfg );
 		serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
 		factory = cfg.buildSessionFactory( serviceRegistry );
 	}
@@ -43,6 +44,9 @@ public abstract class AbstractExecutable implements Executable {
 	protected void cleanup() {
 	}
 
+	protected void configure(Configuration cfg) {
+	}
+
 	protected String[] getResources() {
 		return new String[] { "org/hibernate/test/instrument/domain/Documents.hbm.xml" };
 	}
@@ -0,0 +1,63 @@
+package org.hibernate.test.instrument.cases;
+import junit.framework.Assert;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.test.instrument.domain.Owner;
+
+/**
+ * Checks that instrumented, non-versioned entities loaded without a snapshot are
+ * dirty-checked against the fields written since they were loaded.
+ */
+public class TestDirtyTrackingExecutable extends AbstractExecutable {
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( Environment.ENHANCED_DIRTY_TRACKING, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	public void execute() {
+		Session s = getFactory().openSession();
+		Transaction t = s.beginTransaction();
+		Owner o = new Owner();
+		o.setName( "gavin" );
+		s.persist( o );
+		t.commit();
+		s.close();
+
+		getFactory().getStatistics().clear();
+		s = getFactory().openSession();
+		t = s.beginTransaction();
+		o = (Owner) s.get( Owner.class, o.getId() );
+		EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( o );
+		Assert.assertTrue( entry.isTrackingDirtyFields() );
+		Assert.assertNull( entry.getLoadedState() );
+		s.flush();
+		Assert.assertEquals( 0, getFactory().getStatistics().getEntityUpdateCount() );
+		// writing an equal value does not make the entity dirty
+		o.setName( new String( "gavin" ) );
+		s.flush();
+		Assert.assertEquals( 0, getFactory().getStatistics().getEntityUpdateCount() );
+		o.setName( "steve" );
+		s.flush();
+		Assert.assertEquals( 1, getFactory().getStatistics().getEntityUpdateCount() );
+		Assert.assertNull( entry.getLoadedState() );
+		// the dirty fields were cleared by the update
+		s.flush();
+		Assert.assertEquals( 1, getFactory().getStatistics().getEntityUpdateCount() );
+		t.commit();
+		s.close();
+
+		s = getFactory().openSession();
+		t = s.beginTransaction();
+		o = (Owner) s.get( Owner.class, o.getId() );
+		Assert.assertEquals( "steve", o.getName() );
+		s.delete( o );
+		t.commit();
+		s.close();
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.memory;
+
+import org.junit.Test;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Checks that the lock mode and internal fetch profile entity loaders are only built on first use.
+ */
+public class LazyEntityLoaderTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Item.class };
+	}
+
+	@Test
+	public void testLoadersBuiltOnFirstUse() {
+		AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory().getEntityPersister( Item.class.getName() );
+		// LockMode.NONE and LockMode.READ
+		assertEquals( 2, persister.getBuiltLoaderCount() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Item( 1L, "item" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertNotNull( s.get( Item.class, 1L ) );
+		assertEquals( 2, persister.getBuiltLoaderCount() );
+		s.clear();
+		assertNotNull( s.get( Item.class, 1L, new LockOptions( LockMode.PESSIMISTIC_WRITE ) ) );
+		assertEquals( 3, persister.getBuiltLoaderCount() );
+		s.clear();
+		assertNotNull( s.get( Item.class, 1L, new LockOptions( LockMode.PESSIMISTIC_WRITE ) ) );
+		assertEquals( 3, persister.getBuiltLoaderCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		// merging a detached instance goes through the "merge" internal fetch profile
+		s = openSession();
+		s.beginTransaction();
+		Item item = (Item) s.merge( new Item( 1L, "renamed" ) );
+		assertEquals( "renamed", item.getName() );
+		assertEquals( 4, persister.getBuiltLoaderCount() );
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.memory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.EntityMode;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Guards the per-entity memory overhead of the persistence context through the layout of the entity entries and
+ * keys: which fields they declare, how the entry packs its status, lock mode and flags, and the entity names
+ * shared with the persister rather than copied into each entry and key.
+ */
+public class PersistenceContextFootprintTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Item.class };
+	}
+
+	@Test
+	public void testEntityEntryLayout() {
+		final List<Field> fields = instanceFields( EntityEntry.class );
+		int intFields = 0;
+		for ( Field field : fields ) {
+			final Class type = field.getType();
+			assertFalse( field.getName(), type == boolean.class || type == Boolean.class );
+			assertFalse( field.getName(), type == Status.class || type == LockMode.class || type == EntityMode.class );
+			if ( type == int.class ) {
+				intFields++;
+			}
+		}
+		// status, previous status, lock mode and flags all share a single int
+		assertEquals( 1, intFields );
+		assertEquals( 10, fields.size() );
+	}
+
+	@Test
+	public void testEntityKeyLayout() {
+		final List<Field> fields = instanceFields( EntityKey.class );
+		for ( Field field : fields ) {
+			final Class type = field.getType();
+			assertFalse( field.getName(), type == boolean.class || type == Boolean.class );
+			assertFalse( field.getName(), SessionFactoryImplementor.class.isAssignableFrom( type ) );
+			if ( EntityPersister.class.isAssignableFrom( type ) ) {
+				assertTrue( field.getName(), Modifier.isTransient( field.getModifiers() ) );
+			}
+		}
+		assertEquals( 7, fields.size() );
+	}
+
+	@Test
+	public void testPackedEntryState() {
+		for ( Status status : Status.values() ) {
+			for ( LockMode lockMode : LockMode.values() ) {
+				final boolean flag = ( status.ordinal() + lockMode.ordinal() ) % 2 == 0;
+				final EntityEntry entry = new EntityEntry(
+						status, null, null, 1L, null, lockMode, flag, null, null, !flag, flag
+				);
+				assertSame( status, entry.getStatus() );
+				assertSame( lockMode, entry.getLockMode() );
+				assertEquals( flag, entry.isExistsInDatabase() );
+				assertEquals( !flag, entry.isBeingReplicated() );
+				assertEquals( flag, entry.isLoadedWithLazyPropertiesUnfetched() );
+			}
+		}
+	}
+
+	@Test
+	public void testEntityNamesShared() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Item( 1L, "first" ) );
+		s.persist( new Item( 2L, "second" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final List items = s.createQuery( "from Item" ).list();
+		assertEquals( 2, items.size() );
+		final EntityPersister persister = sessionFactory().getEntityPersister( Item.class.getName() );
+		for ( Object item : items ) {
+			final EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( item );
+			assertSame( persister, entry.getPersister() );
+			assertSame( persister.getEntityName(), entry.getEntityName() );
+			assertSame( persister.getEntityName(), entry.getEntityKey().getEntityName() );
+		}
+		s.createQuery( "delete Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static List<Field> instanceFields(Class clazz) {
+		final List<Field> fields = new ArrayList<Field>();
+		for ( Field field : clazz.getDeclaredFields() ) {
+			if ( !Modifier.isStatic( field.getModifiers() ) ) {
+				fields.add( field );
+			}
+		}
+		return fields;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.memory;
+
+import org.junit.Test;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.criterion.Order;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that streaming a large result keeps the persistence context bounded by the streaming window.
+ */
+public class StreamingQueryTest extends BaseCoreFunctionalTestCase {
+	private static final int ROWS = 5000;
+	private static final int WINDOW = 20;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Item.class };
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		StatelessSession s = sessionFactory().openStatelessSession();
+		s.beginTransaction();
+		for ( long i = 0; i < ROWS; i++ ) {
+			s.insert( new Item( i, "item" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete from Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamingHqlQuery() {
+		Session s = openSession();
+		s.beginTransaction();
+		assertBounded( s, s.createQuery( "from Item i order by i.id" ).stream( WINDOW ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamingCriteria() {
+		Session s = openSession();
+		s.beginTransaction();
+		assertBounded( s, s.createCriteria( Item.class ).addOrder( Order.asc( "id" ) ).stream( WINDOW ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamingSqlQuery() {
+		Session s = openSession();
+		s.beginTransaction();
+		assertBounded(
+				s,
+				s.createSQLQuery( "select {i.*} from Item i order by i.id" ).addEntity( "i", Item.class ).stream( WINDOW )
+		);
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamedEntityStaysManagedWithinWindow() {
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "from Item i order by i.id" ).stream( WINDOW );
+		assertTrue( results.next() );
+		Item first = (Item) results.get( 0 );
+		for ( int i = 1; i < WINDOW; i++ ) {
+			assertTrue( results.next() );
+			assertTrue( s.contains( first ) );
+		}
+		assertTrue( results.next() );
+		assertTrue( !s.contains( first ) );
+		results.close();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void assertBounded(Session s, ScrollableResults results) {
+		int count = 0;
+		int peak = 0;
+		while ( results.next() ) {
+			Item item = (Item) results.get( 0 );
+			assertEquals( "item" + item.getId(), item.getName() );
+			peak = Math.max( peak, ( (SessionImplementor) s ).getPersistenceContext().getEntityEntries().size() );
+			count++;
+		}
+		results.close();
+		assertEquals( ROWS, count );
+		assertTrue( "persistence context grew to " + peak + " entities", peak <= WINDOW );
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.multiload;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Session#byMultipleIds}.
+ */
+public class MultiLoadTest extends BaseCoreFunctionalTestCase {
+	private static final int ENTITIES = 56;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { SimpleEntity.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= ENTITIES; i++ ) {
+			s.save( new SimpleEntity( i, "Entity #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+		sessionFactory().getCache().evictEntityRegion( SimpleEntity.class );
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete SimpleEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testLoadInChunks() {
+		Session s = openSession();
+		s.beginTransaction();
+		sessionFactory().getStatistics().clear();
+		List list = s.byMultipleIds( SimpleEntity.class ).withBatchSize( 20 ).multiLoad( ids( ENTITIES ) );
+		// 20 + 20 + 16 (padded to 20)
+		assertEquals( 3, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( ENTITIES, list.size() );
+		for ( int i = 0; i < ENTITIES; i++ ) {
+			assertEquals( Integer.valueOf( i + 1 ), ( (SimpleEntity) list.get( i ) ).getId() );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testPersistenceContextShortCircuit() {
+		Session s = openSession();
+		s.beginTransaction();
+		SimpleEntity second = (SimpleEntity) s.get( SimpleEntity.class, 2 );
+		sessionFactory().getStatistics().clear();
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 3, 2, 1 );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( 3, list.size() );
+		assertEquals( Integer.valueOf( 3 ), ( (SimpleEntity) list.get( 0 ) ).getId() );
+		assertSame( second, list.get( 1 ) );
+		assertEquals( Integer.valueOf( 1 ), ( (SimpleEntity) list.get( 2 ) ).getId() );
+
+		// everything is managed now
+		sessionFactory().getStatistics().clear();
+		list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		assertEquals( 0, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertSame( second, list.get( 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSecondLevelCacheShortCircuit() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2 );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		sessionFactory().getStatistics().clear();
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		assertEquals( 3, list.size() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertTrue( sessionFactory().getStatistics().getSecondLevelCacheHitCount() > 0 );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.setCacheMode( CacheMode.IGNORE );
+		s.beginTransaction();
+		sessionFactory().getStatistics().clear();
+		list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		assertEquals( 3, list.size() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testMissingIds() {
+		Session s = openSession();
+		s.beginTransaction();
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 999, 2 );
+		assertEquals( 3, list.size() );
+		assertNull( list.get( 1 ) );
+
+		list = s.byMultipleIds( SimpleEntity.class ).enableReturnOfMissingAsNull( false ).multiLoad( 1, 999, 2 );
+		assertEquals( 2, list.size() );
+		assertEquals( Integer.valueOf( 2 ), ( (SimpleEntity) list.get( 1 ) ).getId() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testDeletedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		SimpleEntity first = (SimpleEntity) s.get( SimpleEntity.class, 1 );
+		s.delete( first );
+
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2 );
+		assertEquals( 2, list.size() );
+		assertNull( list.get( 0 ) );
+
+		list = s.byMultipleIds( SimpleEntity.class ).enableReturnOfDeletedEntities( true ).multiLoad( 1, 2 );
+		assertSame( first, list.get( 0 ) );
+		s.getTransaction().rollback();
+		s.close();
+	}
+
+	@Test
+	public void testUnorderedReturn() {
+		Session s = openSession();
+		s.beginTransaction();
+		List list = s.byMultipleIds( SimpleEntity.class ).enableOrderedReturn( false ).multiLoad( 2, 999, 2, 1 );
+		assertEquals( 2, list.size() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static Integer[] ids(int count) {
+		Integer[] ids = new Integer[count];
+		for ( int i = 0; i < count; i++ ) {
+			ids[i] = i + 1;
+		}
+		return ids;
+	}
+}
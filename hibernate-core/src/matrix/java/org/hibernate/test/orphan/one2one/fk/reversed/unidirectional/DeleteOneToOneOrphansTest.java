@@ -91,6 +91,53 @@ public class DeleteOneToOneOrphansTest extends BaseCoreFunctionalTestCase {
 		cleanupData();
 	}
 
+	@Test
+	public void testOrphanedAfterMadeModifiable() {
+		createData();
+
+		Session session = openSession();
+		session.beginTransaction();
+		Employee emp = ( Employee ) session.createQuery( "from Employee" ).uniqueResult();
+		session.setReadOnly( emp, true );
+		session.setReadOnly( emp, false );
+		assertNotNull( emp.getInfo() );
+		emp.setInfo( null );
+		session.getTransaction().commit();
+		session.close();
+
+		assertOrphanDeleted( emp );
+		cleanupData();
+	}
+
+	@Test
+	public void testOrphanedWhileReadOnly() {
+		createData();
+
+		Session session = openSession();
+		session.beginTransaction();
+		Employee emp = ( Employee ) session.createQuery( "from Employee" ).uniqueResult();
+		session.setReadOnly( emp, true );
+		assertNotNull( emp.getInfo() );
+		emp.setInfo( null );
+		// the change made while read-only is flushed once the entity is modifiable again
+		session.setReadOnly( emp, false );
+		session.getTransaction().commit();
+		session.close();
+
+		assertOrphanDeleted( emp );
+		cleanupData();
+	}
+
+	private void assertOrphanDeleted(Employee emp) {
+		Session session = openSession();
+		session.beginTransaction();
+		emp = ( Employee ) session.get( Employee.class, emp.getId() );
+		assertNull( emp.getInfo() );
+		assertEquals( 0, session.createQuery( "from EmployeeInfo" ).list().size() );
+		session.getTransaction().commit();
+		session.close();
+	}
+
 	@Test
 	@FailureExpected( jiraKey = "unknown" )
 	public void testOrphanedWhileDetached() {
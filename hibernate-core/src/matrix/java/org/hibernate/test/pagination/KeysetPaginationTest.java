@@ -0,0 +1,195 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.pagination;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.KeysetCursor;
+import org.hibernate.Session;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.RequiresDialectFeature;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.hibernate.type.StandardBasicTypes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Walks through all the pages of keyset paginated queries.
+ */
+@RequiresDialectFeature(
+		value = DialectChecks.SupportLimitCheck.class,
+		comment = "Dialect does not support limit"
+)
+public class KeysetPaginationTest extends BaseCoreFunctionalTestCase {
+	private static final int NUMBER_OF_TEST_ROWS = 100;
+	private static final int PAGE_SIZE = 7;
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "pagination/DataPoint.hbm.xml" };
+	}
+
+	@Override
+	public String getCacheConcurrencyStrategy() {
+		return null;
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session session = openSession();
+		session.beginTransaction();
+		for ( int i = 0; i < NUMBER_OF_TEST_ROWS; i++ ) {
+			DataPoint dataPoint = new DataPoint();
+			dataPoint.setSequence( i );
+			dataPoint.setX( new BigDecimal( i ).movePointLeft( 2 ) );
+			dataPoint.setY( new BigDecimal( i ).movePointLeft( 2 ) );
+			dataPoint.setDescription( "Description: " + i % 5 );
+			session.save( dataPoint );
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session session = openSession();
+		session.beginTransaction();
+		session.createQuery( "delete DataPoint" ).executeUpdate();
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testSingleKey() {
+		Session session = openSession();
+		session.beginTransaction();
+		List<Integer> sequences = new ArrayList<Integer>();
+		KeysetCursor cursor = KeysetCursor.first( PAGE_SIZE, StandardBasicTypes.INTEGER );
+		while ( true ) {
+			List page = session.createQuery( "from DataPoint dp order by dp.sequence" ).setKeyset( cursor ).list();
+			assertTrue( page.size() <= PAGE_SIZE );
+			for ( Object dataPoint : page ) {
+				sequences.add( ( (DataPoint) dataPoint ).getSequence() );
+			}
+			if ( page.size() < PAGE_SIZE ) {
+				break;
+			}
+			cursor = cursor.next( ( (DataPoint) page.get( page.size() - 1 ) ).getSequence() );
+		}
+		assertEquals( NUMBER_OF_TEST_ROWS, sequences.size() );
+		for ( int i = 0; i < NUMBER_OF_TEST_ROWS; i++ ) {
+			assertEquals( i, sequences.get( i ).intValue() );
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testCompositeKeyWithMixedDirections() {
+		Session session = openSession();
+		session.beginTransaction();
+		List expected = session.createQuery( "from DataPoint dp order by dp.description desc, dp.sequence" ).list();
+
+		List<Object> hqlResults = new ArrayList<Object>();
+		List<Object> criteriaResults = new ArrayList<Object>();
+		KeysetCursor hqlCursor = KeysetCursor.first( PAGE_SIZE, StandardBasicTypes.STRING, StandardBasicTypes.INTEGER );
+		KeysetCursor criteriaCursor = KeysetCursor.first( PAGE_SIZE, StandardBasicTypes.STRING, StandardBasicTypes.INTEGER );
+		while ( true ) {
+			List page = session.createQuery( "from DataPoint dp where dp.sequence >= :min order by dp.description desc, dp.sequence" )
+					.setInteger( "min", 0 )
+					.setKeyset( hqlCursor )
+					.list();
+			List criteriaPage = session.createCriteria( DataPoint.class )
+					.add( Restrictions.ge( "sequence", 0 ) )
+					.addOrder( Order.desc( "description" ) )
+					.addOrder( Order.asc( "sequence" ) )
+					.setKeyset( criteriaCursor )
+					.list();
+			assertEquals( page, criteriaPage );
+			hqlResults.addAll( page );
+			criteriaResults.addAll( criteriaPage );
+			if ( page.size() < PAGE_SIZE ) {
+				break;
+			}
+			DataPoint last = (DataPoint) page.get( page.size() - 1 );
+			hqlCursor = hqlCursor.next( last.getDescription(), last.getSequence() );
+			criteriaCursor = criteriaCursor.next( last.getDescription(), last.getSequence() );
+		}
+		assertEquals( expected, hqlResults );
+		assertEquals( expected, criteriaResults );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testSqlQuery() {
+		Session session = openSession();
+		session.beginTransaction();
+		KeysetCursor cursor = KeysetCursor.first( PAGE_SIZE, StandardBasicTypes.INTEGER ).next( 90 );
+		List page = session.createSQLQuery( "select id, seqval, xval, yval, description from DataPoint order by seqval" )
+				.addEntity( DataPoint.class )
+				.setKeyset( cursor )
+				.list();
+		assertEquals( PAGE_SIZE, page.size() );
+		assertEquals( 91, ( (DataPoint) page.get( 0 ) ).getSequence() );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	@RequiresDialect(value = H2Dialect.class, comment = "uses the nulls first/last syntax in native SQL")
+	public void testNullableKey() {
+		Session session = openSession();
+		session.beginTransaction();
+		session.createQuery( "update DataPoint set description = null where mod(sequence, 3) = 0" ).executeUpdate();
+		for ( String nullPrecedence : new String[] { "nulls first", "nulls last" } ) {
+			String sql = "select id, seqval, xval, yval, description from DataPoint order by description "
+					+ nullPrecedence + ", seqval";
+			List expected = session.createSQLQuery( sql ).addEntity( DataPoint.class ).list();
+			List<Object> results = new ArrayList<Object>();
+			KeysetCursor cursor = KeysetCursor.first( PAGE_SIZE, StandardBasicTypes.STRING, StandardBasicTypes.INTEGER );
+			while ( true ) {
+				List page = session.createSQLQuery( sql ).addEntity( DataPoint.class ).setKeyset( cursor ).list();
+				results.addAll( page );
+				if ( page.size() < PAGE_SIZE ) {
+					break;
+				}
+				DataPoint last = (DataPoint) page.get( page.size() - 1 );
+				cursor = cursor.next( last.getDescription(), last.getSequence() );
+			}
+			assertEquals( expected, results );
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+}
@@ -37,7 +37,6 @@ import org.hibernate.proxy.LazyInitializer;
 
 import org.junit.Test;
 
-import org.hibernate.testing.FailureExpected;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -587,7 +586,6 @@ public class ReadOnlyProxyTest extends AbstractReadOnlyTest {
 	}
 
 	@Test
-	@FailureExpected( jiraKey = "HHH-4642" )
 	public void testModifyToReadOnlyToModifiableIsUpdated() {
 		DataPoint dpOrig = createDataPoint( CacheMode.IGNORE );
 
@@ -614,26 +612,15 @@ public class ReadOnlyProxyTest extends AbstractReadOnlyTest {
 		s.beginTransaction();
 		dp = ( DataPoint ) s.get( DataPoint.class, dpOrig.getId() );
 		assertEquals( dpOrig.getId(), dp.getId() );
-		assertEquals( dpOrig.getDescription(), dp.getDescription() );
+		assertEquals( "changed", dp.getDescription() );
 		assertEquals( dpOrig.getX(), dp.getX() );
 		assertEquals( dpOrig.getY(), dp.getY() );
-		try {
-			assertEquals( "changed", dp.getDescription() );
-			// should fail due to HHH-4642
-		}
-		finally {
-			s.getTransaction().rollback();
-			s.close();
-			s = openSession();
-			s.beginTransaction();			
-			s.delete( dp );
-			s.getTransaction().commit();
-			s.close();
-		}
+		s.delete( dp );
+		s.getTransaction().commit();
+		s.close();
 	}
 
 	@Test
-	@FailureExpected( jiraKey = "HHH-4642" )
 	public void testReadOnlyModifiedToModifiableIsUpdated() {
 		DataPoint dpOrig = createDataPoint( CacheMode.IGNORE );
 
@@ -660,22 +647,12 @@ public class ReadOnlyProxyTest extends AbstractReadOnlyTest {
 		s.beginTransaction();
 		dp = ( DataPoint ) s.get( DataPoint.class, dpOrig.getId() );
 		assertEquals( dpOrig.getId(), dp.getId() );
-		assertEquals( dpOrig.getDescription(), dp.getDescription() );
+		assertEquals( "changed", dp.getDescription() );
 		assertEquals( dpOrig.getX(), dp.getX() );
 		assertEquals( dpOrig.getY(), dp.getY() );
-		try {
-			assertEquals( "changed", dp.getDescription() );
-			// should fail due to HHH-4642
-		}
-		finally {
-			s.getTransaction().rollback();
-			s.close();
-			s = openSession();
-			s.beginTransaction();
-			s.delete( dp );
-			s.getTransaction().commit();
-			s.close();
-		}
+		s.delete( dp );
+		s.getTransaction().commit();
+		s.close();
 	}
 
 	@Test
@@ -33,6 +33,8 @@ import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.proxy.HibernateProxy;
 
 import org.junit.Test;
@@ -1200,4 +1202,52 @@ public class ReadOnlySessionTest extends AbstractReadOnlyTest {
 		s.close();
 
 	}
+
+	@Test
+	public void testReadOnlySessionModifiedToModifiableIsUpdated() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			DataPoint dp = new DataPoint();
+			dp.setX( new BigDecimal( i * 0.1d ).setScale( 19, BigDecimal.ROUND_DOWN ) );
+			dp.setY( new BigDecimal( Math.cos( dp.getX().doubleValue() ) ).setScale( 19, BigDecimal.ROUND_DOWN ) );
+			dp.setDescription( "original" );
+			s.save( dp );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		clearCounts();
+		s = openSession();
+		s.beginTransaction();
+		s.setDefaultReadOnly( true );
+		List list = s.createQuery( "from DataPoint dp order by dp.x asc" ).list();
+		DataPoint modifiable = null;
+		for ( Object result : list ) {
+			DataPoint dp = (DataPoint) result;
+			EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( dp );
+			assertTrue( s.isReadOnly( dp ) );
+			assertNull( entry.getLoadedState() );
+			dp.setDescription( "changed" );
+			if ( modifiable == null ) {
+				modifiable = dp;
+			}
+		}
+		s.flush();
+		assertUpdateCount( 0 );
+		// the change made while read-only is found against the database state
+		s.setReadOnly( modifiable, false );
+		s.getTransaction().commit();
+		s.close();
+		assertUpdateCount( 1 );
+
+		s = openSession();
+		s.beginTransaction();
+		list = s.createQuery( "from DataPoint where description = 'changed'" ).list();
+		assertEquals( 1, list.size() );
+		assertEquals( modifiable.getId(), ( (DataPoint) list.get( 0 ) ).getId() );
+		s.createQuery( "delete from DataPoint" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
 }
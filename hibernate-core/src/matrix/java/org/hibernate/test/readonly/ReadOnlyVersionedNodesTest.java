@@ -27,7 +27,6 @@ import org.hibernate.Session;
 
 import org.junit.Test;
 
-import org.hibernate.testing.FailureExpected;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -194,7 +193,6 @@ public class ReadOnlyVersionedNodesTest extends AbstractReadOnlyTest {
 	}
 
 	@Test
-	@FailureExpected( jiraKey = "unknown" )
 	public void testUpdateSetReadOnlySetModifiable() throws Exception {
 		Session s = openSession();
 		s.beginTransaction();
@@ -229,7 +227,6 @@ public class ReadOnlyVersionedNodesTest extends AbstractReadOnlyTest {
 	}
 
 	@Test
-	@FailureExpected( jiraKey = "unknown" )
 	public void testSetReadOnlyUpdateSetModifiable() throws Exception {
 		Session s = openSession();
 		s.beginTransaction();
@@ -0,0 +1,143 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.SqlStatementStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the statistics gathered per SQL statement.
+ */
+public class SqlStatementStatsTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "stats/Continent.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testSqlStatementStatistics() {
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Country france = new Country();
+		france.setName( "France" );
+		s.persist( france );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		List countries = s.createQuery( "from Country" ).list();
+		assertEquals( 1, countries.size() );
+		s.getTransaction().commit();
+		s.close();
+
+		SqlStatementStatistics[] top = stats.getTopSqlStatements( Integer.MAX_VALUE );
+		assertEquals( stats.getSqlStatements().length, top.length );
+		SqlStatementStatistics select = null;
+		for ( int i = 0; i < top.length; i++ ) {
+			if ( i > 0 ) {
+				assertTrue( top[i - 1].getTotalTime() >= top[i].getTotalTime() );
+			}
+			assertEquals( top[i].getExecutionCount(), sum( top[i].getExecutionTimeHistogram() ) );
+			assertEquals( top[i].getFetchCount(), sum( top[i].getFetchTimeHistogram() ) );
+			assertEquals( top[i].getHistogramBounds().length + 1, top[i].getExecutionTimeHistogram().length );
+			if ( top[i].getSql().startsWith( "select" ) && top[i].getSql().contains( " from Country " ) ) {
+				select = top[i];
+			}
+		}
+		assertNotNull( select );
+		assertEquals( 1, select.getExecutionCount() );
+		assertEquals( 1, select.getFetchCount() );
+		assertEquals( 1, stats.getTopSqlStatements( 1 ).length );
+
+		// statements are identified by their SQL with whitespace normalized
+		String reformatted = "\n  " + select.getSql().replace( " ", "\n\t " ) + " ";
+		assertEquals( 1, stats.getSqlStatementStatistics( reformatted ).getExecutionCount() );
+
+		stats.setStatisticsEnabled( false );
+		try {
+			s = openSession();
+			s.beginTransaction();
+			for ( Object country : s.createQuery( "from Country" ).list() ) {
+				s.delete( country );
+			}
+			s.getTransaction().commit();
+			s.close();
+		}
+		finally {
+			stats.setStatisticsEnabled( true );
+		}
+		assertEquals( 1, stats.getSqlStatementStatistics( select.getSql() ).getExecutionCount() );
+	}
+
+	@Test
+	public void testTrackedStatementsAreBounded() {
+		StatisticsImplementor stats = (StatisticsImplementor) sessionFactory().getStatistics();
+		stats.clear();
+		for ( int i = 0; i < 5000; i++ ) {
+			stats.sqlStatementExecuted( "select * from Country where id in (" + i + ")", 1000000 );
+		}
+		int tracked = stats.getSqlStatements().length;
+		assertTrue( tracked > 0 );
+		assertTrue( tracked < 5000 );
+		// statements beyond the limit are not tracked, but still answer with empty statistics
+		assertEquals( 0, stats.getSqlStatementStatistics( "select * from Country where id in (4999)" ).getExecutionCount() );
+
+		stats.clear();
+		assertEquals( 0, stats.getSqlStatements().length );
+		stats.sqlStatementExecuted( "select * from Country where id in (0)", 1000000 );
+		assertEquals( 1, stats.getSqlStatementStatistics( "select * from Country where id in (0)" ).getExecutionCount() );
+		assertEquals( 1, stats.getTopSqlStatements( 10 ).length );
+	}
+
+	private static long sum(long[] counts) {
+		long sum = 0;
+		for ( long count : counts ) {
+			sum += count;
+		}
+		return sum;
+	}
+}
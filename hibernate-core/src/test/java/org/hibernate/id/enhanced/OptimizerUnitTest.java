@@ -23,6 +23,13 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Test;
 
 import org.hibernate.id.IdentifierGeneratorHelper;
@@ -30,6 +37,8 @@ import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@inheritDoc}
@@ -254,6 +263,106 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		assertEquals( 4, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testConcurrentOptimizerUsage() throws Exception {
+		checkConcurrentUsage( OptimizerFactory.HILO );
+		checkConcurrentUsage( OptimizerFactory.POOL );
+		checkConcurrentUsage( OptimizerFactory.POOL_LO );
+	}
+
+	private void checkConcurrentUsage(String optimizerName) throws Exception {
+		final int threads = 8;
+		final int iterations = 1000;
+		final int incrementSize = 10;
+		final SourceMock source = new SourceMock( 1, optimizerName.equals( OptimizerFactory.HILO ) ? 1 : incrementSize );
+		final AccessCallback callback = new AccessCallback() {
+			public synchronized IntegralDataTypeHolder getNextValue() {
+				return source.getNextValue();
+			}
+		};
+		final Optimizer optimizer = OptimizerFactory.buildOptimizer( optimizerName, Long.class, incrementSize );
+		final Set<Long> generated = Collections.newSetFromMap( new ConcurrentHashMap<Long, Boolean>() );
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final Thread[] workers = new Thread[threads];
+		for ( int i = 0; i < threads; i++ ) {
+			workers[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for ( int j = 0; j < iterations; j++ ) {
+							final Long next = (Long) optimizer.generate( callback );
+							if ( !generated.add( next ) ) {
+								throw new AssertionError( "Duplicate value " + next );
+							}
+						}
+					}
+					catch ( Throwable t ) {
+						failure.compareAndSet( null, t );
+					}
+				}
+			};
+			workers[i].start();
+		}
+		start.countDown();
+		for ( Thread worker : workers ) {
+			worker.join();
+		}
+
+		assertNull( optimizerName, failure.get() );
+		assertEquals( optimizerName, threads * iterations, generated.size() );
+		for ( long i = 1; i <= threads * iterations; i++ ) {
+			assertTrue( optimizerName + " skipped " + i, generated.contains( i ) );
+		}
+	}
+
+	@Test
+	public void testPrefetchedPooledOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 3 );
+		final OptimizerFactory.BlockOptimizerSupport optimizer =
+				(OptimizerFactory.BlockOptimizerSupport) OptimizerFactory.buildOptimizer( OptimizerFactory.POOL, Long.class, 3 );
+		final SourceMock unexpected = new SourceMock( 1000, 3 );
+		optimizer.enablePrefetch(
+				1,
+				new Executor() {
+					public void execute(Runnable command) {
+						command.run();
+					}
+				},
+				sequence
+		);
+
+		// the first block is always obtained synchronously
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 1, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+
+		next = ( Long ) optimizer.generate( unexpected );
+		assertEquals( 2, next.intValue() );
+		// down to the low-water mark: the next block gets prefetched
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 7, sequence.getCurrentValue() );
+
+		next = ( Long ) optimizer.generate( unexpected );
+		assertEquals( 3, next.intValue() );
+		next = ( Long ) optimizer.generate( unexpected );
+		assertEquals( 4, next.intValue() );
+		assertEquals( 1, optimizer.getPrefetchHitCount() );
+		assertEquals( 0, optimizer.getPrefetchStallCount() );
+		assertEquals( 0, unexpected.getTimesCalled() );
+
+		next = ( Long ) optimizer.generate( unexpected );
+		assertEquals( 5, next.intValue() );
+		assertEquals( 4, sequence.getTimesCalled() );
+		next = ( Long ) optimizer.generate( unexpected );
+		assertEquals( 6, next.intValue() );
+		next = ( Long ) optimizer.generate( unexpected );
+		assertEquals( 7, next.intValue() );
+		assertEquals( 2, optimizer.getPrefetchHitCount() );
+		assertEquals( 0, unexpected.getTimesCalled() );
+	}
+
 	private static class SourceMock implements AccessCallback {
 		private IdentifierGeneratorHelper.BasicHolder value = new IdentifierGeneratorHelper.BasicHolder( Long.class );
 		private long initialValue;
@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.uuid;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeOrderedStrategyTest extends BaseUnitTestCase {
+	@Test
+	public void testLayout() {
+		long now = System.currentTimeMillis();
+		UUID uuid = new UUID(
+				TimeOrderedStrategy.generateMostSignificantBits( now ),
+				TimeOrderedStrategy.INSTANCE.generateUUID( null ).getLeastSignificantBits()
+		);
+		assertEquals( 2, uuid.variant() );
+		assertEquals( 7, uuid.version() );
+		assertTrue( ( uuid.getMostSignificantBits() >>> 16 ) >= now );
+	}
+
+	@Test
+	public void testOrdering() {
+		UUID previous = TimeOrderedStrategy.INSTANCE.generateUUID( null );
+		for ( int i = 0; i < 10000; i++ ) {
+			UUID uuid = TimeOrderedStrategy.INSTANCE.generateUUID( null );
+			assertEquals( 2, uuid.variant() );
+			assertEquals( 7, uuid.version() );
+			// the character representation sorts the same as the bytes, unsigned
+			assertTrue( previous.toString().compareTo( uuid.toString() ) < 0 );
+			previous = uuid;
+		}
+	}
+
+	@Test
+	public void testClockSetBack() {
+		long now = System.currentTimeMillis();
+		long first = TimeOrderedStrategy.generateMostSignificantBits( now );
+		long second = TimeOrderedStrategy.generateMostSignificantBits( now - 1000 );
+		assertTrue( second > first );
+		assertEquals( 7, new UUID( second, 0 ).version() );
+	}
+
+	@Test
+	public void testCounterOverflow() {
+		long now = System.currentTimeMillis();
+		long previous = TimeOrderedStrategy.generateMostSignificantBits( now );
+		for ( int i = 0; i < 5000; i++ ) {
+			long next = TimeOrderedStrategy.generateMostSignificantBits( now );
+			assertTrue( next > previous );
+			assertEquals( 7, new UUID( next, 0 ).version() );
+			previous = next;
+		}
+		assertTrue( ( previous >>> 16 ) > now );
+	}
+
+	@Test
+	public void testConcurrentUsage() throws Exception {
+		final int threads = 8;
+		final int count = 5000;
+		ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			List<Future<List<UUID>>> futures = new ArrayList<Future<List<UUID>>>();
+			for ( int i = 0; i < threads; i++ ) {
+				futures.add(
+						executor.submit(
+								new Callable<List<UUID>>() {
+									@Override
+									public List<UUID> call() {
+										List<UUID> generated = new ArrayList<UUID>( count );
+										for ( int j = 0; j < count; j++ ) {
+											generated.add( TimeOrderedStrategy.INSTANCE.generateUUID( null ) );
+										}
+										return generated;
+									}
+								}
+						)
+				);
+			}
+			Set<UUID> all = new HashSet<UUID>();
+			for ( Future<List<UUID>> future : futures ) {
+				UUID previous = null;
+				for ( UUID uuid : future.get() ) {
+					assertTrue( all.add( uuid ) );
+					if ( previous != null ) {
+						assertTrue( previous.toString().compareTo( uuid.toString() ) < 0 );
+					}
+					previous = uuid;
+				}
+			}
+			assertEquals( threads * count, all.size() );
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import org.junit.Test;
+
+import org.hibernate.QueryException;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the rewriting of the SQL of keyset paginated queries.
+ */
+public class KeysetRestrictionTest extends BaseUnitTestCase {
+	@Test
+	public void testSingleKeyWithoutWhereClause() {
+		KeysetRestriction keyset = KeysetRestriction.apply(
+				"select item0_.id as id0_ from Item item0_ order by item0_.id",
+				1,
+				new H2Dialect()
+		);
+		assertEquals( "select item0_.id as id0_ from Item item0_ where item0_.id > ? order by item0_.id", keyset.getSql() );
+	}
+
+	@Test
+	public void testRowValueComparison() {
+		KeysetRestriction keyset = KeysetRestriction.apply(
+				"select this_.id as id0_ from Item this_ where this_.name like ? order by this_.name desc, this_.id desc",
+				2,
+				new PostgreSQLDialect()
+		);
+		assertEquals(
+				"select this_.id as id0_ from Item this_ where (this_.name like ?) and (this_.name, this_.id) < (?, ?) "
+						+ "order by this_.name desc, this_.id desc",
+				keyset.getSql()
+		);
+	}
+
+	@Test
+	public void testExpandedComparison() {
+		// mixed directions can not be expressed as a row value comparison
+		KeysetRestriction keyset = KeysetRestriction.apply(
+				"select id from Item where (select count(*) from Tag where tag = 'order by') > 0 "
+						+ "group by name, id order by name desc nulls last, id asc",
+				2,
+				new PostgreSQLDialect()
+		);
+		assertEquals(
+				"select id from Item where ((select count(*) from Tag where tag = 'order by') > 0) "
+						+ "and ((name < ? or name is null) or (name = ? and id > ?)) group by name, id "
+						+ "order by name desc nulls last, id asc",
+				keyset.getSql()
+		);
+	}
+
+	@Test
+	public void testNullKeyValue() {
+		KeysetRestriction keyset = KeysetRestriction.apply(
+				"select * from Item order by name nulls first, id",
+				new boolean[] { true, false },
+				new PostgreSQLDialect()
+		);
+		assertEquals(
+				"select * from Item where ((name is not null) or (name is null and id > ?)) order by name nulls first, id",
+				keyset.getSql()
+		);
+
+		keyset = KeysetRestriction.apply(
+				"select * from Item order by name nulls last, id",
+				new boolean[] { true, false },
+				new PostgreSQLDialect()
+		);
+		assertEquals( "select * from Item where ((name is null and id > ?)) order by name nulls last, id", keyset.getSql() );
+	}
+
+	@Test(expected = QueryException.class)
+	public void testNullKeyValueWithoutNullPrecedence() {
+		KeysetRestriction.apply( "select * from Item order by name, id", new boolean[] { true, false }, new H2Dialect() );
+	}
+
+	@Test
+	public void testCache() {
+		KeysetRestriction.Cache cache = new KeysetRestriction.Cache();
+		String sql = "select * from Item order by name nulls first, id";
+		KeysetRestriction keyset = cache.get( sql, new Object[] { "a", 1 }, new H2Dialect() );
+		assertSame( keyset, cache.get( sql, new Object[] { "b", 2 }, new H2Dialect() ) );
+		assertNotSame( keyset, cache.get( sql, new Object[] { null, 2 }, new H2Dialect() ) );
+	}
+
+	@Test
+	public void testLimitFollowingOrderBy() {
+		KeysetRestriction keyset = KeysetRestriction.apply( "select * from Item order by name, id limit 10", 2, new H2Dialect() );
+		assertEquals(
+				"select * from Item where ((name > ?) or (name = ? and id > ?)) order by name, id limit 10",
+				keyset.getSql()
+		);
+	}
+
+	@Test(expected = QueryException.class)
+	public void testOrderBySelectAlias() {
+		KeysetRestriction.apply(
+				"select item0_.name as col_0_0_, item0_.id as col_1_0_ from Item item0_ order by col_0_0_, col_1_0_",
+				2,
+				new H2Dialect()
+		);
+	}
+
+	@Test(expected = QueryException.class)
+	public void testOrderByPosition() {
+		KeysetRestriction.apply( "select name, id from Item order by 1, 2", 2, new H2Dialect() );
+	}
+
+	@Test
+	public void testOrderByAliasedColumnItself() {
+		KeysetRestriction keyset = KeysetRestriction.apply(
+				"select distinct name as name, upper(name) un from Item order by name",
+				1,
+				new H2Dialect()
+		);
+		assertEquals(
+				"select distinct name as name, upper(name) un from Item where name > ? order by name",
+				keyset.getSql()
+		);
+	}
+
+	@Test(expected = QueryException.class)
+	public void testUnorderedQuery() {
+		KeysetRestriction.apply( "select * from Item where name = ?", 1, new H2Dialect() );
+	}
+
+	@Test(expected = QueryException.class)
+	public void testTooManyKeyValues() {
+		KeysetRestriction.apply( "select * from Item order by id", 2, new H2Dialect() );
+	}
+
+	@Test(expected = QueryException.class)
+	public void testParameterFollowingWhereClause() {
+		KeysetRestriction.apply( "select name from Item group by name having count(*) > ? order by name", 1, new H2Dialect() );
+	}
+}
@@ -26,6 +26,7 @@ package org.hibernate.test.bytecode.javassist;
 import org.junit.Test;
 
 import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
+import org.hibernate.bytecode.spi.ConstructorOptimizer;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.test.bytecode.Bean;
 import org.hibernate.test.bytecode.BeanReflectionHelper;
@@ -33,6 +34,7 @@ import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author Steve Ebersole
@@ -61,6 +63,39 @@ public class ReflectionOptimizerTest extends BaseUnitTestCase {
 		assertEquivalent( values, BeanReflectionHelper.TEST_VALUES );
 	}
 
+	@Test
+	public void testConstructorOptimization() throws Exception {
+		BytecodeProviderImpl provider = new BytecodeProviderImpl();
+		ConstructorOptimizer optimizer = provider.getConstructorOptimizer(
+				Summary.class.getConstructor( String.class, long.class, Double.class )
+		);
+		assertNotNull( optimizer );
+
+		Summary summary = (Summary) optimizer.newInstance( new Object[] { "name", 42L, null } );
+		assertEquals( "name", summary.name );
+		assertEquals( 42L, summary.count );
+		assertNull( summary.average );
+
+		assertNull( provider.getConstructorOptimizer( HiddenSummary.class.getDeclaredConstructor( String.class ) ) );
+	}
+
+	public static class Summary {
+		private final String name;
+		private final long count;
+		private final Double average;
+
+		public Summary(String name, long count, Double average) {
+			this.name = name;
+			this.count = count;
+			this.average = average;
+		}
+	}
+
+	static class HiddenSummary {
+		HiddenSummary(String name) {
+		}
+	}
+
 	private void assertEquivalent(Object[] checkValues, Object[] values) {
 		assertEquals( "Different lengths", checkValues.length, values.length );
 		for ( int i = 0; i < checkValues.length; i++ ) {
@@ -189,6 +189,16 @@ public class GoofyPersisterClassProvider implements PersisterClassResolver {
 			return new int[0];
 		}
 
+		@Override
+		public int[] findDirty(
+				int[] candidateProperties,
+				Object[] currentState,
+				Object[] previousState,
+				Object owner,
+				SessionImplementor session) {
+			return new int[0];
+		}
+
 		@Override
 		public int[] findModified(Object[] old, Object[] current, Object object, SessionImplementor session) {
 			return new int[0];
@@ -690,6 +700,10 @@ public class GoofyPersisterClassProvider implements PersisterClassResolver {
 			return new Serializable[0];  //To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		public boolean isBatchLoadable() {
+			return false;
+		}
+
 		public CollectionMetadata getCollectionMetadata() {
 			return null;  //To change body of implemented methods use File | Settings | File Templates.
 		}
@@ -97,6 +97,10 @@ public class BasicTestingJdbcServiceImpl implements JdbcServices {
 		return sqlStatementLogger;
 	}
 
+	public void setSqlStatementLogger(SqlStatementLogger sqlStatementLogger) {
+		this.sqlStatementLogger = sqlStatementLogger;
+	}
+
 	public SqlExceptionHelper getSqlExceptionHelper() {
 		return exceptionHelper;
 	}
@@ -35,6 +35,8 @@ public class JournalingConnectionObserver implements ConnectionObserver {
 	private int physicalConnectionReleasedCount = 0;
 	private int logicalConnectionClosedCount = 0;
 	private int statementPreparedCount = 0;
+	private int statementExecutedCount = 0;
+	private int resultSetFetchedCount = 0;
 
 	@Override
 	public void physicalConnectionObtained(Connection connection) {
@@ -56,6 +58,16 @@ public class JournalingConnectionObserver implements ConnectionObserver {
 		statementPreparedCount++;
 	}
 
+	@Override
+	public void statementExecuted(String sql, long executionTime) {
+		statementExecutedCount++;
+	}
+
+	@Override
+	public void resultSetFetched(String sql, long fetchTime) {
+		resultSetFetchedCount++;
+	}
+
 	public int getPhysicalConnectionObtainedCount() {
 		return physicalConnectionObtainedCount;
 	}
@@ -71,4 +83,12 @@ public class JournalingConnectionObserver implements ConnectionObserver {
 	public int getStatementPreparedCount() {
 		return statementPreparedCount;
 	}
+
+	public int getStatementExecutedCount() {
+		return statementExecutedCount;
+	}
+
+	public int getResultSetFetchedCount() {
+		return resultSetFetchedCount;
+	}
 }
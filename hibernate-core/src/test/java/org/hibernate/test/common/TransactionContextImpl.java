@@ -103,6 +103,11 @@ public class TransactionContextImpl implements TransactionContext {
 	public void managedClose() {
 	}
 
+	@Override
+	public boolean isReadOnlyWork() {
+		return false;
+	}
+
 	@Override
 	public void afterTransactionBegin(TransactionImplementor hibernateTransaction) {
 	}
@@ -0,0 +1,184 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.ConnectionReleaseMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link ConnectionReleaseMode#ON_DEMAND} only holds a connection while it carries transaction state,
+ * and that connection hold times are reported.
+ */
+public class OnDemandConnectionReleaseTest extends SillyFunctionalTestCase {
+	@Override
+	protected String getCacheConcurrencyStrategy() {
+		return "nonstrict-read-write";
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.RELEASE_CONNECTIONS, ConnectionReleaseMode.ON_DEMAND.toString() );
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void clearStatistics() {
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testTransactionServedFromCacheObtainsNoConnection() {
+		final Long id = createSilly();
+		Session s = openSession();
+		s.beginTransaction();
+		assertNotNull( s.get( Silly.class, id ) );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		assertNotNull( s.get( Silly.class, id ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getConnectCount() );
+
+		deleteSilly( id );
+	}
+
+	@Test
+	public void testReleaseAfterEachStatementOutsideTransaction() {
+		final Long id = createSilly();
+		sessionFactory().getStatistics().clear();
+
+		Session s = openSession();
+		assertEquals( 1, s.createQuery( "from Silly" ).list().size() );
+		assertFalse( isPhysicallyConnected( s ) );
+		assertEquals( 1, s.createQuery( "from Silly" ).list().size() );
+		assertFalse( isPhysicallyConnected( s ) );
+		s.close();
+		assertEquals( 2, sessionFactory().getStatistics().getConnectCount() );
+
+		deleteSilly( id );
+	}
+
+	@Test
+	public void testReadOnlyTransactionReleasesBetweenStatements() {
+		final Long id = createSilly();
+		sessionFactory().getStatistics().clear();
+
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		s.beginTransaction();
+		assertFalse( isPhysicallyConnected( s ) );
+		assertEquals( 1, s.createQuery( "from Silly" ).list().size() );
+		assertFalse( isPhysicallyConnected( s ) );
+		assertEquals( 1, s.createQuery( "from Silly" ).list().size() );
+		assertFalse( isPhysicallyConnected( s ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, sessionFactory().getStatistics().getConnectCount() );
+
+		deleteSilly( id );
+	}
+
+	@Test
+	public void testPessimisticLockBeginsTransaction() {
+		final Long id = createSilly();
+
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		s.beginTransaction();
+		assertNotNull( s.get( Silly.class, id ) );
+		assertFalse( isPhysicallyConnected( s ) );
+		s.clear();
+		// the lock is only held within a physical transaction, which keeps the connection until completion
+		assertNotNull( s.get( Silly.class, id, LockOptions.UPGRADE ) );
+		assertTrue( isPhysicallyConnected( s ) );
+		s.getTransaction().commit();
+		assertFalse( isPhysicallyConnected( s ) );
+		s.close();
+
+		deleteSilly( id );
+	}
+
+	@Test
+	public void testWritingTransactionHoldsConnectionUntilCompletion() {
+		Session s = openSession();
+		s.beginTransaction();
+		assertFalse( isPhysicallyConnected( s ) );
+		Silly silly = new Silly( "held" );
+		s.save( silly );
+		assertTrue( isPhysicallyConnected( s ) );
+		assertEquals( 1, s.createQuery( "from Silly" ).list().size() );
+		assertTrue( isPhysicallyConnected( s ) );
+		s.getTransaction().rollback();
+		assertFalse( isPhysicallyConnected( s ) );
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getConnectCount() );
+
+		s = openSession();
+		assertEquals( 0, s.createQuery( "from Silly" ).list().size() );
+		s.close();
+	}
+
+	@Test
+	public void testConnectionHoldTime() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		Silly silly = new Silly( "timed" );
+		s.save( silly );
+		Thread.sleep( 50 );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		assertTrue( statistics.getConnectionHoldMaxTime() >= 50 );
+		assertTrue( statistics.getSessionConnectionHoldMaxTime() >= statistics.getConnectionHoldMaxTime() );
+		assertTrue( statistics.getConnectionHoldTime() >= statistics.getConnectionHoldMaxTime() );
+
+		deleteSilly( silly.getId() );
+	}
+
+	private boolean isPhysicallyConnected(Session s) {
+		return ( (SessionImplementor) s ).getTransactionCoordinator()
+				.getJdbcCoordinator()
+				.getLogicalConnection()
+				.isPhysicallyConnected();
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.service.jdbc.connections.internal.PooledConnectionProviderImpl;
+import org.hibernate.service.jdbc.connections.spi.ConnectionPoolMetrics;
+import org.hibernate.testing.env.ConnectionProviderBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PooledConnectionProviderTest extends BaseUnitTestCase {
+	private PooledConnectionProviderImpl buildProvider(Properties extra) {
+		Properties props = ConnectionProviderBuilder.getConnectionProviderProperties( "pool" );
+		props.putAll( extra );
+		PooledConnectionProviderImpl provider = new PooledConnectionProviderImpl();
+		provider.configure( props );
+		return provider;
+	}
+
+	@Test
+	public void testReuse() throws Exception {
+		Properties props = new Properties();
+		props.setProperty( Environment.POOL_SIZE, "2" );
+		PooledConnectionProviderImpl provider = buildProvider( props );
+		try {
+			Connection connection = provider.getConnection();
+			assertEquals( 1, provider.getActiveConnectionCount() );
+			provider.closeConnection( connection );
+			assertEquals( 0, provider.getActiveConnectionCount() );
+			assertEquals( 1, provider.getIdleConnectionCount() );
+
+			// the connection used last by this thread is handed out again
+			Connection again = provider.getConnection();
+			assertSame( connection, again );
+			Connection other = provider.getConnection();
+			assertNotSame( connection, other );
+			assertEquals( 2, provider.getActiveConnectionCount() );
+			provider.closeConnection( again );
+			provider.closeConnection( other );
+			assertEquals( 2, provider.getIdleConnectionCount() );
+			assertSame( provider, provider.unwrap( ConnectionPoolMetrics.class ) );
+		}
+		finally {
+			provider.stop();
+		}
+	}
+
+	@Test
+	public void testDoubleReturn() throws Exception {
+		Properties props = new Properties();
+		props.setProperty( Environment.POOL_SIZE, "1" );
+		PooledConnectionProviderImpl provider = buildProvider( props );
+		try {
+			Connection connection = provider.getConnection();
+			provider.closeConnection( connection );
+			// the second return is ignored and leaves the pooled connection usable
+			provider.closeConnection( connection );
+			assertFalse( connection.isClosed() );
+			assertEquals( 0, provider.getActiveConnectionCount() );
+			assertEquals( 1, provider.getIdleConnectionCount() );
+
+			Connection again = provider.getConnection();
+			assertSame( connection, again );
+			assertEquals( 1, provider.getActiveConnectionCount() );
+			provider.closeConnection( again );
+		}
+		finally {
+			provider.stop();
+		}
+	}
+
+	@Test
+	public void testReturnAfterStop() throws Exception {
+		Properties props = new Properties();
+		props.setProperty( Environment.POOL_SIZE, "2" );
+		PooledConnectionProviderImpl provider = buildProvider( props );
+		Connection idle = provider.getConnection();
+		Connection inUse = provider.getConnection();
+		provider.closeConnection( idle );
+		provider.stop();
+		assertTrue( idle.isClosed() );
+		assertFalse( inUse.isClosed() );
+
+		// a connection in use when the pool stopped is closed once, when returned
+		provider.closeConnection( inUse );
+		assertTrue( inUse.isClosed() );
+		assertEquals( 0, provider.getActiveConnectionCount() );
+		assertEquals( 0, provider.getIdleConnectionCount() );
+		provider.closeConnection( inUse );
+		assertEquals( 0, provider.getActiveConnectionCount() );
+	}
+
+	@Test
+	public void testAcquireTimeout() throws Exception {
+		Properties props = new Properties();
+		props.setProperty( Environment.POOL_SIZE, "1" );
+		props.setProperty( Environment.POOL_ACQUIRE_TIMEOUT, "100" );
+		final PooledConnectionProviderImpl provider = buildProvider( props );
+		try {
+			final Connection connection = provider.getConnection();
+			try {
+				provider.getConnection();
+				fail( "expecting the pool to be exhausted" );
+			}
+			catch ( SQLException expected ) {
+			}
+			assertEquals( 1, provider.getConnectionTimeoutCount() );
+			assertEquals( 1, provider.getConnectionWaitCount() );
+			assertTrue( provider.getMaxConnectionWaitTime() >= 50 );
+
+			// a connection returned while waiting is handed over
+			Thread returner = new Thread() {
+				@Override
+				public void run() {
+					try {
+						Thread.sleep( 20 );
+						provider.closeConnection( connection );
+					}
+					catch ( Exception e ) {
+						throw new RuntimeException( e );
+					}
+				}
+			};
+			returner.start();
+			Connection again = provider.getConnection();
+			assertSame( connection, again );
+			assertEquals( 2, provider.getConnectionWaitCount() );
+			returner.join();
+			provider.closeConnection( again );
+		}
+		finally {
+			provider.stop();
+		}
+	}
+
+	@Test
+	public void testValidationOnBorrow() throws Exception {
+		Properties props = new Properties();
+		props.setProperty( Environment.POOL_SIZE, "1" );
+		props.setProperty( Environment.POOL_VALIDATE_ON_BORROW, "true" );
+		PooledConnectionProviderImpl provider = buildProvider( props );
+		try {
+			Connection connection = provider.getConnection();
+			// breaks the pooled connection
+			connection.close();
+			provider.closeConnection( connection );
+
+			Connection replacement = provider.getConnection();
+			assertNotSame( connection, replacement );
+			assertTrue( replacement.isValid( 5 ) );
+			provider.closeConnection( replacement );
+			assertEquals( 1, provider.getIdleConnectionCount() );
+		}
+		finally {
+			provider.stop();
+		}
+	}
+
+	@Test
+	public void testLeakDetection() throws Exception {
+		Properties props = new Properties();
+		props.setProperty( Environment.POOL_LEAK_DETECTION_THRESHOLD, "50" );
+		PooledConnectionProviderImpl provider = buildProvider( props );
+		try {
+			Connection connection = provider.getConnection();
+			long timeout = System.currentTimeMillis() + 5000;
+			while ( provider.getConnectionLeakCount() == 0 && System.currentTimeMillis() < timeout ) {
+				Thread.sleep( 10 );
+			}
+			assertEquals( 1, provider.getConnectionLeakCount() );
+			provider.closeConnection( connection );
+		}
+		finally {
+			provider.stop();
+		}
+	}
+
+	@Test
+	public void testContention() throws Exception {
+		final int threads = 16;
+		final int iterations = 500;
+		Properties props = new Properties();
+		props.setProperty( Environment.POOL_SIZE, "4" );
+		final PooledConnectionProviderImpl provider = buildProvider( props );
+		final ConcurrentMap<Connection, Thread> owners = new ConcurrentHashMap<Connection, Thread>();
+		ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			List<Future<Object>> futures = new ArrayList<Future<Object>>();
+			for ( int i = 0; i < threads; i++ ) {
+				futures.add(
+						executor.submit(
+								new Callable<Object>() {
+									@Override
+									public Object call() throws Exception {
+										for ( int j = 0; j < iterations; j++ ) {
+											Connection connection = provider.getConnection();
+											// no two threads ever hold the same connection
+											assertNull( owners.putIfAbsent( connection, Thread.currentThread() ) );
+											Statement statement = connection.createStatement();
+											statement.execute( "select 1" );
+											statement.close();
+											owners.remove( connection );
+											provider.closeConnection( connection );
+										}
+										return null;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Object> future : futures ) {
+				future.get();
+			}
+			assertEquals( 0, provider.getActiveConnectionCount() );
+			assertTrue( provider.getIdleConnectionCount() <= 4 );
+			assertEquals( 0, provider.getConnectionTimeoutCount() );
+		}
+		finally {
+			executor.shutdown();
+			provider.stop();
+		}
+	}
+}
@@ -0,0 +1,315 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.ConnectionReleaseMode;
+import org.hibernate.HibernateException;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.service.jdbc.connections.internal.ReadWriteSplittingConnectionProviderImpl;
+import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialectFeature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the routing of read-only work to replicas by {@link ReadWriteSplittingConnectionProviderImpl}.  The
+ * replicas are data sources to the test database itself, recording the connections they hand out.
+ */
+public class ReadWriteSplittingTest extends SillyFunctionalTestCase {
+	private static final RecordingDataSource PRIMARY = new RecordingDataSource();
+	private static final RecordingDataSource REPLICA_1 = new RecordingDataSource();
+	private static final RecordingDataSource REPLICA_2 = new RecordingDataSource();
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "connections/Silly.hbm.xml", "connections/SequencedSilly.hbm.xml" };
+	}
+
+	@Override
+	protected String getCacheConcurrencyStrategy() {
+		return "nonstrict-read-write";
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		for ( RecordingDataSource dataSource : new RecordingDataSource[] { PRIMARY, REPLICA_1, REPLICA_2 } ) {
+			dataSource.url = cfg.getProperty( Environment.URL );
+		}
+		cfg.getProperties().put( Environment.DATASOURCE, PRIMARY );
+		cfg.getProperties().put( Environment.REPLICA_DATASOURCES, Arrays.asList( REPLICA_1, REPLICA_2 ) );
+		cfg.setProperty( Environment.REPLICA_RETRY_INTERVAL, "500" );
+		// read-only queries are routed on their own unless connections are only released on close, the JDBC default
+		cfg.setProperty( Environment.RELEASE_CONNECTIONS, ConnectionReleaseMode.AFTER_TRANSACTION.toString() );
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void resetCounts() {
+		for ( RecordingDataSource dataSource : new RecordingDataSource[] { PRIMARY, REPLICA_1, REPLICA_2 } ) {
+			dataSource.connections.set( 0 );
+			dataSource.broken = false;
+		}
+		sessionFactory().getCache().evictEntityRegions();
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testReadOnlySessionReadsFromReplicas() {
+		assertTrue(
+				sessionFactory().getServiceRegistry().getService( ConnectionProvider.class )
+						instanceof ReadWriteSplittingConnectionProviderImpl
+		);
+		final Long id = createSilly();
+		resetCounts();
+
+		for ( int i = 0; i < 4; i++ ) {
+			Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+			s.beginTransaction();
+			assertNotNull( s.get( Silly.class, id ) );
+			s.getTransaction().commit();
+			s.close();
+		}
+		assertEquals( 0, PRIMARY.connections.get() );
+		assertEquals( 2, REPLICA_1.connections.get() );
+		assertEquals( 2, REPLICA_2.connections.get() );
+		// possibly stale state is never cached
+		assertEquals( 0, sessionFactory().getStatistics().getSecondLevelCachePutCount() );
+
+		deleteSilly( id );
+	}
+
+	@Test
+	public void testReadOnlyQueryReadsFromReplica() {
+		final Long id = createSilly();
+		resetCounts();
+
+		Session s = openSession();
+		assertEquals( 1, s.createQuery( "from Silly" ).setReadOnly( true ).setCacheable( true ).list().size() );
+		assertEquals( 0, PRIMARY.connections.get() );
+		assertEquals( 1, REPLICA_1.connections.get() + REPLICA_2.connections.get() );
+		assertEquals( 0, sessionFactory().getStatistics().getQueryCachePutCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getSecondLevelCachePutCount() );
+
+		assertEquals( 1, s.createQuery( "from Silly" ).setCacheable( true ).list().size() );
+		assertEquals( 1, PRIMARY.connections.get() );
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCachePutCount() );
+		s.close();
+
+		deleteSilly( id );
+	}
+
+	@Test
+	public void testWritePinsReadsToPrimary() {
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		Silly silly = new Silly( "pinned" );
+		s.save( silly );
+		s.flush();
+		assertEquals( 0, REPLICA_1.connections.get() + REPLICA_2.connections.get() );
+		s.clear();
+		assertNotNull( s.get( Silly.class, silly.getId() ) );
+		assertEquals( 1, s.createQuery( "from Silly" ).list().size() );
+		assertEquals( 0, REPLICA_1.connections.get() + REPLICA_2.connections.get() );
+		s.close();
+
+		deleteSilly( silly.getId() );
+	}
+
+	@Test
+	@RequiresDialectFeature(
+			value = DialectChecks.SupportsSequences.class,
+			comment = "Dialect does not support sequences"
+	)
+	public void testSequenceGenerationUsesPrimary() {
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		Silly silly = new Silly( "sequenced" );
+		s.save( "SequencedSilly", silly );
+		assertNotNull( silly.getId() );
+		assertEquals( 0, REPLICA_1.connections.get() + REPLICA_2.connections.get() );
+		assertTrue( PRIMARY.connections.get() > 0 );
+		s.flush();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( "SequencedSilly", silly.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testPessimisticLockUsesPrimary() {
+		final Long id = createSilly();
+		resetCounts();
+
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		assertNotNull( s.get( Silly.class, id, LockOptions.UPGRADE ) );
+		assertEquals( 0, REPLICA_1.connections.get() + REPLICA_2.connections.get() );
+		assertEquals( 1, PRIMARY.connections.get() );
+		s.close();
+
+		deleteSilly( id );
+	}
+
+	@Test
+	public void testWriteThroughReplicaFails() {
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		s.beginTransaction();
+		try {
+			s.save( new Silly( "rejected" ) );
+			s.flush();
+			fail( "write through a replica connection should fail" );
+		}
+		catch ( HibernateException expected ) {
+		}
+		finally {
+			s.getTransaction().rollback();
+			s.close();
+		}
+	}
+
+	@Test
+	public void testWriteOnFallbackConnection() throws Exception {
+		REPLICA_1.broken = true;
+		REPLICA_2.broken = true;
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		s.beginTransaction();
+		// the connection obtained when no replica is available is a primary connection, which may be written to
+		Silly silly = new Silly( "fallback" );
+		s.save( silly );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 0, REPLICA_1.connections.get() + REPLICA_2.connections.get() );
+
+		sessionFactory().getCache().evictEntityRegions();
+		sessionFactory().getStatistics().clear();
+		s = sessionFactory().withOptions().readOnly( true ).openSession();
+		assertNotNull( s.get( Silly.class, silly.getId() ) );
+		s.close();
+		// state read from the primary is cached
+		assertEquals( 1, sessionFactory().getStatistics().getSecondLevelCachePutCount() );
+
+		REPLICA_1.broken = false;
+		REPLICA_2.broken = false;
+		Thread.sleep( 600 );
+		deleteSilly( silly.getId() );
+	}
+
+	@Test
+	public void testFallbackToPrimary() throws Exception {
+		final Long id = createSilly();
+		resetCounts();
+		final ReadWriteSplittingConnectionProviderImpl connectionProvider = (ReadWriteSplittingConnectionProviderImpl)
+				sessionFactory().getServiceRegistry().getService( ConnectionProvider.class );
+
+		REPLICA_1.broken = true;
+		for ( int i = 0; i < 2; i++ ) {
+			Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+			assertNotNull( s.get( Silly.class, id ) );
+			s.close();
+		}
+		assertEquals( 1, connectionProvider.getAvailableReplicaCount() );
+		assertEquals( 0, PRIMARY.connections.get() );
+		assertEquals( 2, REPLICA_2.connections.get() );
+
+		REPLICA_2.broken = true;
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		assertNotNull( s.get( Silly.class, id ) );
+		s.close();
+		assertEquals( 0, connectionProvider.getAvailableReplicaCount() );
+		assertEquals( 1, PRIMARY.connections.get() );
+
+		REPLICA_1.broken = false;
+		REPLICA_2.broken = false;
+		Thread.sleep( 600 );
+		assertEquals( 2, connectionProvider.getAvailableReplicaCount() );
+
+		deleteSilly( id );
+	}
+
+	private static class RecordingDataSource implements DataSource {
+		private final AtomicInteger connections = new AtomicInteger();
+		private volatile String url;
+		private volatile boolean broken;
+
+		public Connection getConnection() throws SQLException {
+			return getConnection( null, null );
+		}
+
+		public Connection getConnection(String username, String password) throws SQLException {
+			if ( broken ) {
+				throw new SQLException( "Replica down" );
+			}
+			connections.incrementAndGet();
+			return DriverManager.getConnection( url, username, password );
+		}
+
+		public PrintWriter getLogWriter() throws SQLException {
+			return null;
+		}
+
+		public void setLogWriter(PrintWriter out) throws SQLException {
+		}
+
+		public void setLoginTimeout(int seconds) throws SQLException {
+		}
+
+		public int getLoginTimeout() throws SQLException {
+			return 0;
+		}
+
+		public java.util.logging.Logger getParentLogger() {
+			throw new UnsupportedOperationException();
+		}
+
+		public <T> T unwrap(Class<T> iface) throws SQLException {
+			throw new SQLException( "Not a wrapper" );
+		}
+
+		public boolean isWrapperFor(Class<?> iface) throws SQLException {
+			return false;
+		}
+	}
+}
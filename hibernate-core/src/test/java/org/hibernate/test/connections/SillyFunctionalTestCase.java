@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import org.hibernate.Session;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+/**
+ * Base for the tests of connection handling which work on a single {@link Silly}.
+ */
+public abstract class SillyFunctionalTestCase extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "connections/Silly.hbm.xml" };
+	}
+
+	protected Long createSilly() {
+		Session s = openSession();
+		s.beginTransaction();
+		Silly silly = new Silly( "silly" );
+		s.save( silly );
+		s.getTransaction().commit();
+		s.close();
+		return silly.getId();
+	}
+
+	protected void deleteSilly(Long id) {
+		Session s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Silly.class, id ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
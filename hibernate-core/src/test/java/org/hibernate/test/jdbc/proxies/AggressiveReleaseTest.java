@@ -127,6 +127,7 @@ public class AggressiveReleaseTest extends BaseUnitTestCase {
 			ps.setLong( 1, 1 );
 			ps.setString( 2, "name" );
 			ps.execute();
+			assertEquals( 1, observer.getStatementExecutedCount() );
 			assertTrue( logicalConnection.getResourceRegistry().hasRegisteredResources() );
 			assertEquals( 1, observer.getPhysicalConnectionObtainedCount() );
 			assertEquals( 0, observer.getPhysicalConnectionReleasedCount() );
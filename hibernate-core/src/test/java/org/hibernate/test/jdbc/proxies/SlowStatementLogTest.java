@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc.proxies;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.ConnectionReleaseMode;
+import org.hibernate.engine.jdbc.internal.LogicalConnectionImpl;
+import org.hibernate.engine.jdbc.internal.proxy.ProxyBuilder;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.test.common.BasicTestingJdbcServiceImpl;
+import org.hibernate.test.common.JdbcConnectionAccessImpl;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the slow statement log written for statements executed through the JDBC proxies.
+ */
+public class SlowStatementLogTest extends BaseUnitTestCase {
+	private static final String INSERT = "insert into SANDBOX_JDBC_TST( ID, NAME ) values ( ?, ? )";
+
+	private BasicTestingJdbcServiceImpl services = new BasicTestingJdbcServiceImpl();
+	private RecordingSqlStatementLogger sqlStatementLogger = new RecordingSqlStatementLogger();
+
+	@Before
+	public void setUp() {
+		services.prepare( false );
+		services.setSqlStatementLogger( sqlStatementLogger );
+	}
+
+	@After
+	public void tearDown() {
+		services.release();
+	}
+
+	@Test
+	public void testSlowStatementLog() throws Exception {
+		// every statement is slow
+		sqlStatementLogger.setSlowStatementThreshold( 0 );
+		LogicalConnectionImpl logicalConnection = new LogicalConnectionImpl(
+				null,
+				ConnectionReleaseMode.AFTER_TRANSACTION,
+				services,
+				new JdbcConnectionAccessImpl( services.getConnectionProvider() )
+		);
+		Connection proxiedConnection = ProxyBuilder.buildConnection( logicalConnection );
+		try {
+			Statement statement = proxiedConnection.createStatement();
+			statement.execute( "drop table SANDBOX_JDBC_TST if exists" );
+			statement.execute( "create table SANDBOX_JDBC_TST ( ID integer, NAME varchar(100) )" );
+			statement.close();
+			sqlStatementLogger.statements.clear();
+			sqlStatementLogger.parameterTypes.clear();
+
+			PreparedStatement ps = proxiedConnection.prepareStatement( INSERT );
+			ps.setLong( 1, 1 );
+			ps.setString( 2, "name" );
+			ps.execute();
+			ps.clearParameters();
+			ps.setLong( 1, 2 );
+			ps.setNull( 2, Types.VARCHAR );
+			ps.execute();
+
+			assertEquals( Arrays.asList( INSERT, INSERT ), sqlStatementLogger.statements );
+			assertEquals( Arrays.asList( "Long", "String" ), sqlStatementLogger.parameterTypes.get( 0 ) );
+			// a null is logged with the JDBC type it is bound as
+			assertEquals( Arrays.asList( "Long", "VARCHAR" ), sqlStatementLogger.parameterTypes.get( 1 ) );
+
+			// below the threshold, nothing is logged
+			sqlStatementLogger.setSlowStatementThreshold( 60000 );
+			ps.execute();
+			// a negative threshold disables the log
+			sqlStatementLogger.setSlowStatementThreshold( -1 );
+			ps.execute();
+			assertEquals( 2, sqlStatementLogger.statements.size() );
+
+			statement = proxiedConnection.createStatement();
+			statement.execute( "drop table SANDBOX_JDBC_TST" );
+			statement.close();
+		}
+		finally {
+			logicalConnection.close();
+		}
+	}
+
+	private static class RecordingSqlStatementLogger extends SqlStatementLogger {
+		private final List<String> statements = new ArrayList<String>();
+		private final List<List<String>> parameterTypes = new ArrayList<List<String>>();
+
+		@Override
+		protected void logSlowStatement(long executionTime, List<String> parameterTypes, String statement) {
+			super.logSlowStatement( executionTime, parameterTypes, statement );
+			this.statements.add( statement );
+			this.parameterTypes.add( new ArrayList<String>( parameterTypes ) );
+		}
+	}
+}
@@ -214,6 +214,15 @@ public class CustomPersister implements EntityPersister {
 		}
 	}
 
+	public int[] findDirty(
+		int[] candidates,
+		Object[] x,
+		Object[] y,
+		Object owner,
+		SessionImplementor session) throws HibernateException {
+		return findDirty( x, y, owner, session );
+	}
+
 	public int[] findModified(
 		Object[] x,
 		Object[] y,
@@ -0,0 +1,168 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IdentityMapTest extends BaseUnitTestCase {
+	@Test
+	public void testIdentitySemantics() {
+		IdentityMap<String,Integer> map = IdentityMap.instantiateSequenced( 10 );
+		String key = new String( "key" );
+		String equalKey = new String( "key" );
+		map.put( key, 1 );
+		assertTrue( map.containsKey( key ) );
+		assertFalse( map.containsKey( equalKey ) );
+		assertNull( map.get( equalKey ) );
+		map.put( equalKey, 2 );
+		assertEquals( 2, map.size() );
+		assertEquals( Integer.valueOf( 1 ), map.get( key ) );
+		assertEquals( Integer.valueOf( 2 ), map.get( equalKey ) );
+		assertEquals( Integer.valueOf( 1 ), map.put( key, 3 ) );
+		assertEquals( 2, map.size() );
+		assertEquals( Integer.valueOf( 3 ), map.remove( key ) );
+		assertNull( map.remove( key ) );
+		assertEquals( 1, map.size() );
+		assertTrue( map.containsValue( 2 ) );
+		assertFalse( map.containsValue( 3 ) );
+	}
+
+	@Test
+	public void testInsertionOrderWithRemovalsAndGrowth() {
+		IdentityMap<Object,Integer> map = IdentityMap.instantiateSequenced( 4 );
+		List<Object> expected = new ArrayList<Object>();
+		List<Object> keys = new ArrayList<Object>();
+		for ( int i = 0; i < 10000; i++ ) {
+			Object key = new Object();
+			keys.add( key );
+			map.put( key, i );
+		}
+		for ( int i = 0; i < keys.size(); i++ ) {
+			if ( i % 3 == 0 ) {
+				assertEquals( Integer.valueOf( i ), map.remove( keys.get( i ) ) );
+			}
+			else {
+				expected.add( keys.get( i ) );
+			}
+		}
+		// re-adding a removed key appends it
+		map.put( keys.get( 0 ), -1 );
+		expected.add( keys.get( 0 ) );
+
+		assertEquals( expected.size(), map.size() );
+		List<Object> actual = new ArrayList<Object>();
+		for ( Map.Entry<Object,Integer> entry : map.entrySet() ) {
+			actual.add( entry.getKey() );
+		}
+		assertEquals( expected, actual );
+		assertEquals( expected, new ArrayList<Object>( map.keySet() ) );
+		Map.Entry[] entries = IdentityMap.concurrentEntries( map );
+		assertEquals( expected.size(), entries.length );
+		for ( int i = 0; i < entries.length; i++ ) {
+			assertSame( expected.get( i ), entries[i].getKey() );
+			assertSame( map.get( entries[i].getKey() ), entries[i].getValue() );
+		}
+		for ( int i = 0; i < keys.size(); i++ ) {
+			assertEquals( i % 3 != 0 || i == 0, map.containsKey( keys.get( i ) ) );
+		}
+	}
+
+	@Test
+	public void testConcurrentEntriesSnapshot() {
+		IdentityMap<Object,String> map = IdentityMap.instantiateSequenced( 4 );
+		Object first = new Object();
+		Object second = new Object();
+		map.put( first, "first" );
+		map.put( second, "second" );
+		Map.Entry[] snapshot = IdentityMap.concurrentEntries( map );
+		assertSame( snapshot, IdentityMap.concurrentEntries( map ) );
+
+		for ( int i = 0; i < 100; i++ ) {
+			map.put( new Object(), "added" );
+		}
+		map.remove( first );
+		assertEquals( 2, snapshot.length );
+		assertSame( first, snapshot[0].getKey() );
+		assertSame( second, snapshot[1].getKey() );
+		assertEquals( 100 + 1, IdentityMap.concurrentEntries( map ).length );
+		assertSame( second, IdentityMap.concurrentEntries( map )[0].getKey() );
+	}
+
+	@Test
+	public void testIterationDuringModification() {
+		IdentityMap<Object,Integer> map = IdentityMap.instantiateSequenced( 4 );
+		List<Object> keys = new ArrayList<Object>();
+		for ( int i = 0; i < 10; i++ ) {
+			Object key = new Object();
+			keys.add( key );
+			map.put( key, i );
+		}
+		Iterator<Object> iterator = map.keySet().iterator();
+		assertSame( keys.get( 0 ), iterator.next() );
+		iterator.remove();
+		// forces the map to reallocate its storage
+		for ( int i = 0; i < 100; i++ ) {
+			map.put( new Object(), i );
+		}
+		map.remove( keys.get( 2 ) );
+		assertSame( keys.get( 1 ), iterator.next() );
+		assertSame( keys.get( 3 ), iterator.next() );
+		assertFalse( map.containsKey( keys.get( 0 ) ) );
+		assertEquals( 10 - 2 + 100, map.size() );
+	}
+
+	@Test
+	public void testClearAndSerialize() {
+		IdentityMap<Object,String> map = IdentityMap.instantiateSequenced( 4 );
+		Object first = "first";
+		Object second = "second";
+		map.put( first, "1" );
+		map.put( second, "2" );
+		Map<Object,String> copy = IdentityMap.deserialize( IdentityMap.serialize( map ) );
+		assertEquals( 2, copy.size() );
+		assertEquals( "1", copy.get( first ) );
+		assertSame( second, IdentityMap.concurrentEntries( copy )[1].getKey() );
+
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertNull( map.get( first ) );
+		assertEquals( 0, IdentityMap.concurrentEntries( map ).length );
+		map.put( second, "2" );
+		assertEquals( 1, map.size() );
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.type.descriptor.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import org.hibernate.engine.jdbc.LobCreator;
+import org.hibernate.engine.jdbc.NonContextualLobCreator;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.hibernate.type.descriptor.ValueExtractor;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringTypeDescriptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that extraction by position reads the column at that position, and never looks it up by name.
+ */
+public class PositionalExtractionTest extends BaseUnitTestCase {
+	private static final String[] LABELS = { "name0_", "count0_", "missing0_" };
+	private static final Object[] VALUES = { "a name", 42, null };
+
+	private final WrapperOptions wrapperOptions = new WrapperOptions() {
+		public boolean useStreamForLobBinding() {
+			return false;
+		}
+
+		public LobCreator getLobCreator() {
+			return NonContextualLobCreator.INSTANCE;
+		}
+
+		public SqlTypeDescriptor remapSqlTypeDescriptor(SqlTypeDescriptor sqlTypeDescriptor) {
+			return sqlTypeDescriptor;
+		}
+	};
+
+	@Test
+	public void testExtractionByPosition() throws SQLException {
+		final ValueExtractor<String> stringExtractor = VarcharTypeDescriptor.INSTANCE.getExtractor( StringTypeDescriptor.INSTANCE );
+		final ValueExtractor<Integer> integerExtractor = IntegerTypeDescriptor.INSTANCE.getExtractor( org.hibernate.type.descriptor.java.IntegerTypeDescriptor.INSTANCE );
+
+		final ResultSet resultSet = generateProxy( false );
+		assertEquals( "a name", stringExtractor.extract( resultSet, 1, wrapperOptions ) );
+		assertEquals( Integer.valueOf( 42 ), integerExtractor.extract( resultSet, 2, wrapperOptions ) );
+		assertNull( stringExtractor.extract( resultSet, 3, wrapperOptions ) );
+	}
+
+	@Test
+	public void testNameOnlyExtractorFallsBackToColumnLabel() throws SQLException {
+		final ValueExtractor<String> extractor = new BasicExtractor<String>( StringTypeDescriptor.INSTANCE, VarcharTypeDescriptor.INSTANCE ) {
+			@Override
+			protected String doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+				return rs.getString( name );
+			}
+		};
+
+		final ResultSet resultSet = generateProxy( true );
+		assertEquals( "a name", extractor.extract( resultSet, 1, wrapperOptions ) );
+		assertNull( extractor.extract( resultSet, 3, wrapperOptions ) );
+	}
+
+	private static ResultSet generateProxy(boolean allowLabels) {
+		return (ResultSet) Proxy.newProxyInstance(
+				PositionalExtractionTest.class.getClassLoader(),
+				new Class[] { ResultSet.class },
+				new RowHandler( allowLabels )
+		);
+	}
+
+	private static class RowHandler implements InvocationHandler {
+		private final boolean allowLabels;
+		private Object lastValue;
+
+		private RowHandler(boolean allowLabels) {
+			this.allowLabels = allowLabels;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+			if ( "wasNull".equals( name ) ) {
+				return lastValue == null;
+			}
+			if ( "getMetaData".equals( name ) ) {
+				return Proxy.newProxyInstance(
+						PositionalExtractionTest.class.getClassLoader(),
+						new Class[] { ResultSetMetaData.class },
+						new InvocationHandler() {
+							public Object invoke(Object proxy, Method method, Object[] args) {
+								if ( "getColumnLabel".equals( method.getName() ) ) {
+									return LABELS[(Integer) args[0] - 1];
+								}
+								throw new UnsupportedOperationException( "Unexpected call ResultSetMetaData." + method.getName() );
+							}
+						}
+				);
+			}
+			if ( ( "getString".equals( name ) || "getInt".equals( name ) ) && args.length == 1 ) {
+				final int index;
+				if ( args[0] instanceof Integer ) {
+					index = (Integer) args[0] - 1;
+				}
+				else if ( allowLabels ) {
+					index = indexOf( (String) args[0] );
+				}
+				else {
+					throw new UnsupportedOperationException( "Unexpected lookup of column " + args[0] + " by name" );
+				}
+				lastValue = VALUES[index];
+				if ( "getInt".equals( name ) ) {
+					return lastValue == null ? 0 : lastValue;
+				}
+				return lastValue;
+			}
+			throw new UnsupportedOperationException( "Unexpected call ResultSet." + name );
+		}
+
+		private static int indexOf(String label) {
+			for ( int i = 0; i < LABELS.length; i++ ) {
+				if ( LABELS[i].equals( label ) ) {
+					return i;
+				}
+			}
+			throw new UnsupportedOperationException( "Unknown column " + label );
+		}
+	}
+}
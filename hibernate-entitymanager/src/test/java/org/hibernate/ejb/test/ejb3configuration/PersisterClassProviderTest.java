@@ -211,6 +211,16 @@ public class PersisterClassProviderTest {
 			return new int[0];
 		}
 
+		@Override
+		public int[] findDirty(
+				int[] candidateProperties,
+				Object[] currentState,
+				Object[] previousState,
+				Object owner,
+				SessionImplementor session) {
+			return new int[0];
+		}
+
 		@Override
 		public int[] findModified(Object[] old, Object[] current, Object object, SessionImplementor session) {
 			return new int[0];
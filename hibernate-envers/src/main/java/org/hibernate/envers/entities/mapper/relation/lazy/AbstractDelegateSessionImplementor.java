@@ -84,6 +84,16 @@ public abstract class AbstractDelegateSessionImplementor implements SessionImple
 		return delegate.getJdbcConnectionAccess();
 	}
 
+	@Override
+	public boolean isReadingFromReplica() {
+		return delegate.isReadingFromReplica();
+	}
+
+	@Override
+	public void beforeWriteOperation() throws HibernateException {
+		delegate.beforeWriteOperation();
+	}
+
 	@Override
 	public EntityKey generateEntityKey(Serializable id, EntityPersister persister) {
 		return delegate.generateEntityKey( id, persister );
@@ -38,6 +38,18 @@ abstract public class DialectChecks {
 		}
 	}
 
+	public static class SupportsSequenceNextValues implements DialectCheck {
+		public boolean isMatch(Dialect dialect) {
+			return dialect.supportsSequences() && dialect.supportsSequenceNextValues();
+		}
+	}
+
+	public static class SupportsBatchedGeneratedKeys implements DialectCheck {
+		public boolean isMatch(Dialect dialect) {
+			return dialect.supportsIdentityColumns() && dialect.supportsBatchedGeneratedKeys();
+		}
+	}
+
 	public static class SupportsExpectedLobUsagePattern implements DialectCheck {
 		public boolean isMatch(Dialect dialect) {
 			return dialect.supportsExpectedLobUsagePattern();